@@ -0,0 +1,121 @@
+package com.quarkus.api.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histograma log-linear no estilo do HdrHistogram, para lead times em milissegundos.
+// Até 63 ms cada valor tem o seu contador; acima disso, cada potência de 2 é dividida em 32 faixas
+// iguais, o que limita o erro relativo dos percentis a 1/32 (~3%). Os contadores de cada potência
+// só são alocados quando recebem o primeiro valor: lead times de um cliente costumam se concentrar
+// em poucas ordens de grandeza. Gravação sem locks; histogramas podem ser somados (merge).
+public class LeadTimeHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKET_COUNT;
+    private static final int LINEAR_MAGNITUDE = SUB_BUCKET_BITS + 1;
+
+    // Valores acima de 2^40 ms (~35 anos) são registrados como o maior valor rastreável
+    public static final long HIGHEST_TRACKABLE_VALUE = (1L << 40) - 1;
+    private static final int MAGNITUDES = 40 - LINEAR_MAGNITUDE;
+
+    private final AtomicLongArray linear = new AtomicLongArray(LINEAR_LIMIT);
+    private final AtomicReferenceArray<AtomicLongArray> magnitudes = new AtomicReferenceArray<>(MAGNITUDES);
+    private final LongAdder count = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long millis) {
+        long value = Math.min(Math.max(millis, 0), HIGHEST_TRACKABLE_VALUE);
+        increment(value);
+        max.accumulate(value);
+    }
+
+    public void add(LeadTimeHistogram other) {
+        for (int i = 0; i < LINEAR_LIMIT; i++) {
+            long bucketCount = other.linear.get(i);
+            if (bucketCount > 0) {
+                linear.addAndGet(i, bucketCount);
+                count.add(bucketCount);
+            }
+        }
+        for (int magnitude = 0; magnitude < MAGNITUDES; magnitude++) {
+            AtomicLongArray source = other.magnitudes.get(magnitude);
+            if (source == null) {
+                continue;
+            }
+            for (int sub = 0; sub < SUB_BUCKET_COUNT; sub++) {
+                long bucketCount = source.get(sub);
+                if (bucketCount > 0) {
+                    buckets(magnitude).addAndGet(sub, bucketCount);
+                    count.add(bucketCount);
+                }
+            }
+        }
+        max.accumulate(other.getMax());
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    // Maior valor equivalente da faixa que contém o percentil (0 < percentile <= 100), como no HdrHistogram
+    public long percentile(double percentile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < LINEAR_LIMIT; i++) {
+            seen += linear.get(i);
+            if (seen >= rank) {
+                return i;
+            }
+        }
+        for (int magnitude = 0; magnitude < MAGNITUDES; magnitude++) {
+            AtomicLongArray buckets = magnitudes.get(magnitude);
+            if (buckets == null) {
+                continue;
+            }
+            for (int sub = 0; sub < SUB_BUCKET_COUNT; sub++) {
+                seen += buckets.get(sub);
+                if (seen >= rank) {
+                    return Math.min(highestEquivalentValue(magnitude, sub), getMax());
+                }
+            }
+        }
+        return getMax();
+    }
+
+    private void increment(long value) {
+        if (value < LINEAR_LIMIT) {
+            linear.incrementAndGet((int) value);
+        } else {
+            int bit = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (bit - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+            buckets(bit - LINEAR_MAGNITUDE).incrementAndGet(sub);
+        }
+        count.increment();
+    }
+
+    private AtomicLongArray buckets(int magnitude) {
+        AtomicLongArray buckets = magnitudes.get(magnitude);
+        if (buckets == null) {
+            magnitudes.compareAndSet(magnitude, null, new AtomicLongArray(SUB_BUCKET_COUNT));
+            buckets = magnitudes.get(magnitude);
+        }
+        return buckets;
+    }
+
+    private static long highestEquivalentValue(int magnitude, int sub) {
+        int shift = magnitude + LINEAR_MAGNITUDE - SUB_BUCKET_BITS;
+        long lowest = (long) (SUB_BUCKET_COUNT + sub) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,131 @@
+package com.quarkus.api.analytics;
+
+import com.quarkus.api.domain.model.ServiceOrder;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Lead times das transições de status, em memória: um histograma por etapa em cada janela de tempo
+// (service-order.lead-time.window-minutes), no total e por cliente. Os percentis saem da soma dos
+// histogramas das janelas pedidas, sem consultar o banco. Os dados são desta instância e recomeçam
+// a cada inicialização; apenas as últimas service-order.lead-time.retained-windows janelas são mantidas.
+@ApplicationScoped
+public class LeadTimeRecorder {
+
+    @ConfigProperty(name = "service-order.lead-time.window-minutes", defaultValue = "60")
+    long windowMinutes;
+
+    @ConfigProperty(name = "service-order.lead-time.retained-windows", defaultValue = "24")
+    int retainedWindows;
+
+    // Limita a memória: clientes além deste número entram apenas no total da janela
+    @ConfigProperty(name = "service-order.lead-time.max-customers-per-window", defaultValue = "1000")
+    int maxCustomersPerWindow;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private final ConcurrentSkipListMap<Long, Window> windows = new ConcurrentSkipListMap<>();
+
+    // Registra as etapas que a OS acabou de concluir ao entrar no status atual,
+    // apenas se a transação corrente for commitada
+    public void recordTransition(ServiceOrder serviceOrder) {
+        String customer = serviceOrder.getCustomer();
+        Map<LeadTimeStage, Long> leadTimes = new EnumMap<>(LeadTimeStage.class);
+        for (LeadTimeStage stage : LeadTimeStage.values()) {
+            long millis = stage.millis(serviceOrder);
+            if (stage.getEnd() == serviceOrder.getStatus() && millis >= 0) {
+                leadTimes.put(stage, millis);
+            }
+        }
+        if (leadTimes.isEmpty()) {
+            return;
+        }
+
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    long now = System.currentTimeMillis();
+                    leadTimes.forEach((stage, millis) -> record(customer, stage, millis, now));
+                }
+            }
+        });
+    }
+
+    // Soma dos histogramas das últimas `windowCount` janelas (todas as mantidas se <= 0),
+    // do cliente informado ou de todos os clientes se customer for null
+    public Map<LeadTimeStage, LeadTimeHistogram> snapshot(String customer, int windowCount) {
+        return snapshot(customer, windowCount, System.currentTimeMillis());
+    }
+
+    public long getWindowMinutes() {
+        return windowMinutes;
+    }
+
+    public int getRetainedWindows() {
+        return retainedWindows;
+    }
+
+    void record(String customer, LeadTimeStage stage, long millis, long nowMillis) {
+        long index = windowIndex(nowMillis);
+        Window window = windows.computeIfAbsent(index, ignored -> new Window());
+        window.total.get(stage).record(millis);
+
+        Map<LeadTimeStage, LeadTimeHistogram> customerHistograms = window.byCustomer.get(customer);
+        if (customerHistograms == null && window.byCustomer.size() < maxCustomersPerWindow) {
+            customerHistograms = window.byCustomer.computeIfAbsent(customer, ignored -> newHistograms());
+        }
+        if (customerHistograms != null) {
+            customerHistograms.get(stage).record(millis);
+        }
+
+        windows.headMap(index - retainedWindows + 1).clear();
+    }
+
+    Map<LeadTimeStage, LeadTimeHistogram> snapshot(String customer, int windowCount, long nowMillis) {
+        int count = windowCount <= 0 ? retainedWindows : Math.min(windowCount, retainedWindows);
+        ConcurrentNavigableMap<Long, Window> selected = windows.tailMap(windowIndex(nowMillis) - count + 1);
+
+        Map<LeadTimeStage, LeadTimeHistogram> merged = newHistograms();
+        for (Window window : selected.values()) {
+            Map<LeadTimeStage, LeadTimeHistogram> histograms = customer == null ? window.total : window.byCustomer.get(customer);
+            if (histograms != null) {
+                histograms.forEach((stage, histogram) -> merged.get(stage).add(histogram));
+            }
+        }
+        return merged;
+    }
+
+    private long windowIndex(long epochMillis) {
+        return epochMillis / (windowMinutes * 60_000);
+    }
+
+    // O mapa é preenchido na criação e nunca muda de estrutura: leituras concorrentes são seguras
+    private static Map<LeadTimeStage, LeadTimeHistogram> newHistograms() {
+        Map<LeadTimeStage, LeadTimeHistogram> histograms = new EnumMap<>(LeadTimeStage.class);
+        for (LeadTimeStage stage : LeadTimeStage.values()) {
+            histograms.put(stage, new LeadTimeHistogram());
+        }
+        return histograms;
+    }
+
+    private static final class Window {
+
+        private final Map<LeadTimeStage, LeadTimeHistogram> total = newHistograms();
+        private final Map<String, Map<LeadTimeStage, LeadTimeHistogram>> byCustomer = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,41 @@
+package com.quarkus.api.analytics;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Etapas medidas a partir dos momentos de transição gravados na OS
+public enum LeadTimeStage {
+    OPEN_TO_IN_PROGRESS(Status.EM_ANDAMENTO),
+    IN_PROGRESS_TO_FINISHED(Status.FINALIZADA),
+    OPEN_TO_FINISHED(Status.FINALIZADA);
+
+    // Status cuja transição conclui a etapa
+    private final Status end;
+
+    LeadTimeStage(Status end) {
+        this.end = end;
+    }
+
+    public Status getEnd() {
+        return end;
+    }
+
+    // Lead time da etapa em milissegundos, ou -1 se a OS ainda não passou por ela
+    public long millis(ServiceOrder serviceOrder) {
+        return switch (this) {
+            case OPEN_TO_IN_PROGRESS -> between(serviceOrder.getCreatedAt(), serviceOrder.getStartedAt());
+            case IN_PROGRESS_TO_FINISHED -> between(serviceOrder.getStartedAt(), serviceOrder.getFinishedAt());
+            case OPEN_TO_FINISHED -> between(serviceOrder.getCreatedAt(), serviceOrder.getFinishedAt());
+        };
+    }
+
+    private static long between(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            return -1;
+        }
+        return Duration.between(start, end).toMillis();
+    }
+}
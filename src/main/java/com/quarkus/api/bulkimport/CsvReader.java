@@ -0,0 +1,142 @@
+package com.quarkus.api.bulkimport;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Leitor de CSV (RFC 4180) incremental: lê um registro por vez do Reader, sem carregar o arquivo.
+// Aceita campos entre aspas com vírgulas, quebras de linha e aspas duplicadas ("") dentro deles.
+// Um registro maior que MAX_RECORD_CHARS interrompe a leitura, para manter a memória limitada
+// mesmo com um arquivo malformado (ex.: aspas sem fechamento).
+class CsvReader {
+
+    static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private int pushedBack = -2;
+    private long line = 1;
+    private long recordLine;
+    private int recordChars;
+
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Próximo registro, ou null no fim do arquivo. Linhas em branco são ignoradas.
+    List<String> next() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            if (c == '\r' || c == '\n') {
+                consumeLineBreak(c);
+                continue;
+            }
+            unread(c);
+            return readRecord();
+        }
+    }
+
+    // Linha do arquivo em que começou o último registro lido (a primeira linha é 1)
+    long getRecordLine() {
+        return recordLine;
+    }
+
+    private List<String> readRecord() throws IOException {
+        recordLine = line;
+        recordChars = 0;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean fieldStart = true;
+
+        while (true) {
+            int c = read();
+            if (quoted) {
+                if (c == -1) {
+                    throw new CsvFormatException("Aspas sem fechamento no registro iniciado na linha " + recordLine);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        append('"');
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    if (c == '\n' || c == '\r') {
+                        consumeLineBreak(c);
+                        append('\n');
+                    } else {
+                        append((char) c);
+                    }
+                }
+                continue;
+            }
+
+            if (c == -1 || c == '\r' || c == '\n') {
+                fields.add(field.toString());
+                if (c != -1) {
+                    consumeLineBreak(c);
+                }
+                return fields;
+            }
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                continue;
+            }
+            if (c == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+                continue;
+            }
+            fieldStart = false;
+            append((char) c);
+        }
+    }
+
+    private void append(char c) {
+        if (++recordChars > MAX_RECORD_CHARS) {
+            throw new CsvFormatException("Registro iniciado na linha " + recordLine + " excede " + MAX_RECORD_CHARS + " caracteres");
+        }
+        field.append(c);
+    }
+
+    // \r\n, \n e \r contam como uma quebra de linha
+    private void consumeLineBreak(int c) throws IOException {
+        line++;
+        if (c == '\r') {
+            int following = read();
+            if (following != '\n') {
+                unread(following);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+
+    // Erro do arquivo enviado, não do servidor: a mensagem já traz a linha, então não preenche o stack trace
+    static class CsvFormatException extends RuntimeException {
+
+        CsvFormatException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.quarkus.api.bulkimport;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+// Andamento de uma importação, atualizado pela thread que lê o CSV e lido pelos endpoints de consulta
+public class ImportProgress {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+    private final Path rejectedReport;
+    private volatile State state = State.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile long elapsedNanos;
+    private volatile long rowsRead;
+    private volatile long imported;
+    private volatile long rejected;
+    private volatile String error;
+
+    ImportProgress(String id, Path rejectedReport) {
+        this.id = id;
+        this.rejectedReport = rejectedReport;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    // Linhas já commitadas no banco
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public long getElapsedMillis() {
+        return (state == State.RUNNING ? System.nanoTime() - startNanos : elapsedNanos) / 1_000_000;
+    }
+
+    public Path getRejectedReport() {
+        return rejectedReport;
+    }
+
+    // Apenas a thread da importação escreve nos contadores
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void rowRejected() {
+        rejected++;
+    }
+
+    void committed(long rows) {
+        imported += rows;
+    }
+
+    void complete() {
+        finish(State.COMPLETED, null);
+    }
+
+    void fail(String error) {
+        finish(State.FAILED, error);
+    }
+
+    private void finish(State state, String error) {
+        this.elapsedNanos = System.nanoTime() - startNanos;
+        this.finishedAt = LocalDateTime.now();
+        this.error = error;
+        this.state = state;
+    }
+}
@@ -0,0 +1,312 @@
+package com.quarkus.api.bulkimport;
+
+import com.quarkus.api.coalescing.ReadCoalescer;
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.replica.ReplicaSynchronizer;
+import com.quarkus.api.repository.CustomerDictionary;
+import com.quarkus.api.resource.dto.ServiceOrderCreateRequestDTO;
+import com.quarkus.api.sharding.ShardRouter;
+import com.quarkus.api.sla.SlaBreachScanner;
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.jboss.logging.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Importação de OS a partir de um CSV (cabeçalho com customer e description; status e created_at
+// opcionais). O corpo é lido registro a registro enquanto chega, e cada linha passa pela mesma
+// validação do POST /ordens-servico. As linhas válidas são inseridas por JDBC em lotes de
+// service-order.import.batch-size e commitadas a cada service-order.import.commit-interval linhas;
+// as rejeitadas vão para um relatório CSV em disco. A memória usada não depende do tamanho do arquivo.
+@ApplicationScoped
+public class ServiceOrderImporter {
+
+    private static final Logger LOG = Logger.getLogger(ServiceOrderImporter.class);
+
+    private static final String INSERT = "INSERT INTO service_order (id, customer_id, description, status, created_at, started_at, finished_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @ConfigProperty(name = "service-order.import.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @ConfigProperty(name = "service-order.import.commit-interval", defaultValue = "5000")
+    int commitInterval;
+
+    // Importações mantidas para consulta; as mais antigas (e seus relatórios) são descartadas
+    @ConfigProperty(name = "service-order.import.history-size", defaultValue = "20")
+    int historySize;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    Validator validator;
+
+    @Inject
+    ShardRouter shardRouter;
+
+    @Inject
+    ReplicaSynchronizer replicaSynchronizer;
+
+    @Inject
+    ReadCoalescer coalescer;
+
+    @Inject
+    SlaBreachScanner slaScanner;
+
+    private final Map<String, ImportProgress> imports = new LinkedHashMap<>();
+
+    public ImportProgress importCsv(InputStream body) throws IOException {
+        if (shardRouter.isSharded()) {
+            throw new IllegalStateException("A importação de CSV não é suportada com particionamento por cliente");
+        }
+
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+        Columns columns;
+        try {
+            columns = Columns.of(csv.next());
+        } catch (CsvReader.CsvFormatException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        ImportProgress progress = register();
+
+        try (StatelessSession idSession = sessionFactory.openStatelessSession();
+             BufferedWriter report = Files.newBufferedWriter(progress.getRejectedReport(), StandardCharsets.UTF_8);
+             Connection connection = dataSource.getConnection()) {
+            report.write("line,error,customer,description");
+            report.newLine();
+            try {
+                run(csv, columns, progress, report, connection, idSession);
+                progress.complete();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (IOException | SQLException | RuntimeException e) {
+            LOG.errorf(e, "Falha na importação %s após %d linhas", progress.getId(), progress.getRowsRead());
+            progress.fail(e.getMessage());
+        } finally {
+            LOG.infof("Importação %s: %s, %d linhas lidas, %d importadas, %d rejeitadas em %d ms", progress.getId(),
+                    progress.getState(), progress.getRowsRead(), progress.getImported(), progress.getRejected(),
+                    progress.getElapsedMillis());
+        }
+        return progress;
+    }
+
+    public synchronized ImportProgress find(String id) {
+        return imports.get(id);
+    }
+
+    public synchronized List<ImportProgress> list() {
+        return new ArrayList<>(imports.values());
+    }
+
+    private void run(CsvReader csv, Columns columns, ImportProgress progress, BufferedWriter report,
+                     Connection connection, StatelessSession idSession) throws IOException, SQLException {
+        connection.setAutoCommit(false);
+        BeforeExecutionGenerator idGenerator = (BeforeExecutionGenerator) sessionFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(ServiceOrder.class).getGenerator();
+
+        CustomerDictionary customers = CustomerDictionary.of(dataSource, ShardRouter.DEFAULT_SHARD);
+        try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            List<Long> uncommittedIds = new ArrayList<>(commitInterval);
+            LocalDateTime oldestUncommitted = null;
+            int batched = 0;
+            List<String> row;
+            while ((row = csv.next()) != null) {
+                progress.rowRead();
+                ServiceOrder serviceOrder = new ServiceOrder();
+                String error = columns.fill(serviceOrder, row, validator);
+                if (error != null) {
+                    writeRejected(report, csv.getRecordLine(), error, serviceOrder);
+                    progress.rowRejected();
+                    continue;
+                }
+
+                // Mesmo gerador (e mesmo bloco da sequence) das OS criadas pelo Hibernate
+                Long id = (Long) idGenerator.generate((SharedSessionContractImplementor) idSession, serviceOrder, null, EventType.INSERT);
+                insert.setLong(1, id);
+                insert.setLong(2, customers.idOf(serviceOrder.getCustomer()));
+                insert.setString(3, serviceOrder.getDescription());
+                insert.setString(4, serviceOrder.getStatus().name());
+                insert.setTimestamp(5, Timestamp.valueOf(serviceOrder.getCreatedAt()));
+                insert.setTimestamp(6, transitionTime(serviceOrder, Status.EM_ANDAMENTO));
+                insert.setTimestamp(7, transitionTime(serviceOrder, Status.FINALIZADA));
+                insert.addBatch();
+                uncommittedIds.add(id);
+                if (oldestUncommitted == null || serviceOrder.getCreatedAt().isBefore(oldestUncommitted)) {
+                    oldestUncommitted = serviceOrder.getCreatedAt();
+                }
+
+                if (++batched == batchSize) {
+                    insert.executeBatch();
+                    batched = 0;
+                }
+                if (uncommittedIds.size() >= commitInterval) {
+                    commit(connection, insert, uncommittedIds, oldestUncommitted, progress);
+                    oldestUncommitted = null;
+                    batched = 0;
+                }
+            }
+            commit(connection, insert, uncommittedIds, oldestUncommitted, progress);
+        }
+    }
+
+    // O created_at vem do legado e pode estar atrás da marca d'água da varredura de SLA
+    private void commit(Connection connection, PreparedStatement insert, List<Long> uncommittedIds, LocalDateTime oldest,
+                        ImportProgress progress) throws SQLException {
+        if (uncommittedIds.isEmpty()) {
+            return;
+        }
+        insert.executeBatch();
+        connection.commit();
+        coalescer.invalidate();
+        progress.committed(uncommittedIds.size());
+        replicaSynchronizer.enqueueAll(uncommittedIds);
+        slaScanner.rewind(ShardRouter.DEFAULT_SHARD, oldest);
+        uncommittedIds.clear();
+    }
+
+    // O legado não informa quando cada etapa começou: as etapas já alcançadas recebem a data de criação
+    private static Timestamp transitionTime(ServiceOrder serviceOrder, Status reached) {
+        return serviceOrder.getStatus().ordinal() >= reached.ordinal() ? Timestamp.valueOf(serviceOrder.getCreatedAt()) : null;
+    }
+
+    private synchronized ImportProgress register() throws IOException {
+        String id = UUID.randomUUID().toString();
+        ImportProgress progress = new ImportProgress(id, Files.createTempFile("service-order-import-" + id, ".csv"));
+        imports.put(id, progress);
+
+        Iterator<ImportProgress> oldest = imports.values().iterator();
+        while (imports.size() > historySize && oldest.hasNext()) {
+            ImportProgress candidate = oldest.next();
+            if (candidate.getState() != ImportProgress.State.RUNNING) {
+                oldest.remove();
+                deleteReport(candidate);
+            }
+        }
+        return progress;
+    }
+
+    private static void deleteReport(ImportProgress progress) {
+        try {
+            Files.deleteIfExists(progress.getRejectedReport());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeRejected(BufferedWriter report, long line, String error, ServiceOrder serviceOrder) throws IOException {
+        report.write(line + "," + csvField(error) + "," + csvField(serviceOrder.getCustomer()) + "," + csvField(serviceOrder.getDescription()));
+        report.newLine();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    // Posição de cada coluna conhecida no cabeçalho (-1 se ausente); colunas extras são ignoradas
+    private static final class Columns {
+
+        private final int customer;
+        private final int description;
+        private final int status;
+        private final int createdAt;
+
+        private Columns(List<String> header) {
+            List<String> names = header.stream()
+                    .map(name -> name.strip().toLowerCase(Locale.ROOT))
+                    .toList();
+            this.customer = names.indexOf("customer");
+            this.description = names.indexOf("description");
+            this.status = names.indexOf("status");
+            this.createdAt = names.indexOf("created_at");
+        }
+
+        static Columns of(List<String> header) {
+            if (header == null) {
+                throw new IllegalArgumentException("Arquivo CSV vazio");
+            }
+            Columns columns = new Columns(header);
+            if (columns.customer < 0 || columns.description < 0) {
+                throw new IllegalArgumentException("O cabeçalho do CSV deve ter as colunas customer e description");
+            }
+            return columns;
+        }
+
+        // Preenche a OS com a linha e devolve o motivo da rejeição, ou null se a linha for válida
+        String fill(ServiceOrder serviceOrder, List<String> row, Validator validator) {
+            serviceOrder.setCustomer(value(row, customer));
+            serviceOrder.setDescription(value(row, description));
+
+            ServiceOrderCreateRequestDTO request = new ServiceOrderCreateRequestDTO(serviceOrder.getCustomer(), serviceOrder.getDescription());
+            List<String> errors = validator.validate(request).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+
+            String statusValue = value(row, status);
+            if (statusValue != null && !statusValue.isEmpty()) {
+                try {
+                    serviceOrder.setStatus(Status.valueOf(statusValue.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    errors.add("Status inválido: " + statusValue);
+                }
+            }
+
+            String createdAtValue = value(row, createdAt);
+            if (createdAtValue != null && !createdAtValue.isEmpty()) {
+                try {
+                    serviceOrder.setCreatedAt(LocalDateTime.parse(createdAtValue));
+                } catch (DateTimeParseException e) {
+                    errors.add("Data de criação inválida: " + createdAtValue + " (formato esperado: 2024-01-31T10:15:30)");
+                }
+            }
+            return errors.isEmpty() ? null : String.join("; ", errors);
+        }
+
+        private static String value(List<String> row, int index) {
+            return index >= 0 && index < row.size() ? row.get(index).strip() : null;
+        }
+    }
+}
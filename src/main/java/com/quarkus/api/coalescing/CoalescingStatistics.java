@@ -0,0 +1,54 @@
+package com.quarkus.api.coalescing;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Leituras de uma operação do ServiceOrderService desde o último reset
+public class CoalescingStatistics {
+
+    private final String operation;
+    // Consultas que foram ao banco
+    private final LongAdder executed = new LongAdder();
+    // Leituras que aguardaram uma consulta idêntica em andamento
+    private final LongAdder joined = new LongAdder();
+    // Leituras dentro de transação, ou com a coalescência desligada
+    private final LongAdder bypassed = new LongAdder();
+
+    CoalescingStatistics(String operation) {
+        this.operation = operation;
+    }
+
+    void recordExecuted() {
+        executed.increment();
+    }
+
+    void recordJoined() {
+        joined.increment();
+    }
+
+    void recordBypassed() {
+        bypassed.increment();
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    public long getJoined() {
+        return joined.sum();
+    }
+
+    public long getBypassed() {
+        return bypassed.sum();
+    }
+
+    // Fração das leituras compartilháveis que não foram ao banco
+    public double getCoalescingRatio() {
+        long joinedCount = getJoined();
+        long shareable = getExecuted() + joinedCount;
+        return shareable == 0 ? 0 : (double) joinedCount / shareable;
+    }
+}
@@ -0,0 +1,198 @@
+package com.quarkus.api.coalescing;
+
+import com.quarkus.api.deadline.DeadlineExceededException;
+import com.quarkus.api.deadline.RequestDeadline;
+import com.quarkus.api.replica.ReadRoutingContext;
+import io.opentelemetry.api.trace.Span;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.QueryTimeoutException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.sql.SQLTimeoutException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+// Single-flight das leituras do ServiceOrderService: chamadas idênticas e simultâneas (mesma operação,
+// mesmos argumentos e mesma rota de leitura) aguardam a consulta que já está em andamento e recebem
+// cópias do resultado dela. Não é um cache: a consulta sai do mapa assim que termina.
+// Consistência: cada commit que altera OS avança a geração de escritas, e uma leitura só se junta a uma
+// consulta iniciada na mesma geração. Quem chega depois de um commit nunca recebe uma consulta anterior a ele.
+// Dentro de uma transação a leitura não é compartilhada: faz parte de uma escrita e precisa das entidades
+// gerenciadas pela própria sessão. As leituras são contadas por operação em CoalescingStatistics.
+@ApplicationScoped
+public class ReadCoalescer {
+
+    static final String COALESCED = "service_order.read.coalesced";
+
+    private static final Object INVALIDATION_KEY = new Object();
+
+    @ConfigProperty(name = "service-order.coalescing.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private final AtomicLong writeGeneration = new AtomicLong();
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, CoalescingStatistics> statisticsByOperation = new ConcurrentHashMap<>();
+
+    // Executa `load` ou aguarda a execução idêntica em andamento. O chamador que executa recebe o resultado
+    // original; os demais recebem `copy` dele, para não dividirem a mesma instância entre requisições.
+    public <T> T read(String operation, Supplier<T> load, UnaryOperator<T> copy, Object... arguments) {
+        CoalescingStatistics statistics = statisticsByOperation.computeIfAbsent(operation, CoalescingStatistics::new);
+        if (!enabled || transactionRegistry.getTransactionStatus() != Status.STATUS_NO_TRANSACTION) {
+            statistics.recordBypassed();
+            return load.get();
+        }
+
+        FlightKey key = new FlightKey(operation, ReadRoutingContext.onReplica(), Arrays.asList(arguments), writeGeneration.get());
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+        Span.current().setAttribute(COALESCED, leader != null);
+        if (leader == null) {
+            statistics.recordExecuted();
+            return lead(key, flight, load);
+        }
+        statistics.recordJoined();
+        return follow(leader, load, copy);
+    }
+
+    // Chamado pelas escritas de OS: leituras iniciadas depois do commit não se juntam às consultas anteriores
+    public void invalidateAfterCommit() {
+        int status = transactionRegistry.getTransactionStatus();
+        if (status == Status.STATUS_NO_TRANSACTION) {
+            invalidate();
+            return;
+        }
+        if (status != Status.STATUS_ACTIVE || transactionRegistry.getResource(INVALIDATION_KEY) != null) {
+            return;
+        }
+        transactionRegistry.putResource(INVALIDATION_KEY, Boolean.TRUE);
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    invalidate();
+                }
+            }
+        });
+    }
+
+    // Para escritas fora do JTA (ex.: commits JDBC da importação), logo depois do commit
+    public void invalidate() {
+        writeGeneration.incrementAndGet();
+    }
+
+    public List<CoalescingStatistics> getStatistics() {
+        return statisticsByOperation.values().stream()
+                .sorted(Comparator.comparing(CoalescingStatistics::getOperation))
+                .toList();
+    }
+
+    public void reset() {
+        statisticsByOperation.clear();
+    }
+
+    private <T> T lead(FlightKey key, CompletableFuture<Object> flight, Supplier<T> load) {
+        try {
+            T result = load.get();
+            // Sai do mapa antes de publicar: quem chega agora faz uma consulta nova
+            inFlight.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T follow(CompletableFuture<Object> flight, Supplier<T> load, UnaryOperator<T> copy) {
+        RequestDeadline deadline = RequestDeadline.current();
+        T result;
+        try {
+            result = (T) (deadline == null ? flight.get() : flight.get(deadline.remainingMillis(), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(DeadlineExceededException.Reason.EXPIRED,
+                    "Prazo da requisição de " + deadline.getBudgetMillis() + " ms esgotado aguardando leitura compartilhada", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando leitura compartilhada", e);
+        } catch (ExecutionException e) {
+            // O prazo da requisição que executou não é o desta: se ele esgotou, esta consulta roda com o próprio
+            if (causedByTimeout(e.getCause())) {
+                if (deadline != null) {
+                    deadline.check();
+                }
+                return load.get();
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return result == null ? null : copy.apply(result);
+    }
+
+    private static boolean causedByTimeout(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException || cause instanceof SQLTimeoutException
+                    || cause instanceof QueryTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class FlightKey {
+
+        private final String operation;
+        private final boolean replica;
+        private final List<Object> arguments;
+        private final long generation;
+
+        FlightKey(String operation, boolean replica, List<Object> arguments, long generation) {
+            this.operation = operation;
+            this.replica = replica;
+            this.arguments = arguments;
+            this.generation = generation;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof FlightKey key
+                    && generation == key.generation
+                    && replica == key.replica
+                    && operation.equals(key.operation)
+                    && arguments.equals(key.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operation, replica, arguments, generation);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.quarkus.api.deadline;
+
+// O prazo da requisição acabou: antes da execução, por timeout de consulta ou por timeout da transação.
+// Vira 504 (DeadlineExceededExceptionMapper) e é contado em DeadlineMetrics.
+public class DeadlineExceededException extends RuntimeException {
+
+    public enum Reason {
+        // Prazo esgotado antes de o serviço começar (ou continuar) o trabalho
+        EXPIRED,
+        // O banco cancelou a consulta pelo timeout derivado do prazo
+        QUERY_TIMEOUT,
+        // A transação passou do timeout derivado do prazo e foi desfeita
+        TRANSACTION_TIMEOUT
+    }
+
+    private final Reason reason;
+
+    public DeadlineExceededException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
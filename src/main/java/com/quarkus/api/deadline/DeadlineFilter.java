@@ -0,0 +1,90 @@
+package com.quarkus.api.deadline;
+
+import com.quarkus.api.resource.error.ErrorResponseDTO;
+import jakarta.inject.Inject;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.lang.reflect.Method;
+
+// Define o prazo da requisição: o cabeçalho X-Request-Timeout-Ms (quanto o cliente ainda vai esperar,
+// limitado a service-order.deadline.max-ms) ou o padrão do endpoint (@DefaultDeadline ou
+// service-order.deadline.default-ms). O prazo também vira o timeout das transações iniciadas nesta
+// thread durante a requisição.
+@Provider
+public class DeadlineFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    @ConfigProperty(name = "service-order.deadline.default-ms", defaultValue = "30000")
+    long defaultMillis;
+
+    @ConfigProperty(name = "service-order.deadline.max-ms", defaultValue = "60000")
+    long maxMillis;
+
+    @Inject
+    TransactionManager transactionManager;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        long budgetMillis;
+        String header = requestContext.getHeaderString(TIMEOUT_HEADER);
+        if (header != null && !header.isBlank()) {
+            try {
+                budgetMillis = Long.parseLong(header.strip());
+            } catch (NumberFormatException e) {
+                budgetMillis = -1;
+            }
+            if (budgetMillis <= 0) {
+                requestContext.abortWith(badRequest("O cabeçalho " + TIMEOUT_HEADER + " deve ser um número positivo de milissegundos"));
+                return;
+            }
+            budgetMillis = Math.min(budgetMillis, maxMillis);
+        } else {
+            budgetMillis = endpointDefault();
+        }
+
+        RequestDeadline deadline = RequestDeadline.start(budgetMillis);
+        setTransactionTimeout(deadline.remainingSeconds());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (RequestDeadline.current() != null) {
+            RequestDeadline.clear();
+            setTransactionTimeout(0); // volta ao padrão do gerenciador de transações
+        }
+    }
+
+    private long endpointDefault() {
+        Method method = resourceInfo.getResourceMethod();
+        DefaultDeadline annotation = method != null ? method.getAnnotation(DefaultDeadline.class) : null;
+        return annotation != null ? annotation.millis() : defaultMillis;
+    }
+
+    private void setTransactionTimeout(int seconds) {
+        try {
+            transactionManager.setTransactionTimeout(seconds);
+        } catch (SystemException e) {
+            throw new IllegalStateException("Falha ao definir o timeout da transação", e);
+        }
+    }
+
+    private static Response badRequest(String message) {
+        return Response.status(Response.Status.BAD_REQUEST)
+                .entity(new ErrorResponseDTO(Response.Status.BAD_REQUEST.getStatusCode(), Response.Status.BAD_REQUEST.getReasonPhrase(), message))
+                .build();
+    }
+}
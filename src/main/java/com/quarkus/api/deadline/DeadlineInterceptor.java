@@ -0,0 +1,53 @@
+package com.quarkus.api.deadline;
+
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.persistence.QueryTimeoutException;
+import jakarta.transaction.RollbackException;
+
+import java.sql.SQLTimeoutException;
+
+// Verifica o prazo antes do método e traduz as falhas causadas por ele em DeadlineExceededException.
+// Roda por fora do @Transactional, para enxergar também a transação desfeita pelo timeout no commit.
+@DeadlineBound
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class DeadlineInterceptor {
+
+    @AroundInvoke
+    Object enforce(InvocationContext context) throws Exception {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return context.proceed();
+        }
+
+        deadline.check();
+        try {
+            return context.proceed();
+        } catch (DeadlineExceededException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            DeadlineExceededException.Reason reason = timeoutReason(e, deadline);
+            if (reason == null) {
+                throw e;
+            }
+            throw new DeadlineExceededException(reason,
+                    "Prazo da requisição de " + deadline.getBudgetMillis() + " ms esgotado", e);
+        }
+    }
+
+    // Motivo do cancelamento, ou null se a falha não tem relação com o prazo
+    private static DeadlineExceededException.Reason timeoutReason(Throwable failure, RequestDeadline deadline) {
+        boolean rolledBack = false;
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTimeoutException || cause instanceof QueryTimeoutException) {
+                return DeadlineExceededException.Reason.QUERY_TIMEOUT;
+            }
+            rolledBack |= cause instanceof RollbackException;
+        }
+        // O gerenciador de transações não diz por que desfez a transação: com o prazo vencido, foi o timeout
+        return rolledBack && deadline.isExpired() ? DeadlineExceededException.Reason.TRANSACTION_TIMEOUT : null;
+    }
+}
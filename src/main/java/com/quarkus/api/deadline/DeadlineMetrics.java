@@ -0,0 +1,42 @@
+package com.quarkus.api.deadline;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Requisições canceladas por prazo esgotado, por motivo e por endpoint, desde o último reset
+@ApplicationScoped
+public class DeadlineMetrics {
+
+    private final Map<DeadlineExceededException.Reason, LongAdder> byReason = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> byEndpoint = new ConcurrentHashMap<>();
+
+    public void recordCancellation(String endpoint, DeadlineExceededException.Reason reason) {
+        byReason.computeIfAbsent(reason, ignored -> new LongAdder()).increment();
+        byEndpoint.computeIfAbsent(endpoint != null ? endpoint : "(desconhecido)", ignored -> new LongAdder()).increment();
+    }
+
+    public Map<DeadlineExceededException.Reason, Long> getCancellationsByReason() {
+        Map<DeadlineExceededException.Reason, Long> snapshot = new EnumMap<>(DeadlineExceededException.Reason.class);
+        for (DeadlineExceededException.Reason reason : DeadlineExceededException.Reason.values()) {
+            LongAdder counter = byReason.get(reason);
+            snapshot.put(reason, counter != null ? counter.sum() : 0);
+        }
+        return snapshot;
+    }
+
+    public Map<String, Long> getCancellationsByEndpoint() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        byEndpoint.forEach((endpoint, counter) -> snapshot.put(endpoint, counter.sum()));
+        return snapshot;
+    }
+
+    public void reset() {
+        byReason.clear();
+        byEndpoint.clear();
+    }
+}
@@ -0,0 +1,15 @@
+package com.quarkus.api.deadline;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Prazo padrão do endpoint quando a requisição não traz X-Request-Timeout-Ms
+// (os demais usam service-order.deadline.default-ms)
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface DefaultDeadline {
+
+    long millis();
+}
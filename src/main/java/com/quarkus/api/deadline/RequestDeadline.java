@@ -0,0 +1,84 @@
+package com.quarkus.api.deadline;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Prazo da requisição em atendimento, por thread: definido pelo DeadlineFilter a partir do cabeçalho
+// X-Request-Timeout-Ms ou do padrão do endpoint. Vira timeout de consulta (JDBC e Hibernate) e de
+// transação; fora de uma requisição (jobs, inicialização) não há prazo.
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long budgetMillis;
+    private final long deadlineNanos;
+
+    private RequestDeadline(long budgetMillis) {
+        this.budgetMillis = budgetMillis;
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    static RequestDeadline start(long budgetMillis) {
+        RequestDeadline deadline = new RequestDeadline(budgetMillis);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    // Executa `work` com o prazo informado, em threads que não são a da requisição (ex.: consultas
+    // paralelas aos shards no ManagedExecutor)
+    public static <T> T callWith(RequestDeadline deadline, Supplier<T> work) {
+        RequestDeadline previous = CURRENT.get();
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    // Timeout para Statement.setQueryTimeout, em segundos (arredondado para cima, mínimo 1);
+    // 0 (sem limite) se não houver prazo
+    public static int queryTimeoutSeconds() {
+        RequestDeadline deadline = CURRENT.get();
+        return deadline == null ? 0 : deadline.remainingSeconds();
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    public int remainingSeconds() {
+        return (int) Math.max(1, (remainingMillis() + 999) / 1000);
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    public void check() {
+        if (isExpired()) {
+            throw new DeadlineExceededException(DeadlineExceededException.Reason.EXPIRED,
+                    "Prazo da requisição de " + budgetMillis + " ms esgotado", null);
+        }
+    }
+}
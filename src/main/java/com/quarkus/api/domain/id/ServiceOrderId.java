@@ -0,0 +1,15 @@
+package com.quarkus.api.domain.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marca o ID gerado por ServiceOrderIdGenerator (estratégia escolhida em service-order.id.strategy)
+@IdGeneratorType(ServiceOrderIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ServiceOrderId {
+}
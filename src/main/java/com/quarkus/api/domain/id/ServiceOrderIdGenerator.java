@@ -0,0 +1,45 @@
+package com.quarkus.api.domain.id;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.util.Properties;
+
+// Gerador de IDs da ServiceOrder, selecionado por configuração:
+// - sequence (padrão): sequence service_order_SEQ com alocação em blocos de 50, como antes;
+// - snowflake: IDs de 64 bits ordenados no tempo, gerados em memória com o nó em service-order.id.node-id,
+//   sem round trip ao banco.
+// A sequence continua configurada nos dois modos para que o schema validado seja o mesmo.
+public class ServiceOrderIdGenerator extends SequenceStyleGenerator {
+
+    public static final String STRATEGY_PROPERTY = "service-order.id.strategy";
+    public static final String NODE_ID_PROPERTY = "service-order.id.node-id";
+
+    private SnowflakeIdGenerator snowflake;
+
+    @Override
+    public void configure(GeneratorCreationContext creationContext, Properties parameters) throws MappingException {
+        super.configure(creationContext, parameters);
+
+        Config config = ConfigProvider.getConfig();
+        String strategy = config.getOptionalValue(STRATEGY_PROPERTY, String.class).orElse("sequence");
+        switch (strategy) {
+            case "sequence" -> snowflake = null;
+            case "snowflake" -> snowflake = new SnowflakeIdGenerator(
+                    config.getOptionalValue(NODE_ID_PROPERTY, Long.class).orElse(0L));
+            default -> throw new MappingException("Estratégia de ID desconhecida em " + STRATEGY_PROPERTY + ": " + strategy);
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner) {
+        if (snowflake != null) {
+            return snowflake.nextId();
+        }
+        return super.generate(session, owner);
+    }
+}
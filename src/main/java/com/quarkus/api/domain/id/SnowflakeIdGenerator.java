@@ -0,0 +1,68 @@
+package com.quarkus.api.domain.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Gera IDs de 64 bits ordenados no tempo, sem coordenação entre nós (estilo Snowflake):
+// 41 bits de milissegundos desde 2024-01-01T00:00:00Z | 10 bits de nó | 12 bits de sequência.
+// O estado (timestamp + sequência) é avançado por CAS, sem lock. Se o relógio voltar ou a sequência
+// estourar dentro do mesmo milissegundo, o timestamp lógico avança, mantendo os IDs sempre crescentes.
+// Os bits reservados (menos significativos da sequência) ficam zerados para o chamador gravar uma marca,
+// como o bucket de particionamento.
+public final class SnowflakeIdGenerator {
+
+    static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private final long nodeBits;
+    private final long sequenceStep;
+    private final LongSupplier clock;
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(long nodeId) {
+        this(nodeId, 0);
+    }
+
+    public SnowflakeIdGenerator(long nodeId, int reservedBits) {
+        this(nodeId, reservedBits, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long nodeId, LongSupplier clock) {
+        this(nodeId, 0, clock);
+    }
+
+    SnowflakeIdGenerator(long nodeId, int reservedBits, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("O ID do nó deve estar entre 0 e " + MAX_NODE_ID + ": " + nodeId);
+        }
+        if (reservedBits < 0 || reservedBits >= SEQUENCE_BITS) {
+            throw new IllegalArgumentException("Os bits reservados devem estar entre 0 e " + (SEQUENCE_BITS - 1) + ": " + reservedBits);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.sequenceStep = 1L << reservedBits;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        while (true) {
+            long last = state.get();
+            long elapsed = clock.getAsLong() - EPOCH_MILLIS;
+            long next = elapsed > (last >>> SEQUENCE_BITS) ? elapsed << SEQUENCE_BITS : last + sequenceStep;
+            if (state.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+            }
+        }
+    }
+
+    public static long timestampMillis(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static long nodeId(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
@@ -0,0 +1,29 @@
+package com.quarkus.api.domain.model;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.time.LocalDateTime;
+
+// OS aberta candidata a ser assumida pela fila de trabalho: apenas o necessário para ordenar por
+// antiguidade e continuar a leitura (keyset) a partir da última candidata
+@RegisterForReflection
+public class ClaimCandidate {
+
+    public static final ClaimCandidate START = new ClaimCandidate(Long.MIN_VALUE, LocalDateTime.of(1970, 1, 1, 0, 0));
+
+    private final Long id;
+    private final LocalDateTime createdAt;
+
+    public ClaimCandidate(Long id, LocalDateTime createdAt) {
+        this.id = id;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.quarkus.api.domain.model;
+
+import java.time.LocalDateTime;
+
+// Resumo das OS de um cliente, somado a partir das linhas de customer_order_summary
+public class CustomerOrderSummary {
+
+    private final String customer;
+    private final long open;
+    private final long inProgress;
+    private final long finished;
+    private final LocalDateTime lastOrderAt;
+
+    public CustomerOrderSummary(String customer, long open, long inProgress, long finished, LocalDateTime lastOrderAt) {
+        this.customer = customer;
+        this.open = open;
+        this.inProgress = inProgress;
+        this.finished = finished;
+        this.lastOrderAt = lastOrderAt;
+    }
+
+    public String getCustomer() {
+        return customer;
+    }
+
+    public long getOpen() {
+        return open;
+    }
+
+    public long getInProgress() {
+        return inProgress;
+    }
+
+    public long getFinished() {
+        return finished;
+    }
+
+    public long getTotal() {
+        return open + inProgress + finished;
+    }
+
+    public LocalDateTime getLastOrderAt() {
+        return lastOrderAt;
+    }
+}
@@ -1,16 +1,27 @@
 package com.quarkus.api.domain.model;
 
 import com.quarkus.api.domain.enums.Status;
-import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import com.quarkus.api.domain.id.ServiceOrderId;
+import com.quarkus.api.replica.ReplicationListener;
+import com.quarkus.api.repository.CustomerDictionary;
+import com.quarkus.api.repository.CustomerIdConverter;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "service_order")
-public class ServiceOrder extends PanacheEntity {
+@EntityListeners(ReplicationListener.class)
+public class ServiceOrder extends PanacheEntityBase {
 
-    @Column(nullable = false)
+    @Id
+    @ServiceOrderId
+    public Long id;
+
+    // Nome do cliente; a tabela guarda o ID dele em customer (ver CustomerDictionary)
+    @Convert(converter = CustomerIdConverter.class)
+    @Column(nullable = false, name = "customer_id")
     private String customer;
 
     @Column(nullable = false)
@@ -19,12 +30,30 @@ public class ServiceOrder extends PanacheEntity {
     @Enumerated(EnumType.STRING)
     private Status status = Status.ABERTA;
 
+    // Atribuído uma única vez: o Hibernate usa o construtor sem argumentos a cada OS carregada
     @Column(nullable = false, name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Preenchidos nas transições para EM_ANDAMENTO e FINALIZADA
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Técnico que assumiu a OS pela fila de trabalho
+    @Column(name = "assigned_to")
+    private String assignedTo;
+
+    // Incrementada a cada alteração (pelo Hibernate, com UPDATE condicional, e pelo JDBC dos shards):
+    // base das ETags e do If-Match em PUT /ordens-servico/{id}/status
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     public ServiceOrder() {
-        this.createdAt = LocalDateTime.now();
     }
+
     public ServiceOrder(String customer, String description, Status status) {
         this();
         this.customer = customer;
@@ -32,6 +61,15 @@ public class ServiceOrder extends PanacheEntity {
         this.status = status;
     }
 
+    // O cliente novo é gravado aqui, no persist, e não no flush: a conversão do Hibernate só consulta o cache.
+    // O ServiceOrderService resolve os clientes de um lote antes de abrir a transação dele.
+    @PrePersist
+    void resolveCustomer() {
+        if (customer != null) {
+            CustomerDictionary.primary().idOf(customer);
+        }
+    }
+
     public Long getId() {
         return id;
     }
@@ -72,6 +110,38 @@ public class ServiceOrder extends PanacheEntity {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getAssignedTo() {
+        return assignedTo;
+    }
+
+    public void setAssignedTo(String assignedTo) {
+        this.assignedTo = assignedTo;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "ServiceOrder{" +
@@ -0,0 +1,59 @@
+package com.quarkus.api.monitoring;
+
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Registra o endpoint em atendimento (ex.: "GET /ordens-servico/{id}") para que o SQL executado
+// durante a requisição possa ser atribuído a quem o originou.
+@Provider
+public class EndpointTrackingFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final Map<Method, String> PATH_TEMPLATES = new ConcurrentHashMap<>();
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        Method resourceMethod = resourceInfo.getResourceMethod();
+        if (resourceMethod == null) {
+            return;
+        }
+        String template = PATH_TEMPLATES.computeIfAbsent(resourceMethod,
+                method -> pathTemplate(resourceInfo.getResourceClass(), method));
+        SqlExecutionContext.setCurrentEndpoint(requestContext.getMethod() + " " + template);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        SqlExecutionContext.clearCurrentEndpoint();
+    }
+
+    private static String pathTemplate(Class<?> resourceClass, Method method) {
+        StringBuilder template = new StringBuilder();
+        appendPath(template, resourceClass.getAnnotation(Path.class));
+        appendPath(template, method.getAnnotation(Path.class));
+        return template.length() == 0 ? "/" : template.toString();
+    }
+
+    private static void appendPath(StringBuilder template, Path path) {
+        if (path == null) {
+            return;
+        }
+        String value = path.value();
+        if (!value.startsWith("/")) {
+            template.append('/');
+        }
+        template.append(value.endsWith("/") ? value.substring(0, value.length() - 1) : value);
+    }
+}
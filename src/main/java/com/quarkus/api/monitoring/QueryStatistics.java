@@ -0,0 +1,44 @@
+package com.quarkus.api.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Estatísticas acumuladas de um comando SQL desde o último reset
+public class QueryStatistics {
+
+    private final String sql;
+    private final LongAdder executionCount = new LongAdder();
+    private final LongAdder totalTimeNanos = new LongAdder();
+    private final AtomicLong maxTimeNanos = new AtomicLong();
+
+    QueryStatistics(String sql) {
+        this.sql = sql;
+    }
+
+    void record(long durationNanos) {
+        executionCount.increment();
+        totalTimeNanos.add(durationNanos);
+        maxTimeNanos.accumulateAndGet(durationNanos, Math::max);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getExecutionCount() {
+        return executionCount.sum();
+    }
+
+    public long getTotalTimeNanos() {
+        return totalTimeNanos.sum();
+    }
+
+    public long getMeanTimeNanos() {
+        long count = getExecutionCount();
+        return count == 0 ? 0 : getTotalTimeNanos() / count;
+    }
+
+    public long getMaxTimeNanos() {
+        return maxTimeNanos.get();
+    }
+}
@@ -0,0 +1,35 @@
+package com.quarkus.api.monitoring;
+
+import java.time.LocalDateTime;
+
+// Registro de uma execução SQL acima do limite configurado
+public class SlowQuery {
+
+    private final LocalDateTime timestamp;
+    private final String sql;
+    private final long durationNanos;
+    private final String endpoint;
+
+    SlowQuery(LocalDateTime timestamp, String sql, long durationNanos, String endpoint) {
+        this.timestamp = timestamp;
+        this.sql = sql;
+        this.durationNanos = durationNanos;
+        this.endpoint = endpoint;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
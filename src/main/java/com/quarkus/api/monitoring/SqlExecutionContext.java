@@ -0,0 +1,32 @@
+package com.quarkus.api.monitoring;
+
+// Estado por thread compartilhado entre o StatementInspector, o listener de sessão do Hibernate
+// e o filtro JAX-RS: o SQL que está prestes a ser executado e o endpoint que originou a chamada.
+public final class SqlExecutionContext {
+
+    private static final ThreadLocal<String> CURRENT_SQL = new ThreadLocal<>();
+    private static final ThreadLocal<String> CURRENT_ENDPOINT = new ThreadLocal<>();
+
+    private SqlExecutionContext() {
+    }
+
+    public static String currentSql() {
+        return CURRENT_SQL.get();
+    }
+
+    static void setCurrentSql(String sql) {
+        CURRENT_SQL.set(sql);
+    }
+
+    public static String currentEndpoint() {
+        return CURRENT_ENDPOINT.get();
+    }
+
+    static void setCurrentEndpoint(String endpoint) {
+        CURRENT_ENDPOINT.set(endpoint);
+    }
+
+    static void clearCurrentEndpoint() {
+        CURRENT_ENDPOINT.remove();
+    }
+}
@@ -0,0 +1,109 @@
+package com.quarkus.api.monitoring;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.SessionFactory;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Agrega as execuções SQL por comando e mantém o log de consultas lentas.
+// A coleta de estatísticas (inclusive as do Hibernate) pode ser ligada e desligada em tempo de execução;
+// o log de consultas lentas fica sempre ativo enquanto o limite for maior que zero.
+@ApplicationScoped
+public class SqlMonitor {
+
+    private static final Logger LOG = Logger.getLogger(SqlMonitor.class);
+
+    public enum SortBy {
+        TOTAL_TIME,
+        MEAN_TIME,
+        EXECUTION_COUNT
+    }
+
+    @ConfigProperty(name = "service-order.monitoring.enabled", defaultValue = "false")
+    boolean enabledAtStartup;
+
+    @ConfigProperty(name = "service-order.monitoring.slow-query-threshold-ms", defaultValue = "200")
+    long slowQueryThresholdMs;
+
+    @ConfigProperty(name = "service-order.monitoring.slow-query-log-size", defaultValue = "100")
+    int slowQueryLogSize;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    private final ConcurrentHashMap<String, QueryStatistics> statistics = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<SlowQuery> slowQueries = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger slowQueryCount = new AtomicInteger();
+
+    private volatile boolean enabled;
+
+    void onStart(@Observes StartupEvent event) {
+        setEnabled(enabledAtStartup);
+    }
+
+    public void record(String sql, long durationNanos) {
+        if (sql == null) {
+            return;
+        }
+        if (enabled) {
+            statistics.computeIfAbsent(sql, QueryStatistics::new).record(durationNanos);
+        }
+        if (slowQueryThresholdMs > 0 && durationNanos >= TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMs)) {
+            logSlowQuery(sql, durationNanos);
+        }
+    }
+
+    private void logSlowQuery(String sql, long durationNanos) {
+        String endpoint = SqlExecutionContext.currentEndpoint();
+        LOG.warnf("Consulta lenta (%d ms) em %s: %s", TimeUnit.NANOSECONDS.toMillis(durationNanos), endpoint, sql);
+
+        slowQueries.addFirst(new SlowQuery(LocalDateTime.now(), sql, durationNanos, endpoint));
+        if (slowQueryCount.incrementAndGet() > slowQueryLogSize && slowQueries.pollLast() != null) {
+            slowQueryCount.decrementAndGet();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        sessionFactory.getStatistics().setStatisticsEnabled(enabled);
+    }
+
+    public List<QueryStatistics> top(int limit, SortBy sortBy) {
+        Comparator<QueryStatistics> comparator = switch (sortBy) {
+            case TOTAL_TIME -> Comparator.comparingLong(QueryStatistics::getTotalTimeNanos);
+            case MEAN_TIME -> Comparator.comparingLong(QueryStatistics::getMeanTimeNanos);
+            case EXECUTION_COUNT -> Comparator.comparingLong(QueryStatistics::getExecutionCount);
+        };
+        return statistics.values().stream()
+                .sorted(comparator.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public List<SlowQuery> getSlowQueries() {
+        return new ArrayList<>(slowQueries);
+    }
+
+    public void reset() {
+        statistics.clear();
+        slowQueries.clear();
+        slowQueryCount.set(0);
+        sessionFactory.getStatistics().clear();
+    }
+}
@@ -0,0 +1,18 @@
+package com.quarkus.api.monitoring;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Captura o SQL gerado pelo Hibernate antes da execução, sem alterá-lo.
+// O tempo de execução é medido pelo SqlTimingSessionListener.
+@PersistenceUnitExtension
+@ApplicationScoped
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlExecutionContext.setCurrentSql(sql);
+        return sql;
+    }
+}
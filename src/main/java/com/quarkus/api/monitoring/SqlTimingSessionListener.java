@@ -0,0 +1,33 @@
+package com.quarkus.api.monitoring;
+
+import io.quarkus.arc.Arc;
+import org.hibernate.SessionEventListener;
+
+// Instanciado pelo Hibernate para cada sessão (hibernate.session.events.auto).
+// Mede a duração de cada execução JDBC e a atribui ao SQL capturado pelo SqlStatementInspector.
+public class SqlTimingSessionListener implements SessionEventListener {
+
+    private final transient SqlMonitor monitor = Arc.container().instance(SqlMonitor.class).get();
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        monitor.record(SqlExecutionContext.currentSql(), System.nanoTime() - executionStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        monitor.record(SqlExecutionContext.currentSql(), System.nanoTime() - executionStart);
+    }
+}
@@ -0,0 +1,28 @@
+package com.quarkus.api.replica;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+
+// Identifica o cliente pelo cabeçalho X-Client-Id para garantir que ele leia as próprias escritas.
+// Requisições sem o cabeçalho não têm essa garantia: ficam limitadas apenas pelo atraso máximo da réplica.
+@Provider
+public class ClientIdFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        String client = requestContext.getHeaderString(CLIENT_ID_HEADER);
+        if (client != null && !client.isBlank()) {
+            ReadRoutingContext.setCurrentClient(client);
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        ReadRoutingContext.clearCurrentClient();
+    }
+}
@@ -0,0 +1,38 @@
+package com.quarkus.api.replica;
+
+import io.opentelemetry.api.trace.Span;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+// Decide a rota da leitura antes do método @ReadOnly e a registra no span do método.
+// Chamadas aninhadas mantêm a rota já decidida pela chamada externa.
+@ReadOnly
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class ReadOnlyInterceptor {
+
+    static final String READ_ROUTE = "service_order.read.route";
+
+    @Inject
+    ReplicaRouter router;
+
+    @AroundInvoke
+    Object route(InvocationContext context) throws Exception {
+        ReadRoute outer = ReadRoutingContext.currentRoute();
+        if (outer != null) {
+            return context.proceed();
+        }
+
+        ReadRoute route = router.route(ReadRoutingContext.currentClient());
+        Span.current().setAttribute(READ_ROUTE, route.name());
+        ReadRoutingContext.setCurrentRoute(route);
+        try {
+            return context.proceed();
+        } finally {
+            ReadRoutingContext.setCurrentRoute(null);
+        }
+    }
+}
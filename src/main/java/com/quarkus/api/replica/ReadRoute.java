@@ -0,0 +1,14 @@
+package com.quarkus.api.replica;
+
+// Destino de uma leitura @ReadOnly e o motivo da escolha
+public enum ReadRoute {
+    REPLICA,
+    PRIMARY_DISABLED,
+    PRIMARY_TRANSACTION,
+    PRIMARY_STICKY,
+    PRIMARY_LAG;
+
+    public boolean isReplica() {
+        return this == REPLICA;
+    }
+}
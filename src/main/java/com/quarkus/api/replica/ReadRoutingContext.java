@@ -0,0 +1,41 @@
+package com.quarkus.api.replica;
+
+// Estado por thread do roteamento de leituras: o cliente da requisição (cabeçalho X-Client-Id)
+// e a rota decidida para o método @ReadOnly em execução.
+public final class ReadRoutingContext {
+
+    private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+    private static final ThreadLocal<ReadRoute> CURRENT_ROUTE = new ThreadLocal<>();
+
+    private ReadRoutingContext() {
+    }
+
+    public static boolean onReplica() {
+        ReadRoute route = CURRENT_ROUTE.get();
+        return route != null && route.isReplica();
+    }
+
+    static ReadRoute currentRoute() {
+        return CURRENT_ROUTE.get();
+    }
+
+    static void setCurrentRoute(ReadRoute route) {
+        if (route == null) {
+            CURRENT_ROUTE.remove();
+        } else {
+            CURRENT_ROUTE.set(route);
+        }
+    }
+
+    static String currentClient() {
+        return CURRENT_CLIENT.get();
+    }
+
+    static void setCurrentClient(String client) {
+        CURRENT_CLIENT.set(client);
+    }
+
+    static void clearCurrentClient() {
+        CURRENT_CLIENT.remove();
+    }
+}
@@ -0,0 +1,102 @@
+package com.quarkus.api.replica;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Decide se uma leitura @ReadOnly pode ir para a réplica:
+// - dentro de uma transação, sempre o primário (a leitura faz parte de uma escrita);
+// - se o cliente escreveu algo que a réplica ainda não aplicou, o primário (read-your-writes);
+// - se o atraso da réplica passou de service-order.replica.max-lag-ms, o primário;
+// - caso contrário, a réplica.
+// Cada decisão é contada por rota e exposta em GET /admin/replica.
+@ApplicationScoped
+public class ReplicaRouter {
+
+    // Acima disso, as posições de clientes que a réplica já alcançou são descartadas
+    private static final int STICKY_CLIENTS_PRUNE_THRESHOLD = 10_000;
+
+    @ConfigProperty(name = "service-order.replica.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "service-order.replica.max-lag-ms", defaultValue = "1000")
+    long maxLagMillis;
+
+    @Inject
+    ReplicaSynchronizer synchronizer;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private final Map<String, Long> lastWritePositions = new ConcurrentHashMap<>();
+    private final Map<ReadRoute, LongAdder> routeCounts = new EnumMap<>(ReadRoute.class);
+
+    public ReplicaRouter() {
+        for (ReadRoute route : ReadRoute.values()) {
+            routeCounts.put(route, new LongAdder());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ReadRoute route(String client) {
+        boolean inTransaction = transactionRegistry.getTransactionStatus() != Status.STATUS_NO_TRANSACTION;
+        long clientPosition = client != null ? lastWritePositions.getOrDefault(client, 0L) : 0L;
+        ReadRoute route = decide(enabled, inTransaction, clientPosition,
+                synchronizer.getAppliedPosition(), synchronizer.lagMillis(), maxLagMillis);
+        routeCounts.get(route).increment();
+        return route;
+    }
+
+    static ReadRoute decide(boolean enabled, boolean inTransaction, long clientPosition,
+                            long appliedPosition, long lagMillis, long maxLagMillis) {
+        if (!enabled) {
+            return ReadRoute.PRIMARY_DISABLED;
+        }
+        if (inTransaction) {
+            return ReadRoute.PRIMARY_TRANSACTION;
+        }
+        if (clientPosition > appliedPosition) {
+            return ReadRoute.PRIMARY_STICKY;
+        }
+        if (lagMillis > maxLagMillis) {
+            return ReadRoute.PRIMARY_LAG;
+        }
+        return ReadRoute.REPLICA;
+    }
+
+    // Chamado após o commit de uma escrita do cliente, com a posição que a réplica precisa alcançar
+    void recordWrite(String client, long position) {
+        if (client == null) {
+            return;
+        }
+        lastWritePositions.merge(client, position, Math::max);
+        if (lastWritePositions.size() > STICKY_CLIENTS_PRUNE_THRESHOLD) {
+            long applied = synchronizer.getAppliedPosition();
+            lastWritePositions.values().removeIf(clientPosition -> clientPosition <= applied);
+        }
+    }
+
+    public Map<ReadRoute, Long> getRouteCounts() {
+        Map<ReadRoute, Long> counts = new EnumMap<>(ReadRoute.class);
+        routeCounts.forEach((route, count) -> counts.put(route, count.sum()));
+        return counts;
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    public void resetCounts() {
+        routeCounts.values().forEach(LongAdder::reset);
+    }
+}
@@ -0,0 +1,170 @@
+package com.quarkus.api.replica;
+
+import com.quarkus.api.repository.ReplicaServiceOrderRepository;
+import com.quarkus.api.schema.SchemaMigrator;
+import com.quarkus.api.sharding.ShardRouter;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Mantém a réplica local em dia: cada commit que altera uma OS entra na fila com uma posição
+// crescente, e uma thread reaplica na réplica o estado atual dessas OS no primário. Reler o primário
+// (em vez de copiar o estado do momento do commit) faz a réplica convergir mesmo que dois commits
+// sobre a mesma OS sejam enfileirados fora de ordem.
+@ApplicationScoped
+public class ReplicaSynchronizer {
+
+    private static final Logger LOG = Logger.getLogger(ReplicaSynchronizer.class);
+
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final long RETRY_DELAY_MS = 1_000;
+
+    @ConfigProperty(name = "service-order.replica.enabled", defaultValue = "false")
+    boolean enabled;
+
+    // Atraso artificial na aplicação das mudanças, para simular uma réplica atrasada
+    @ConfigProperty(name = "service-order.replica.apply-delay-ms", defaultValue = "0")
+    long applyDelayMillis;
+
+    @Inject
+    ReplicaServiceOrderRepository repository;
+
+    @Inject
+    ShardRouter shardRouter;
+
+    @Inject
+    SchemaMigrator schemaMigrator;
+
+    private final LinkedBlockingQueue<ReplicaChange> queue = new LinkedBlockingQueue<>();
+    private volatile ReplicaChange inFlight;
+    private volatile long committedPosition;
+    private volatile long appliedPosition;
+    private Thread applier;
+
+    void onStart(@Observes StartupEvent event) {
+        if (schemaMigrator.isMigrationJob()) {
+            return;
+        }
+        if (!enabled) {
+            return;
+        }
+        if (shardRouter.isSharded()) {
+            throw new IllegalStateException("A réplica de leitura não é suportada com particionamento por cliente");
+        }
+
+        long copied = repository.copyAll();
+        LOG.infof("Réplica de leitura inicializada com %d OS", copied);
+
+        applier = new Thread(this::applyChanges, "replica-synchronizer");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (applier != null) {
+            applier.interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    synchronized long enqueue(Long id) {
+        long position = committedPosition + 1;
+        queue.add(new ReplicaChange(position, id, System.nanoTime()));
+        committedPosition = position;
+        return position;
+    }
+
+    // Escritas em lote feitas por JDBC, fora do listener JPA (ex.: importação de CSV)
+    public synchronized void enqueueAll(Collection<Long> ids) {
+        if (!enabled) {
+            return;
+        }
+        for (Long id : ids) {
+            enqueue(id);
+        }
+    }
+
+    public long getCommittedPosition() {
+        return committedPosition;
+    }
+
+    public long getAppliedPosition() {
+        return appliedPosition;
+    }
+
+    // Idade da mudança mais antiga ainda não aplicada
+    public long lagMillis() {
+        ReplicaChange oldest = inFlight;
+        if (oldest == null) {
+            oldest = queue.peek();
+        }
+        return oldest == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedAtNanos);
+    }
+
+    private void applyChanges() {
+        List<ReplicaChange> batch = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                ReplicaChange first = queue.take();
+                inFlight = first;
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+                long applyAt = batch.get(batch.size() - 1).enqueuedAtNanos + TimeUnit.MILLISECONDS.toNanos(applyDelayMillis);
+                long wait = applyAt - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+
+                applyWithRetry(batch);
+                appliedPosition = batch.get(batch.size() - 1).position;
+                inFlight = null;
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void applyWithRetry(List<ReplicaChange> batch) throws InterruptedException {
+        Set<Long> ids = new LinkedHashSet<>();
+        batch.forEach(change -> ids.add(change.id));
+        while (true) {
+            try {
+                repository.refresh(ids);
+                return;
+            } catch (RuntimeException e) {
+                LOG.errorf(e, "Falha ao aplicar %d mudanças na réplica; nova tentativa em %d ms", ids.size(), RETRY_DELAY_MS);
+                TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    private static final class ReplicaChange {
+
+        private final long position;
+        private final Long id;
+        private final long enqueuedAtNanos;
+
+        ReplicaChange(long position, Long id, long enqueuedAtNanos) {
+            this.position = position;
+            this.id = id;
+            this.enqueuedAtNanos = enqueuedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.quarkus.api.replica;
+
+import com.quarkus.api.domain.model.ServiceOrder;
+import io.quarkus.arc.Arc;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+// Listener JPA da ServiceOrder: depois do commit, envia o ID alterado para a réplica e registra
+// a posição que o cliente precisa ver. Operações em massa (ex.: deleteAll) não passam por aqui.
+public class ReplicationListener {
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(ServiceOrder serviceOrder) {
+        ReplicaSynchronizer synchronizer = Arc.container().instance(ReplicaSynchronizer.class).get();
+        if (!synchronizer.isEnabled()) {
+            return;
+        }
+
+        Long id = serviceOrder.id;
+        String client = ReadRoutingContext.currentClient();
+        TransactionSynchronizationRegistry transactionRegistry =
+                Arc.container().instance(TransactionSynchronizationRegistry.class).get();
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    long position = synchronizer.enqueue(id);
+                    Arc.container().instance(ReplicaRouter.class).get().recordWrite(client, position);
+                }
+            }
+        });
+    }
+}
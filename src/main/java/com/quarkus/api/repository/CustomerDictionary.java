@@ -0,0 +1,157 @@
+package com.quarkus.api.repository;
+
+import com.quarkus.api.sharding.ShardRouter;
+import io.quarkus.agroal.runtime.AgroalDataSourceUtil;
+import io.quarkus.datasource.common.runtime.DataSourceUtil;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.persistence.PersistenceException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Dicionário de clientes (tabela customer) de um datasource, em memória nos dois sentidos: nome -> ID
+// para gravar e ID -> nome para ler, sem join. As OS guardam só o ID do cliente, e todas as OS carregadas
+// do mesmo cliente compartilham a mesma String. Cada datasource (primário, shards, réplica) tem a própria
+// tabela e os próprios IDs. Um cliente novo é gravado em uma transação própria, commitada antes da OS que
+// o usa: todo ID em cache existe no banco, mesmo que a transação da OS seja desfeita.
+// O cliente é resolvido (idOf) antes da gravação da OS, enquanto quem grava ainda não segura uma conexão do
+// pool; o Hibernate (CustomerIdConverter) só consulta o cache, durante o flush e a leitura, com a conexão da
+// sessão em uso. O dicionário do primário é carregado inteiro na inicialização (ServiceOrderRepository): o H2
+// é embarcado e só esta aplicação grava clientes, sempre por idOf, então toda OS lida tem o cliente no cache.
+public final class CustomerDictionary {
+
+    private static final String DUPLICATE_KEY_SQL_STATE = "23505";
+
+    private static final Map<String, CustomerDictionary> BY_DATASOURCE = new ConcurrentHashMap<>();
+
+    private final DataSource dataSource;
+    private final String dataSourceName;
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+
+    private CustomerDictionary(DataSource dataSource, String dataSourceName) {
+        this.dataSource = dataSource;
+        this.dataSourceName = dataSourceName;
+    }
+
+    // O nome do datasource identifica o dicionário (o mesmo usado nas mensagens de ServiceOrderJdbc)
+    public static CustomerDictionary of(DataSource dataSource, String dataSourceName) {
+        return BY_DATASOURCE.computeIfAbsent(dataSourceName, name -> new CustomerDictionary(dataSource, name));
+    }
+
+    // Dicionário do datasource padrão, usado pelo Hibernate (CustomerIdConverter)
+    public static CustomerDictionary primary() {
+        CustomerDictionary dictionary = BY_DATASOURCE.get(ShardRouter.DEFAULT_SHARD);
+        if (dictionary != null) {
+            return dictionary;
+        }
+        DataSource dataSource = AgroalDataSourceUtil.dataSourceIfActive(DataSourceUtil.DEFAULT_DATASOURCE_NAME)
+                .orElseThrow(() -> new IllegalStateException("Datasource padrão não está ativo"));
+        return of(dataSource, ShardRouter.DEFAULT_SHARD);
+    }
+
+    // ID do cliente, criando-o se for novo
+    public long idOf(String customer) {
+        Long id = idsByName.get(customer);
+        if (id == null) {
+            id = QuarkusTransaction.requiringNew().call(() -> findOrInsert(customer));
+            register(id, customer);
+        }
+        return id;
+    }
+
+    // Só o cache, sem acesso ao banco. Um cliente fora dele é um erro de quem gravou a OS sem resolvê-lo antes.
+    public long cachedIdOf(String customer) {
+        Long id = idsByName.get(customer);
+        if (id == null) {
+            throw new IllegalStateException("Cliente não resolvido no datasource " + dataSourceName + " antes da gravação da OS: " + customer);
+        }
+        return id;
+    }
+
+    // Só o cache, sem acesso ao banco
+    public String nameOf(long id) {
+        String name = namesById.get(id);
+        if (name == null) {
+            throw new IllegalStateException("Cliente " + id + " fora do dicionário do datasource " + dataSourceName);
+        }
+        return name;
+    }
+
+    // Carrega todos os clientes do datasource para o cache
+    public void load() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT id, name FROM customer")) {
+            while (rows.next()) {
+                register(rows.getLong(1), rows.getString(2));
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("Falha ao carregar os clientes do datasource " + dataSourceName, e);
+        }
+    }
+
+    // Resolve pela conexão já aberta, para não pedir outra ao pool no meio de uma leitura
+    String nameOf(Connection connection, long id) throws SQLException {
+        String name = namesById.get(id);
+        if (name != null) {
+            return name;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT name FROM customer WHERE id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet row = statement.executeQuery()) {
+                if (!row.next()) {
+                    throw new PersistenceException("Cliente " + id + " inexistente no datasource " + dataSourceName);
+                }
+                return register(id, row.getString(1));
+            }
+        }
+    }
+
+    private long findOrInsert(String customer) {
+        try (Connection connection = dataSource.getConnection()) {
+            Long id = find(connection, customer);
+            if (id != null) {
+                return id;
+            }
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO customer (name) VALUES (?)", Statement.RETURN_GENERATED_KEYS)) {
+                insert.setString(1, customer);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    return keys.getLong(1);
+                }
+            } catch (SQLException e) {
+                // Outra transação criou o mesmo cliente ao mesmo tempo
+                if (DUPLICATE_KEY_SQL_STATE.equals(e.getSQLState())) {
+                    return find(connection, customer);
+                }
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("Falha ao gravar o cliente no datasource " + dataSourceName, e);
+        }
+    }
+
+    private static Long find(Connection connection, String customer) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM customer WHERE name = ?")) {
+            statement.setString(1, customer);
+            try (ResultSet row = statement.executeQuery()) {
+                return row.next() ? row.getLong(1) : null;
+            }
+        }
+    }
+
+    // Devolve a instância compartilhada do nome
+    private String register(long id, String customer) {
+        String name = namesById.computeIfAbsent(id, ignored -> customer);
+        idsByName.putIfAbsent(name, id);
+        return name;
+    }
+}
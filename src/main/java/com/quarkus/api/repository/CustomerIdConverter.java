@@ -0,0 +1,20 @@
+package com.quarkus.api.repository;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// ServiceOrder.customer continua sendo o nome do cliente; no banco, a coluna é o ID em customer.
+// Só o cache do dicionário: a conversão acontece no flush e na leitura, e não pode pedir outra conexão ao pool.
+@Converter
+public class CustomerIdConverter implements AttributeConverter<String, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(String customer) {
+        return customer != null ? CustomerDictionary.primary().cachedIdOf(customer) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Long id) {
+        return id != null ? CustomerDictionary.primary().nameOf(id) : null;
+    }
+}
@@ -0,0 +1,194 @@
+package com.quarkus.api.repository;
+
+import com.quarkus.api.domain.model.CustomerOrderSummary;
+import com.quarkus.api.schema.SchemaMigrator;
+import com.quarkus.api.sharding.ShardBuckets;
+import com.quarkus.api.sharding.ShardRouter;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.LaunchMode;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+// Contadores de OS por cliente (tabela customer_order_summary), atualizados pelo trigger CustomerSummaryTrigger
+// no próprio comando que cria ou altera a OS. Cada cliente tem até service-order.customer-summary.slots linhas:
+// cada escrita incrementa um slot sorteado, então escritas concorrentes do mesmo cliente raramente disputam a
+// mesma linha, e a leitura soma os slots. Os incrementos são sempre relativos (x = x + ?), o que
+// permite corrigir divergências sem bloquear as escritas (ver repair).
+// Particionado, o resumo fica no shard dono do cliente, junto com as OS dele.
+@ApplicationScoped
+public class CustomerOrderSummaryRepository {
+
+    static final String TRIGGER = "service_order_customer_summary";
+
+    static final String INCREMENT = "UPDATE customer_order_summary SET open_count = open_count + ?, "
+            + "in_progress_count = in_progress_count + ?, finished_count = finished_count + ?, "
+            + "last_order_at = CASE WHEN last_order_at IS NULL OR last_order_at < ? THEN ? ELSE last_order_at END "
+            + "WHERE customer = ? AND slot = ?";
+
+    // Diferença entre os contadores esperados (recalculados de service_order) e os atuais, em um único
+    // comando: as duas tabelas são lidas no mesmo instante, e OS gravadas depois disso não entram em
+    // nenhum dos lados, pois a OS e o seu incremento são commitados juntos. As OS movidas para as partições
+    // mensais continuam contando (%s: service_order, ou ela junto com as partições)
+    private static final String DRIFT = "SELECT customer, SUM(open_count), SUM(in_progress_count), SUM(finished_count), "
+            + "MAX(expected_last_order_at), MAX(last_order_at) FROM ("
+            + " SELECT c.name AS customer,"
+            + " CASE WHEN status = 'ABERTA' THEN 1 ELSE 0 END AS open_count,"
+            + " CASE WHEN status = 'EM_ANDAMENTO' THEN 1 ELSE 0 END AS in_progress_count,"
+            + " CASE WHEN status = 'FINALIZADA' THEN 1 ELSE 0 END AS finished_count,"
+            + " created_at AS expected_last_order_at, CAST(NULL AS TIMESTAMP) AS last_order_at"
+            + " FROM %s so JOIN customer c ON c.id = so.customer_id"
+            + " UNION ALL"
+            + " SELECT customer, -open_count, -in_progress_count, -finished_count, CAST(NULL AS TIMESTAMP), last_order_at"
+            + " FROM customer_order_summary"
+            + ") counts GROUP BY customer "
+            + "HAVING SUM(open_count) <> 0 OR SUM(in_progress_count) <> 0 OR SUM(finished_count) <> 0 "
+            + "OR MAX(expected_last_order_at) IS DISTINCT FROM MAX(last_order_at)";
+
+    static final String CREATE_SLOTS = "INSERT INTO customer_order_summary (customer, slot) SELECT ?, X FROM SYSTEM_RANGE(0, ?) "
+            + "WHERE NOT EXISTS (SELECT 1 FROM customer_order_summary WHERE customer = ? AND slot = X)";
+
+    private static final String DUPLICATE_KEY_SQL_STATE = "23505";
+
+    @ConfigProperty(name = "service-order.customer-summary.slots", defaultValue = "4")
+    int slots;
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    AgroalDataSource defaultDataSource;
+
+    @Inject
+    ServiceOrderPartitions partitions;
+
+    @Inject
+    SchemaMigrator schemaMigrator;
+
+    // Cria o trigger, se ainda não existir, depois da migração (SchemaMigrator) e do ShardRouter. Em dev e nos
+    // testes, o banco em memória sobrevive ao recarregamento da aplicação, e o H2 guarda a instância da classe
+    // carregada na criação do trigger: lá ele é recriado, para usar a classe do novo class loader.
+    void onStart(@Observes @Priority(Interceptor.Priority.APPLICATION + 600) StartupEvent event) {
+        if (schemaMigrator.isMigrationJob()) {
+            return;
+        }
+        CustomerSummaryTrigger.configure(slots);
+        for (String name : dataSourceNames()) {
+            DataSource dataSource = dataSource(name);
+            if (LaunchMode.current().isDevOrTest()) {
+                ServiceOrderJdbc.update(dataSource, name, "DROP TRIGGER IF EXISTS " + TRIGGER);
+            }
+            ServiceOrderJdbc.update(dataSource, name, "CREATE TRIGGER IF NOT EXISTS " + TRIGGER
+                    + " AFTER INSERT, UPDATE ON service_order FOR EACH ROW CALL '" + CustomerSummaryTrigger.class.getName() + "'");
+        }
+    }
+
+    public CustomerOrderSummary find(String customer) {
+        String name = dataSourceName(customer);
+        Object[] row = ServiceOrderJdbc.queryRows(dataSource(name), name,
+                "SELECT SUM(open_count), SUM(in_progress_count), SUM(finished_count), MAX(last_order_at), COUNT(*) "
+                        + "FROM customer_order_summary WHERE customer = ?", customer).get(0);
+        if (((Number) row[4]).longValue() == 0) {
+            return null;
+        }
+        return new CustomerOrderSummary(customer, toLong(row[0]), toLong(row[1]), toLong(row[2]), toLocalDateTime(row[3]));
+    }
+
+    // Nomes dos datasources que guardam resumos: os shards, ou apenas o datasource padrão
+    public List<String> dataSourceNames() {
+        return router.isSharded() ? router.getShards() : List.of(ShardRouter.DEFAULT_SHARD);
+    }
+
+    // Recalcula os contadores a partir de service_order e aplica a diferença no slot 0 de cada cliente
+    // divergente, uma transação curta por cliente. Devolve o número de clientes corrigidos.
+    public int repair(String name) {
+        DataSource dataSource = dataSource(name);
+        String serviceOrders = router.isSharded() ? "service_order" : partitions.allServiceOrders();
+        List<Object[]> drifts = ServiceOrderJdbc.queryRows(dataSource, name, String.format(DRIFT, serviceOrders));
+        for (Object[] drift : drifts) {
+            String customer = (String) drift[0];
+            LocalDateTime expectedLastOrderAt = toLocalDateTime(drift[4]);
+            LocalDateTime lastOrderAt = toLocalDateTime(drift[5]);
+
+            createSlots(dataSource, name, customer);
+            QuarkusTransaction.requiringNew().run(() -> {
+                ServiceOrderJdbc.update(dataSource, name, INCREMENT,
+                        toLong(drift[1]), toLong(drift[2]), toLong(drift[3]), expectedLastOrderAt, expectedLastOrderAt, customer, 0);
+                if (!Objects.equals(expectedLastOrderAt, lastOrderAt)) {
+                    ServiceOrderJdbc.update(dataSource, name,
+                            "UPDATE customer_order_summary SET last_order_at = CASE WHEN slot = 0 THEN ? ELSE NULL END WHERE customer = ?",
+                            expectedLastOrderAt, customer);
+                }
+            });
+        }
+        return drifts.size();
+    }
+
+    // Apaga, em um shard, os resumos dos clientes de um bucket movido para outro shard pelo rebalanceamento.
+    // A cópia das OS já incrementou os resumos no destino (o MERGE passa pelo trigger); sem isto, a origem
+    // continuaria contando as mesmas OS. O bucket vem do nome do cliente, calculado aqui e não no SQL.
+    public int deleteBucket(String shard, int bucket) {
+        DataSource dataSource = router.dataSource(shard);
+        int deleted = 0;
+        for (Object[] row : ServiceOrderJdbc.queryRows(dataSource, shard, "SELECT DISTINCT customer FROM customer_order_summary")) {
+            String customer = (String) row[0];
+            if (ShardBuckets.ofCustomer(customer) == bucket) {
+                deleted += ServiceOrderJdbc.update(dataSource, shard, "DELETE FROM customer_order_summary WHERE customer = ?", customer);
+            }
+        }
+        return deleted;
+    }
+
+    // Slots de um cliente que ainda não tem nenhum, em uma transação própria (a reconstrução corrige clientes
+    // que o trigger ainda não viu, como os de OS gravadas antes dele)
+    private void createSlots(DataSource dataSource, String name, String customer) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> ServiceOrderJdbc.update(dataSource, name,
+                    CREATE_SLOTS, customer, slots - 1, customer));
+        } catch (RuntimeException e) {
+            if (!isDuplicateKey(e)) {
+                throw e;
+            }
+        }
+    }
+
+    private String dataSourceName(String customer) {
+        return router.isSharded() ? router.shardForCustomer(customer) : ShardRouter.DEFAULT_SHARD;
+    }
+
+    private DataSource dataSource(String name) {
+        return router.isSharded() ? router.dataSource(name) : defaultDataSource;
+    }
+
+    private static boolean isDuplicateKey(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && DUPLICATE_KEY_SQL_STATE.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,107 @@
+package com.quarkus.api.repository;
+
+import com.quarkus.api.domain.enums.Status;
+import org.h2.tools.TriggerAdapter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Trigger do H2 em service_order (AFTER INSERT, UPDATE) que mantém customer_order_summary dentro do próprio
+// comando que grava a OS: o incremento roda no banco, na mesma transação, sem outro comando JDBC da aplicação.
+// Toda escrita em service_order conta (API, lote, importação, MERGE do rebalanceamento); exclusões não, pois
+// as OS movidas para as partições mensais continuam no resumo, e o que elas deixam para trás é corrigido pela
+// reconstrução. Instalado na inicialização por CustomerOrderSummaryRepository.
+public class CustomerSummaryTrigger extends TriggerAdapter {
+
+    private static final String DUPLICATE_KEY_SQL_STATE = "23505";
+
+    private static volatile int slots = 4;
+
+    static void configure(int slotCount) {
+        slots = slotCount;
+    }
+
+    @Override
+    public void fire(Connection connection, ResultSet oldRow, ResultSet newRow) throws SQLException {
+        long oldCustomer = oldRow != null ? oldRow.getLong("CUSTOMER_ID") : 0;
+        long newCustomer = newRow.getLong("CUSTOMER_ID");
+        String oldStatus = oldRow != null ? oldRow.getString("STATUS") : null;
+        String newStatus = newRow.getString("STATUS");
+        Object createdAt = newRow.getObject("CREATED_AT");
+
+        // A data de criação da própria OS nunca passa da última: o slot só a usa se ainda estiver vazio
+        long[] deltas = new long[Status.values().length];
+        add(deltas, newStatus, 1);
+        if (oldRow != null && oldCustomer == newCustomer) {
+            if (Objects.equals(oldStatus, newStatus)) {
+                return;
+            }
+            add(deltas, oldStatus, -1);
+        } else if (oldRow != null) {
+            long[] oldDeltas = new long[Status.values().length];
+            add(oldDeltas, oldStatus, -1);
+            increment(connection, customerName(connection, oldCustomer), oldDeltas, null);
+        }
+        increment(connection, customerName(connection, newCustomer), deltas, createdAt);
+    }
+
+    private static void increment(Connection connection, String customer, long[] deltas, Object orderAt) throws SQLException {
+        int slot = ThreadLocalRandom.current().nextInt(slots);
+        if (update(connection, customer, deltas, orderAt, slot) == 0) {
+            createSlots(connection, customer);
+            update(connection, customer, deltas, orderAt, slot);
+        }
+    }
+
+    private static int update(Connection connection, String customer, long[] deltas, Object orderAt, int slot) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CustomerOrderSummaryRepository.INCREMENT)) {
+            statement.setLong(1, deltas[0]);
+            statement.setLong(2, deltas[1]);
+            statement.setLong(3, deltas[2]);
+            statement.setObject(4, orderAt);
+            statement.setObject(5, orderAt);
+            statement.setString(6, customer);
+            statement.setInt(7, slot);
+            return statement.executeUpdate();
+        }
+    }
+
+    // As linhas dos slots são criadas juntas, na primeira OS do cliente. Duas primeiras OS simultâneas do
+    // mesmo cliente: a segunda espera o commit da primeira e apenas ignora a chave duplicada (o H2 desfaz
+    // só o comando que falhou, não a transação)
+    private static void createSlots(Connection connection, String customer) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CustomerOrderSummaryRepository.CREATE_SLOTS)) {
+            statement.setString(1, customer);
+            statement.setInt(2, slots - 1);
+            statement.setString(3, customer);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            if (!DUPLICATE_KEY_SQL_STATE.equals(e.getSQLState())) {
+                throw e;
+            }
+        }
+    }
+
+    private static String customerName(Connection connection, long id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT name FROM customer WHERE id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet row = statement.executeQuery()) {
+                if (!row.next()) {
+                    throw new SQLException("Cliente " + id + " inexistente");
+                }
+                return row.getString(1);
+            }
+        }
+    }
+
+    // As posições seguem a ordem do enum (ABERTA, EM_ANDAMENTO, FINALIZADA), a mesma das colunas
+    private static void add(long[] deltas, String status, long delta) {
+        if (status != null) {
+            deltas[Status.valueOf(status).ordinal()] += delta;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.quarkus.api.repository;
+
+import com.quarkus.api.domain.model.ServiceOrder;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.runtime.AgroalDataSourceUtil;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Leituras na réplica (datasource "replica") e a sincronização dela a partir do primário, por JDBC.
+@ApplicationScoped
+public class ReplicaServiceOrderRepository {
+
+    public static final String REPLICA_DATASOURCE = "replica";
+
+    private static final String PRIMARY = "primário";
+    private static final int COPY_BATCH_SIZE = 1_000;
+
+    @Inject
+    AgroalDataSource primary;
+
+    private volatile AgroalDataSource replica;
+
+    public ServiceOrder findById(long id) {
+        return ServiceOrderJdbc.findById(replica(), REPLICA_DATASOURCE, id, false);
+    }
+
+    public List<ServiceOrder> findByIds(Collection<Long> ids) {
+        return ServiceOrderJdbc.findByIds(replica(), REPLICA_DATASOURCE, new LinkedHashSet<>(ids));
+    }
+
+    public List<ServiceOrder> listPage(int pageIndex, int size) {
+        return ServiceOrderJdbc.listPage(replica(), REPLICA_DATASOURCE, pageIndex * size, size);
+    }
+
+    public List<ServiceOrder> listAfter(long afterId, int size) {
+        return ServiceOrderJdbc.listAfter(replica(), REPLICA_DATASOURCE, afterId, size);
+    }
+
+    public long count() {
+        return ServiceOrderJdbc.count(replica(), REPLICA_DATASOURCE);
+    }
+
+    // Cópia completa do primário, usada na inicialização
+    public long copyAll() {
+        ServiceOrderJdbc.update(replica(), REPLICA_DATASOURCE, "DELETE FROM service_order");
+        long copied = 0;
+        long afterId = Long.MIN_VALUE;
+        while (true) {
+            List<ServiceOrder> batch = ServiceOrderJdbc.listAfter(primary, PRIMARY, afterId, COPY_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                return copied;
+            }
+            ServiceOrderJdbc.upsertAll(replica(), REPLICA_DATASOURCE, batch);
+            copied += batch.size();
+            afterId = batch.get(batch.size() - 1).id;
+        }
+    }
+
+    // Reaplica o estado atual das OS no primário: as que sumiram de lá são apagadas da réplica
+    public void refresh(Collection<Long> ids) {
+        List<ServiceOrder> current = ServiceOrderJdbc.findByIds(primary, PRIMARY, ids);
+        ServiceOrderJdbc.upsertAll(replica(), REPLICA_DATASOURCE, current);
+
+        Set<Long> removed = new HashSet<>(ids);
+        current.forEach(serviceOrder -> removed.remove(serviceOrder.id));
+        for (Long id : removed) {
+            ServiceOrderJdbc.update(replica(), REPLICA_DATASOURCE, "DELETE FROM service_order WHERE id = ?", id);
+        }
+    }
+
+    private AgroalDataSource replica() {
+        AgroalDataSource dataSource = replica;
+        if (dataSource == null) {
+            dataSource = AgroalDataSourceUtil.dataSourceIfActive(REPLICA_DATASOURCE)
+                    .orElseThrow(() -> new IllegalStateException("Datasource da réplica não está ativo"));
+            replica = dataSource;
+        }
+        return dataSource;
+    }
+}
@@ -0,0 +1,220 @@
+package com.quarkus.api.repository;
+
+import com.quarkus.api.deadline.RequestDeadline;
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import jakarta.persistence.PersistenceException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Acesso JDBC à tabela service_order para os datasources que não passam pela sessão do Panache
+// (shards e réplica de leitura). O nome do datasource identifica o dicionário de clientes dele
+// (CustomerDictionary) e aparece nas mensagens de erro.
+final class ServiceOrderJdbc {
+
+    static final String COLUMNS = "id, customer_id, description, status, created_at, started_at, finished_at, assigned_to, version";
+
+    private ServiceOrderJdbc() {
+    }
+
+    static ServiceOrder findById(DataSource dataSource, String name, long id, boolean forUpdate) {
+        List<ServiceOrder> found = query(dataSource, name,
+                "SELECT " + COLUMNS + " FROM service_order WHERE id = ?" + (forUpdate ? " FOR UPDATE" : ""), id);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    static List<ServiceOrder> findByIds(DataSource dataSource, String name, Collection<Long> ids) {
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return query(dataSource, name, "SELECT " + COLUMNS + " FROM service_order WHERE id IN (" + placeholders + ")", ids.toArray());
+    }
+
+    static List<ServiceOrder> listPage(DataSource dataSource, String name, int offset, int limit) {
+        return query(dataSource, name, "SELECT " + COLUMNS + " FROM service_order ORDER BY id LIMIT ? OFFSET ?", limit, offset);
+    }
+
+    static List<ServiceOrder> listAfter(DataSource dataSource, String name, long afterId, int limit) {
+        return query(dataSource, name, "SELECT " + COLUMNS + " FROM service_order WHERE id > ? ORDER BY id LIMIT ?", afterId, limit);
+    }
+
+    static long count(DataSource dataSource, String name) {
+        return withConnection(dataSource, name, connection -> {
+            try (PreparedStatement statement = prepare(connection, "SELECT COUNT(*) FROM service_order");
+                 ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                return rows.getLong(1);
+            }
+        });
+    }
+
+    // O cliente é resolvido antes de pedir a conexão: um cliente novo é gravado com outra, em transação própria
+    static void insert(DataSource dataSource, String name, ServiceOrder serviceOrder) {
+        long customerId = CustomerDictionary.of(dataSource, name).idOf(serviceOrder.getCustomer());
+        withConnection(dataSource, name, connection -> {
+            try (PreparedStatement statement = prepare(connection,
+                    "INSERT INTO service_order (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                bind(statement, serviceOrder, customerId);
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    // Condicional à versão lida, como o UPDATE do Hibernate com @Version; avança a versão da OS em memória
+    static int updateStatus(DataSource dataSource, String name, ServiceOrder serviceOrder) {
+        int updated = update(dataSource, name, "UPDATE service_order SET status = ?, started_at = ?, finished_at = ?, assigned_to = ?,"
+                        + " version = version + 1 WHERE id = ? AND version = ?",
+                serviceOrder.getStatus().name(), serviceOrder.getStartedAt(), serviceOrder.getFinishedAt(),
+                serviceOrder.getAssignedTo(), serviceOrder.id, serviceOrder.getVersion());
+        if (updated > 0) {
+            serviceOrder.setVersion(serviceOrder.getVersion() + 1);
+        }
+        return updated;
+    }
+
+    // MERGE torna a gravação idempotente: reaplicar as mesmas linhas não duplica nada
+    static void upsertAll(DataSource dataSource, String name, List<ServiceOrder> serviceOrders) {
+        CustomerDictionary customers = CustomerDictionary.of(dataSource, name);
+        Map<String, Long> customerIds = new HashMap<>();
+        for (ServiceOrder serviceOrder : serviceOrders) {
+            customerIds.computeIfAbsent(serviceOrder.getCustomer(), customers::idOf);
+        }
+        withConnection(dataSource, name, connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = prepare(connection,
+                    "MERGE INTO service_order (" + COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (ServiceOrder serviceOrder : serviceOrders) {
+                    bind(statement, serviceOrder, customerIds.get(serviceOrder.getCustomer()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return serviceOrders.size();
+        });
+    }
+
+    static int update(DataSource dataSource, String name, String sql, Object... parameters) {
+        return withConnection(dataSource, name, connection -> {
+            try (PreparedStatement statement = prepare(connection, sql)) {
+                setParameters(statement, parameters);
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    static List<ServiceOrder> query(DataSource dataSource, String name, String sql, Object... parameters) {
+        return withConnection(dataSource, name, connection -> {
+            try (PreparedStatement statement = prepare(connection, sql)) {
+                setParameters(statement, parameters);
+                try (ResultSet rows = statement.executeQuery()) {
+                    CustomerDictionary customers = CustomerDictionary.of(dataSource, name);
+                    List<ServiceOrder> serviceOrders = new ArrayList<>();
+                    while (rows.next()) {
+                        serviceOrders.add(map(rows, customers, connection));
+                    }
+                    return serviceOrders;
+                }
+            }
+        });
+    }
+
+    // Linhas cruas, para consultas que não devolvem OS (agregações)
+    static List<Object[]> queryRows(DataSource dataSource, String name, String sql, Object... parameters) {
+        return withConnection(dataSource, name, connection -> {
+            try (PreparedStatement statement = prepare(connection, sql)) {
+                setParameters(statement, parameters);
+                try (ResultSet rows = statement.executeQuery()) {
+                    int columns = rows.getMetaData().getColumnCount();
+                    List<Object[]> result = new ArrayList<>();
+                    while (rows.next()) {
+                        Object[] row = new Object[columns];
+                        for (int i = 0; i < columns; i++) {
+                            row[i] = rows.getObject(i + 1);
+                        }
+                        result.add(row);
+                    }
+                    return result;
+                }
+            }
+        });
+    }
+
+    private static <T> T withConnection(DataSource dataSource, String name, SqlWork<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            return work.execute(connection);
+        } catch (SQLException e) {
+            throw new PersistenceException("Falha ao acessar o datasource " + name, e);
+        }
+    }
+
+    // Com uma requisição em andamento, o banco cancela o comando quando o prazo dela acaba
+    private static PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        int timeoutSeconds = RequestDeadline.queryTimeoutSeconds();
+        if (timeoutSeconds > 0) {
+            statement.setQueryTimeout(timeoutSeconds);
+        }
+        return statement;
+    }
+
+    private static void setParameters(PreparedStatement statement, Object... parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, ServiceOrder serviceOrder, long customerId) throws SQLException {
+        statement.setLong(1, serviceOrder.id);
+        statement.setLong(2, customerId);
+        statement.setString(3, serviceOrder.getDescription());
+        statement.setString(4, serviceOrder.getStatus() != null ? serviceOrder.getStatus().name() : null);
+        statement.setTimestamp(5, Timestamp.valueOf(serviceOrder.getCreatedAt()));
+        statement.setTimestamp(6, toTimestamp(serviceOrder.getStartedAt()));
+        statement.setTimestamp(7, toTimestamp(serviceOrder.getFinishedAt()));
+        statement.setString(8, serviceOrder.getAssignedTo());
+        statement.setLong(9, serviceOrder.getVersion());
+    }
+
+    private static ServiceOrder map(ResultSet rows, CustomerDictionary customers, Connection connection) throws SQLException {
+        String status = rows.getString(4);
+        ServiceOrder serviceOrder = new ServiceOrder(customers.nameOf(connection, rows.getLong(2)), rows.getString(3),
+                status != null ? Status.valueOf(status) : null);
+        serviceOrder.setId(rows.getLong(1));
+        serviceOrder.setCreatedAt(rows.getTimestamp(5).toLocalDateTime());
+        serviceOrder.setStartedAt(toLocalDateTime(rows.getTimestamp(6)));
+        serviceOrder.setFinishedAt(toLocalDateTime(rows.getTimestamp(7)));
+        serviceOrder.setAssignedTo(rows.getString(8));
+        serviceOrder.setVersion(rows.getLong(9));
+        return serviceOrder;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp value) {
+        return value != null ? value.toLocalDateTime() : null;
+    }
+
+    @FunctionalInterface
+    private interface SqlWork<T> {
+        T execute(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,218 @@
+package com.quarkus.api.repository;
+
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.sharding.ShardRouter;
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Partições mensais de service_order, por mês de criação. O H2 não particiona tabelas, então cada mês
+// fechado tem a sua tabela (service_order_AAAAMM) com as OS finalizadas criadas nele. Em service_order
+// ficam os meses recentes e todas as OS abertas ou em andamento, as únicas que ainda mudam: mover uma OS
+// finalizada não disputa com escritas. Consultas por período leem só as partições que cruzam o intervalo,
+// e excluir um mês antigo é um DROP TABLE, sem DELETE linha a linha.
+// Só no datasource padrão: com particionamento por cliente, as partições mensais não são usadas.
+@ApplicationScoped
+public class ServiceOrderPartitions {
+
+    private static final String TABLE_PREFIX = "service_order_";
+    private static final Pattern TABLE_NAME = Pattern.compile("SERVICE_ORDER_(\\d{6})");
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter TIMESTAMP_LITERAL = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    private final NavigableSet<YearMonth> months = new ConcurrentSkipListSet<>();
+    private volatile boolean loaded;
+
+    public static String tableName(YearMonth month) {
+        return TABLE_PREFIX + month.format(MONTH_SUFFIX);
+    }
+
+    // Meses com partição, do mais antigo para o mais recente
+    public List<YearMonth> months() {
+        load();
+        return List.copyOf(months);
+    }
+
+    public boolean exists(YearMonth month) {
+        load();
+        return months.contains(month);
+    }
+
+    public long count(YearMonth month) {
+        Object[] row = ServiceOrderJdbc.queryRows(dataSource, ShardRouter.DEFAULT_SHARD, "SELECT COUNT(*) FROM " + tableName(month)).get(0);
+        return ((Number) row[0]).longValue();
+    }
+
+    // Cria a partição do mês, com a mesma estrutura de service_order e a faixa de created_at garantida
+    // por CHECK. Idempotente: instâncias concorrentes podem criar o mesmo mês.
+    public synchronized void create(YearMonth month) {
+        requireUnsharded();
+        load();
+        if (months.contains(month)) {
+            return;
+        }
+        String table = tableName(month);
+        update("CREATE TABLE IF NOT EXISTS " + table + " AS SELECT " + ServiceOrderJdbc.COLUMNS + " FROM service_order WITH NO DATA");
+        update("ALTER TABLE " + table + " ADD CONSTRAINT IF NOT EXISTS pk_" + table + " PRIMARY KEY (id)");
+        update("ALTER TABLE " + table + " ADD CONSTRAINT IF NOT EXISTS ck_" + table + "_created_at CHECK (created_at >= TIMESTAMP '"
+                + start(month).format(TIMESTAMP_LITERAL) + "' AND created_at < TIMESTAMP '" + start(month.plusMonths(1)).format(TIMESTAMP_LITERAL) + "')");
+        update("CREATE INDEX IF NOT EXISTS idx_" + table + "_created_at ON " + table + " (created_at, id)");
+        months.add(month);
+    }
+
+    // Move até `limit` OS finalizadas criadas no mês de service_order para a partição. Um único comando:
+    // a partição recebe exatamente as linhas apagadas (OLD TABLE), sem janela entre cópia e exclusão.
+    // Devolve os IDs movidos (FINAL TABLE do INSERT): as OS saíram de service_order por JDBC, e a réplica
+    // precisa saber disso.
+    public List<Long> moveFinished(YearMonth month, int limit) {
+        create(month);
+        return ids(ServiceOrderJdbc.queryRows(dataSource, ShardRouter.DEFAULT_SHARD,
+                "SELECT id FROM FINAL TABLE (INSERT INTO " + tableName(month) + " (" + ServiceOrderJdbc.COLUMNS + ") SELECT " + ServiceOrderJdbc.COLUMNS
+                        + " FROM OLD TABLE (DELETE FROM service_order WHERE status = 'FINALIZADA' AND created_at >= ? AND created_at < ?"
+                        + " FETCH FIRST ? ROWS ONLY))",
+                start(month), start(month.plusMonths(1)), limit));
+    }
+
+    // IDs das OS da partição do mês (vazio se o mês não tem partição)
+    public List<Long> idsOf(YearMonth month) {
+        if (!exists(month)) {
+            return List.of();
+        }
+        return ids(ServiceOrderJdbc.queryRows(dataSource, ShardRouter.DEFAULT_SHARD, "SELECT id FROM " + tableName(month)));
+    }
+
+    // Mês de criação da OS finalizada mais antiga de service_order antes de `before`, pelo índice (status, created_at)
+    public YearMonth oldestFinishedBefore(LocalDateTime before) {
+        Object[] row = ServiceOrderJdbc.queryRows(dataSource, ShardRouter.DEFAULT_SHARD,
+                "SELECT MIN(created_at) FROM service_order WHERE status = 'FINALIZADA' AND created_at < ?", before).get(0);
+        LocalDateTime oldest = row[0] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[0];
+        return oldest == null ? null : YearMonth.from(oldest);
+    }
+
+    // Exclui o mês inteiro em tempo constante. Devolve false se o mês não tinha partição.
+    public synchronized boolean drop(YearMonth month) {
+        requireUnsharded();
+        load();
+        if (!months.remove(month)) {
+            return false;
+        }
+        update("DROP TABLE IF EXISTS " + tableName(month));
+        return true;
+    }
+
+    // OS das partições criadas em [from, to), em ordem de (created_at, id), até `limit`. Só as partições
+    // dos meses que cruzam o intervalo são lidas; como os meses não se sobrepõem, a leitura para assim que
+    // `limit` OS forem encontradas.
+    public List<ServiceOrder> findCreatedBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        List<ServiceOrder> found = new ArrayList<>();
+        for (YearMonth month : overlapping(from, to)) {
+            found.addAll(ServiceOrderJdbc.query(dataSource, ShardRouter.DEFAULT_SHARD,
+                    "SELECT " + ServiceOrderJdbc.COLUMNS + " FROM " + tableName(month)
+                            + " WHERE created_at >= ? AND created_at < ? ORDER BY created_at, id LIMIT ?",
+                    from, to, limit - found.size()));
+            if (found.size() >= limit) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    // Busca pela chave primária em todas as partições, com um único comando
+    public ServiceOrder findById(long id) {
+        List<YearMonth> all = months();
+        if (all.isEmpty()) {
+            return null;
+        }
+        List<String> lookups = new ArrayList<>(all.size());
+        for (YearMonth month : all) {
+            lookups.add("SELECT " + ServiceOrderJdbc.COLUMNS + " FROM " + tableName(month) + " WHERE id = ?");
+        }
+        List<ServiceOrder> found = ServiceOrderJdbc.query(dataSource, ShardRouter.DEFAULT_SHARD,
+                String.join(" UNION ALL ", lookups), Collections.nCopies(all.size(), id).toArray());
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    // service_order junto com as partições (colunas id, customer_id, status e created_at), para as
+    // consultas que precisam de todas as OS, como a conferência do resumo por cliente
+    public String allServiceOrders() {
+        List<YearMonth> all = months();
+        if (all.isEmpty()) {
+            return "service_order";
+        }
+        StringBuilder union = new StringBuilder("(SELECT id, customer_id, status, created_at FROM service_order");
+        for (YearMonth month : all) {
+            union.append(" UNION ALL SELECT id, customer_id, status, created_at FROM ").append(tableName(month));
+        }
+        return union.append(')').toString();
+    }
+
+    private List<YearMonth> overlapping(LocalDateTime from, LocalDateTime to) {
+        load();
+        if (months.isEmpty() || !from.isBefore(to)) {
+            return List.of();
+        }
+        return List.copyOf(months.subSet(YearMonth.from(from), true, YearMonth.from(to.minusNanos(1)), true));
+    }
+
+    // As partições são as tabelas existentes no banco: sobrevivem a reinícios e são vistas por todas as instâncias
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            if (!router.isSharded()) {
+                for (Object[] row : ServiceOrderJdbc.queryRows(dataSource, ShardRouter.DEFAULT_SHARD,
+                        "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME LIKE 'SERVICE_ORDER_%'")) {
+                    Matcher matcher = TABLE_NAME.matcher((String) row[0]);
+                    if (matcher.matches()) {
+                        months.add(YearMonth.parse(matcher.group(1), MONTH_SUFFIX));
+                    }
+                }
+            }
+            loaded = true;
+        }
+    }
+
+    private void requireUnsharded() {
+        if (router.isSharded()) {
+            throw new IllegalStateException("As partições mensais não são suportadas com particionamento por cliente");
+        }
+    }
+
+    private int update(String sql, Object... parameters) {
+        return ServiceOrderJdbc.update(dataSource, ShardRouter.DEFAULT_SHARD, sql, parameters);
+    }
+
+    private static List<Long> ids(List<Object[]> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add(((Number) row[0]).longValue());
+        }
+        return ids;
+    }
+
+    private static LocalDateTime start(YearMonth month) {
+        return month.atDay(1).atStartOfDay();
+    }
+}
@@ -1,10 +1,84 @@
 package com.quarkus.api.repository;
 
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ClaimCandidate;
 import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.schema.SchemaMigrator;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Sort;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 @ApplicationScoped
 public class ServiceOrderRepository implements PanacheRepository<ServiceOrder> {
 
-}
\ No newline at end of file
+    private static final Comparator<ServiceOrder> CREATION_ORDER = Comparator.comparing(ServiceOrder::getCreatedAt)
+            .thenComparing(serviceOrder -> serviceOrder.id);
+
+    // OS finalizadas dos meses fechados (ver ServiceOrderPartitions)
+    @Inject
+    ServiceOrderPartitions partitions;
+
+    @Inject
+    SchemaMigrator schemaMigrator;
+
+    // Logo depois da migração (SchemaMigrator) e antes de qualquer leitura de OS pelo Hibernate, que só consulta
+    // o cache de clientes (CustomerIdConverter)
+    void onStart(@Observes @Priority(Interceptor.Priority.PLATFORM_BEFORE + 100) StartupEvent event) {
+        if (schemaMigrator.isMigrationJob()) {
+            return;
+        }
+        CustomerDictionary.primary().load();
+    }
+
+    // OS criadas em [from, to), em ordem de (created_at, id), até `limit`: service_order pelo índice de
+    // created_at e, das partições mensais, apenas as dos meses que cruzam o intervalo
+    public List<ServiceOrder> findCreatedBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        List<ServiceOrder> current = find("createdAt >= ?1 and createdAt < ?2", Sort.by("createdAt").and("id"), from, to)
+                .page(Page.ofSize(limit))
+                .list();
+        List<ServiceOrder> archived = partitions.findCreatedBetween(from, to, limit);
+        if (archived.isEmpty()) {
+            return current;
+        }
+        List<ServiceOrder> merged = new ArrayList<>(current.size() + archived.size());
+        merged.addAll(current);
+        merged.addAll(archived);
+        merged.sort(CREATION_ORDER);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    // Busca nas partições mensais, para OS que já saíram de service_order
+    public ServiceOrder findArchivedById(Long id) {
+        return partitions.findById(id);
+    }
+
+    // OS abertas mais antigas depois de `after`, pelo índice (status, created_at), sem lock
+    public List<ClaimCandidate> findClaimCandidates(ClaimCandidate after, int limit) {
+        return find("status = ?1 and createdAt >= ?2 and not (createdAt = ?2 and id <= ?3)",
+                Sort.by("createdAt").and("id"), Status.ABERTA, after.getCreatedAt(), after.getId())
+                .project(ClaimCandidate.class)
+                .page(Page.ofSize(limit))
+                .list();
+    }
+
+    // Trava a OS se ela ainda estiver aberta; se outra transação já a travou, devolve null sem esperar
+    @SuppressWarnings("unchecked")
+    public ServiceOrder lockIfOpen(Long id) {
+        List<ServiceOrder> locked = getEntityManager()
+                .createNativeQuery("SELECT * FROM service_order WHERE id = ?1 AND status = 'ABERTA' FOR UPDATE SKIP LOCKED", ServiceOrder.class)
+                .setParameter(1, id)
+                .getResultList();
+        return locked.isEmpty() ? null : locked.get(0);
+    }
+}
@@ -0,0 +1,295 @@
+package com.quarkus.api.repository;
+
+import com.quarkus.api.deadline.RequestDeadline;
+import com.quarkus.api.domain.id.SnowflakeIdGenerator;
+import com.quarkus.api.domain.model.ClaimCandidate;
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.sharding.ShardBuckets;
+import com.quarkus.api.sharding.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+// Acesso às OS quando há mais de um shard. Cada shard é um datasource próprio, acessado por JDBC:
+// a sessão do Panache é presa a um único datasource. Escritas e buscas por ID vão direto ao shard
+// dono do bucket; listagens consultam todos os shards em paralelo e intercalam os resultados por ID.
+// Nesse modo os IDs são sempre snowflake, com o bucket do cliente nos bits menos significativos.
+@ApplicationScoped
+public class ShardedServiceOrderRepository {
+
+    // Chave, no registro da transação, dos buckets que ela já segura
+    private static final String HELD_BUCKETS = ShardedServiceOrderRepository.class.getName() + ".heldBuckets";
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    ManagedExecutor executor;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "service-order.id.node-id", defaultValue = "0")
+    long nodeId;
+
+    private SnowflakeIdGenerator idGenerator;
+
+    @PostConstruct
+    void init() {
+        idGenerator = new SnowflakeIdGenerator(nodeId, ShardBuckets.BUCKET_BITS);
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void persist(ServiceOrder serviceOrder) {
+        int bucket = ShardBuckets.ofCustomer(serviceOrder.getCustomer());
+        holdBucketUntilCompletion(bucket);
+        serviceOrder.setId(idGenerator.nextId() | bucket);
+
+        String shard = router.ownerOf(bucket);
+        ServiceOrderJdbc.insert(router.dataSource(shard), shard, serviceOrder);
+    }
+
+    // Grava o cliente no shard dono do bucket dele, se for novo, em uma transação própria
+    public long resolveCustomer(String customer) {
+        String shard = router.shardForCustomer(customer);
+        return CustomerDictionary.of(router.dataSource(shard), shard).idOf(customer);
+    }
+
+    public ServiceOrder findById(long id) {
+        String shard = router.shardForId(id);
+        return ServiceOrderJdbc.findById(router.dataSource(shard), shard, id, false);
+    }
+
+    // Carrega a OS com lock de linha para atualização, dentro da transação corrente
+    @Transactional(Transactional.TxType.MANDATORY)
+    public ServiceOrder findByIdForUpdate(long id) {
+        holdBucketUntilCompletion(ShardBuckets.ofId(id));
+        String shard = router.shardForId(id);
+        return ServiceOrderJdbc.findById(router.dataSource(shard), shard, id, true);
+    }
+
+    // false se nenhuma linha foi alterada: a OS não está mais no shard ou não está mais na versão lida
+    @Transactional(Transactional.TxType.MANDATORY)
+    public boolean updateStatus(ServiceOrder serviceOrder) {
+        String shard = router.shardForId(serviceOrder.id);
+        return ServiceOrderJdbc.updateStatus(router.dataSource(shard), shard, serviceOrder) > 0;
+    }
+
+    // Candidatas da fila de trabalho: as mais antigas de cada shard, intercaladas por antiguidade.
+    // Cada shard só devolve OS dos buckets que possui: cópias deixadas por uma migração em andamento
+    // nunca seriam encontradas por lockIfOpen.
+    public List<ClaimCandidate> findClaimCandidates(ClaimCandidate after, int limit) {
+        List<String> owners = router.bucketOwners();
+        List<List<ServiceOrder>> results = scatter(router.getShards(), shard -> {
+            List<Object> parameters = new ArrayList<>(List.of(after.getCreatedAt(), after.getCreatedAt(), after.getId()));
+            for (int bucket = 0; bucket < owners.size(); bucket++) {
+                if (shard.equals(owners.get(bucket))) {
+                    parameters.add(bucket);
+                }
+            }
+            if (parameters.size() == 3) {
+                return List.of();
+            }
+            String buckets = String.join(", ", Collections.nCopies(parameters.size() - 3, "?"));
+            parameters.add(limit);
+            return ServiceOrderJdbc.query(router.dataSource(shard), shard,
+                    "SELECT " + ServiceOrderJdbc.COLUMNS + " FROM service_order"
+                            + " WHERE status = 'ABERTA' AND created_at >= ? AND NOT (created_at = ? AND id <= ?)"
+                            + " AND bucket IN (" + buckets + ") ORDER BY created_at, id LIMIT ?",
+                    parameters.toArray());
+        });
+        return results.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(ServiceOrder::getCreatedAt).thenComparing(serviceOrder -> serviceOrder.id))
+                .limit(limit)
+                .map(serviceOrder -> new ClaimCandidate(serviceOrder.id, serviceOrder.getCreatedAt()))
+                .toList();
+    }
+
+    // Trava a OS no shard dono se ela ainda estiver aberta, sem esperar por locks de outras transações
+    @Transactional(Transactional.TxType.MANDATORY)
+    public ServiceOrder lockIfOpen(long id) {
+        holdBucketUntilCompletion(ShardBuckets.ofId(id));
+        String shard = router.shardForId(id);
+        List<ServiceOrder> locked = ServiceOrderJdbc.query(router.dataSource(shard), shard,
+                "SELECT " + ServiceOrderJdbc.COLUMNS + " FROM service_order WHERE id = ? AND status = 'ABERTA' FOR UPDATE SKIP LOCKED", id);
+        return locked.isEmpty() ? null : locked.get(0);
+    }
+
+    public List<ServiceOrder> findByIds(Collection<Long> ids) {
+        Map<String, List<Long>> idsByShard = new LinkedHashMap<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            idsByShard.computeIfAbsent(router.shardForId(id), shard -> new ArrayList<>()).add(id);
+        }
+
+        List<ServiceOrder> found = new ArrayList<>();
+        for (List<ServiceOrder> shardResult : scatter(idsByShard.keySet(),
+                shard -> ServiceOrderJdbc.findByIds(router.dataSource(shard), shard, idsByShard.get(shard)))) {
+            found.addAll(shardResult);
+        }
+        return found;
+    }
+
+    // Paginação por offset: cada shard devolve as primeiras (página + 1) * tamanho OS por ID,
+    // e o merge descarta as páginas anteriores. Páginas profundas custam caro; prefira o keyset.
+    public List<ServiceOrder> listPage(int pageIndex, int size) {
+        int limit = (pageIndex + 1) * size;
+        List<List<ServiceOrder>> results = scatter(router.getShards(),
+                shard -> ServiceOrderJdbc.listPage(router.dataSource(shard), shard, 0, limit));
+        return mergeById(results, pageIndex * size, size);
+    }
+
+    public List<ServiceOrder> listAfter(long afterId, int size) {
+        List<List<ServiceOrder>> results = scatter(router.getShards(),
+                shard -> ServiceOrderJdbc.listAfter(router.dataSource(shard), shard, afterId, size));
+        return mergeById(results, 0, size);
+    }
+
+    public long count(String shard) {
+        return ServiceOrderJdbc.count(router.dataSource(shard), shard);
+    }
+
+    // Operações usadas pelo rebalanceamento de buckets
+
+    public List<ServiceOrder> findByBucket(String shard, int bucket) {
+        return ServiceOrderJdbc.query(router.dataSource(shard), shard,
+                "SELECT " + ServiceOrderJdbc.COLUMNS + " FROM service_order WHERE bucket = ? ORDER BY id", bucket);
+    }
+
+    // A cópia é idempotente: um rebalanceamento interrompido pode ser repetido
+    public void upsertAll(String shard, List<ServiceOrder> serviceOrders) {
+        ServiceOrderJdbc.upsertAll(router.dataSource(shard), shard, serviceOrders);
+    }
+
+    public int deleteBucket(String shard, int bucket) {
+        return ServiceOrderJdbc.update(router.dataSource(shard), shard,
+                "DELETE FROM service_order WHERE bucket = ?", bucket);
+    }
+
+    static List<ServiceOrder> mergeById(List<List<ServiceOrder>> sortedResults, int skip, int limit) {
+        PriorityQueue<ShardCursor> cursors = new PriorityQueue<>(Comparator.comparingLong(cursor -> cursor.current.id));
+        for (List<ServiceOrder> result : sortedResults) {
+            Iterator<ServiceOrder> iterator = result.iterator();
+            if (iterator.hasNext()) {
+                cursors.add(new ShardCursor(iterator));
+            }
+        }
+
+        List<ServiceOrder> merged = new ArrayList<>(limit);
+        Long lastId = null;
+        while (!cursors.isEmpty() && merged.size() < limit) {
+            ShardCursor cursor = cursors.poll();
+            ServiceOrder serviceOrder = cursor.current;
+            // Durante a migração de um bucket a mesma OS pode existir nos dois shards
+            if (!serviceOrder.id.equals(lastId)) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    merged.add(serviceOrder);
+                }
+                lastId = serviceOrder.id;
+            }
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private List<List<ServiceOrder>> scatter(Collection<String> shards, Function<String, List<ServiceOrder>> query) {
+        if (shards.size() == 1) {
+            return List.of(query.apply(shards.iterator().next()));
+        }
+
+        // O prazo da requisição é por thread: segue junto para as consultas paralelas
+        RequestDeadline deadline = RequestDeadline.current();
+        List<CompletableFuture<List<ServiceOrder>>> futures = new ArrayList<>(shards.size());
+        for (String shard : shards) {
+            futures.add(executor.supplyAsync(() -> RequestDeadline.callWith(deadline, () -> query.apply(shard))));
+        }
+
+        List<List<ServiceOrder>> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<List<ServiceOrder>> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    // O read lock do StampedLock não é reentrante e fica atrás de um write lock na fila: se a transação
+    // pedisse de novo um bucket que já segura (um lote com CREATE e UPDATE_STATUS do mesmo cliente, duas
+    // alterações da mesma OS) enquanto um rebalanceamento espera por ele, esperaria por si mesma. Cada
+    // bucket é travado no máximo uma vez por transação; os já travados ficam no registro da transação.
+    private void holdBucketUntilCompletion(int bucket) {
+        BitSet heldBuckets = (BitSet) transactionRegistry.getResource(HELD_BUCKETS);
+        if (heldBuckets == null) {
+            heldBuckets = new BitSet(ShardBuckets.BUCKET_COUNT);
+            transactionRegistry.putResource(HELD_BUCKETS, heldBuckets);
+        } else if (heldBuckets.get(bucket)) {
+            return;
+        }
+
+        long stamp = router.enterBucket(bucket);
+        try {
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    router.exitBucket(bucket, stamp);
+                }
+            });
+        } catch (RuntimeException e) {
+            router.exitBucket(bucket, stamp);
+            throw e;
+        }
+        heldBuckets.set(bucket);
+    }
+
+    private static final class ShardCursor {
+
+        private final Iterator<ServiceOrder> iterator;
+        private ServiceOrder current;
+
+        ShardCursor(Iterator<ServiceOrder> iterator) {
+            this.iterator = iterator;
+            this.current = iterator.next();
+        }
+
+        boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            current = iterator.next();
+            return true;
+        }
+    }
+}
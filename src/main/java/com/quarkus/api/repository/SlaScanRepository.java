@@ -0,0 +1,79 @@
+package com.quarkus.api.repository;
+
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.sharding.ShardRouter;
+import com.quarkus.api.sla.SlaClock;
+import com.quarkus.api.sla.SlaWatermark;
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Consultas da varredura de SLA. Todas percorrem um intervalo do índice (status, created_at) ou
+// (status, started_at): apenas OS do status, em ordem de entrada no status, nunca a tabela inteira.
+// Particionado, cada shard é varrido separadamente e guarda a sua própria marca d'água.
+@ApplicationScoped
+public class SlaScanRepository {
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    AgroalDataSource defaultDataSource;
+
+    public List<String> dataSourceNames() {
+        return router.isSharded() ? router.getShards() : List.of(ShardRouter.DEFAULT_SHARD);
+    }
+
+    // OS do status que entraram nele antes de `cutoff` e depois da marca d'água, em ordem de (momento, id)
+    public List<ServiceOrder> findAfterWatermark(String name, SlaClock clock, SlaWatermark watermark, LocalDateTime cutoff, int limit) {
+        String column = clock.getColumn();
+        return ServiceOrderJdbc.query(dataSource(name), name,
+                "SELECT " + ServiceOrderJdbc.COLUMNS + " FROM service_order"
+                        + " WHERE status = ? AND " + column + " >= ? AND " + column + " < ?"
+                        + " AND NOT (" + column + " = ? AND id <= ?)"
+                        + " ORDER BY " + column + ", id LIMIT ?",
+                clock.getStatus().name(), watermark.getAt(), cutoff, watermark.getAt(), watermark.getId(), limit);
+    }
+
+    // OS que estão no status desde antes de `cutoff`, das mais antigas para as mais recentes
+    public List<ServiceOrder> findOverdue(String name, SlaClock clock, LocalDateTime cutoff, int limit) {
+        String column = clock.getColumn();
+        return ServiceOrderJdbc.query(dataSource(name), name,
+                "SELECT " + ServiceOrderJdbc.COLUMNS + " FROM service_order WHERE status = ? AND " + column + " < ?"
+                        + " ORDER BY " + column + ", id LIMIT ?",
+                clock.getStatus().name(), cutoff, limit);
+    }
+
+    public SlaWatermark findWatermark(String name, SlaClock clock) {
+        List<Object[]> rows = ServiceOrderJdbc.queryRows(dataSource(name), name,
+                "SELECT last_at, last_id FROM sla_scan_watermark WHERE status = ?", clock.getStatus().name());
+        if (rows.isEmpty()) {
+            return SlaWatermark.START;
+        }
+        Object lastAt = rows.get(0)[0];
+        return new SlaWatermark(lastAt instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) lastAt,
+                ((Number) rows.get(0)[1]).longValue());
+    }
+
+    public void saveWatermark(String name, SlaClock clock, SlaWatermark watermark) {
+        ServiceOrderJdbc.update(dataSource(name), name,
+                "MERGE INTO sla_scan_watermark (status, last_at, last_id) KEY (status) VALUES (?, ?, ?)",
+                clock.getStatus().name(), watermark.getAt(), watermark.getId());
+    }
+
+    // Volta a marca d'água dos status que já passaram de `from` para o início desse instante
+    public void rewindWatermarks(String name, LocalDateTime from) {
+        ServiceOrderJdbc.update(dataSource(name), name,
+                "UPDATE sla_scan_watermark SET last_at = ?, last_id = ? WHERE last_at >= ?",
+                from, SlaWatermark.START.getId(), from);
+    }
+
+    private DataSource dataSource(String name) {
+        return router.isSharded() ? router.dataSource(name) : defaultDataSource;
+    }
+}
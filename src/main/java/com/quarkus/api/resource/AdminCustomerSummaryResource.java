@@ -0,0 +1,26 @@
+package com.quarkus.api.resource;
+
+import com.quarkus.api.resource.dto.CustomerSummaryRebuildDTO;
+import com.quarkus.api.service.CustomerSummaryRebuilder;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+@Path("/admin/resumos")
+@Produces("application/json")
+@Tag(name = "Administração", description = "Operações administrativas.")
+public class AdminCustomerSummaryResource {
+
+    @Inject
+    CustomerSummaryRebuilder rebuilder;
+
+    @POST
+    @Path("reconstrucao")
+    @RolesAllowed("admin")
+    @Operation(summary = "Reconstrói o resumo por cliente", description = "Recalcula os contadores a partir das OS e corrige os clientes divergentes, sem bloquear as escritas.")
+    public CustomerSummaryRebuildDTO rebuild() {
+        return new CustomerSummaryRebuildDTO(rebuilder.rebuild());
+    }
+}
@@ -0,0 +1,72 @@
+package com.quarkus.api.resource;
+
+import com.quarkus.api.resource.dto.MonthlyPartitionDTO;
+import com.quarkus.api.resource.error.ErrorResponseDTO;
+import com.quarkus.api.storage.MonthlyPartitionMaintenance;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@Path("/admin/particoes-mensais")
+@Produces("application/json")
+@Tag(name = "Administração", description = "Operações administrativas.")
+public class AdminMonthlyPartitionResource {
+
+    @Inject
+    MonthlyPartitionMaintenance maintenance;
+
+    @GET
+    @Operation(summary = "Partições mensais de service_order", description = "Mês, tabela e quantidade de OS de cada partição, da mais antiga para a mais recente.")
+    public List<MonthlyPartitionDTO> status() {
+        return maintenance.status();
+    }
+
+    @POST
+    @Path("manutencao")
+    @RolesAllowed("admin")
+    @Operation(summary = "Executa a manutenção das partições", description = "Move as OS finalizadas dos meses fechados para as partições, criando as que faltam, e exclui as partições fora da retenção.")
+    @APIResponse(responseCode = "409", description = "Partições mensais desligadas ou indisponíveis com particionamento por cliente")
+    public Response run() {
+        try {
+            return Response.ok(maintenance.run()).build();
+        } catch (IllegalStateException e) {
+            return error(Response.Status.CONFLICT, e.getMessage());
+        }
+    }
+
+    @DELETE
+    @Path("{month}")
+    @RolesAllowed("admin")
+    @Operation(summary = "Exclui as OS de um mês", description = "Remove a partição do mês (AAAA-MM) com um DROP TABLE, sem apagar linha a linha, e reconstrói o resumo por cliente.")
+    @APIResponse(responseCode = "204", description = "Partição excluída")
+    @APIResponse(responseCode = "400", description = "Mês fora do formato AAAA-MM")
+    @APIResponse(responseCode = "404", description = "O mês não tem partição")
+    @APIResponse(responseCode = "409", description = "Partições mensais desligadas ou indisponíveis com particionamento por cliente")
+    public Response drop(@PathParam("month") String month) {
+        YearMonth partition;
+        try {
+            partition = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            return error(Response.Status.BAD_REQUEST, "Mês inválido: " + month + " (formato esperado: 2024-01)");
+        }
+        try {
+            return maintenance.drop(partition) ? Response.noContent().build() : Response.status(Response.Status.NOT_FOUND).build();
+        } catch (IllegalStateException e) {
+            return error(Response.Status.CONFLICT, e.getMessage());
+        }
+    }
+
+    private static Response error(Response.Status status, String message) {
+        return Response.status(status)
+                .entity(new ErrorResponseDTO(status.getStatusCode(), status.getReasonPhrase(), message))
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.quarkus.api.resource;
+
+import com.quarkus.api.replica.ReplicaRouter;
+import com.quarkus.api.replica.ReplicaSynchronizer;
+import com.quarkus.api.resource.dto.ReplicaStatusDTO;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Path("/admin/replica")
+@Produces("application/json")
+@Tag(name = "Administração", description = "Operações administrativas.")
+public class AdminReplicaResource {
+
+    @Inject
+    ReplicaRouter router;
+
+    @Inject
+    ReplicaSynchronizer synchronizer;
+
+    @GET
+    @Operation(summary = "Estado da réplica de leitura", description = "Atraso atual, posições de replicação e quantas leituras foram para cada rota (réplica ou primário, com o motivo).")
+    public ReplicaStatusDTO status() {
+        Map<String, Long> routes = new LinkedHashMap<>();
+        router.getRouteCounts().forEach((route, count) -> routes.put(route.name(), count));
+        return new ReplicaStatusDTO(router.isEnabled(), router.getMaxLagMillis(), synchronizer.lagMillis(),
+                synchronizer.getCommittedPosition(), synchronizer.getAppliedPosition(), routes);
+    }
+
+    @DELETE
+    @Path("rotas")
+    @RolesAllowed("admin")
+    @Operation(summary = "Zera os contadores de rotas de leitura")
+    public Response resetRoutes() {
+        router.resetCounts();
+        return Response.noContent().build();
+    }
+}
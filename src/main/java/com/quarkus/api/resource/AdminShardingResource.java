@@ -0,0 +1,58 @@
+package com.quarkus.api.resource;
+
+import com.quarkus.api.repository.ServiceOrderRepository;
+import com.quarkus.api.repository.ShardedServiceOrderRepository;
+import com.quarkus.api.resource.dto.BucketMoveDTO;
+import com.quarkus.api.resource.dto.ShardStatusDTO;
+import com.quarkus.api.sharding.ShardBuckets;
+import com.quarkus.api.sharding.ShardRebalancer;
+import com.quarkus.api.sharding.ShardRouter;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.Collections;
+import java.util.List;
+
+@Path("/admin/particionamento")
+@Produces("application/json")
+@Tag(name = "Administração", description = "Operações administrativas.")
+public class AdminShardingResource {
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    ShardRebalancer rebalancer;
+
+    @Inject
+    ServiceOrderRepository repository;
+
+    @Inject
+    ShardedServiceOrderRepository shardedRepository;
+
+    @GET
+    @Operation(summary = "Distribuição de buckets e OS por shard")
+    public List<ShardStatusDTO> status() {
+        if (!router.isSharded()) {
+            return List.of(new ShardStatusDTO(ShardRouter.DEFAULT_SHARD, ShardBuckets.BUCKET_COUNT, repository.count()));
+        }
+
+        List<String> owners = router.bucketOwners();
+        return router.getShards().stream()
+                .map(shard -> new ShardStatusDTO(shard, Collections.frequency(owners, shard), shardedRepository.count(shard)))
+                .toList();
+    }
+
+    @POST
+    @Path("rebalanceamento")
+    @RolesAllowed("admin")
+    @Operation(summary = "Redistribui os buckets entre os shards configurados", description = "Move o mínimo de buckets para equilibrar os shards, por exemplo depois de adicionar um shard em service-order.sharding.shards.")
+    public List<BucketMoveDTO> rebalance() {
+        return rebalancer.rebalance().stream()
+                .map(BucketMoveDTO::from)
+                .toList();
+    }
+}
@@ -0,0 +1,98 @@
+package com.quarkus.api.resource;
+
+import com.quarkus.api.coalescing.ReadCoalescer;
+import com.quarkus.api.deadline.DeadlineMetrics;
+import com.quarkus.api.monitoring.SqlMonitor;
+import com.quarkus.api.resource.dto.CoalescingStatisticsDTO;
+import com.quarkus.api.resource.dto.DeadlineStatisticsDTO;
+import com.quarkus.api.resource.dto.HibernateStatisticsDTO;
+import com.quarkus.api.resource.dto.SlowQueryDTO;
+import com.quarkus.api.resource.dto.SqlQueryStatisticsDTO;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.hibernate.SessionFactory;
+
+import java.util.List;
+
+@Path("/admin/estatisticas")
+@Produces("application/json")
+@Tag(name = "Administração", description = "Operações administrativas.")
+public class AdminStatisticsResource {
+
+    @Inject
+    SqlMonitor monitor;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    DeadlineMetrics deadlineMetrics;
+
+    @Inject
+    ReadCoalescer coalescer;
+
+    @GET
+    @Path("sql")
+    @Operation(summary = "Lista os comandos SQL mais custosos", description = "Retorna os top-N comandos SQL desde o último reset, ordenados por tempo total, tempo médio ou número de execuções.")
+    public List<SqlQueryStatisticsDTO> topQueries(@QueryParam("top") @DefaultValue("10") int top,
+                                                  @QueryParam("orderBy") @DefaultValue("TOTAL_TIME") SqlMonitor.SortBy orderBy) {
+        return monitor.top(Math.max(top, 1), orderBy).stream()
+                .map(SqlQueryStatisticsDTO::from)
+                .toList();
+    }
+
+    @GET
+    @Path("sql/lentas")
+    @Operation(summary = "Lista as consultas lentas", description = "Retorna as execuções SQL mais recentes acima do limite configurado, com o endpoint que as originou.")
+    public List<SlowQueryDTO> slowQueries() {
+        return monitor.getSlowQueries().stream()
+                .map(SlowQueryDTO::from)
+                .toList();
+    }
+
+    @GET
+    @Path("hibernate")
+    @Operation(summary = "Resumo das estatísticas do Hibernate")
+    public HibernateStatisticsDTO hibernateStatistics() {
+        return HibernateStatisticsDTO.from(sessionFactory.getStatistics());
+    }
+
+    @GET
+    @Path("prazos")
+    @Operation(summary = "Requisições canceladas por prazo esgotado", description = "Contagem por motivo (prazo vencido antes da execução, timeout de consulta, timeout de transação) e por endpoint, desde o último reset.")
+    public DeadlineStatisticsDTO deadlines() {
+        return DeadlineStatisticsDTO.from(deadlineMetrics);
+    }
+
+    @GET
+    @Path("coalescencia")
+    @Operation(summary = "Leituras compartilhadas por operação", description = "Consultas executadas, leituras que aguardaram uma consulta idêntica em andamento e leituras em transação (não compartilhadas), com a fração de leituras que não foi ao banco, desde o último reset.")
+    public List<CoalescingStatisticsDTO> coalescing() {
+        return coalescer.getStatistics().stream()
+                .map(CoalescingStatisticsDTO::from)
+                .toList();
+    }
+
+    @PUT
+    @Path("coleta")
+    @RolesAllowed("admin")
+    @Operation(summary = "Liga ou desliga a coleta de estatísticas em tempo de execução")
+    public Response setCollectionEnabled(@QueryParam("enabled") boolean enabled) {
+        monitor.setEnabled(enabled);
+        return Response.noContent().build();
+    }
+
+    @DELETE
+    @RolesAllowed("admin")
+    @Operation(summary = "Zera as estatísticas coletadas")
+    public Response reset() {
+        monitor.reset();
+        deadlineMetrics.reset();
+        coalescer.reset();
+        return Response.noContent().build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.quarkus.api.resource;
+
+import com.quarkus.api.resource.dto.StorageBackupDTO;
+import com.quarkus.api.resource.dto.StorageStatusDTO;
+import com.quarkus.api.resource.error.ErrorResponseDTO;
+import com.quarkus.api.storage.StorageMaintenance;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.List;
+
+@Path("/admin/armazenamento")
+@Produces("application/json")
+@Tag(name = "Administração", description = "Operações administrativas.")
+public class AdminStorageResource {
+
+    @Inject
+    StorageMaintenance maintenance;
+
+    @GET
+    @Operation(summary = "Armazenamento de cada datasource", description = "Modo (memória ou arquivo) e, no modo arquivo, tamanho, taxa de ocupação e uso do cache do MVStore.")
+    public List<StorageStatusDTO> status() {
+        return maintenance.status();
+    }
+
+    @POST
+    @Path("backup")
+    @RolesAllowed("admin")
+    @Operation(summary = "Backup online de cada datasource", description = "Cópia do banco em arquivo (BACKUP TO) ou script SQL do banco em memória (SCRIPT TO), com a aplicação atendendo normalmente.")
+    public List<StorageBackupDTO> backup() {
+        return maintenance.backup();
+    }
+
+    @POST
+    @Path("compactacao")
+    @RolesAllowed("admin")
+    @Operation(summary = "Compactação online dos bancos em arquivo", description = "Reescreve os trechos pouco ocupados do arquivo e devolve o espaço livre ao sistema de arquivos.")
+    @APIResponse(responseCode = "409", description = "Nenhum datasource no modo arquivo, ou MVStore do H2 inacessível")
+    public Response compact() {
+        try {
+            return Response.ok(maintenance.compact()).build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(new ErrorResponseDTO(Response.Status.CONFLICT.getStatusCode(), Response.Status.CONFLICT.getReasonPhrase(), e.getMessage()))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.quarkus.api.resource;
+
+import com.quarkus.api.tracing.InMemorySpanExporter;
+import com.quarkus.api.tracing.SpanRecord;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.List;
+
+@Path("/admin/rastreamentos")
+@Produces("application/json")
+@Tag(name = "Administração", description = "Operações administrativas.")
+public class AdminTracingResource {
+
+    @Inject
+    InMemorySpanExporter exporter;
+
+    @GET
+    @Operation(summary = "Lista os spans mais recentes", description = "Retorna os spans retidos pelo exportador em memória (service-order.tracing.memory.enabled), opcionalmente filtrados por trace.")
+    public Response spans(@QueryParam("traceId") String traceId) {
+        if (!exporter.isEnabled()) {
+            return Response.status(Response.Status.NOT_FOUND).entity("Exportador de spans em memória desabilitado.").build();
+        }
+        List<SpanRecord> spans = exporter.getSpans(traceId);
+        return Response.ok(spans).build();
+    }
+
+    @DELETE
+    @RolesAllowed("admin")
+    @Operation(summary = "Descarta os spans retidos em memória")
+    public Response clear() {
+        exporter.clear();
+        return Response.noContent().build();
+    }
+}
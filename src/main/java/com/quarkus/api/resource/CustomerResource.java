@@ -0,0 +1,35 @@
+package com.quarkus.api.resource;
+
+import com.quarkus.api.domain.model.CustomerOrderSummary;
+import com.quarkus.api.repository.CustomerOrderSummaryRepository;
+import com.quarkus.api.resource.dto.CustomerOrderSummaryDTO;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+@Path("/clientes")
+@Produces("application/json")
+@Tag(name = "Clientes", description = "Consultas agregadas por cliente.")
+public class CustomerResource {
+
+    @Inject
+    CustomerOrderSummaryRepository summaryRepository;
+
+    @GET
+    @Path("{customer}/resumo")
+    @Operation(summary = "Resumo das Ordens de Serviço de um cliente", description = "Quantidade de OS abertas, em andamento e finalizadas e a data da última OS, lidas da tabela de resumo (sem agregar service_order).")
+    @APIResponse(responseCode = "200", description = "Resumo do cliente", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerOrderSummaryDTO.class)))
+    @APIResponse(responseCode = "404", description = "Cliente sem Ordens de Serviço")
+    public Response summary(@PathParam("customer") String customer) {
+        CustomerOrderSummary summary = summaryRepository.find(customer);
+        if (summary == null || summary.getTotal() == 0) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        return Response.ok(CustomerOrderSummaryDTO.from(summary)).build();
+    }
+}
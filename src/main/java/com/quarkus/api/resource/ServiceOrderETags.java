@@ -0,0 +1,54 @@
+package com.quarkus.api.resource;
+
+import com.quarkus.api.domain.model.ServiceOrder;
+import jakarta.ws.rs.core.EntityTag;
+
+import java.util.List;
+
+// ETags fortes das OS, calculadas a partir da coluna version, sem serializar as entidades:
+// uma OS é "id-versão"; uma página é um hash dos pares (id, versão) que ela contém, na ordem.
+// Toda alteração de uma OS avança a versão, e inserções ou remoções mudam os IDs da página.
+final class ServiceOrderETags {
+
+    private static final long HASH_SEED = 0xcbf29ce484222325L;
+    private static final long HASH_MULTIPLIER = 0x9e3779b97f4a7c15L;
+
+    private ServiceOrderETags() {
+    }
+
+    static EntityTag of(ServiceOrder serviceOrder) {
+        return new EntityTag(serviceOrder.id + "-" + serviceOrder.getVersion());
+    }
+
+    static EntityTag ofPage(List<ServiceOrder> serviceOrders) {
+        long hash = HASH_SEED;
+        for (ServiceOrder serviceOrder : serviceOrders) {
+            hash = combine(hash, serviceOrder.id);
+            hash = combine(hash, serviceOrder.getVersion());
+        }
+        return new EntityTag("p" + serviceOrders.size() + "-" + Long.toHexString(hash));
+    }
+
+    // Versão da OS `id` pedida no If-Match (lista de ETags, comparação forte), ou null se nenhuma
+    // ETag forte da lista for desta OS. O "*" é tratado por quem chama.
+    static Long versionIn(String ifMatch, long id) {
+        String prefix = "\"" + id + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.strip();
+            if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+                continue;
+            }
+            try {
+                return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // ETag de outro formato: não corresponde a nenhuma versão
+            }
+        }
+        return null;
+    }
+
+    private static long combine(long hash, long value) {
+        hash = (hash ^ value) * HASH_MULTIPLIER;
+        return hash ^ (hash >>> 32);
+    }
+}
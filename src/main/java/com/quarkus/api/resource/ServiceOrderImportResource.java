@@ -0,0 +1,92 @@
+package com.quarkus.api.resource;
+
+import com.quarkus.api.bulkimport.ImportProgress;
+import com.quarkus.api.bulkimport.ServiceOrderImporter;
+import com.quarkus.api.resource.dto.ImportStatusDTO;
+import com.quarkus.api.resource.error.ErrorResponseDTO;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@Path("/ordens-servico/import")
+@Produces("application/json")
+@Tag(name = "Ordens de Serviço", description = "Operações relacionadas a Ordens de Serviço.")
+public class ServiceOrderImportResource {
+
+    @Inject
+    ServiceOrderImporter importer;
+
+    @POST
+    @Consumes({"text/csv", "text/plain"})
+    @Operation(summary = "Importa Ordens de Serviço de um CSV", description = "Cabeçalho obrigatório com customer e description; status e created_at (ISO-8601) são opcionais. O arquivo é processado enquanto é recebido; linhas inválidas vão para o relatório de rejeitadas.")
+    @APIResponse(responseCode = "200", description = "Importação concluída", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportStatusDTO.class)))
+    @APIResponse(responseCode = "400", description = "Cabeçalho ausente ou inválido")
+    @APIResponse(responseCode = "409", description = "Importação indisponível na configuração atual")
+    @APIResponse(responseCode = "500", description = "Importação interrompida; as linhas já commitadas permanecem")
+    public Response importCsv(InputStream body) throws IOException {
+        ImportProgress progress;
+        try {
+            progress = importer.importCsv(body);
+        } catch (IllegalArgumentException e) {
+            return error(Response.Status.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(Response.Status.CONFLICT, e.getMessage());
+        }
+        Response.Status status = progress.getState() == ImportProgress.State.FAILED
+                ? Response.Status.INTERNAL_SERVER_ERROR
+                : Response.Status.OK;
+        return Response.status(status).entity(ImportStatusDTO.from(progress)).build();
+    }
+
+    @GET
+    @Operation(summary = "Importações recentes", description = "Da mais antiga para a mais recente, incluindo as em andamento.")
+    public List<ImportStatusDTO> list() {
+        return importer.list().stream()
+                .map(ImportStatusDTO::from)
+                .toList();
+    }
+
+    @GET
+    @Path("{id}")
+    @Operation(summary = "Andamento de uma importação")
+    @APIResponse(responseCode = "200", description = "Andamento da importação", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportStatusDTO.class)))
+    @APIResponse(responseCode = "404", description = "Importação não encontrada")
+    public Response status(@PathParam("id") String id) {
+        ImportProgress progress = importer.find(id);
+        if (progress == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        return Response.ok(ImportStatusDTO.from(progress)).build();
+    }
+
+    @GET
+    @Path("{id}/rejeitadas")
+    @Produces("text/csv")
+    @Operation(summary = "Relatório das linhas rejeitadas", description = "CSV com a linha do arquivo original, o motivo da rejeição, customer e description.")
+    @APIResponse(responseCode = "404", description = "Importação não encontrada")
+    public Response rejected(@PathParam("id") String id) {
+        ImportProgress progress = importer.find(id);
+        if (progress == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        return Response.ok(progress.getRejectedReport().toFile())
+                .header("Content-Disposition", "attachment; filename=\"rejeitadas-" + id + ".csv\"")
+                .build();
+    }
+
+    private static Response error(Response.Status status, String message) {
+        return Response.status(status)
+                .entity(new ErrorResponseDTO(status.getStatusCode(), status.getReasonPhrase(), message))
+                .type("application/json")
+                .build();
+    }
+}
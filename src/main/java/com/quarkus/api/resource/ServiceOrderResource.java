@@ -1,24 +1,50 @@
 package com.quarkus.api.resource;
 
+import com.quarkus.api.analytics.LeadTimeRecorder;
+import com.quarkus.api.deadline.DefaultDeadline;
+import com.quarkus.api.domain.enums.Status;
 import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.resource.dto.LeadTimeMetricsDTO;
+import com.quarkus.api.resource.dto.LeadTimePercentilesDTO;
+import com.quarkus.api.resource.dto.OverdueServiceOrderDTO;
+import com.quarkus.api.resource.dto.ServiceOrderBatchLookupRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderBatchLookupResponseDTO;
+import com.quarkus.api.resource.dto.ServiceOrderBatchRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderBatchResponseDTO;
+import com.quarkus.api.resource.dto.ServiceOrderClaimRequestDTO;
 import com.quarkus.api.resource.dto.ServiceOrderCreateRequestDTO;
 import com.quarkus.api.resource.dto.ServiceOrderResponseDTO;
 import com.quarkus.api.resource.dto.ServiceOrderStatusUpdateRequestDTO;
 import com.quarkus.api.resource.error.ErrorResponseDTO;
 import com.quarkus.api.resource.mapper.ServiceOrderMapper;
+import com.quarkus.api.service.BatchMode;
+import com.quarkus.api.service.BatchOperation;
+import com.quarkus.api.service.BatchResult;
 import com.quarkus.api.service.ServiceOrderService;
+import com.quarkus.api.service.StatusUpdateResult;
+import com.quarkus.api.sla.SlaBreachScanner;
+import com.quarkus.api.sla.SlaClock;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Path("/ordens-servico")
 @Produces("application/json")
@@ -32,6 +58,12 @@ public class ServiceOrderResource {
     @Inject
     ServiceOrderMapper mapper;
 
+    @Inject
+    LeadTimeRecorder leadTimeRecorder;
+
+    @Inject
+    SlaBreachScanner slaScanner;
+
     @POST
     @Operation(summary = "Cria uma nova Ordem de Serviço", description = "Registra uma nova Ordem de Serviço com cliente e descrição.")
     @APIResponse(responseCode = "201", description = "Ordem de Serviço criada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceOrderResponseDTO.class)))
@@ -46,31 +78,207 @@ public class ServiceOrderResource {
     }
 
     @GET
-    public List<ServiceOrderResponseDTO> listSO(@QueryParam("page") int page, @QueryParam("size") int size) {
-        return mapper.toDtoList(service.listSO(page, size));
+    @DefaultDeadline(millis = 5_000)
+    @APIResponse(responseCode = "200", description = "Página de Ordens de Serviço, com ETag", content = @Content(mediaType = "application/json", schema = @Schema(type = SchemaType.ARRAY, implementation = ServiceOrderResponseDTO.class)))
+    @APIResponse(responseCode = "304", description = "A página não mudou desde a ETag enviada em If-None-Match")
+    public Response listSO(@QueryParam("page") int page, @QueryParam("size") int size,
+                           @QueryParam("afterId") Long afterId, @Context Request request) {
+        List<ServiceOrder> serviceOrders = afterId != null ? service.listSOAfter(afterId, size) : service.listSO(page, size);
+
+        // A ETag vem das versões das OS da página: o 304 é decidido antes de montar os DTOs
+        EntityTag tag = ServiceOrderETags.ofPage(serviceOrders);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(mapper.toDtoList(serviceOrders)).tag(tag).build();
+    }
+
+    @GET
+    @Path("metricas/lead-time")
+    @Operation(summary = "Percentis de lead time por etapa", description = "p50/p90/p99 do tempo entre as transições de status (ABERTA -> EM_ANDAMENTO -> FINALIZADA), calculados em memória a partir das transições feitas nesta instância. Filtra por cliente e pelas últimas N janelas de tempo.")
+    public LeadTimeMetricsDTO leadTime(@QueryParam("customer") String customer, @QueryParam("windows") int windows) {
+        int windowCount = windows <= 0 ? leadTimeRecorder.getRetainedWindows() : Math.min(windows, leadTimeRecorder.getRetainedWindows());
+        Map<String, LeadTimePercentilesDTO> stages = new LinkedHashMap<>();
+        leadTimeRecorder.snapshot(customer, windowCount)
+                .forEach((stage, histogram) -> stages.put(stage.name(), LeadTimePercentilesDTO.from(histogram)));
+        return new LeadTimeMetricsDTO(customer, leadTimeRecorder.getWindowMinutes(), windowCount, stages);
+    }
+
+    @GET
+    @Path("atrasadas")
+    @DefaultDeadline(millis = 5_000)
+    @Operation(summary = "Ordens de Serviço fora do prazo", description = "OS em ABERTA ou EM_ANDAMENTO há mais tempo que o SLA do status, das mais atrasadas para as menos atrasadas. Filtra por status e limita a quantidade (padrão 50, máximo 500).")
+    @APIResponse(responseCode = "400", description = "Status sem SLA", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class)))
+    public Response overdue(@QueryParam("status") Status status, @QueryParam("size") int size) {
+        SlaClock clock = null;
+        if (status != null) {
+            clock = SlaClock.of(status);
+            if (clock == null) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(new ErrorResponseDTO(Response.Status.BAD_REQUEST.getStatusCode(), Response.Status.BAD_REQUEST.getReasonPhrase(),
+                                "O status " + status + " não tem SLA"))
+                        .build();
+            }
+        }
+        int limit = size <= 0 ? 50 : Math.min(size, 500);
+        List<OverdueServiceOrderDTO> overdue = slaScanner.findOverdue(clock, limit).stream()
+                .map(OverdueServiceOrderDTO::from)
+                .toList();
+        return Response.ok(overdue).build();
+    }
+
+    @GET
+    @Path("periodo")
+    @DefaultDeadline(millis = 5_000)
+    @Operation(summary = "Ordens de Serviço criadas em um período", description = "OS com created_at em [from, to) (ISO-8601, ex.: 2024-01-01T00:00:00), em ordem de criação, incluindo as finalizadas que já estão nas partições mensais. Apenas as partições dos meses do período são lidas. Limita a quantidade (padrão 50, máximo 500).")
+    @APIResponse(responseCode = "200", description = "OS do período", content = @Content(mediaType = "application/json", schema = @Schema(type = SchemaType.ARRAY, implementation = ServiceOrderResponseDTO.class)))
+    @APIResponse(responseCode = "400", description = "Período ausente ou inválido", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class)))
+    @APIResponse(responseCode = "409", description = "Consulta indisponível com particionamento por cliente", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class)))
+    public Response listCreatedBetween(@QueryParam("from") String from, @QueryParam("to") String to, @QueryParam("size") int size) {
+        LocalDateTime start;
+        LocalDateTime end;
+        try {
+            start = from != null ? LocalDateTime.parse(from) : null;
+            end = to != null ? LocalDateTime.parse(to) : null;
+        } catch (DateTimeParseException e) {
+            start = null;
+            end = null;
+        }
+        if (start == null || end == null) {
+            return error(Response.Status.BAD_REQUEST, "Informe from e to no formato 2024-01-31T10:15:30");
+        }
+        if (!start.isBefore(end)) {
+            return error(Response.Status.BAD_REQUEST, "from deve ser anterior a to");
+        }
+
+        int limit = size <= 0 ? 50 : Math.min(size, 500);
+        try {
+            return Response.ok(mapper.toDtoList(service.listCreatedBetween(start, end, limit))).build();
+        } catch (IllegalStateException e) {
+            return error(Response.Status.CONFLICT, e.getMessage());
+        }
     }
 
     @GET
     @Path("{id}")
-    public Response findById(@PathParam("id") Long id) {
+    @DefaultDeadline(millis = 2_000)
+    @APIResponse(responseCode = "200", description = "Ordem de Serviço, com a ETag da versão atual")
+    @APIResponse(responseCode = "304", description = "A OS não mudou desde a ETag enviada em If-None-Match")
+    @APIResponse(responseCode = "404", description = "OS não encontrada")
+    public Response findById(@PathParam("id") Long id, @Context Request request) {
         ServiceOrder serviceOrder = service.findById(id);
         if (serviceOrder == null) {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
-        return Response.ok(serviceOrder).build();
+
+        EntityTag tag = ServiceOrderETags.of(serviceOrder);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(serviceOrder).tag(tag).build();
     }
 
-    @PUT
-    @Path("{id}/status")
-    public Response updateStatus(@PathParam("id") Long id, @Valid ServiceOrderStatusUpdateRequestDTO request) {
+    @POST
+    @Path("busca")
+    @DefaultDeadline(millis = 5_000)
+    @Operation(summary = "Busca Ordens de Serviço por uma lista de IDs", description = "Resolve até " + ServiceOrderBatchLookupRequestDTO.MAX_IDS + " IDs em uma única consulta, retornando as OS encontradas na ordem solicitada e os IDs inexistentes.")
+    @APIResponse(responseCode = "200", description = "Resultado da busca em lote", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceOrderBatchLookupResponseDTO.class)))
+    @APIResponse(responseCode = "400", description = "Dados da requisição inválidos", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class)))
+    public Response findByIds(@Valid ServiceOrderBatchLookupRequestDTO request) {
+        if (request == null) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("Corpo da requisição inválido ou vazio.").build();
+        }
+
+        Map<Long, ServiceOrder> found = service.findByIds(request.getIds());
+        return Response.ok(mapper.toBatchLookupDto(request.getIds(), found)).build();
+    }
+
+    @POST
+    @Path("batch")
+    @Operation(summary = "Executa um lote de operações em uma única transação", description = "Cria OS, altera status e consulta OS (até " + ServiceOrderBatchRequestDTO.MAX_OPERATIONS + " operações, na ordem enviada), com um resultado por operação. ALL_OR_NOTHING (padrão) desfaz o lote na primeira operação rejeitada; BEST_EFFORT commita as demais. Com particionamento, as operações devem ser do mesmo shard.")
+    @APIResponse(responseCode = "200", description = "Lote commitado", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceOrderBatchResponseDTO.class)))
+    @APIResponse(responseCode = "400", description = "Dados da requisição inválidos ou lote ALL_OR_NOTHING desfeito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceOrderBatchResponseDTO.class)))
+    @APIResponse(responseCode = "409", description = "Operações de shards diferentes", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class)))
+    public Response batch(@Valid ServiceOrderBatchRequestDTO request) {
         if (request == null) {
             return Response.status(Response.Status.BAD_REQUEST).entity("Corpo da requisição inválido ou vazio.").build();
         }
+
+        BatchMode mode = request.getMode() != null ? request.getMode() : BatchMode.ALL_OR_NOTHING;
+        List<BatchOperation> operations = request.getOperations().stream()
+                .map(mapper::toBatchOperation)
+                .toList();
+        BatchResult result;
         try {
-            service.updateStatus(id, request.getStatus());
+            result = service.executeBatch(operations, mode);
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(new ErrorResponseDTO(Response.Status.CONFLICT.getStatusCode(), Response.Status.CONFLICT.getReasonPhrase(), e.getMessage()))
+                    .build();
+        }
+        Response.Status status = result.isCommitted() ? Response.Status.OK : Response.Status.BAD_REQUEST;
+        return Response.status(status).entity(mapper.toBatchDto(mode, result)).build();
+    }
+
+    @POST
+    @Path("claim")
+    @Operation(summary = "Assume a próxima Ordem de Serviço da fila", description = "Move a OS aberta mais antiga para EM_ANDAMENTO e a atribui ao técnico. Técnicos concorrentes nunca recebem a mesma OS e não esperam uns pelos outros.")
+    @APIResponse(responseCode = "200", description = "OS assumida pelo técnico", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServiceOrderResponseDTO.class)))
+    @APIResponse(responseCode = "204", description = "Nenhuma OS aberta disponível")
+    @APIResponse(responseCode = "400", description = "Dados da requisição inválidos", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponseDTO.class)))
+    public Response claim(@Valid ServiceOrderClaimRequestDTO request) {
+        if (request == null) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("Corpo da requisição inválido ou vazio.").build();
+        }
+
+        ServiceOrder serviceOrder = service.claimNext(request.getTechnician());
+        if (serviceOrder == null) {
             return Response.noContent().build();
-        } catch (IllegalArgumentException e) {
-            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
         }
+        return Response.ok(mapper.toDto(serviceOrder)).build();
+    }
+
+    @PUT
+    @Path("{id}/status")
+    @APIResponse(responseCode = "204", description = "Status atualizado")
+    @APIResponse(responseCode = "400", description = "OS não encontrada ou transição de status inválida")
+    @APIResponse(responseCode = "409", description = "A OS foi alterada por outra requisição durante a atualização, ou está arquivada em uma partição mensal")
+    @APIResponse(responseCode = "412", description = "A OS não está na versão enviada em If-Match")
+    public Response updateStatus(@PathParam("id") Long id, @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
+                                 @Valid ServiceOrderStatusUpdateRequestDTO request) {
+        if (request == null) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("Corpo da requisição inválido ou vazio.").build();
+        }
+
+        // If-Match com a ETag de GET /ordens-servico/{id}: a versão é conferida junto com a atualização.
+        // "*" exige apenas que a OS exista.
+        boolean conditional = ifMatch != null && !ifMatch.isBlank();
+        Long expectedVersion = null;
+        if (conditional && !ifMatch.strip().equals("*")) {
+            expectedVersion = ServiceOrderETags.versionIn(ifMatch, id);
+            if (expectedVersion == null) {
+                return Response.status(Response.Status.PRECONDITION_FAILED).entity(StatusUpdateResult.VERSION_CONFLICT.getMessage()).build();
+            }
+        }
+
+        StatusUpdateResult result = service.updateStatus(id, request.getStatus(), expectedVersion);
+        if (conditional && (result == StatusUpdateResult.VERSION_CONFLICT || result == StatusUpdateResult.NOT_FOUND)) {
+            return Response.status(Response.Status.PRECONDITION_FAILED).entity(result.getMessage()).build();
+        }
+        if (result == StatusUpdateResult.VERSION_CONFLICT || result == StatusUpdateResult.ARCHIVED) {
+            return Response.status(Response.Status.CONFLICT).entity(result.getMessage()).build();
+        }
+        if (!result.isSuccess()) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(result.getMessage()).build();
+        }
+        return Response.noContent().build();
+    }
+
+    private static Response error(Response.Status status, String message) {
+        return Response.status(status)
+                .entity(new ErrorResponseDTO(status.getStatusCode(), status.getReasonPhrase(), message))
+                .build();
     }
 }
@@ -0,0 +1,31 @@
+package com.quarkus.api.resource.dto;
+
+import com.quarkus.api.sharding.BucketMove;
+
+public class BucketMoveDTO {
+    public int bucket;
+    public String from;
+    public String to;
+    public int serviceOrders;
+
+    public BucketMoveDTO() {}
+
+    public BucketMoveDTO(int bucket, String from, String to, int serviceOrders) {
+        this.bucket = bucket;
+        this.from = from;
+        this.to = to;
+        this.serviceOrders = serviceOrders;
+    }
+
+    public static BucketMoveDTO from(BucketMove move) {
+        return new BucketMoveDTO(move.getBucket(), move.getFrom(), move.getTo(), move.getRows());
+    }
+
+    public int getBucket() { return bucket; }
+
+    public String getFrom() { return from; }
+
+    public String getTo() { return to; }
+
+    public int getServiceOrders() { return serviceOrders; }
+}
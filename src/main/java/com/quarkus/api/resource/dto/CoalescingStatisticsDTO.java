@@ -0,0 +1,41 @@
+package com.quarkus.api.resource.dto;
+
+import com.quarkus.api.coalescing.CoalescingStatistics;
+
+public class CoalescingStatisticsDTO {
+    public String operation;
+    public long executed;
+    public long joined;
+    public long bypassed;
+    public double coalescingRatio;
+
+    public CoalescingStatisticsDTO() {}
+
+    public CoalescingStatisticsDTO(String operation, long executed, long joined, long bypassed, double coalescingRatio) {
+        this.operation = operation;
+        this.executed = executed;
+        this.joined = joined;
+        this.bypassed = bypassed;
+        this.coalescingRatio = coalescingRatio;
+    }
+
+    public static CoalescingStatisticsDTO from(CoalescingStatistics statistics) {
+        return new CoalescingStatisticsDTO(
+                statistics.getOperation(),
+                statistics.getExecuted(),
+                statistics.getJoined(),
+                statistics.getBypassed(),
+                statistics.getCoalescingRatio()
+        );
+    }
+
+    public String getOperation() { return operation; }
+
+    public long getExecuted() { return executed; }
+
+    public long getJoined() { return joined; }
+
+    public long getBypassed() { return bypassed; }
+
+    public double getCoalescingRatio() { return coalescingRatio; }
+}
@@ -0,0 +1,42 @@
+package com.quarkus.api.resource.dto;
+
+import com.quarkus.api.domain.model.CustomerOrderSummary;
+
+import java.time.LocalDateTime;
+
+public class CustomerOrderSummaryDTO {
+    public String customer;
+    public long open;
+    public long inProgress;
+    public long finished;
+    public long total;
+    public LocalDateTime lastOrderAt;
+
+    public CustomerOrderSummaryDTO() {}
+
+    public CustomerOrderSummaryDTO(String customer, long open, long inProgress, long finished, long total, LocalDateTime lastOrderAt) {
+        this.customer = customer;
+        this.open = open;
+        this.inProgress = inProgress;
+        this.finished = finished;
+        this.total = total;
+        this.lastOrderAt = lastOrderAt;
+    }
+
+    public static CustomerOrderSummaryDTO from(CustomerOrderSummary summary) {
+        return new CustomerOrderSummaryDTO(summary.getCustomer(), summary.getOpen(), summary.getInProgress(),
+                summary.getFinished(), summary.getTotal(), summary.getLastOrderAt());
+    }
+
+    public String getCustomer() { return customer; }
+
+    public long getOpen() { return open; }
+
+    public long getInProgress() { return inProgress; }
+
+    public long getFinished() { return finished; }
+
+    public long getTotal() { return total; }
+
+    public LocalDateTime getLastOrderAt() { return lastOrderAt; }
+}
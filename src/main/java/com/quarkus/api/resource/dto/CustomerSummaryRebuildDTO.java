@@ -0,0 +1,13 @@
+package com.quarkus.api.resource.dto;
+
+public class CustomerSummaryRebuildDTO {
+    public int customersRepaired;
+
+    public CustomerSummaryRebuildDTO() {}
+
+    public CustomerSummaryRebuildDTO(int customersRepaired) {
+        this.customersRepaired = customersRepaired;
+    }
+
+    public int getCustomersRepaired() { return customersRepaired; }
+}
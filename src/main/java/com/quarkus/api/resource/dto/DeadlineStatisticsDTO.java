@@ -0,0 +1,29 @@
+package com.quarkus.api.resource.dto;
+
+import com.quarkus.api.deadline.DeadlineMetrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class DeadlineStatisticsDTO {
+    public long cancelled;
+    public Map<String, Long> cancelledByReason;
+    public Map<String, Long> cancelledByEndpoint;
+
+    public DeadlineStatisticsDTO() {}
+
+    public static DeadlineStatisticsDTO from(DeadlineMetrics metrics) {
+        DeadlineStatisticsDTO dto = new DeadlineStatisticsDTO();
+        dto.cancelledByReason = new LinkedHashMap<>();
+        metrics.getCancellationsByReason().forEach((reason, count) -> dto.cancelledByReason.put(reason.name(), count));
+        dto.cancelledByEndpoint = metrics.getCancellationsByEndpoint();
+        dto.cancelled = dto.cancelledByReason.values().stream().mapToLong(Long::longValue).sum();
+        return dto;
+    }
+
+    public long getCancelled() { return cancelled; }
+
+    public Map<String, Long> getCancelledByReason() { return cancelledByReason; }
+
+    public Map<String, Long> getCancelledByEndpoint() { return cancelledByEndpoint; }
+}
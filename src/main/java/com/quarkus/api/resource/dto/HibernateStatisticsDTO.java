@@ -0,0 +1,61 @@
+package com.quarkus.api.resource.dto;
+
+import org.hibernate.stat.Statistics;
+
+public class HibernateStatisticsDTO {
+    public boolean enabled;
+    public long sessionOpenCount;
+    public long transactionCount;
+    public long prepareStatementCount;
+    public long queryExecutionCount;
+    public long queryExecutionMaxTimeMs;
+    public String queryExecutionMaxTimeQueryString;
+    public long entityLoadCount;
+    public long entityFetchCount;
+    public long entityInsertCount;
+    public long entityUpdateCount;
+    public long flushCount;
+
+    public HibernateStatisticsDTO() {}
+
+    public static HibernateStatisticsDTO from(Statistics statistics) {
+        HibernateStatisticsDTO dto = new HibernateStatisticsDTO();
+        dto.enabled = statistics.isStatisticsEnabled();
+        dto.sessionOpenCount = statistics.getSessionOpenCount();
+        dto.transactionCount = statistics.getTransactionCount();
+        dto.prepareStatementCount = statistics.getPrepareStatementCount();
+        dto.queryExecutionCount = statistics.getQueryExecutionCount();
+        dto.queryExecutionMaxTimeMs = statistics.getQueryExecutionMaxTime();
+        dto.queryExecutionMaxTimeQueryString = statistics.getQueryExecutionMaxTimeQueryString();
+        dto.entityLoadCount = statistics.getEntityLoadCount();
+        dto.entityFetchCount = statistics.getEntityFetchCount();
+        dto.entityInsertCount = statistics.getEntityInsertCount();
+        dto.entityUpdateCount = statistics.getEntityUpdateCount();
+        dto.flushCount = statistics.getFlushCount();
+        return dto;
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    public long getSessionOpenCount() { return sessionOpenCount; }
+
+    public long getTransactionCount() { return transactionCount; }
+
+    public long getPrepareStatementCount() { return prepareStatementCount; }
+
+    public long getQueryExecutionCount() { return queryExecutionCount; }
+
+    public long getQueryExecutionMaxTimeMs() { return queryExecutionMaxTimeMs; }
+
+    public String getQueryExecutionMaxTimeQueryString() { return queryExecutionMaxTimeQueryString; }
+
+    public long getEntityLoadCount() { return entityLoadCount; }
+
+    public long getEntityFetchCount() { return entityFetchCount; }
+
+    public long getEntityInsertCount() { return entityInsertCount; }
+
+    public long getEntityUpdateCount() { return entityUpdateCount; }
+
+    public long getFlushCount() { return flushCount; }
+}
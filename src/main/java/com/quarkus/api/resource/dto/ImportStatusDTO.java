@@ -0,0 +1,58 @@
+package com.quarkus.api.resource.dto;
+
+import com.quarkus.api.bulkimport.ImportProgress;
+
+import java.time.LocalDateTime;
+
+public class ImportStatusDTO {
+    public String id;
+    public ImportProgress.State state;
+    public LocalDateTime startedAt;
+    public LocalDateTime finishedAt;
+    public long elapsedMillis;
+    public long rowsRead;
+    public long imported;
+    public long rejected;
+    public String error;
+
+    public ImportStatusDTO() {}
+
+    public ImportStatusDTO(String id, ImportProgress.State state, LocalDateTime startedAt, LocalDateTime finishedAt,
+                           long elapsedMillis, long rowsRead, long imported, long rejected, String error) {
+        this.id = id;
+        this.state = state;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.error = error;
+    }
+
+    public static ImportStatusDTO from(ImportProgress progress) {
+        // O estado é lido primeiro: se já terminou, os contadores lidos em seguida são os finais
+        ImportProgress.State state = progress.getState();
+        return new ImportStatusDTO(progress.getId(), state, progress.getStartedAt(), progress.getFinishedAt(),
+                progress.getElapsedMillis(), progress.getRowsRead(), progress.getImported(), progress.getRejected(),
+                progress.getError());
+    }
+
+    public String getId() { return id; }
+
+    public ImportProgress.State getState() { return state; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    public long getRowsRead() { return rowsRead; }
+
+    public long getImported() { return imported; }
+
+    public long getRejected() { return rejected; }
+
+    public String getError() { return error; }
+}
@@ -0,0 +1,27 @@
+package com.quarkus.api.resource.dto;
+
+import java.util.Map;
+
+public class LeadTimeMetricsDTO {
+    public String customer;
+    public long windowMinutes;
+    public int windows;
+    public Map<String, LeadTimePercentilesDTO> stages;
+
+    public LeadTimeMetricsDTO() {}
+
+    public LeadTimeMetricsDTO(String customer, long windowMinutes, int windows, Map<String, LeadTimePercentilesDTO> stages) {
+        this.customer = customer;
+        this.windowMinutes = windowMinutes;
+        this.windows = windows;
+        this.stages = stages;
+    }
+
+    public String getCustomer() { return customer; }
+
+    public long getWindowMinutes() { return windowMinutes; }
+
+    public int getWindows() { return windows; }
+
+    public Map<String, LeadTimePercentilesDTO> getStages() { return stages; }
+}
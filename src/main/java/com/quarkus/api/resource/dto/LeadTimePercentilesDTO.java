@@ -0,0 +1,36 @@
+package com.quarkus.api.resource.dto;
+
+import com.quarkus.api.analytics.LeadTimeHistogram;
+
+public class LeadTimePercentilesDTO {
+    public long count;
+    public long p50Ms;
+    public long p90Ms;
+    public long p99Ms;
+    public long maxMs;
+
+    public LeadTimePercentilesDTO() {}
+
+    public LeadTimePercentilesDTO(long count, long p50Ms, long p90Ms, long p99Ms, long maxMs) {
+        this.count = count;
+        this.p50Ms = p50Ms;
+        this.p90Ms = p90Ms;
+        this.p99Ms = p99Ms;
+        this.maxMs = maxMs;
+    }
+
+    public static LeadTimePercentilesDTO from(LeadTimeHistogram histogram) {
+        return new LeadTimePercentilesDTO(histogram.getCount(), histogram.percentile(50), histogram.percentile(90),
+                histogram.percentile(99), histogram.getMax());
+    }
+
+    public long getCount() { return count; }
+
+    public long getP50Ms() { return p50Ms; }
+
+    public long getP90Ms() { return p90Ms; }
+
+    public long getP99Ms() { return p99Ms; }
+
+    public long getMaxMs() { return maxMs; }
+}
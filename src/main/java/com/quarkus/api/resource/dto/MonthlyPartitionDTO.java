@@ -0,0 +1,21 @@
+package com.quarkus.api.resource.dto;
+
+public class MonthlyPartitionDTO {
+    public String month;
+    public String table;
+    public long rows;
+
+    public MonthlyPartitionDTO() {}
+
+    public MonthlyPartitionDTO(String month, String table, long rows) {
+        this.month = month;
+        this.table = table;
+        this.rows = rows;
+    }
+
+    public String getMonth() { return month; }
+
+    public String getTable() { return table; }
+
+    public long getRows() { return rows; }
+}
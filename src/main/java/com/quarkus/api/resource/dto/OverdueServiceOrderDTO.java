@@ -0,0 +1,50 @@
+package com.quarkus.api.resource.dto;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.sla.SlaBreach;
+
+import java.time.LocalDateTime;
+
+public class OverdueServiceOrderDTO {
+    public Long id;
+    public String customer;
+    public String description;
+    public Status status;
+    public LocalDateTime since;
+    public LocalDateTime deadline;
+    public long overdueMinutes;
+
+    public OverdueServiceOrderDTO() {}
+
+    public OverdueServiceOrderDTO(Long id, String customer, String description, Status status,
+                                  LocalDateTime since, LocalDateTime deadline, long overdueMinutes) {
+        this.id = id;
+        this.customer = customer;
+        this.description = description;
+        this.status = status;
+        this.since = since;
+        this.deadline = deadline;
+        this.overdueMinutes = overdueMinutes;
+    }
+
+    public static OverdueServiceOrderDTO from(SlaBreach breach) {
+        ServiceOrder serviceOrder = breach.getServiceOrder();
+        return new OverdueServiceOrderDTO(serviceOrder.id, serviceOrder.getCustomer(), serviceOrder.getDescription(),
+                serviceOrder.getStatus(), breach.getSince(), breach.getDeadline(), breach.getOverdueMinutes());
+    }
+
+    public Long getId() { return id; }
+
+    public String getCustomer() { return customer; }
+
+    public String getDescription() { return description; }
+
+    public Status getStatus() { return status; }
+
+    public LocalDateTime getSince() { return since; }
+
+    public LocalDateTime getDeadline() { return deadline; }
+
+    public long getOverdueMinutes() { return overdueMinutes; }
+}
@@ -0,0 +1,23 @@
+package com.quarkus.api.resource.dto;
+
+import java.util.List;
+
+public class PartitionMaintenanceDTO {
+    public long moved;
+    public List<String> droppedMonths;
+    public long elapsedMillis;
+
+    public PartitionMaintenanceDTO() {}
+
+    public PartitionMaintenanceDTO(long moved, List<String> droppedMonths, long elapsedMillis) {
+        this.moved = moved;
+        this.droppedMonths = droppedMonths;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getMoved() { return moved; }
+
+    public List<String> getDroppedMonths() { return droppedMonths; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+}
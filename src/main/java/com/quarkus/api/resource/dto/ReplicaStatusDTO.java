@@ -0,0 +1,36 @@
+package com.quarkus.api.resource.dto;
+
+import java.util.Map;
+
+public class ReplicaStatusDTO {
+    public boolean enabled;
+    public long maxLagMs;
+    public long lagMs;
+    public long committedPosition;
+    public long appliedPosition;
+    public Map<String, Long> routes;
+
+    public ReplicaStatusDTO() {}
+
+    public ReplicaStatusDTO(boolean enabled, long maxLagMs, long lagMs, long committedPosition, long appliedPosition,
+                            Map<String, Long> routes) {
+        this.enabled = enabled;
+        this.maxLagMs = maxLagMs;
+        this.lagMs = lagMs;
+        this.committedPosition = committedPosition;
+        this.appliedPosition = appliedPosition;
+        this.routes = routes;
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    public long getMaxLagMs() { return maxLagMs; }
+
+    public long getLagMs() { return lagMs; }
+
+    public long getCommittedPosition() { return committedPosition; }
+
+    public long getAppliedPosition() { return appliedPosition; }
+
+    public Map<String, Long> getRoutes() { return routes; }
+}
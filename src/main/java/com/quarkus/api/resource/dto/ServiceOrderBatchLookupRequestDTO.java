@@ -0,0 +1,31 @@
+package com.quarkus.api.resource.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class ServiceOrderBatchLookupRequestDTO {
+
+    public static final int MAX_IDS = 100;
+
+    @NotEmpty(message = "A lista de IDs não pode ser vazia")
+    @Size(max = MAX_IDS, message = "A lista de IDs deve ter no máximo " + MAX_IDS + " itens")
+    private List<@NotNull(message = "O ID não pode ser nulo") Long> ids;
+
+    public ServiceOrderBatchLookupRequestDTO() {
+    }
+
+    public ServiceOrderBatchLookupRequestDTO(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
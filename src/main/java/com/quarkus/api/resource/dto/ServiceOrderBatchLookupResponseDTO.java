@@ -0,0 +1,23 @@
+package com.quarkus.api.resource.dto;
+
+import java.util.List;
+
+public class ServiceOrderBatchLookupResponseDTO {
+    public List<ServiceOrderResponseDTO> found;
+    public List<Long> missing;
+
+    public ServiceOrderBatchLookupResponseDTO() {}
+
+    public ServiceOrderBatchLookupResponseDTO(List<ServiceOrderResponseDTO> found, List<Long> missing) {
+        this.found = found;
+        this.missing = missing;
+    }
+
+    public List<ServiceOrderResponseDTO> getFound() { return found; }
+
+    public void setFound(List<ServiceOrderResponseDTO> found) { this.found = found; }
+
+    public List<Long> getMissing() { return missing; }
+
+    public void setMissing(List<Long> missing) { this.missing = missing; }
+}
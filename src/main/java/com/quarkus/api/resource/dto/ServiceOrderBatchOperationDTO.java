@@ -0,0 +1,62 @@
+package com.quarkus.api.resource.dto;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.service.BatchOperationType;
+import jakarta.validation.constraints.NotNull;
+
+// Campos usados por tipo: CREATE (customer, description), UPDATE_STATUS (id, status), GET (id)
+public class ServiceOrderBatchOperationDTO {
+
+    @NotNull(message = "O tipo da operação não pode ser nulo")
+    public BatchOperationType type;
+
+    public Long id;
+    public String customer;
+    public String description;
+    public Status status;
+
+    public ServiceOrderBatchOperationDTO() {}
+
+    public static ServiceOrderBatchOperationDTO create(String customer, String description) {
+        ServiceOrderBatchOperationDTO operation = new ServiceOrderBatchOperationDTO();
+        operation.type = BatchOperationType.CREATE;
+        operation.customer = customer;
+        operation.description = description;
+        return operation;
+    }
+
+    public static ServiceOrderBatchOperationDTO updateStatus(Long id, Status status) {
+        ServiceOrderBatchOperationDTO operation = new ServiceOrderBatchOperationDTO();
+        operation.type = BatchOperationType.UPDATE_STATUS;
+        operation.id = id;
+        operation.status = status;
+        return operation;
+    }
+
+    public static ServiceOrderBatchOperationDTO get(Long id) {
+        ServiceOrderBatchOperationDTO operation = new ServiceOrderBatchOperationDTO();
+        operation.type = BatchOperationType.GET;
+        operation.id = id;
+        return operation;
+    }
+
+    public BatchOperationType getType() { return type; }
+
+    public void setType(BatchOperationType type) { this.type = type; }
+
+    public Long getId() { return id; }
+
+    public void setId(Long id) { this.id = id; }
+
+    public String getCustomer() { return customer; }
+
+    public void setCustomer(String customer) { this.customer = customer; }
+
+    public String getDescription() { return description; }
+
+    public void setDescription(String description) { this.description = description; }
+
+    public Status getStatus() { return status; }
+
+    public void setStatus(Status status) { this.status = status; }
+}
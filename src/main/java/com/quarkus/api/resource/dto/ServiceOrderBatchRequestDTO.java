@@ -0,0 +1,45 @@
+package com.quarkus.api.resource.dto;
+
+import com.quarkus.api.service.BatchMode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class ServiceOrderBatchRequestDTO {
+
+    public static final int MAX_OPERATIONS = 100;
+
+    // Padrão: ALL_OR_NOTHING
+    private BatchMode mode;
+
+    @NotEmpty(message = "A lista de operações não pode ser vazia")
+    @Size(max = MAX_OPERATIONS, message = "O lote deve ter no máximo " + MAX_OPERATIONS + " operações")
+    private List<@Valid @NotNull(message = "A operação não pode ser nula") ServiceOrderBatchOperationDTO> operations;
+
+    public ServiceOrderBatchRequestDTO() {
+    }
+
+    public ServiceOrderBatchRequestDTO(BatchMode mode, List<ServiceOrderBatchOperationDTO> operations) {
+        this.mode = mode;
+        this.operations = operations;
+    }
+
+    public BatchMode getMode() {
+        return mode;
+    }
+
+    public void setMode(BatchMode mode) {
+        this.mode = mode;
+    }
+
+    public List<ServiceOrderBatchOperationDTO> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<ServiceOrderBatchOperationDTO> operations) {
+        this.operations = operations;
+    }
+}
@@ -0,0 +1,31 @@
+package com.quarkus.api.resource.dto;
+
+import com.quarkus.api.service.BatchMode;
+
+import java.util.List;
+
+public class ServiceOrderBatchResponseDTO {
+    public BatchMode mode;
+    public boolean committed;
+    public List<ServiceOrderBatchResultDTO> results;
+
+    public ServiceOrderBatchResponseDTO() {}
+
+    public ServiceOrderBatchResponseDTO(BatchMode mode, boolean committed, List<ServiceOrderBatchResultDTO> results) {
+        this.mode = mode;
+        this.committed = committed;
+        this.results = results;
+    }
+
+    public BatchMode getMode() { return mode; }
+
+    public void setMode(BatchMode mode) { this.mode = mode; }
+
+    public boolean isCommitted() { return committed; }
+
+    public void setCommitted(boolean committed) { this.committed = committed; }
+
+    public List<ServiceOrderBatchResultDTO> getResults() { return results; }
+
+    public void setResults(List<ServiceOrderBatchResultDTO> results) { this.results = results; }
+}
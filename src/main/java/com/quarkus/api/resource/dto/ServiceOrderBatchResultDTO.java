@@ -0,0 +1,43 @@
+package com.quarkus.api.resource.dto;
+
+import com.quarkus.api.service.BatchOperationResult;
+import com.quarkus.api.service.BatchOperationType;
+
+public class ServiceOrderBatchResultDTO {
+    public int index;
+    public BatchOperationType type;
+    public BatchOperationResult.Outcome outcome;
+    public String message;
+    public ServiceOrderResponseDTO serviceOrder;
+
+    public ServiceOrderBatchResultDTO() {}
+
+    public ServiceOrderBatchResultDTO(int index, BatchOperationType type, BatchOperationResult.Outcome outcome,
+                                      String message, ServiceOrderResponseDTO serviceOrder) {
+        this.index = index;
+        this.type = type;
+        this.outcome = outcome;
+        this.message = message;
+        this.serviceOrder = serviceOrder;
+    }
+
+    public int getIndex() { return index; }
+
+    public void setIndex(int index) { this.index = index; }
+
+    public BatchOperationType getType() { return type; }
+
+    public void setType(BatchOperationType type) { this.type = type; }
+
+    public BatchOperationResult.Outcome getOutcome() { return outcome; }
+
+    public void setOutcome(BatchOperationResult.Outcome outcome) { this.outcome = outcome; }
+
+    public String getMessage() { return message; }
+
+    public void setMessage(String message) { this.message = message; }
+
+    public ServiceOrderResponseDTO getServiceOrder() { return serviceOrder; }
+
+    public void setServiceOrder(ServiceOrderResponseDTO serviceOrder) { this.serviceOrder = serviceOrder; }
+}
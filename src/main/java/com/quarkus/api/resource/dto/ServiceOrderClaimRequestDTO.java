@@ -0,0 +1,26 @@
+package com.quarkus.api.resource.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public class ServiceOrderClaimRequestDTO {
+
+    @NotBlank(message = "O técnico não pode ser vazio")
+    @Size(max = 100, message = "O técnico deve ter no máximo 100 caracteres")
+    private String technician;
+
+    public ServiceOrderClaimRequestDTO() {
+    }
+
+    public ServiceOrderClaimRequestDTO(String technician) {
+        this.technician = technician;
+    }
+
+    public String getTechnician() {
+        return technician;
+    }
+
+    public void setTechnician(String technician) {
+        this.technician = technician;
+    }
+}
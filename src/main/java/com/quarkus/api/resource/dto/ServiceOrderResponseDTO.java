@@ -11,6 +11,9 @@ public class ServiceOrderResponseDTO {
     public String description;
     public Status status;
     public LocalDateTime createdAt;
+    public LocalDateTime startedAt;
+    public LocalDateTime finishedAt;
+    public String assignedTo;
 
     public ServiceOrderResponseDTO() {}
 
@@ -22,6 +25,19 @@ public class ServiceOrderResponseDTO {
         this.createdAt = createdAt;
     }
 
+    public ServiceOrderResponseDTO(Long id, String customer, String description, Status status, LocalDateTime createdAt,
+                                   LocalDateTime startedAt, LocalDateTime finishedAt) {
+        this(id, customer, description, status, createdAt);
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+
+    public ServiceOrderResponseDTO(Long id, String customer, String description, Status status, LocalDateTime createdAt,
+                                   LocalDateTime startedAt, LocalDateTime finishedAt, String assignedTo) {
+        this(id, customer, description, status, createdAt, startedAt, finishedAt);
+        this.assignedTo = assignedTo;
+    }
+
     public static ServiceOrderResponseDTO fromEntity(ServiceOrder entity) {
         if (entity == null) {
             return null;
@@ -31,7 +47,10 @@ public class ServiceOrderResponseDTO {
                 entity.getCustomer(),
                 entity.getDescription(),
                 entity.getStatus(),
-                entity.getCreatedAt()
+                entity.getCreatedAt(),
+                entity.getStartedAt(),
+                entity.getFinishedAt(),
+                entity.getAssignedTo()
         );
     }
 
@@ -50,4 +69,10 @@ public class ServiceOrderResponseDTO {
     public Status getStatus() { return status; }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+
+    public String getAssignedTo() { return assignedTo; }
 }
\ No newline at end of file
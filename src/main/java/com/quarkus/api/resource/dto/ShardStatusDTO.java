@@ -0,0 +1,21 @@
+package com.quarkus.api.resource.dto;
+
+public class ShardStatusDTO {
+    public String shard;
+    public int buckets;
+    public long serviceOrders;
+
+    public ShardStatusDTO() {}
+
+    public ShardStatusDTO(String shard, int buckets, long serviceOrders) {
+        this.shard = shard;
+        this.buckets = buckets;
+        this.serviceOrders = serviceOrders;
+    }
+
+    public String getShard() { return shard; }
+
+    public int getBuckets() { return buckets; }
+
+    public long getServiceOrders() { return serviceOrders; }
+}
@@ -0,0 +1,38 @@
+package com.quarkus.api.resource.dto;
+
+import com.quarkus.api.monitoring.SlowQuery;
+
+import java.time.LocalDateTime;
+
+public class SlowQueryDTO {
+    public LocalDateTime timestamp;
+    public String sql;
+    public double durationMs;
+    public String endpoint;
+
+    public SlowQueryDTO() {}
+
+    public SlowQueryDTO(LocalDateTime timestamp, String sql, double durationMs, String endpoint) {
+        this.timestamp = timestamp;
+        this.sql = sql;
+        this.durationMs = durationMs;
+        this.endpoint = endpoint;
+    }
+
+    public static SlowQueryDTO from(SlowQuery slowQuery) {
+        return new SlowQueryDTO(
+                slowQuery.getTimestamp(),
+                slowQuery.getSql(),
+                slowQuery.getDurationNanos() / 1_000_000.0,
+                slowQuery.getEndpoint()
+        );
+    }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+
+    public String getSql() { return sql; }
+
+    public double getDurationMs() { return durationMs; }
+
+    public String getEndpoint() { return endpoint; }
+}
@@ -0,0 +1,43 @@
+package com.quarkus.api.resource.dto;
+
+import com.quarkus.api.monitoring.QueryStatistics;
+
+public class SqlQueryStatisticsDTO {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    public String sql;
+    public long executionCount;
+    public double totalTimeMs;
+    public double meanTimeMs;
+    public double maxTimeMs;
+
+    public SqlQueryStatisticsDTO() {}
+
+    public SqlQueryStatisticsDTO(String sql, long executionCount, double totalTimeMs, double meanTimeMs, double maxTimeMs) {
+        this.sql = sql;
+        this.executionCount = executionCount;
+        this.totalTimeMs = totalTimeMs;
+        this.meanTimeMs = meanTimeMs;
+        this.maxTimeMs = maxTimeMs;
+    }
+
+    public static SqlQueryStatisticsDTO from(QueryStatistics statistics) {
+        return new SqlQueryStatisticsDTO(
+                statistics.getSql(),
+                statistics.getExecutionCount(),
+                statistics.getTotalTimeNanos() / NANOS_PER_MILLI,
+                statistics.getMeanTimeNanos() / NANOS_PER_MILLI,
+                statistics.getMaxTimeNanos() / NANOS_PER_MILLI
+        );
+    }
+
+    public String getSql() { return sql; }
+
+    public long getExecutionCount() { return executionCount; }
+
+    public double getTotalTimeMs() { return totalTimeMs; }
+
+    public double getMeanTimeMs() { return meanTimeMs; }
+
+    public double getMaxTimeMs() { return maxTimeMs; }
+}
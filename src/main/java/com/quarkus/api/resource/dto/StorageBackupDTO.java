@@ -0,0 +1,25 @@
+package com.quarkus.api.resource.dto;
+
+public class StorageBackupDTO {
+    public String dataSource;
+    public String file;
+    public long sizeBytes;
+    public long elapsedMillis;
+
+    public StorageBackupDTO() {}
+
+    public StorageBackupDTO(String dataSource, String file, long sizeBytes, long elapsedMillis) {
+        this.dataSource = dataSource;
+        this.file = file;
+        this.sizeBytes = sizeBytes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getDataSource() { return dataSource; }
+
+    public String getFile() { return file; }
+
+    public long getSizeBytes() { return sizeBytes; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+}
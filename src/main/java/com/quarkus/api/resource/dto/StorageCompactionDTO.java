@@ -0,0 +1,29 @@
+package com.quarkus.api.resource.dto;
+
+public class StorageCompactionDTO {
+    public String dataSource;
+    public long sizeBeforeBytes;
+    public long sizeAfterBytes;
+    public int fillRate;
+    public long elapsedMillis;
+
+    public StorageCompactionDTO() {}
+
+    public StorageCompactionDTO(String dataSource, long sizeBeforeBytes, long sizeAfterBytes, int fillRate, long elapsedMillis) {
+        this.dataSource = dataSource;
+        this.sizeBeforeBytes = sizeBeforeBytes;
+        this.sizeAfterBytes = sizeAfterBytes;
+        this.fillRate = fillRate;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getDataSource() { return dataSource; }
+
+    public long getSizeBeforeBytes() { return sizeBeforeBytes; }
+
+    public long getSizeAfterBytes() { return sizeAfterBytes; }
+
+    public int getFillRate() { return fillRate; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+}
@@ -0,0 +1,47 @@
+package com.quarkus.api.resource.dto;
+
+public class StorageStatusDTO {
+    public String dataSource;
+    public boolean persistent;
+    public String file;
+    public long fileSizeBytes;
+    // Percentual do arquivo ocupado por dados vivos; o restante é recuperado pela compactação
+    public int fillRate;
+    public int cacheSizeMb;
+    public int cacheUsedMb;
+    public int cacheHitRatio;
+
+    public StorageStatusDTO() {}
+
+    public StorageStatusDTO(String dataSource, boolean persistent, String file, long fileSizeBytes, int fillRate,
+                            int cacheSizeMb, int cacheUsedMb, int cacheHitRatio) {
+        this.dataSource = dataSource;
+        this.persistent = persistent;
+        this.file = file;
+        this.fileSizeBytes = fileSizeBytes;
+        this.fillRate = fillRate;
+        this.cacheSizeMb = cacheSizeMb;
+        this.cacheUsedMb = cacheUsedMb;
+        this.cacheHitRatio = cacheHitRatio;
+    }
+
+    public static StorageStatusDTO inMemory(String dataSource) {
+        return new StorageStatusDTO(dataSource, false, null, 0, 0, 0, 0, 0);
+    }
+
+    public String getDataSource() { return dataSource; }
+
+    public boolean isPersistent() { return persistent; }
+
+    public String getFile() { return file; }
+
+    public long getFileSizeBytes() { return fileSizeBytes; }
+
+    public int getFillRate() { return fillRate; }
+
+    public int getCacheSizeMb() { return cacheSizeMb; }
+
+    public int getCacheUsedMb() { return cacheUsedMb; }
+
+    public int getCacheHitRatio() { return cacheHitRatio; }
+}
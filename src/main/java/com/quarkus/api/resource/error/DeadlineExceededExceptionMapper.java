@@ -0,0 +1,31 @@
+package com.quarkus.api.resource.error;
+
+import com.quarkus.api.deadline.DeadlineExceededException;
+import com.quarkus.api.deadline.DeadlineMetrics;
+import com.quarkus.api.monitoring.SqlExecutionContext;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+// Prazo da requisição esgotado: o trabalho foi cancelado e a conexão devolvida ao pool
+@Provider
+public class DeadlineExceededExceptionMapper implements ExceptionMapper<DeadlineExceededException> {
+
+    @Inject
+    DeadlineMetrics metrics;
+
+    @Override
+    public Response toResponse(DeadlineExceededException exception) {
+        metrics.recordCancellation(SqlExecutionContext.currentEndpoint(), exception.getReason());
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                Response.Status.GATEWAY_TIMEOUT.getStatusCode(),
+                Response.Status.GATEWAY_TIMEOUT.getReasonPhrase(),
+                exception.getMessage()
+        );
+        return Response.status(Response.Status.GATEWAY_TIMEOUT)
+                .entity(errorResponse)
+                .build();
+    }
+}
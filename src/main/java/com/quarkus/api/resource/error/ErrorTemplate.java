@@ -0,0 +1,34 @@
+package com.quarkus.api.resource.error;
+
+import jakarta.ws.rs.core.Response;
+
+import java.util.List;
+import java.util.Map;
+
+// Parte fixa das respostas de erro de um status (código e motivo), criada uma única vez. Por resposta
+// só são alocados o DTO, com o próprio timestamp, e os detalhes que de fato variam.
+final class ErrorTemplate {
+
+    static final ErrorTemplate BAD_REQUEST = new ErrorTemplate(Response.Status.BAD_REQUEST);
+
+    private final Response.Status status;
+    private final int statusCode;
+    private final String reasonPhrase;
+
+    private ErrorTemplate(Response.Status status) {
+        this.status = status;
+        this.statusCode = status.getStatusCode();
+        this.reasonPhrase = status.getReasonPhrase();
+    }
+
+    // Detalhe único {"detail": mensagem}, para mensagens fixas montado uma vez e compartilhado
+    static List<Map<String, String>> detail(String message) {
+        return List.of(Map.of("detail", message));
+    }
+
+    Response toResponse(String message, List<Map<String, String>> details) {
+        return Response.status(status)
+                .entity(new ErrorResponseDTO(statusCode, reasonPhrase, message, details))
+                .build();
+    }
+}
@@ -1,61 +1,67 @@
 package com.quarkus.api.resource.error;
 
-import jakarta.ws.rs.ProcessingException; // Importe esta exceção
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import jakarta.ws.rs.ProcessingException;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
 
-import java.util.Collections; // Para Collections.singletonList
+import java.util.List;
+import java.util.Map;
 
+// Corpo da requisição que não pôde ser lido. O motivo vem dos dados das exceções do Jackson
+// (valor e tipo de destino, nome do campo), sem interpretar mensagens. O JSON-B não expõe esses
+// dados: para ele, o valor de enum inválido sai da mensagem fixa do Enum.valueOf.
 @Provider
 public class ProcessingExceptionMapper implements ExceptionMapper<ProcessingException> {
 
+    static final String GENERIC_MESSAGE = "Erro no processamento da requisição.";
+    static final String INVALID_ENUM_MESSAGE = "Valor inválido para campo de enum: ";
+    static final String UNRECOGNIZED_FIELD_MESSAGE = "Campo não reconhecido no JSON: ";
+
+    // Ex: "No enum constant com.quarkus.api.domain.enums.Status.STATUS_INEXISTENTE"
+    private static final String ENUM_CONSTANT_PREFIX = "No enum constant ";
+
+    private static final List<Map<String, String>> GENERIC_DETAILS = ErrorTemplate.detail(GENERIC_MESSAGE);
+
     @Override
     public Response toResponse(ProcessingException exception) {
-        // Tenta extrair uma mensagem mais amigável
-        String errorMessage = "Erro no processamento da requisição.";
-        if (exception.getCause() != null && exception.getCause().getMessage() != null) {
-            errorMessage = exception.getCause().getMessage();
-            // Para o caso específico de enum, podemos tentar formatar melhor
-            if (errorMessage.contains("No enum constant")) {
-                errorMessage = "Valor inválido para campo de enum: " + extractEnumFieldName(errorMessage);
-            } else if (errorMessage.contains("Unrecognized field")) {
-                errorMessage = "Campo não reconhecido no JSON: " + extractUnrecognizedFieldName(errorMessage);
-            }
+        String message = describe(exception.getCause());
+        if (message == null) {
+            return ErrorTemplate.BAD_REQUEST.toResponse(GENERIC_MESSAGE, GENERIC_DETAILS);
         }
+        return ErrorTemplate.BAD_REQUEST.toResponse(message, ErrorTemplate.detail(message));
+    }
 
-        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
-                Response.Status.BAD_REQUEST.getStatusCode(),
-                Response.Status.BAD_REQUEST.getReasonPhrase(),
-                errorMessage,
-                Collections.singletonList(Collections.singletonMap("detail", errorMessage))
-        );
-
-        return Response.status(Response.Status.BAD_REQUEST)
-                .entity(errorResponse)
-                .build();
+    private static String describe(Throwable cause) {
+        for (Throwable current = cause; current != null; current = current.getCause()) {
+            if (current instanceof InvalidFormatException invalid && invalid.getTargetType() != null
+                    && invalid.getTargetType().isEnum()) {
+                return INVALID_ENUM_MESSAGE + invalid.getValue();
+            }
+            if (current instanceof UnrecognizedPropertyException unrecognized) {
+                return UNRECOGNIZED_FIELD_MESSAGE + unrecognized.getPropertyName();
+            }
+            if (current instanceof IllegalArgumentException && current.getMessage() != null
+                    && current.getMessage().startsWith(ENUM_CONSTANT_PREFIX)) {
+                return INVALID_ENUM_MESSAGE + enumValue(current.getMessage());
+            }
+        }
+        if (cause == null || cause.getMessage() == null) {
+            return null;
+        }
+        // JSON-B sem a causa encadeada: a mensagem do Enum.valueOf vem no fim da mensagem dele
+        String message = cause.getMessage();
+        return message.indexOf(ENUM_CONSTANT_PREFIX) >= 0 ? INVALID_ENUM_MESSAGE + enumValue(message) : message;
     }
 
-    // Helper para extrair o nome do campo do enum da mensagem de erro
-    private String extractEnumFieldName(String message) {
-        // Ex: "No enum constant com.quarkus.api.domain.enums.Status.STATUS_INEXISTENTE"
+    // A constante pedida é o que vem depois do último ponto (nome do enum + "." + valor)
+    private static String enumValue(String message) {
         int lastDotIndex = message.lastIndexOf('.');
         if (lastDotIndex != -1 && lastDotIndex < message.length() - 1) {
-            String enumValue = message.substring(lastDotIndex + 1);
-            // Poderíamos tentar inferir o nome do campo DTO aqui se a mensagem fosse mais rica
-            return enumValue; // Retorna o valor inválido do enum
+            return message.substring(lastDotIndex + 1);
         }
         return "valor desconhecido";
     }
-
-    // Helper para extrair o nome do campo não reconhecido
-    private String extractUnrecognizedFieldName(String message) {
-        // Ex: "Unrecognized field "invalidField" (class com.quarkus.api.resource.dto.ServiceOrderCreateRequestDTO), not marked as ignorable"
-        int start = message.indexOf('"');
-        int end = message.indexOf('"', start + 1);
-        if (start != -1 && end != -1) {
-            return message.substring(start + 1, end);
-        }
-        return "campo desconhecido";
-    }
-}
\ No newline at end of file
+}
@@ -2,50 +2,42 @@ package com.quarkus.api.resource.error;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Path;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Provider // Anotação para registrar o ExceptionMapper no JAX-RS
 public class ValidationExceptionMapper implements ExceptionMapper<ConstraintViolationException> {
 
+    static final String MESSAGE = "Erros de validação na requisição.";
+
     @Override
     public Response toResponse(ConstraintViolationException exception) {
-        // Coleta os detalhes de cada violação da constraint
-        List<Map<String, String>> details = exception.getConstraintViolations().stream()
-                .map(violation -> Map.of(
-                        "field", extractFieldName(violation), // Extrai o nome do campo
-                        "message", violation.getMessage()    // Mensagem de erro da validação
-                ))
-                .collect(Collectors.toList());
-
-        // Cria a resposta de erro personalizada
-        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
-                Response.Status.BAD_REQUEST.getStatusCode(),
-                Response.Status.BAD_REQUEST.getReasonPhrase(),
-                "Erros de validação na requisição.",
-                details
-        );
-
-        // Retorna a resposta HTTP 400 Bad Request com o corpo JSON personalizado
-        return Response.status(Response.Status.BAD_REQUEST)
-                .entity(errorResponse)
-                .build();
+        // Um detalhe por violação, com o campo e a mensagem já interpolada pelo validador
+        Set<ConstraintViolation<?>> violations = exception.getConstraintViolations();
+        List<Map<String, String>> details = new ArrayList<>(violations.size());
+        for (ConstraintViolation<?> violation : violations) {
+            details.add(Map.of("field", extractFieldName(violation), "message", violation.getMessage()));
+        }
+        return ErrorTemplate.BAD_REQUEST.toResponse(MESSAGE, details);
     }
 
-    // Helper para extrair o nome do campo de forma mais limpa
-    // O path pode vir como "createSO.request.description" ou "updateStatus.request.status"
-    // Queremos apenas "description" ou "status"
-    private String extractFieldName(ConstraintViolation<?> violation) {
-        String path = violation.getPropertyPath().toString();
-        int lastDotIndex = path.lastIndexOf('.');
-        if (lastDotIndex != -1 && lastDotIndex < path.length() - 1) {
-            return path.substring(lastDotIndex + 1);
+    // O path vem como "createSO.request.description" ou "updateStatus.request.status"; o campo é o
+    // último nó ("description", "status"), lido direto do Path em vez de formatar e recortar o texto
+    private static String extractFieldName(ConstraintViolation<?> violation) {
+        Path.Node last = null;
+        for (Path.Node node : violation.getPropertyPath()) {
+            last = node;
+        }
+        if (last == null || last.getName() == null) {
+            return violation.getPropertyPath().toString(); // Sem nome no último nó: o path completo
         }
-        return path; // Retorna o path completo se não conseguir extrair o nome do campo
+        return last.getName();
     }
-}
\ No newline at end of file
+}
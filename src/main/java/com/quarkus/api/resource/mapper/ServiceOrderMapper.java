@@ -1,11 +1,25 @@
 package com.quarkus.api.resource.mapper;
 
 import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.resource.dto.ServiceOrderBatchLookupResponseDTO;
+import com.quarkus.api.resource.dto.ServiceOrderBatchOperationDTO;
+import com.quarkus.api.resource.dto.ServiceOrderBatchResponseDTO;
+import com.quarkus.api.resource.dto.ServiceOrderBatchResultDTO;
 import com.quarkus.api.resource.dto.ServiceOrderCreateRequestDTO;
 import com.quarkus.api.resource.dto.ServiceOrderResponseDTO;
+import com.quarkus.api.service.BatchMode;
+import com.quarkus.api.service.BatchOperation;
+import com.quarkus.api.service.BatchOperationResult;
+import com.quarkus.api.service.BatchResult;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 // @ApplicationScoped é bom se você precisar injetar outros mappers ou serviços aqui.
@@ -14,6 +28,9 @@ import java.util.stream.Collectors;
 @ApplicationScoped
 public class ServiceOrderMapper {
 
+    @Inject
+    Validator validator;
+
     public ServiceOrder toEntity(ServiceOrderCreateRequestDTO dto) {
         if (dto == null) {
             return null;
@@ -33,7 +50,10 @@ public class ServiceOrderMapper {
                 entity.getCustomer(),
                 entity.getDescription(),
                 entity.getStatus(),
-                entity.getCreatedAt()
+                entity.getCreatedAt(),
+                entity.getStartedAt(),
+                entity.getFinishedAt(),
+                entity.getAssignedTo()
         );
     }
 
@@ -45,4 +65,55 @@ public class ServiceOrderMapper {
                 .map(this::toDto) // Usa o método toDto singular
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    // Monta a resposta da busca em lote respeitando a ordem dos IDs solicitados
+    public ServiceOrderBatchLookupResponseDTO toBatchLookupDto(List<Long> requestedIds, Map<Long, ServiceOrder> found) {
+        List<ServiceOrderResponseDTO> foundDtos = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(requestedIds)) {
+            ServiceOrder entity = found.get(id);
+            if (entity != null) {
+                foundDtos.add(toDto(entity));
+            } else {
+                missing.add(id);
+            }
+        }
+        return new ServiceOrderBatchLookupResponseDTO(foundDtos, missing);
+    }
+
+    // Operação do lote a partir do DTO. Campos obrigatórios ausentes ou inválidos viram uma operação
+    // rejeitada, que entra no resultado do lote conforme o modo (ver ServiceOrderService.executeBatch)
+    public BatchOperation toBatchOperation(ServiceOrderBatchOperationDTO dto) {
+        switch (dto.getType()) {
+            case CREATE -> {
+                ServiceOrderCreateRequestDTO create = new ServiceOrderCreateRequestDTO(dto.getCustomer(), dto.getDescription());
+                String violations = validator.validate(create).stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                return violations.isEmpty() ? BatchOperation.create(toEntity(create)) : BatchOperation.rejected(dto.getType(), violations);
+            }
+            case UPDATE_STATUS -> {
+                if (dto.getId() == null || dto.getStatus() == null) {
+                    return BatchOperation.rejected(dto.getType(), "O ID e o status não podem ser nulos");
+                }
+                return BatchOperation.updateStatus(dto.getId(), dto.getStatus());
+            }
+            default -> {
+                if (dto.getId() == null) {
+                    return BatchOperation.rejected(dto.getType(), "O ID não pode ser nulo");
+                }
+                return BatchOperation.get(dto.getId());
+            }
+        }
+    }
+
+    public ServiceOrderBatchResponseDTO toBatchDto(BatchMode mode, BatchResult result) {
+        List<ServiceOrderBatchResultDTO> results = new ArrayList<>(result.getResults().size());
+        for (BatchOperationResult operationResult : result.getResults()) {
+            results.add(new ServiceOrderBatchResultDTO(results.size(), operationResult.getType(), operationResult.getOutcome(),
+                    operationResult.getMessage(), toDto(operationResult.getServiceOrder())));
+        }
+        return new ServiceOrderBatchResponseDTO(mode, result.isCommitted(), results);
+    }
+}
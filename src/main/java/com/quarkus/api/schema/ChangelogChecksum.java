@@ -0,0 +1,56 @@
+package com.quarkus.api.schema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// SHA-256 do changelog mestre, dos arquivos incluídos por ele e dos labels usados na migração.
+// Os arquivos vêm do classpath (dentro do jar da aplicação): o valor só muda com um novo build.
+final class ChangelogChecksum {
+
+    private static final Pattern COMMENT = Pattern.compile("<!--.*?-->", Pattern.DOTALL);
+    private static final Pattern INCLUDE = Pattern.compile("<include\\s+file=\"([^\"]+)\"([^>]*)>");
+
+    private ChangelogChecksum() {
+    }
+
+    static String of(String changeLog, List<String> labels) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        byte[] master = read(changeLog);
+        digest.update(master);
+        String directory = changeLog.contains("/") ? changeLog.substring(0, changeLog.lastIndexOf('/') + 1) : "";
+        Matcher include = INCLUDE.matcher(COMMENT.matcher(new String(master, StandardCharsets.UTF_8)).replaceAll(""));
+        while (include.find()) {
+            boolean relative = include.group(2).contains("relativeToChangelogFile=\"true\"");
+            String file = relative ? directory + include.group(1) : include.group(1);
+            digest.update(file.getBytes(StandardCharsets.UTF_8));
+            digest.update(read(file));
+        }
+        digest.update(String.join(",", labels).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static byte[] read(String resource) {
+        try (InputStream input = Thread.currentThread().getContextClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalStateException("Arquivo do changelog não encontrado: " + resource);
+            }
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.quarkus.api.schema;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+// SHA-256 do checksum do changelog com o mapeamento das entidades: tabela, coluna, tipo JDBC e
+// nulidade de cada coluna mapeada. Uma entidade alterada sem changeset muda o valor e força a
+// migração (e a validação) na próxima inicialização, mesmo com o changelog igual.
+final class EntityMappingChecksum {
+
+    private EntityMappingChecksum() {
+    }
+
+    static String of(String changelogChecksum, SessionFactory sessionFactory) {
+        List<String> columns = new ArrayList<>();
+        sessionFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel().forEachEntityDescriptor(entity ->
+                entity.forEachSelectable((index, column) -> columns.add(entity.getEntityName() + ":"
+                        + column.getContainingTableExpression() + "." + column.getSelectionExpression() + ":"
+                        + column.getJdbcMapping().getJdbcType().getDefaultSqlTypeCode() + ":" + column.isNullable())));
+        columns.sort(null);
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(changelogChecksum.getBytes(StandardCharsets.UTF_8));
+        for (String column : columns) {
+            digest.update(column.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,13 @@
+package com.quarkus.api.schema;
+
+// Quando a inicialização roda o Liquibase (service-order.schema.migration)
+public enum SchemaMigrationMode {
+    // Só quando o checksum do changelog difere do gravado no banco
+    IF_CHANGED,
+    // A cada inicialização, como o migrate-at-start do Quarkus
+    AT_START,
+    // Nunca: com o esquema desatualizado, a inicialização falha e pede a migração
+    REQUIRE_CURRENT,
+    // Migra todos os datasources e encerra a aplicação (comando/job de migração)
+    MIGRATE_AND_EXIT
+}
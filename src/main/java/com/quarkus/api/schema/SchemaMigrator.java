@@ -0,0 +1,136 @@
+package com.quarkus.api.schema;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.runtime.AgroalDataSourceUtil;
+import io.quarkus.arc.InjectableInstance;
+import io.quarkus.datasource.common.runtime.DataSourceUtil;
+import io.quarkus.liquibase.LiquibaseFactory;
+import io.quarkus.runtime.Quarkus;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import jakarta.persistence.SchemaValidationException;
+import liquibase.Liquibase;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.SessionFactory;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Migração do esquema na inicialização, no lugar do quarkus.liquibase.migrate-at-start.
+// Cada datasource guarda em schema_fingerprint o checksum do changelog aplicado por último; na
+// inicialização, uma única consulta compara esse valor com o do changelog empacotado. Se forem
+// iguais, o Liquibase não é carregado (nem o changelog lido por ele, nem as tabelas de controle
+// consultadas). No datasource padrão, o valor gravado inclui também o mapeamento das entidades
+// (EntityMappingChecksum), e a validação das entidades contra o esquema roda junto com cada migração.
+// Roda antes dos demais observadores de StartupEvent, que já encontram o esquema pronto. No job de
+// migração (MIGRATE_AND_EXIT), os demais observadores consultam isMigrationJob() e não fazem nada.
+@ApplicationScoped
+public class SchemaMigrator {
+
+    private static final Logger LOG = Logger.getLogger(SchemaMigrator.class);
+
+    @ConfigProperty(name = "service-order.schema.migration", defaultValue = "IF_CHANGED")
+    SchemaMigrationMode mode;
+
+    @Inject
+    @Any
+    InjectableInstance<LiquibaseFactory> liquibaseFactories;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    void onStart(@Observes @Priority(Interceptor.Priority.PLATFORM_BEFORE) StartupEvent event) {
+        List<LiquibaseFactory> factories = new ArrayList<>(liquibaseFactories.listActive());
+        factories.sort(Comparator.comparing(LiquibaseFactory::getDataSourceName));
+        for (LiquibaseFactory factory : factories) {
+            migrate(factory.getDataSourceName(), factory);
+        }
+        if (isMigrationJob()) {
+            LOG.info("Migração concluída, encerrando (service-order.schema.migration=MIGRATE_AND_EXIT)");
+            Quarkus.asyncExit();
+        }
+    }
+
+    // Job de migração: a aplicação encerra assim que o esquema é migrado, sem iniciar o restante
+    public boolean isMigrationJob() {
+        return mode == SchemaMigrationMode.MIGRATE_AND_EXIT;
+    }
+
+    private void migrate(String dataSourceName, LiquibaseFactory factory) {
+        long start = System.nanoTime();
+        AgroalDataSource dataSource = AgroalDataSourceUtil.dataSourceIfActive(dataSourceName).orElseThrow();
+        String checksum = ChangelogChecksum.of(factory.getConfiguration().changeLog, factory.getConfiguration().labels);
+        if (DataSourceUtil.isDefault(dataSourceName)) {
+            checksum = EntityMappingChecksum.of(checksum, sessionFactory);
+        }
+
+        boolean current = mode != SchemaMigrationMode.AT_START && mode != SchemaMigrationMode.MIGRATE_AND_EXIT
+                && checksum.equals(storedChecksum(dataSource));
+        if (current) {
+            LOG.infof("Esquema do datasource %s atual (changelog %s): Liquibase ignorado em %d ms",
+                    dataSourceName, checksum.substring(0, 12), elapsedMillis(start));
+            return;
+        }
+        if (mode == SchemaMigrationMode.REQUIRE_CURRENT) {
+            throw new IllegalStateException("Esquema do datasource " + dataSourceName + " desatualizado: execute a migração "
+                    + "com service-order.schema.migration=MIGRATE_AND_EXIT antes de iniciar a aplicação");
+        }
+
+        try (Liquibase liquibase = factory.createLiquibase()) {
+            liquibase.update(factory.createContexts(), factory.createLabels());
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha na migração do datasource " + dataSourceName, e);
+        }
+        if (DataSourceUtil.isDefault(dataSourceName)) {
+            try {
+                sessionFactory.getSchemaManager().validate();
+            } catch (SchemaValidationException e) {
+                throw new IllegalStateException("Esquema do datasource " + dataSourceName + " incompatível com as entidades", e);
+            }
+        }
+        storeChecksum(dataSource, checksum);
+        LOG.infof("Esquema do datasource %s migrado com Liquibase (changelog %s) em %d ms",
+                dataSourceName, checksum.substring(0, 12), elapsedMillis(start));
+    }
+
+    // null se o datasource ainda não tem a tabela (banco novo ou anterior ao changeset 7)
+    private static String storedChecksum(AgroalDataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT checksum FROM schema_fingerprint WHERE id = 1");
+             ResultSet row = statement.executeQuery()) {
+            return row.next() ? row.getString(1) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static void storeChecksum(AgroalDataSource dataSource, String checksum) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "MERGE INTO schema_fingerprint (id, checksum, migrated_at) KEY(id) VALUES (1, ?, ?)")) {
+            statement.setString(1, checksum);
+            statement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao gravar o checksum do esquema", e);
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
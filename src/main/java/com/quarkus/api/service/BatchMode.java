@@ -0,0 +1,9 @@
+package com.quarkus.api.service;
+
+// Comportamento do lote (POST /ordens-servico/batch) quando uma operação é rejeitada
+public enum BatchMode {
+    // A primeira rejeição desfaz o lote inteiro; as operações seguintes não são executadas
+    ALL_OR_NOTHING,
+    // Operações rejeitadas são puladas e as demais são commitadas
+    BEST_EFFORT
+}
@@ -0,0 +1,59 @@
+package com.quarkus.api.service;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+
+// Uma operação do lote. Operações inválidas chegam já rejeitadas (rejection preenchido)
+// e entram no resultado sem serem executadas.
+public class BatchOperation {
+
+    private final BatchOperationType type;
+    private final Long id;
+    private final ServiceOrder serviceOrder;
+    private final Status status;
+    private final String rejection;
+
+    private BatchOperation(BatchOperationType type, Long id, ServiceOrder serviceOrder, Status status, String rejection) {
+        this.type = type;
+        this.id = id;
+        this.serviceOrder = serviceOrder;
+        this.status = status;
+        this.rejection = rejection;
+    }
+
+    public static BatchOperation create(ServiceOrder serviceOrder) {
+        return new BatchOperation(BatchOperationType.CREATE, null, serviceOrder, null, null);
+    }
+
+    public static BatchOperation updateStatus(Long id, Status status) {
+        return new BatchOperation(BatchOperationType.UPDATE_STATUS, id, null, status, null);
+    }
+
+    public static BatchOperation get(Long id) {
+        return new BatchOperation(BatchOperationType.GET, id, null, null, null);
+    }
+
+    public static BatchOperation rejected(BatchOperationType type, String rejection) {
+        return new BatchOperation(type, null, null, null, rejection);
+    }
+
+    public BatchOperationType getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ServiceOrder getServiceOrder() {
+        return serviceOrder;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getRejection() {
+        return rejection;
+    }
+}
@@ -0,0 +1,45 @@
+package com.quarkus.api.service;
+
+import com.quarkus.api.domain.model.ServiceOrder;
+
+// Resultado de uma operação do lote, na mesma posição da requisição
+public class BatchOperationResult {
+
+    public enum Outcome {
+        OK,
+        // Rejeitada: dados inválidos, OS inexistente ou transição não permitida
+        FAILED,
+        // Executada, mas desfeita porque o lote (ALL_OR_NOTHING) não foi commitado
+        ROLLED_BACK,
+        // Não executada porque uma operação anterior derrubou o lote
+        SKIPPED
+    }
+
+    private final BatchOperationType type;
+    private final Outcome outcome;
+    private final ServiceOrder serviceOrder;
+    private final String message;
+
+    BatchOperationResult(BatchOperationType type, Outcome outcome, ServiceOrder serviceOrder, String message) {
+        this.type = type;
+        this.outcome = outcome;
+        this.serviceOrder = serviceOrder;
+        this.message = message;
+    }
+
+    public BatchOperationType getType() {
+        return type;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public ServiceOrder getServiceOrder() {
+        return serviceOrder;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,7 @@
+package com.quarkus.api.service;
+
+public enum BatchOperationType {
+    CREATE,
+    UPDATE_STATUS,
+    GET
+}
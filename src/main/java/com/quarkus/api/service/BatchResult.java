@@ -0,0 +1,22 @@
+package com.quarkus.api.service;
+
+import java.util.List;
+
+public class BatchResult {
+
+    private final boolean committed;
+    private final List<BatchOperationResult> results;
+
+    BatchResult(boolean committed, List<BatchOperationResult> results) {
+        this.committed = committed;
+        this.results = results;
+    }
+
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    public List<BatchOperationResult> getResults() {
+        return results;
+    }
+}
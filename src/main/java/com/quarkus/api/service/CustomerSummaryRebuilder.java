@@ -0,0 +1,77 @@
+package com.quarkus.api.service;
+
+import com.quarkus.api.repository.CustomerOrderSummaryRepository;
+import com.quarkus.api.schema.SchemaMigrator;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Reconstrução completa do resumo por cliente: recalcula os contadores a partir de service_order e
+// corrige os clientes divergentes (exclusões, que o trigger do resumo não desconta, OS gravadas antes
+// da criação do trigger e buckets movidos entre shards). Roda sob demanda e, se configurado, periodicamente.
+@ApplicationScoped
+public class CustomerSummaryRebuilder {
+
+    private static final Logger LOG = Logger.getLogger(CustomerSummaryRebuilder.class);
+
+    // 0 desliga a execução periódica
+    @ConfigProperty(name = "service-order.customer-summary.rebuild-interval-ms", defaultValue = "0")
+    long rebuildIntervalMillis;
+
+    @Inject
+    CustomerOrderSummaryRepository repository;
+
+    @Inject
+    SchemaMigrator schemaMigrator;
+
+    private ScheduledExecutorService scheduler;
+
+    void onStart(@Observes StartupEvent event) {
+        if (schemaMigrator.isMigrationJob()) {
+            return;
+        }
+        if (rebuildIntervalMillis <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "customer-summary-rebuilder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::rebuildSafely, rebuildIntervalMillis, rebuildIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // Devolve o número de clientes corrigidos
+    public synchronized int rebuild() {
+        long start = System.nanoTime();
+        int repaired = 0;
+        for (String name : repository.dataSourceNames()) {
+            repaired += repository.repair(name);
+        }
+        LOG.infof("Resumo por cliente reconstruído em %d ms: %d clientes corrigidos",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), repaired);
+        return repaired;
+    }
+
+    private void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            LOG.error("Falha na reconstrução do resumo por cliente", e);
+        }
+    }
+}
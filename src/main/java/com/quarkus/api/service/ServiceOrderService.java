@@ -1,27 +1,108 @@
 package com.quarkus.api.service;
 
+import com.quarkus.api.analytics.LeadTimeRecorder;
+import com.quarkus.api.coalescing.ReadCoalescer;
+import com.quarkus.api.deadline.DeadlineBound;
+import com.quarkus.api.deadline.RequestDeadline;
 import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ClaimCandidate;
 import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.replica.ReadOnly;
+import com.quarkus.api.replica.ReadRoutingContext;
+import com.quarkus.api.repository.CustomerDictionary;
+import com.quarkus.api.repository.ReplicaServiceOrderRepository;
 import com.quarkus.api.repository.ServiceOrderRepository;
+import com.quarkus.api.repository.ShardedServiceOrderRepository;
+import com.quarkus.api.sharding.ShardRouter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.instrumentation.annotations.SpanAttribute;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.panache.common.Page;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.SpecHints;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 
+// Os métodos públicos respeitam o prazo da requisição (RequestDeadline): não começam com ele vencido,
+// e as consultas e transações recebem o tempo restante como timeout.
 @ApplicationScoped
+@DeadlineBound
 public class ServiceOrderService {
 
+    // Atributos dos spans de tracing
+    static final String SERVICE_ORDER_ID = "service_order.id";
+    static final String STATUS_TRANSITION = "service_order.status.transition";
+    static final String STATUS_UPDATE_RESULT = "service_order.status.result";
+    static final String ROW_COUNT = "service_order.row_count";
+    static final String CLAIM_ATTEMPTS = "service_order.claim.attempts";
+    static final String BATCH_SIZE = "service_order.batch.size";
+    static final String BATCH_COMMITTED = "service_order.batch.committed";
+
+    // Operações de leitura no ReadCoalescer
+    static final String FIND_BY_ID = "findById";
+    static final String LIST_PAGE = "listSO";
+    static final String LIST_AFTER = "listSOAfter";
+
     @Inject
     ServiceOrderRepository repository;
 
+    @Inject
+    StatusTransitionTable transitionTable;
+
+    // Com mais de um shard em service-order.sharding.shards, o acesso passa pelo repositório particionado
+    @Inject
+    ShardRouter shardRouter;
+
+    @Inject
+    ShardedServiceOrderRepository shardedRepository;
+
+    // Métodos @ReadOnly roteados para a réplica leem por este repositório (ver ReplicaRouter)
+    @Inject
+    ReplicaServiceOrderRepository replicaRepository;
+
+    @Inject
+    LeadTimeRecorder leadTimeRecorder;
+
+    // Leituras idênticas e simultâneas compartilham a mesma consulta; as escritas encerram o compartilhamento no commit
+    @Inject
+    ReadCoalescer coalescer;
+
+    // OS abertas lidas por vez na fila de trabalho (POST /ordens-servico/claim)
+    @ConfigProperty(name = "service-order.claim.window-size", defaultValue = "32")
+    int claimWindowSize;
+
+    @WithSpan
     @Transactional
     public ServiceOrder createSO(ServiceOrder serviceOrder) {
-        repository.persist(serviceOrder);
+        resolveCustomer(serviceOrder.getCustomer());
+        persist(serviceOrder);
+        coalescer.invalidateAfterCommit();
+        if (serviceOrder.id != null) {
+            Span.current().setAttribute(SERVICE_ORDER_ID, serviceOrder.id);
+        }
         return serviceOrder;
     }
 
+    @WithSpan
+    @ReadOnly
     public List<ServiceOrder> listSO(int pageIndex, int size) {
         if (pageIndex < 0) {
             pageIndex = 0;
@@ -30,32 +111,432 @@ public class ServiceOrderService {
             size = 10;
         }
 
-        Page page = Page.of(pageIndex, size);
+        int page = pageIndex;
+        int pageSize = size;
+        List<ServiceOrder> serviceOrders = coalescer.read(LIST_PAGE, () -> loadPage(page, pageSize),
+                ServiceOrderService::snapshots, page, pageSize);
+        Span.current().setAttribute(ROW_COUNT, serviceOrders.size());
+        return serviceOrders;
+    }
+
+    private List<ServiceOrder> loadPage(int pageIndex, int size) {
+        if (ReadRoutingContext.onReplica()) {
+            return replicaRepository.listPage(pageIndex, size);
+        }
+        if (shardRouter.isSharded()) {
+            return shardedRepository.listPage(pageIndex, size);
+        }
+        return withDeadline(repository.findAll()).page(Page.of(pageIndex, size)).list();
+    }
+
+    // Paginação por keyset: continua a partir do último ID recebido, sem OFFSET.
+    // Com a estratégia de ID snowflake, a ordem por ID é também a ordem de criação.
+    @WithSpan
+    @ReadOnly
+    public List<ServiceOrder> listSOAfter(Long afterId, int size) {
+        if (size <= 0) {
+            size = 10;
+        }
+
+        int pageSize = size;
+        List<ServiceOrder> serviceOrders = coalescer.read(LIST_AFTER, () -> loadAfter(afterId, pageSize),
+                ServiceOrderService::snapshots, afterId, pageSize);
+        Span.current().setAttribute(ROW_COUNT, serviceOrders.size());
+        return serviceOrders;
+    }
 
-        return repository.findAll().page(page).list();
+    private List<ServiceOrder> loadAfter(Long afterId, int size) {
+        if (ReadRoutingContext.onReplica()) {
+            return replicaRepository.listAfter(afterId, size);
+        }
+        if (shardRouter.isSharded()) {
+            return shardedRepository.listAfter(afterId, size);
+        }
+        return withDeadline(repository.find("id > ?1", Sort.by("id"), afterId)).page(Page.ofSize(size)).list();
     }
 
-    public ServiceOrder findById(Long id) {
-        return repository.findById(id);
+    @WithSpan
+    @ReadOnly
+    public ServiceOrder findById(@SpanAttribute(SERVICE_ORDER_ID) Long id) {
+        return coalescer.read(FIND_BY_ID, () -> loadById(id), ServiceOrderService::snapshot, id);
     }
 
+    private ServiceOrder loadById(Long id) {
+        if (ReadRoutingContext.onReplica()) {
+            return orArchived(replicaRepository.findById(id), id);
+        }
+        if (shardRouter.isSharded()) {
+            return shardedRepository.findById(id);
+        }
+        return orArchived(repository.findById(id), id);
+    }
+
+    // OS finalizadas de meses fechados saem de service_order para as partições mensais, que ficam no primário
+    private ServiceOrder orArchived(ServiceOrder serviceOrder, Long id) {
+        return serviceOrder != null ? serviceOrder : repository.findArchivedById(id);
+    }
+
+    // OS criadas em [from, to), em ordem de criação, incluindo as que já estão nas partições mensais.
+    // Não é suportada com particionamento por cliente (IllegalStateException).
+    @WithSpan
+    public List<ServiceOrder> listCreatedBetween(LocalDateTime from, LocalDateTime to, int size) {
+        if (shardRouter.isSharded()) {
+            throw new IllegalStateException("A consulta por período não é suportada com particionamento por cliente");
+        }
+        if (size <= 0) {
+            size = 10;
+        }
+
+        List<ServiceOrder> serviceOrders = repository.findCreatedBetween(from, to, size);
+        Span.current().setAttribute(ROW_COUNT, serviceOrders.size());
+        return serviceOrders;
+    }
+
+    @WithSpan
+    @ReadOnly
+    public Map<Long, ServiceOrder> findByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Map.of();
+        }
+
+        // Multi-load do Hibernate: resolve todos os IDs em uma única consulta IN
+        // e devolve null nas posições dos IDs inexistentes. Particionado, é uma consulta IN por shard.
+        List<ServiceOrder> loaded;
+        if (ReadRoutingContext.onReplica()) {
+            loaded = replicaRepository.findByIds(ids);
+        } else if (shardRouter.isSharded()) {
+            loaded = shardedRepository.findByIds(ids);
+        } else {
+            loaded = repository.findByIds(new ArrayList<>(new LinkedHashSet<>(ids)));
+        }
+
+        Map<Long, ServiceOrder> serviceOrdersById = new HashMap<>();
+        for (ServiceOrder serviceOrder : loaded) {
+            if (serviceOrder != null) {
+                serviceOrdersById.put(serviceOrder.id, serviceOrder);
+            }
+        }
+        Span.current().setAttribute(ROW_COUNT, serviceOrdersById.size());
+        return serviceOrdersById;
+    }
+
+    @WithSpan
+    @Transactional
+    public StatusUpdateResult updateStatus(@SpanAttribute(SERVICE_ORDER_ID) Long id, Status newStatus) {
+        return updateStatus(id, newStatus, null);
+    }
+
+    // Com expectedVersion (If-Match), a transição só é aplicada se a OS ainda estiver nessa versão. Sem particionamento
+    // a OS é lida sem lock: o UPDATE condicional à versão (@Version) é enviado aqui mesmo, e uma alteração concorrente
+    // vira VERSION_CONFLICT; o Hibernate marca a transação para rollback.
+    // A OS é lida só de service_order, sem a busca nas partições mensais de findById: a cópia arquivada não é uma
+    // entidade gerenciada, e a alteração não seria gravada. Uma OS arquivada devolve ARCHIVED.
+    @WithSpan
     @Transactional
-    public void updateStatus(Long id, Status newStatus) {
-        ServiceOrder serviceOrder = findById(id);
+    public StatusUpdateResult updateStatus(@SpanAttribute(SERVICE_ORDER_ID) Long id, Status newStatus, Long expectedVersion) {
+        ServiceOrder serviceOrder = shardRouter.isSharded() ? shardedRepository.findByIdForUpdate(id) : repository.findById(id);
+        StatusUpdateResult result;
+        if (serviceOrder == null && !shardRouter.isSharded() && repository.findArchivedById(id) != null) {
+            result = StatusUpdateResult.ARCHIVED;
+        } else if (serviceOrder != null && expectedVersion != null && serviceOrder.getVersion() != expectedVersion) {
+            result = StatusUpdateResult.VERSION_CONFLICT;
+        } else {
+            result = applyStatusTransition(serviceOrder, newStatus);
+        }
+        if (result == StatusUpdateResult.UPDATED) {
+            if (shardRouter.isSharded()) {
+                result = updateSharded(serviceOrder);
+            } else if (!flushVersioned()) {
+                result = StatusUpdateResult.VERSION_CONFLICT;
+            }
+        }
+        if (result == StatusUpdateResult.UPDATED) {
+            leadTimeRecorder.recordTransition(serviceOrder);
+            coalescer.invalidateAfterCommit();
+        }
+        Span.current().setAttribute(STATUS_UPDATE_RESULT, result.name());
+        return result;
+    }
 
+    // Lote de operações em uma única transação (POST /ordens-servico/batch). Os inserts do Hibernate ficam
+    // pendentes e vão ao banco juntos, no flush seguinte; cada mudança de status é enviada na hora, condicional
+    // à versão, e um conflito vira uma rejeição da operação. Os contadores por cliente acompanham cada linha
+    // gravada (CustomerSummaryTrigger). Rejeições (dados inválidos, OS inexistente, transição não permitida,
+    // conflito de versão) seguem o modo do lote; um erro do banco derruba o lote inteiro nos dois modos.
+    // Particionado, todas as operações precisam cair no mesmo shard: os datasources não são XA.
+    @WithSpan
+    public BatchResult executeBatch(List<BatchOperation> operations, BatchMode mode) {
+        if (shardRouter.isSharded()) {
+            requireSingleShard(operations);
+        }
+        Span.current().setAttribute(BATCH_SIZE, operations.size());
+        // Clientes novos são gravados antes de a transação do lote segurar uma conexão: no meio do lote
+        // cada um pediria outra ao pool
+        for (BatchOperation operation : operations) {
+            if (operation.getType() == BatchOperationType.CREATE && operation.getRejection() == null) {
+                resolveCustomer(operation.getServiceOrder().getCustomer());
+            }
+        }
+        BatchResult result;
+        try {
+            result = new BatchResult(true, QuarkusTransaction.requiringNew().call(() -> runBatch(operations, mode)));
+        } catch (BatchAbortedException e) {
+            result = new BatchResult(false, e.results);
+        }
+        Span.current().setAttribute(BATCH_COMMITTED, result.isCommitted());
+        return result;
+    }
+
+    private List<BatchOperationResult> runBatch(List<BatchOperation> operations, BatchMode mode) {
+        List<BatchOperationResult> results = new ArrayList<>(operations.size());
+        boolean aborted = false;
+        for (BatchOperation operation : operations) {
+            if (aborted) {
+                results.add(new BatchOperationResult(operation.getType(), BatchOperationResult.Outcome.SKIPPED, null, null));
+                continue;
+            }
+            BatchOperationResult result = execute(operation);
+            results.add(result);
+            // Um conflito de versão deixa a transação marcada para rollback pelo Hibernate: nem o BEST_EFFORT
+            // consegue commitar o restante, e o lote é desfeito como no ALL_OR_NOTHING
+            aborted = result.getOutcome() == BatchOperationResult.Outcome.FAILED
+                    && (mode == BatchMode.ALL_OR_NOTHING || QuarkusTransaction.isRollbackOnly());
+        }
+
+        if (aborted) {
+            throw new BatchAbortedException(results.stream()
+                    .map(result -> result.getOutcome() == BatchOperationResult.Outcome.OK
+                            ? new BatchOperationResult(result.getType(), BatchOperationResult.Outcome.ROLLED_BACK, null, null)
+                            : result)
+                    .toList());
+        }
+        return results;
+    }
+
+    private BatchOperationResult execute(BatchOperation operation) {
+        if (operation.getRejection() != null) {
+            return new BatchOperationResult(operation.getType(), BatchOperationResult.Outcome.FAILED, null, operation.getRejection());
+        }
+
+        ServiceOrder serviceOrder;
+        switch (operation.getType()) {
+            case CREATE -> {
+                serviceOrder = operation.getServiceOrder();
+                persist(serviceOrder);
+                coalescer.invalidateAfterCommit();
+            }
+            case UPDATE_STATUS -> {
+                StatusUpdateResult result;
+                try {
+                    // Travada até o fim do lote, como no particionamento: outra requisição não altera a OS entre
+                    // a leitura e o UPDATE condicional à versão
+                    serviceOrder = shardRouter.isSharded()
+                            ? shardedRepository.findByIdForUpdate(operation.getId())
+                            : repository.findById(operation.getId(), LockModeType.PESSIMISTIC_WRITE);
+                    result = applyStatusTransition(serviceOrder, operation.getStatus());
+                    if (result.isSuccess() && shardRouter.isSharded()) {
+                        result = updateSharded(serviceOrder);
+                    } else if (result.isSuccess() && !flushVersioned()) {
+                        result = StatusUpdateResult.VERSION_CONFLICT;
+                    }
+                } catch (OptimisticLockException e) {
+                    // A OS já estava na sessão, lida sem lock por uma operação anterior, e mudou desde então
+                    serviceOrder = null;
+                    result = StatusUpdateResult.VERSION_CONFLICT;
+                }
+                if (!result.isSuccess()) {
+                    return new BatchOperationResult(operation.getType(), BatchOperationResult.Outcome.FAILED, null, result.getMessage());
+                }
+                leadTimeRecorder.recordTransition(serviceOrder);
+                coalescer.invalidateAfterCommit();
+            }
+            case GET -> {
+                serviceOrder = shardRouter.isSharded()
+                        ? shardedRepository.findById(operation.getId())
+                        : repository.findById(operation.getId());
+                if (serviceOrder == null) {
+                    return new BatchOperationResult(operation.getType(), BatchOperationResult.Outcome.FAILED, null,
+                            StatusUpdateResult.NOT_FOUND.getMessage());
+                }
+            }
+            default -> throw new IllegalArgumentException("Operação desconhecida: " + operation.getType());
+        }
+        // A entidade continua gerenciada até o fim do lote: o resultado guarda o estado deste ponto
+        return new BatchOperationResult(operation.getType(), BatchOperationResult.Outcome.OK, snapshot(serviceOrder), null);
+    }
+
+    private void requireSingleShard(List<BatchOperation> operations) {
+        Set<String> shards = new HashSet<>();
+        for (BatchOperation operation : operations) {
+            if (operation.getRejection() == null) {
+                shards.add(operation.getType() == BatchOperationType.CREATE
+                        ? shardRouter.shardForCustomer(operation.getServiceOrder().getCustomer())
+                        : shardRouter.shardForId(operation.getId()));
+            }
+        }
+        if (shards.size() > 1) {
+            throw new IllegalStateException("Com particionamento por cliente, as operações de um lote devem ser todas do mesmo shard");
+        }
+    }
+
+    private static ServiceOrder snapshot(ServiceOrder serviceOrder) {
+        ServiceOrder copy = new ServiceOrder();
+        copy.id = serviceOrder.id;
+        copy.setCustomer(serviceOrder.getCustomer());
+        copy.setDescription(serviceOrder.getDescription());
+        copy.setStatus(serviceOrder.getStatus());
+        copy.setCreatedAt(serviceOrder.getCreatedAt());
+        copy.setStartedAt(serviceOrder.getStartedAt());
+        copy.setFinishedAt(serviceOrder.getFinishedAt());
+        copy.setAssignedTo(serviceOrder.getAssignedTo());
+        copy.setVersion(serviceOrder.getVersion());
+        return copy;
+    }
+
+    private static List<ServiceOrder> snapshots(List<ServiceOrder> serviceOrders) {
+        return serviceOrders.stream()
+                .map(ServiceOrderService::snapshot)
+                .toList();
+    }
+
+    // Fila de trabalho: assume a OS aberta mais antiga que não esteja travada por outro técnico e a move
+    // para EM_ANDAMENTO. As candidatas são lidas sem lock, em ordem de criação, e cada uma é travada
+    // com SKIP LOCKED: técnicos concorrentes passam para a próxima em vez de esperar ou disputar a mesma OS.
+    // Sem particionamento, tudo acontece em uma transação; particionado, cada tentativa tem a sua própria,
+    // no shard da candidata. Devolve null se não houver OS aberta disponível.
+    @WithSpan
+    public ServiceOrder claimNext(String technician) {
+        if (!transitionTable.isAllowed(Status.ABERTA, Status.EM_ANDAMENTO)) {
+            return null;
+        }
+        if (shardRouter.isSharded()) {
+            return claimFirstAvailable(id -> QuarkusTransaction.requiringNew().call(() -> tryClaim(id, technician)));
+        }
+        return QuarkusTransaction.joiningExisting().call(() -> claimFirstAvailable(id -> tryClaim(id, technician)));
+    }
+
+    private ServiceOrder claimFirstAvailable(Function<Long, ServiceOrder> attempt) {
+        int attempts = 0;
+        ClaimCandidate after = ClaimCandidate.START;
+        while (true) {
+            List<ClaimCandidate> candidates = shardRouter.isSharded()
+                    ? shardedRepository.findClaimCandidates(after, claimWindowSize)
+                    : repository.findClaimCandidates(after, claimWindowSize);
+            if (candidates.isEmpty()) {
+                Span.current().setAttribute(CLAIM_ATTEMPTS, attempts);
+                return null;
+            }
+
+            // A mais antiga é sempre a primeira tentativa. Se ela estiver travada, há concorrência: o técnico
+            // continua de uma posição sorteada da janela, em vez de todos disputarem as mesmas OS seguintes.
+            int others = candidates.size() - 1;
+            int offset = others > 0 ? ThreadLocalRandom.current().nextInt(others) : 0;
+            for (int i = 0; i < candidates.size(); i++) {
+                attempts++;
+                int index = i == 0 ? 0 : 1 + (offset + i - 1) % others;
+                ServiceOrder claimed = attempt.apply(candidates.get(index).getId());
+                if (claimed != null) {
+                    Span.current().setAttribute(SERVICE_ORDER_ID, claimed.id);
+                    Span.current().setAttribute(CLAIM_ATTEMPTS, attempts);
+                    return claimed;
+                }
+            }
+            after = candidates.get(candidates.size() - 1);
+        }
+    }
+
+    private ServiceOrder tryClaim(Long id, String technician) {
+        ServiceOrder serviceOrder = shardRouter.isSharded() ? shardedRepository.lockIfOpen(id) : repository.lockIfOpen(id);
+        if (serviceOrder == null) {
+            return null;
+        }
+
+        applyStatusTransition(serviceOrder, Status.EM_ANDAMENTO);
+        serviceOrder.setAssignedTo(technician);
+        // A OS está travada desde lockIfOpen: sem linha alterada, ela saiu do shard, e a próxima candidata é tentada
+        if (shardRouter.isSharded() && !shardedRepository.updateStatus(serviceOrder)) {
+            return null;
+        }
+        leadTimeRecorder.recordTransition(serviceOrder);
+        coalescer.invalidateAfterCommit();
+        return serviceOrder;
+    }
+
+    // Timeout da consulta do Hibernate: o tempo que resta do prazo da requisição, se houver. O Hibernate passa o
+    // valor ao JDBC em segundos, truncando: em milissegundos, um prazo com menos de 1 s restante viraria 0 (sem
+    // limite). Em segundos inteiros, arredondados para cima, vale o mesmo timeout dos acessos JDBC diretos.
+    private static <T> PanacheQuery<T> withDeadline(PanacheQuery<T> query) {
+        RequestDeadline deadline = RequestDeadline.current();
+        return deadline == null ? query : query.withHint(SpecHints.HINT_SPEC_QUERY_TIMEOUT, deadline.remainingSeconds() * 1000);
+    }
+
+    // false se o UPDATE condicional à versão não encontrou a OS na versão lida
+    private boolean flushVersioned() {
+        try {
+            repository.flush();
+            return true;
+        } catch (OptimisticLockException e) {
+            return false;
+        }
+    }
+
+    // Grava o cliente, se for novo, em uma transação própria, antes da OS que o usa
+    private void resolveCustomer(String customer) {
+        if (customer == null) {
+            return;
+        }
+        if (shardRouter.isSharded()) {
+            shardedRepository.resolveCustomer(customer);
+        } else {
+            CustomerDictionary.primary().idOf(customer);
+        }
+    }
+
+    // Particionado, o UPDATE vai por JDBC, condicional à versão lida. Sem linha alterada, a OS saiu do shard
+    // (NOT_FOUND) ou mudou desde a leitura (VERSION_CONFLICT).
+    private StatusUpdateResult updateSharded(ServiceOrder serviceOrder) {
+        if (shardedRepository.updateStatus(serviceOrder)) {
+            return StatusUpdateResult.UPDATED;
+        }
+        return shardedRepository.findById(serviceOrder.id) == null ? StatusUpdateResult.NOT_FOUND : StatusUpdateResult.VERSION_CONFLICT;
+    }
+
+    private void persist(ServiceOrder serviceOrder) {
+        if (shardRouter.isSharded()) {
+            shardedRepository.persist(serviceOrder);
+        } else {
+            repository.persist(serviceOrder);
+        }
+    }
+
+    private StatusUpdateResult applyStatusTransition(ServiceOrder serviceOrder, Status newStatus) {
         if (serviceOrder == null) {
-            throw new IllegalArgumentException("OS não encontrada");
+            return StatusUpdateResult.NOT_FOUND;
         }
 
-        if (!isValidStatusTransition(serviceOrder.getStatus(),newStatus)) {
-            throw new IllegalArgumentException("Transição de status inválida");
+        Span.current().setAttribute(STATUS_TRANSITION, serviceOrder.getStatus() + "->" + newStatus);
+        if (!transitionTable.isAllowed(serviceOrder.getStatus(), newStatus)) {
+            return StatusUpdateResult.INVALID_TRANSITION;
         }
 
         serviceOrder.setStatus(newStatus);
+        if (newStatus == Status.EM_ANDAMENTO) {
+            serviceOrder.setStartedAt(LocalDateTime.now());
+        } else if (newStatus == Status.FINALIZADA) {
+            serviceOrder.setFinishedAt(LocalDateTime.now());
+        }
+        return StatusUpdateResult.UPDATED;
     }
 
-    private boolean isValidStatusTransition(Status oldStatus, Status newStatus) {
-        return (oldStatus == Status.ABERTA && newStatus == Status.EM_ANDAMENTO) ||
-                (oldStatus == Status.EM_ANDAMENTO && newStatus == Status.FINALIZADA);
+    // Desfaz a transação do lote ALL_OR_NOTHING levando os resultados até executeBatch. Faz parte do
+    // fluxo normal, então não preenche o stack trace.
+    private static final class BatchAbortedException extends RuntimeException {
+
+        private final transient List<BatchOperationResult> results;
+
+        BatchAbortedException(List<BatchOperationResult> results) {
+            super(null, null, false, false);
+            this.results = results;
+        }
     }
 }
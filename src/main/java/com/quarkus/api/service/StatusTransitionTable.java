@@ -0,0 +1,40 @@
+package com.quarkus.api.service;
+
+import com.quarkus.api.domain.enums.Status;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.List;
+
+// Tabela de transições de status pré-calculada, indexada pelo ordinal de Status.
+// As transições vêm da configuração (service-order.status.transitions), no formato ORIGEM:DESTINO,
+// então novos status só exigem incluir o valor no enum e as transições no application.properties.
+@ApplicationScoped
+public class StatusTransitionTable {
+
+    private final boolean[][] allowed;
+
+    @Inject
+    public StatusTransitionTable(@ConfigProperty(name = "service-order.status.transitions") List<String> transitions) {
+        int statusCount = Status.values().length;
+        this.allowed = new boolean[statusCount][statusCount];
+
+        for (String transition : transitions) {
+            String[] parts = transition.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Transição de status mal configurada: " + transition);
+            }
+            Status from = Status.valueOf(parts[0].trim());
+            Status to = Status.valueOf(parts[1].trim());
+            allowed[from.ordinal()][to.ordinal()] = true;
+        }
+    }
+
+    public boolean isAllowed(Status from, Status to) {
+        if (from == null || to == null) {
+            return false;
+        }
+        return allowed[from.ordinal()][to.ordinal()];
+    }
+}
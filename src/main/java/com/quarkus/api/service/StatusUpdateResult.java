@@ -0,0 +1,27 @@
+package com.quarkus.api.service;
+
+// Resultado da atualização de status. Rejeições são parte do fluxo normal,
+// então são sinalizadas por valor em vez de exceção (sem custo de stack trace).
+public enum StatusUpdateResult {
+    UPDATED(null),
+    NOT_FOUND("OS não encontrada"),
+    INVALID_TRANSITION("Transição de status inválida"),
+    // A OS não está mais na versão esperada (If-Match) ou foi alterada por outra requisição durante a atualização
+    VERSION_CONFLICT("A OS foi alterada por outra requisição"),
+    // A OS foi movida para uma partição mensal: as partições só recebem leituras
+    ARCHIVED("A OS está arquivada em uma partição mensal e não pode ser alterada");
+
+    private final String message;
+
+    StatusUpdateResult(String message) {
+        this.message = message;
+    }
+
+    public boolean isSuccess() {
+        return this == UPDATED;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
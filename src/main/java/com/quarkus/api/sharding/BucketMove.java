@@ -0,0 +1,33 @@
+package com.quarkus.api.sharding;
+
+// Resultado da migração de um bucket entre shards
+public class BucketMove {
+
+    private final int bucket;
+    private final String from;
+    private final String to;
+    private final int rows;
+
+    BucketMove(int bucket, String from, String to, int rows) {
+        this.bucket = bucket;
+        this.from = from;
+        this.to = to;
+        this.rows = rows;
+    }
+
+    public int getBucket() {
+        return bucket;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+}
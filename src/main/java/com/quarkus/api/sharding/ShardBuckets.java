@@ -0,0 +1,30 @@
+package com.quarkus.api.sharding;
+
+// Buckets lógicos do particionamento por cliente. Cada cliente cai sempre no mesmo bucket e o bucket
+// é gravado nos bits menos significativos do ID, permitindo rotear uma busca por ID sem consultar
+// todos os shards. Os shards são donos de buckets (não de clientes), então adicionar um shard é
+// apenas mover alguns buckets inteiros.
+public final class ShardBuckets {
+
+    // A coluna gerada service_order.bucket (changeset 11) repete BUCKET_COUNT: mudar um exige mudar o outro
+    public static final int BUCKET_BITS = 6;
+    public static final int BUCKET_COUNT = 1 << BUCKET_BITS;
+
+    private ShardBuckets() {
+    }
+
+    public static int ofCustomer(String customer) {
+        // Mistura do hash (finalizador do MurmurHash3) para espalhar clientes com nomes parecidos
+        int hash = customer.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash & (BUCKET_COUNT - 1);
+    }
+
+    public static int ofId(long id) {
+        return (int) (id & (BUCKET_COUNT - 1));
+    }
+}
@@ -0,0 +1,124 @@
+package com.quarkus.api.sharding;
+
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.repository.CustomerOrderSummaryRepository;
+import com.quarkus.api.repository.ShardedServiceOrderRepository;
+import com.quarkus.api.sla.SlaBreachScanner;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Redistribui os buckets depois que um shard é adicionado em service-order.sharding.shards.
+// Move o mínimo de buckets para que cada shard fique com BUCKET_COUNT / N (±1), sem trocar buckets
+// entre os shards que já estavam balanceados. Cada bucket é congelado durante a cópia: escritas
+// nele aguardam, leituras continuam no shard de origem até o diretório ser atualizado.
+// Com várias instâncias da aplicação, rode com apenas uma instância ativa: os locks são locais.
+@ApplicationScoped
+public class ShardRebalancer {
+
+    private static final Logger LOG = Logger.getLogger(ShardRebalancer.class);
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    ShardedServiceOrderRepository repository;
+
+    @Inject
+    SlaBreachScanner slaScanner;
+
+    @Inject
+    CustomerOrderSummaryRepository summaries;
+
+    public synchronized List<BucketMove> rebalance() {
+        if (!router.isSharded()) {
+            return List.of();
+        }
+
+        List<BucketMove> moves = new ArrayList<>();
+        plan(router.bucketOwners(), router.getShards()).forEach((bucket, target) -> moves.add(move(bucket, target)));
+        return moves;
+    }
+
+    synchronized BucketMove move(int bucket, String target) {
+        BucketMove move;
+        LocalDateTime oldest = null;
+        long stamp = router.freezeBucket(bucket);
+        try {
+            String source = router.ownerOf(bucket);
+            if (source.equals(target)) {
+                return new BucketMove(bucket, source, target, 0);
+            }
+
+            // Copia, troca o dono e só então apaga a origem: uma falha no meio deixa no máximo
+            // cópias duplicadas, que o MERGE e o merge das listagens toleram. A cópia incrementa os
+            // resumos por cliente no destino, e os da origem são apagados junto com as OS (uma falha
+            // entre os dois deixa a origem contando a mais, corrigido pela reconstrução)
+            List<ServiceOrder> serviceOrders = repository.findByBucket(source, bucket);
+            repository.upsertAll(target, serviceOrders);
+            router.assign(bucket, target);
+            repository.deleteBucket(source, bucket);
+            summaries.deleteBucket(source, bucket);
+
+            LOG.infof("Bucket %d movido de %s para %s (%d OS)", bucket, source, target, serviceOrders.size());
+            move = new BucketMove(bucket, source, target, serviceOrders.size());
+            for (ServiceOrder serviceOrder : serviceOrders) {
+                if (oldest == null || serviceOrder.getCreatedAt().isBefore(oldest)) {
+                    oldest = serviceOrder.getCreatedAt();
+                }
+            }
+        } finally {
+            router.unfreezeBucket(bucket, stamp);
+        }
+        // As OS chegam ao destino com o momento de entrada original, possivelmente atrás da marca d'água
+        // da varredura de SLA dele; fora do congelamento, para as escritas no bucket não esperarem a varredura
+        if (oldest != null) {
+            slaScanner.rewind(target, oldest);
+        }
+        return move;
+    }
+
+    // Bucket -> novo dono, apenas para os buckets que precisam mudar
+    static Map<Integer, String> plan(List<String> owners, List<String> shards) {
+        int base = ShardBuckets.BUCKET_COUNT / shards.size();
+        int extra = ShardBuckets.BUCKET_COUNT % shards.size();
+
+        Map<String, Deque<Integer>> owned = new LinkedHashMap<>();
+        for (String shard : shards) {
+            owned.put(shard, new ArrayDeque<>());
+        }
+        for (int bucket = 0; bucket < owners.size(); bucket++) {
+            owned.get(owners.get(bucket)).add(bucket);
+        }
+
+        Deque<Integer> surplus = new ArrayDeque<>();
+        for (int i = 0; i < shards.size(); i++) {
+            Deque<Integer> buckets = owned.get(shards.get(i));
+            int target = base + (i < extra ? 1 : 0);
+            while (buckets.size() > target) {
+                surplus.add(buckets.removeLast());
+            }
+        }
+
+        Map<Integer, String> plan = new TreeMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            Deque<Integer> buckets = owned.get(shards.get(i));
+            int target = base + (i < extra ? 1 : 0);
+            while (buckets.size() < target) {
+                int bucket = surplus.poll();
+                buckets.add(bucket);
+                plan.put(bucket, shards.get(i));
+            }
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,168 @@
+package com.quarkus.api.sharding;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.runtime.AgroalDataSourceUtil;
+import io.quarkus.datasource.common.runtime.DataSourceUtil;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.persistence.PersistenceException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.StampedLock;
+
+// Roteia as OS entre os shards configurados em service-order.sharding.shards (nomes de datasources;
+// "default" é o datasource padrão). O diretório bucket -> shard fica na tabela shard_bucket do shard
+// default e é carregado na inicialização; com um único shard nada disso é usado e o acesso continua
+// pelo Panache.
+@ApplicationScoped
+public class ShardRouter {
+
+    private static final Logger LOG = Logger.getLogger(ShardRouter.class);
+
+    public static final String DEFAULT_SHARD = "default";
+
+    @ConfigProperty(name = "service-order.sharding.shards", defaultValue = DEFAULT_SHARD)
+    List<String> shards;
+
+    private final Map<String, AgroalDataSource> dataSources = new LinkedHashMap<>();
+    private final AtomicReferenceArray<String> owners = new AtomicReferenceArray<>(ShardBuckets.BUCKET_COUNT);
+    private final StampedLock[] bucketLocks = new StampedLock[ShardBuckets.BUCKET_COUNT];
+
+    public ShardRouter() {
+        for (int bucket = 0; bucket < bucketLocks.length; bucket++) {
+            bucketLocks[bucket] = new StampedLock();
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (new HashSet<>(shards).size() != shards.size()) {
+            throw new IllegalStateException("Shards repetidos em service-order.sharding.shards: " + shards);
+        }
+        if (!isSharded()) {
+            if (!DEFAULT_SHARD.equals(shards.get(0))) {
+                throw new IllegalStateException("Com um único shard, service-order.sharding.shards deve ser " + DEFAULT_SHARD);
+            }
+            return;
+        }
+
+        for (String shard : shards) {
+            String dataSourceName = DEFAULT_SHARD.equals(shard) ? DataSourceUtil.DEFAULT_DATASOURCE_NAME : shard;
+            dataSources.put(shard, AgroalDataSourceUtil.dataSourceIfActive(dataSourceName)
+                    .orElseThrow(() -> new IllegalStateException("Datasource do shard " + shard + " não está ativo")));
+        }
+        loadDirectory();
+        LOG.infof("Particionamento por cliente ativo com %d shards: %s", shards.size(), shards);
+    }
+
+    public boolean isSharded() {
+        return shards.size() > 1;
+    }
+
+    public List<String> getShards() {
+        return shards;
+    }
+
+    public AgroalDataSource dataSource(String shard) {
+        AgroalDataSource dataSource = dataSources.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Shard desconhecido: " + shard);
+        }
+        return dataSource;
+    }
+
+    public String shardForCustomer(String customer) {
+        return owners.get(ShardBuckets.ofCustomer(customer));
+    }
+
+    public String shardForId(long id) {
+        return owners.get(ShardBuckets.ofId(id));
+    }
+
+    public String ownerOf(int bucket) {
+        return owners.get(bucket);
+    }
+
+    public List<String> bucketOwners() {
+        List<String> snapshot = new ArrayList<>(ShardBuckets.BUCKET_COUNT);
+        for (int bucket = 0; bucket < ShardBuckets.BUCKET_COUNT; bucket++) {
+            snapshot.add(owners.get(bucket));
+        }
+        return snapshot;
+    }
+
+    // Escritas seguram o bucket (em modo compartilhado) até o fim da transação,
+    // para que o rebalanceamento não mova um bucket com escritas pendentes
+    public long enterBucket(int bucket) {
+        return bucketLocks[bucket].readLock();
+    }
+
+    public void exitBucket(int bucket, long stamp) {
+        bucketLocks[bucket].unlockRead(stamp);
+    }
+
+    long freezeBucket(int bucket) {
+        return bucketLocks[bucket].writeLock();
+    }
+
+    void unfreezeBucket(int bucket, long stamp) {
+        bucketLocks[bucket].unlockWrite(stamp);
+    }
+
+    void assign(int bucket, String shard) {
+        dataSource(shard);
+        try (Connection connection = dataSource(DEFAULT_SHARD).getConnection();
+             PreparedStatement statement = connection.prepareStatement("UPDATE shard_bucket SET shard = ? WHERE bucket = ?")) {
+            statement.setString(1, shard);
+            statement.setInt(2, bucket);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new PersistenceException("Falha ao atualizar o diretório de shards", e);
+        }
+        owners.set(bucket, shard);
+    }
+
+    private void loadDirectory() {
+        try (Connection connection = dataSource(DEFAULT_SHARD).getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT bucket, shard FROM shard_bucket");
+                 ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    int bucket = rows.getInt(1);
+                    String shard = rows.getString(2);
+                    if (!dataSources.containsKey(shard)) {
+                        throw new IllegalStateException("O bucket " + bucket + " pertence ao shard " + shard
+                                + ", que não está em service-order.sharding.shards");
+                    }
+                    owners.set(bucket, shard);
+                }
+            }
+
+            // Primeira inicialização particionada: distribui os buckets em rodízio
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO shard_bucket (bucket, shard) VALUES (?, ?)")) {
+                for (int bucket = 0; bucket < ShardBuckets.BUCKET_COUNT; bucket++) {
+                    if (owners.get(bucket) == null) {
+                        String shard = shards.get(bucket % shards.size());
+                        insert.setInt(1, bucket);
+                        insert.setString(2, shard);
+                        insert.addBatch();
+                        owners.set(bucket, shard);
+                    }
+                }
+                insert.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("Falha ao carregar o diretório de shards", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.quarkus.api.sla;
+
+import com.quarkus.api.domain.model.ServiceOrder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// OS que passou do prazo no status atual. Publicada como evento CDI pela varredura (observe com
+// @Observes SlaBreach) e devolvida pela consulta de OS atrasadas.
+public class SlaBreach {
+
+    private final ServiceOrder serviceOrder;
+    private final SlaClock clock;
+    private final LocalDateTime deadline;
+    private final LocalDateTime detectedAt;
+
+    public SlaBreach(ServiceOrder serviceOrder, SlaClock clock, LocalDateTime deadline, LocalDateTime detectedAt) {
+        this.serviceOrder = serviceOrder;
+        this.clock = clock;
+        this.deadline = deadline;
+        this.detectedAt = detectedAt;
+    }
+
+    public ServiceOrder getServiceOrder() {
+        return serviceOrder;
+    }
+
+    public SlaClock getClock() {
+        return clock;
+    }
+
+    // Momento em que a OS entrou no status atual
+    public LocalDateTime getSince() {
+        return clock.since(serviceOrder);
+    }
+
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    public LocalDateTime getDetectedAt() {
+        return detectedAt;
+    }
+
+    public long getOverdueMinutes() {
+        return Duration.between(deadline, detectedAt).toMinutes();
+    }
+}
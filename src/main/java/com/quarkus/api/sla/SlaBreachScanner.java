@@ -0,0 +1,164 @@
+package com.quarkus.api.sla;
+
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.repository.SlaScanRepository;
+import com.quarkus.api.schema.SchemaMigrator;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Varredura periódica de OS paradas em ABERTA ou EM_ANDAMENTO além do prazo. Cada status é percorrido
+// pelo índice (status, momento de entrada no status), em blocos de service-order.sla.chunk-size, a partir
+// da marca d'água gravada em sla_scan_watermark: uma OS só é avaliada uma vez, quando completa o prazo,
+// e as que mudam de status antes disso nunca são lidas. Cada OS atrasada vira um evento SlaBreach; a
+// marca d'água avança depois da publicação do bloco (entrega pelo menos uma vez). OS que chegam atrás
+// da marca d'água (importadas com created_at antigo, movidas entre shards) a fazem voltar (ver rewind).
+@ApplicationScoped
+public class SlaBreachScanner {
+
+    private static final Logger LOG = Logger.getLogger(SlaBreachScanner.class);
+
+    @ConfigProperty(name = "service-order.sla.open-threshold-minutes", defaultValue = "240")
+    long openThresholdMinutes;
+
+    @ConfigProperty(name = "service-order.sla.in-progress-threshold-minutes", defaultValue = "1440")
+    long inProgressThresholdMinutes;
+
+    @ConfigProperty(name = "service-order.sla.chunk-size", defaultValue = "500")
+    int chunkSize;
+
+    // 0 desliga a varredura periódica
+    @ConfigProperty(name = "service-order.sla.scan-interval-ms", defaultValue = "0")
+    long scanIntervalMillis;
+
+    @Inject
+    SlaScanRepository repository;
+
+    @Inject
+    Event<SlaBreach> breachEvent;
+
+    @Inject
+    SchemaMigrator schemaMigrator;
+
+    private ScheduledExecutorService scheduler;
+
+    void onStart(@Observes StartupEvent event) {
+        if (schemaMigrator.isMigrationJob()) {
+            return;
+        }
+        if (scanIntervalMillis <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sla-breach-scanner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scanSafely, scanIntervalMillis, scanIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // Devolve o número de OS atrasadas publicadas nesta varredura
+    public synchronized int scan() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        int published = 0;
+        for (String name : repository.dataSourceNames()) {
+            for (SlaClock clock : SlaClock.values()) {
+                published += scan(name, clock, now);
+            }
+        }
+        if (published > 0) {
+            LOG.infof("Varredura de SLA em %d ms: %d OS atrasadas",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), published);
+        }
+        return published;
+    }
+
+    // Faz a próxima varredura do datasource recomeçar em `from`: quem grava OS com momento de entrada no
+    // status anterior à marca d'água chama aqui depois do commit. As OS entre `from` e a marca d'água
+    // antiga são reavaliadas, e as já publicadas podem ser publicadas de novo (pelo menos uma vez).
+    // Como os dois status só são alcançados depois da criação, basta o menor created_at das OS gravadas.
+    public synchronized void rewind(String name, LocalDateTime from) {
+        repository.rewindWatermarks(name, from);
+        LOG.infof("Marca d'água da varredura de SLA do datasource %s voltou para %s", name, from);
+    }
+
+    // OS atrasadas agora, das que estão há mais tempo no status para as mais recentes (consulta ao vivo,
+    // independente da marca d'água). Com `clock` nulo, considera todos os status vigiados.
+    public List<SlaBreach> findOverdue(SlaClock clock, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<SlaBreach> breaches = new ArrayList<>();
+        for (SlaClock candidate : clock != null ? List.of(clock) : List.of(SlaClock.values())) {
+            LocalDateTime cutoff = now.minusMinutes(thresholdMinutes(candidate));
+            for (String name : repository.dataSourceNames()) {
+                for (ServiceOrder serviceOrder : repository.findOverdue(name, candidate, cutoff, limit)) {
+                    breaches.add(breach(serviceOrder, candidate, now));
+                }
+            }
+        }
+        return breaches.stream()
+                .sorted(Comparator.comparing(SlaBreach::getDeadline))
+                .limit(limit)
+                .toList();
+    }
+
+    public long thresholdMinutes(SlaClock clock) {
+        return clock == SlaClock.OPEN ? openThresholdMinutes : inProgressThresholdMinutes;
+    }
+
+    private int scan(String name, SlaClock clock, LocalDateTime now) {
+        LocalDateTime cutoff = now.minusMinutes(thresholdMinutes(clock));
+        SlaWatermark watermark = repository.findWatermark(name, clock);
+        int published = 0;
+        while (true) {
+            List<ServiceOrder> chunk = repository.findAfterWatermark(name, clock, watermark, cutoff, chunkSize);
+            if (chunk.isEmpty()) {
+                return published;
+            }
+            for (ServiceOrder serviceOrder : chunk) {
+                SlaBreach breach = breach(serviceOrder, clock, now);
+                LOG.warnf("OS %d atrasada em %s há %d min (cliente %s)", serviceOrder.id, clock.getStatus(),
+                        breach.getOverdueMinutes(), serviceOrder.getCustomer());
+                breachEvent.fire(breach);
+            }
+            ServiceOrder last = chunk.get(chunk.size() - 1);
+            watermark = new SlaWatermark(clock.since(last), last.id);
+            repository.saveWatermark(name, clock, watermark);
+            published += chunk.size();
+            if (chunk.size() < chunkSize) {
+                return published;
+            }
+        }
+    }
+
+    private SlaBreach breach(ServiceOrder serviceOrder, SlaClock clock, LocalDateTime now) {
+        return new SlaBreach(serviceOrder, clock, clock.since(serviceOrder).plusMinutes(thresholdMinutes(clock)), now);
+    }
+
+    private void scanSafely() {
+        try {
+            scan();
+        } catch (RuntimeException e) {
+            LOG.error("Falha na varredura de SLA", e);
+        }
+    }
+}
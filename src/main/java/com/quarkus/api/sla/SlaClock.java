@@ -0,0 +1,41 @@
+package com.quarkus.api.sla;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+
+import java.time.LocalDateTime;
+
+// Status vigiados pelo SLA e a coluna que marca a entrada da OS no status (coberta pelo índice (status, coluna))
+public enum SlaClock {
+    OPEN(Status.ABERTA, "created_at"),
+    IN_PROGRESS(Status.EM_ANDAMENTO, "started_at");
+
+    private final Status status;
+    private final String column;
+
+    SlaClock(Status status, String column) {
+        this.status = status;
+        this.column = column;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public LocalDateTime since(ServiceOrder serviceOrder) {
+        return this == OPEN ? serviceOrder.getCreatedAt() : serviceOrder.getStartedAt();
+    }
+
+    public static SlaClock of(Status status) {
+        for (SlaClock clock : values()) {
+            if (clock.status == status) {
+                return clock;
+            }
+        }
+        return null;
+    }
+}
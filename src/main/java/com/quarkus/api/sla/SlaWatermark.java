@@ -0,0 +1,25 @@
+package com.quarkus.api.sla;
+
+import java.time.LocalDateTime;
+
+// Posição da varredura de um status: todas as OS com (momento de entrada, id) até aqui já foram avaliadas
+public class SlaWatermark {
+
+    public static final SlaWatermark START = new SlaWatermark(LocalDateTime.of(1970, 1, 1, 0, 0), Long.MIN_VALUE);
+
+    private final LocalDateTime at;
+    private final long id;
+
+    public SlaWatermark(LocalDateTime at, long id) {
+        this.at = at;
+        this.id = id;
+    }
+
+    public LocalDateTime getAt() {
+        return at;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,111 @@
+package com.quarkus.api.startup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.resource.dto.ServiceOrderBatchLookupRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderBatchOperationDTO;
+import com.quarkus.api.resource.dto.ServiceOrderBatchRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderClaimRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderCreateRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderResponseDTO;
+import com.quarkus.api.resource.dto.ServiceOrderStatusUpdateRequestDTO;
+import com.quarkus.api.resource.error.ErrorResponseDTO;
+import com.quarkus.api.resource.mapper.ServiceOrderMapper;
+import com.quarkus.api.schema.SchemaMigrator;
+import com.quarkus.api.service.BatchMode;
+import com.quarkus.api.service.ServiceOrderService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.Quarkus;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.validation.Validator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Aquecimento na inicialização: o que o Quarkus não resolve no build (os serializadores do Jackson,
+// os validadores de cada DTO e o mapper) é criado antes da primeira requisição, em vez de dentro dela.
+// Com service-order.startup.exit-after-warm-up, a aplicação também faz uma consulta e encerra: é o
+// treino do arquivo AppCDS (ver Dockerfile), que passa a conter todas as classes carregadas até aqui.
+@ApplicationScoped
+public class StartupWarmUp {
+
+    private static final Logger LOG = Logger.getLogger(StartupWarmUp.class);
+
+    @ConfigProperty(name = "service-order.startup.warm-up", defaultValue = "true")
+    boolean warmUp;
+
+    @ConfigProperty(name = "service-order.startup.exit-after-warm-up", defaultValue = "false")
+    boolean exitAfterWarmUp;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Validator validator;
+
+    @Inject
+    ServiceOrderMapper mapper;
+
+    @Inject
+    ServiceOrderService service;
+
+    @Inject
+    SchemaMigrator schemaMigrator;
+
+    void onStart(@Observes StartupEvent event) {
+        if (schemaMigrator.isMigrationJob()) {
+            return;
+        }
+        if (!warmUp && !exitAfterWarmUp) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            warmUp();
+            if (exitAfterWarmUp) {
+                // Carrega as classes do Hibernate usadas na primeira consulta
+                QuarkusTransaction.requiringNew().call(() -> service.listSO(0, 1));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha no aquecimento da inicialização", e);
+        }
+        LOG.infof("Aquecimento da inicialização concluído em %d ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        if (exitAfterWarmUp) {
+            Quarkus.asyncExit();
+        }
+    }
+
+    private void warmUp() throws JsonProcessingException {
+        ServiceOrder serviceOrder = new ServiceOrder("Cliente Aquecimento", "OS de aquecimento da inicialização", Status.ABERTA);
+        serviceOrder.id = 0L;
+        ServiceOrderResponseDTO response = mapper.toDto(serviceOrder);
+        mapper.toBatchOperation(ServiceOrderBatchOperationDTO.create(serviceOrder.getCustomer(), serviceOrder.getDescription()));
+
+        // Respostas: GET /ordens-servico/{id} devolve a própria entidade
+        objectMapper.writeValueAsString(serviceOrder);
+        objectMapper.writeValueAsString(mapper.toDtoList(List.of(serviceOrder)));
+        objectMapper.writeValueAsString(mapper.toBatchLookupDto(List.of(0L, 1L), Map.of(0L, serviceOrder)));
+        objectMapper.writeValueAsString(new ErrorResponseDTO(400, "Bad Request", "Aquecimento"));
+
+        // Requisições: cada DTO passa pela validação e pela ida e volta em JSON
+        List<Object> requests = List.of(
+                new ServiceOrderCreateRequestDTO(serviceOrder.getCustomer(), serviceOrder.getDescription()),
+                new ServiceOrderStatusUpdateRequestDTO(Status.EM_ANDAMENTO),
+                new ServiceOrderClaimRequestDTO("tecnico-aquecimento"),
+                new ServiceOrderBatchLookupRequestDTO(List.of(response.getId())),
+                new ServiceOrderBatchRequestDTO(BatchMode.ALL_OR_NOTHING, List.of(ServiceOrderBatchOperationDTO.get(0L))));
+        for (Object request : requests) {
+            validator.validate(request);
+            objectMapper.readerFor(request.getClass()).readValue(objectMapper.writeValueAsString(request));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.quarkus.api.storage;
+
+import com.quarkus.api.coalescing.ReadCoalescer;
+import com.quarkus.api.replica.ReplicaSynchronizer;
+import com.quarkus.api.repository.ServiceOrderPartitions;
+import com.quarkus.api.resource.dto.MonthlyPartitionDTO;
+import com.quarkus.api.resource.dto.PartitionMaintenanceDTO;
+import com.quarkus.api.schema.SchemaMigrator;
+import com.quarkus.api.service.CustomerSummaryRebuilder;
+import com.quarkus.api.sharding.ShardRouter;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Manutenção das partições mensais (ver ServiceOrderPartitions). As OS finalizadas criadas antes dos
+// últimos service-order.partitioning.hot-months meses saem de service_order para a partição do mês, que
+// é criada na primeira vez, em blocos de service-order.partitioning.chunk-size. Com
+// service-order.partitioning.retention-months, as partições mais antigas que isso são excluídas inteiras.
+// Roda a cada service-order.partitioning.interval-ms e sob demanda (POST /admin/particoes-mensais/manutencao).
+// As OS movidas ou excluídas mudam por JDBC, fora do listener JPA: os IDs vão para a fila da réplica, que
+// as apaga da sua cópia de service_order (as movidas continuam acessíveis pelas partições do primário).
+// Com service-order.partitioning.enabled=false, a manutenção e a exclusão são recusadas (IllegalStateException).
+@ApplicationScoped
+public class MonthlyPartitionMaintenance {
+
+    private static final Logger LOG = Logger.getLogger(MonthlyPartitionMaintenance.class);
+
+    @ConfigProperty(name = "service-order.partitioning.enabled", defaultValue = "false")
+    boolean enabled;
+
+    // Meses que ficam em service_order, contando o corrente
+    @ConfigProperty(name = "service-order.partitioning.hot-months", defaultValue = "3")
+    int hotMonths;
+
+    // 0 mantém as partições para sempre
+    @ConfigProperty(name = "service-order.partitioning.retention-months", defaultValue = "0")
+    int retentionMonths;
+
+    @ConfigProperty(name = "service-order.partitioning.chunk-size", defaultValue = "5000")
+    int chunkSize;
+
+    @ConfigProperty(name = "service-order.partitioning.interval-ms", defaultValue = "3600000")
+    long intervalMillis;
+
+    @Inject
+    ServiceOrderPartitions partitions;
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    ReadCoalescer coalescer;
+
+    @Inject
+    CustomerSummaryRebuilder summaryRebuilder;
+
+    @Inject
+    ReplicaSynchronizer replicaSynchronizer;
+
+    @Inject
+    SchemaMigrator schemaMigrator;
+
+    private ScheduledExecutorService scheduler;
+
+    void onStart(@Observes StartupEvent event) {
+        if (schemaMigrator.isMigrationJob()) {
+            return;
+        }
+        if (!enabled) {
+            return;
+        }
+        requireUnsharded();
+        if (intervalMillis <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "monthly-partition-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public List<MonthlyPartitionDTO> status() {
+        List<MonthlyPartitionDTO> statuses = new ArrayList<>();
+        for (YearMonth month : partitions.months()) {
+            statuses.add(new MonthlyPartitionDTO(month.toString(), ServiceOrderPartitions.tableName(month), partitions.count(month)));
+        }
+        return statuses;
+    }
+
+    public synchronized PartitionMaintenanceDTO run() {
+        requireEnabled();
+        requireUnsharded();
+        long start = System.nanoTime();
+        LocalDateTime cutoff = YearMonth.now().minusMonths(Math.max(hotMonths, 1) - 1L).atDay(1).atStartOfDay();
+
+        // O mês seguinte só é procurado depois que o anterior esvazia: meses sem OS finalizadas não ganham partição
+        long moved = 0;
+        YearMonth month;
+        while ((month = partitions.oldestFinishedBefore(cutoff)) != null) {
+            int chunk;
+            long movedInMonth = 0;
+            do {
+                List<Long> ids = partitions.moveFinished(month, chunkSize);
+                replicaSynchronizer.enqueueAll(ids);
+                chunk = ids.size();
+                movedInMonth += chunk;
+            } while (chunk == chunkSize);
+            moved += movedInMonth;
+            if (movedInMonth == 0) {
+                break;
+            }
+        }
+        if (moved > 0) {
+            coalescer.invalidate();
+        }
+
+        List<String> droppedMonths = new ArrayList<>();
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = YearMonth.now().minusMonths(Math.max(retentionMonths, hotMonths) - 1L);
+            for (YearMonth partition : partitions.months()) {
+                if (partition.isBefore(oldestKept) && dropPartition(partition)) {
+                    droppedMonths.add(partition.toString());
+                }
+            }
+        }
+        if (!droppedMonths.isEmpty()) {
+            afterDrop();
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        LOG.infof("Manutenção das partições mensais em %d ms: %d OS movidas, partições excluídas: %s", elapsedMillis, moved, droppedMonths);
+        return new PartitionMaintenanceDTO(moved, droppedMonths, elapsedMillis);
+    }
+
+    // Exclui as OS do mês com um DROP TABLE. Devolve false se o mês não tinha partição.
+    // O resumo por cliente é reconstruído em seguida, como em qualquer exclusão fora do ServiceOrderService.
+    public synchronized boolean drop(YearMonth month) {
+        requireEnabled();
+        requireUnsharded();
+        if (!dropPartition(month)) {
+            return false;
+        }
+        afterDrop();
+        return true;
+    }
+
+    // Os IDs só são lidos com a réplica ligada: a partição pode ter um mês inteiro de OS
+    private boolean dropPartition(YearMonth month) {
+        List<Long> ids = replicaSynchronizer.isEnabled() ? partitions.idsOf(month) : List.of();
+        if (!partitions.drop(month)) {
+            return false;
+        }
+        replicaSynchronizer.enqueueAll(ids);
+        return true;
+    }
+
+    private void afterDrop() {
+        coalescer.invalidate();
+        summaryRebuilder.rebuild();
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new IllegalStateException("As partições mensais estão desligadas (service-order.partitioning.enabled=false)");
+        }
+    }
+
+    private void requireUnsharded() {
+        if (router.isSharded()) {
+            throw new IllegalStateException("As partições mensais não são suportadas com particionamento por cliente");
+        }
+    }
+
+    private void runSafely() {
+        try {
+            run();
+        } catch (RuntimeException e) {
+            LOG.error("Falha na manutenção das partições mensais", e);
+        }
+    }
+}
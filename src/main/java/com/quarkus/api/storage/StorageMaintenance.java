@@ -0,0 +1,241 @@
+package com.quarkus.api.storage;
+
+import com.quarkus.api.resource.dto.StorageBackupDTO;
+import com.quarkus.api.resource.dto.StorageCompactionDTO;
+import com.quarkus.api.resource.dto.StorageStatusDTO;
+import com.quarkus.api.sharding.ShardRouter;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.runtime.AgroalDataSourceUtil;
+import io.quarkus.datasource.common.runtime.DataSourceUtil;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.h2.engine.SessionLocal;
+import org.h2.jdbc.JdbcConnection;
+import org.h2.mvstore.MVStore;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Manutenção online dos bancos H2 de cada datasource ativo (padrão, shards e réplica), sem parar a aplicação.
+// Status e backup usam só SQL: DATABASE_PATH() distingue arquivo de memória e INFORMATION_SCHEMA.SETTINGS traz
+// as estatísticas do MVStore. Backup: em arquivo, BACKUP TO copia o banco para um zip; em memória, SCRIPT TO gera o SQL do banco.
+// Os dois rodam com o banco aberto, e apenas os últimos service-order.storage.backup-retention backups de
+// cada datasource são mantidos. Compactação: só no modo arquivo. O MVStore reescreve os chunks com pouco
+// uso (como a compactação em segundo plano, mas até o fim) por até service-order.storage.online-compact-time-ms;
+// o espaço liberado é reaproveitado e, quando fica no fim do arquivo, devolvido ao sistema de arquivos.
+@ApplicationScoped
+public class StorageMaintenance {
+
+    private static final Logger LOG = Logger.getLogger(StorageMaintenance.class);
+
+    private static final String REPLICA_DATASOURCE = "replica";
+    // Chunks abaixo desta ocupação são reescritos, até COMPACT_WRITE_BYTES por rodada
+    private static final int COMPACT_TARGET_FILL_RATE = 90;
+    private static final int COMPACT_WRITE_BYTES = 16 * 1024 * 1024;
+    private static final DateTimeFormatter BACKUP_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    @ConfigProperty(name = "service-order.storage.backup-dir", defaultValue = "backups")
+    Path backupDir;
+
+    @ConfigProperty(name = "service-order.storage.backup-retention", defaultValue = "7")
+    int backupRetention;
+
+    @ConfigProperty(name = "service-order.storage.online-compact-time-ms", defaultValue = "5000")
+    int onlineCompactMillis;
+
+    @ConfigProperty(name = "service-order.replica.enabled", defaultValue = "false")
+    boolean replicaEnabled;
+
+    @Inject
+    ShardRouter router;
+
+    public List<StorageStatusDTO> status() {
+        List<StorageStatusDTO> statuses = new ArrayList<>();
+        dataSources().forEach((name, dataSource) -> statuses.add(withConnection(name, dataSource, connection -> {
+            Path file = databaseFile(connection);
+            if (file == null) {
+                return StorageStatusDTO.inMemory(name);
+            }
+            Map<String, String> settings = settings(connection);
+            return new StorageStatusDTO(name, true, file.toString(), fileSize(file), setting(settings, "info.FILL_RATE"),
+                    setting(settings, "CACHE_SIZE") / 1024, setting(settings, "info.CACHE_SIZE"), setting(settings, "info.CACHE_HIT_RATIO"));
+        })));
+        return statuses;
+    }
+
+    // Um backup por vez: cada um lê o banco inteiro
+    public synchronized List<StorageBackupDTO> backup() {
+        String timestamp = LocalDateTime.now().format(BACKUP_TIMESTAMP);
+        List<StorageBackupDTO> backups = new ArrayList<>();
+        dataSources().forEach((name, dataSource) -> backups.add(withConnection(name, dataSource, connection -> {
+            long start = System.nanoTime();
+            boolean persistent = databaseFile(connection) != null;
+            Path directory = backupDir.resolve(name);
+            Path file = directory.resolve(name + "-" + timestamp + (persistent ? ".zip" : ".sql.zip"));
+            try (Statement statement = connection.createStatement()) {
+                Files.createDirectories(directory);
+                String target = file.toAbsolutePath().toString().replace("'", "''");
+                statement.execute(persistent
+                        ? "BACKUP TO '" + target + "'"
+                        : "SCRIPT TO '" + target + "' COMPRESSION ZIP");
+                deleteOldBackups(directory);
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                LOG.infof("Backup do datasource %s em %s (%d bytes, %d ms)", name, file, Files.size(file), elapsed);
+                return new StorageBackupDTO(name, file.toAbsolutePath().toString(), Files.size(file), elapsed);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        })));
+        return backups;
+    }
+
+    public synchronized List<StorageCompactionDTO> compact() {
+        List<StorageCompactionDTO> compactions = new ArrayList<>();
+        dataSources().forEach((name, dataSource) -> {
+            StorageCompactionDTO compaction = withConnection(name, dataSource, connection -> {
+                Path file = databaseFile(connection);
+                if (file == null) {
+                    return null;
+                }
+                MVStore store = mvStore(connection);
+                if (store == null) {
+                    throw new IllegalStateException("Compactação online indisponível para o datasource " + name
+                            + ": o MVStore do H2 não está acessível por esta conexão");
+                }
+                long start = System.nanoTime();
+                long sizeBefore = fileSize(file);
+                long deadline = start + TimeUnit.MILLISECONDS.toNanos(onlineCompactMillis);
+                while (store.compact(COMPACT_TARGET_FILL_RATE, COMPACT_WRITE_BYTES) && System.nanoTime() < deadline) {
+                    store.commit();
+                }
+                store.commit();
+                long sizeAfter = fileSize(file);
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                LOG.infof("Compactação do datasource %s: %d -> %d bytes em %d ms", name, sizeBefore, sizeAfter, elapsed);
+                return new StorageCompactionDTO(name, sizeBefore, sizeAfter, setting(settings(connection), "info.FILL_RATE"), elapsed);
+            });
+            if (compaction != null) {
+                compactions.add(compaction);
+            }
+        });
+        if (compactions.isEmpty()) {
+            throw new IllegalStateException("Nenhum datasource em arquivo: a compactação só se aplica ao modo arquivo");
+        }
+        return compactions;
+    }
+
+    private Map<String, AgroalDataSource> dataSources() {
+        Map<String, AgroalDataSource> dataSources = new LinkedHashMap<>();
+        dataSources.put(ShardRouter.DEFAULT_SHARD, AgroalDataSourceUtil.dataSourceIfActive(DataSourceUtil.DEFAULT_DATASOURCE_NAME).orElseThrow());
+        if (router.isSharded()) {
+            for (String shard : router.getShards()) {
+                dataSources.putIfAbsent(shard, router.dataSource(shard));
+            }
+        }
+        if (replicaEnabled) {
+            AgroalDataSourceUtil.dataSourceIfActive(REPLICA_DATASOURCE).ifPresent(dataSource -> dataSources.put(REPLICA_DATASOURCE, dataSource));
+        }
+        return dataSources;
+    }
+
+    private static <T> T withConnection(String name, AgroalDataSource dataSource, ConnectionAction<T> action) {
+        try (Connection connection = dataSource.getConnection()) {
+            return action.apply(connection);
+        } catch (SQLException e) {
+            throw new PersistenceException("Falha na manutenção do datasource " + name, e);
+        }
+    }
+
+    // Arquivo do banco (DATABASE_PATH() + .mv.db), ou null para bancos em memória
+    private static Path databaseFile(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet row = statement.executeQuery("SELECT DATABASE_PATH()")) {
+            row.next();
+            String path = row.getString(1);
+            return path == null ? null : Path.of(path + ".mv.db").toAbsolutePath();
+        }
+    }
+
+    // Configurações e estatísticas do MVStore publicadas pelo H2 (info.FILL_RATE, info.CACHE_SIZE, ...)
+    private static Map<String, String> settings(Connection connection) throws SQLException {
+        Map<String, String> settings = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT SETTING_NAME, SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS")) {
+            while (rows.next()) {
+                settings.put(rows.getString(1), rows.getString(2));
+            }
+        }
+        return settings;
+    }
+
+    // 0 se a versão do H2 não publicar a estatística
+    private static int setting(Map<String, String> settings, String name) {
+        String value = settings.get(name);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static long fileSize(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // O H2 não tem comando SQL para compactar o arquivo com o banco aberto (SHUTDOWN COMPACT fecha o banco).
+    // Este é o único acesso às classes internas do H2 (SessionLocal, Database, MVStore), isolado aqui: se a
+    // conexão não for do H2 embarcado, ou se essas classes mudarem em outra versão, devolve null e apenas a
+    // compactação fica indisponível (409); status e backup continuam por SQL.
+    private static MVStore mvStore(Connection connection) {
+        try {
+            if (connection.isWrapperFor(JdbcConnection.class)
+                    && connection.unwrap(JdbcConnection.class).getSession() instanceof SessionLocal session
+                    && session.getDatabase().getStore() != null) {
+                return session.getDatabase().getStore().getMvStore();
+            }
+        } catch (SQLException | LinkageError | ClassCastException e) {
+            LOG.warn("MVStore do H2 inacessível: compactação online indisponível", e);
+        }
+        return null;
+    }
+
+    private void deleteOldBackups(Path directory) throws IOException {
+        List<Path> backups;
+        try (Stream<Path> files = Files.list(directory)) {
+            backups = files.sorted().toList();
+        }
+        for (int i = 0; i < backups.size() - backupRetention; i++) {
+            Files.deleteIfExists(backups.get(i));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionAction<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,80 @@
+package com.quarkus.api.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.quarkus.arc.Unremovable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+// Grava cada span como uma linha JSON (JSON Lines) para análise offline
+@Unremovable
+@ApplicationScoped
+public class FileSpanExporter implements SpanExporter {
+
+    private static final Logger LOG = Logger.getLogger(FileSpanExporter.class);
+
+    @ConfigProperty(name = "service-order.tracing.file.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "service-order.tracing.file.path", defaultValue = "traces.jsonl")
+    String path;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private BufferedWriter writer;
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        if (!enabled) {
+            return CompletableResultCode.ofSuccess();
+        }
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(Path.of(path), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (SpanData span : spans) {
+                writer.write(objectMapper.writeValueAsString(SpanRecord.from(span)));
+                writer.newLine();
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            LOG.errorf(e, "Falha ao gravar spans em %s", path);
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LOG.errorf(e, "Falha ao fechar o arquivo de spans %s", path);
+                return CompletableResultCode.ofFailure();
+            } finally {
+                writer = null;
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+}
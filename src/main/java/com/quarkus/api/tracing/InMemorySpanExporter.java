@@ -0,0 +1,67 @@
+package com.quarkus.api.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Mantém em memória os spans mais recentes para análise sem coletor externo (GET /admin/rastreamentos)
+@ApplicationScoped
+public class InMemorySpanExporter implements SpanExporter {
+
+    @ConfigProperty(name = "service-order.tracing.memory.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "service-order.tracing.memory.max-spans", defaultValue = "1000")
+    int maxSpans;
+
+    private final ConcurrentLinkedDeque<SpanData> spans = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger spanCount = new AtomicInteger();
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> exported) {
+        if (!enabled) {
+            return CompletableResultCode.ofSuccess();
+        }
+        for (SpanData span : exported) {
+            spans.addFirst(span);
+            if (spanCount.incrementAndGet() > maxSpans && spans.pollLast() != null) {
+                spanCount.decrementAndGet();
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<SpanRecord> getSpans(String traceId) {
+        return spans.stream()
+                .filter(span -> traceId == null || traceId.equals(span.getTraceId()))
+                .map(SpanRecord::from)
+                .toList();
+    }
+
+    public void clear() {
+        spans.clear();
+        spanCount.set(0);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        clear();
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -0,0 +1,54 @@
+package com.quarkus.api.tracing;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Representação simplificada de um span exportado, usada no arquivo de traces e no endpoint administrativo
+public class SpanRecord {
+    public String traceId;
+    public String spanId;
+    public String parentSpanId;
+    public String name;
+    public String kind;
+    public long startEpochNanos;
+    public double durationMs;
+    public String status;
+    public Map<String, String> attributes;
+
+    public SpanRecord() {}
+
+    public static SpanRecord from(SpanData span) {
+        SpanRecord record = new SpanRecord();
+        record.traceId = span.getTraceId();
+        record.spanId = span.getSpanId();
+        record.parentSpanId = span.getParentSpanContext().isValid() ? span.getParentSpanId() : null;
+        record.name = span.getName();
+        record.kind = span.getKind().name();
+        record.startEpochNanos = span.getStartEpochNanos();
+        record.durationMs = (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000_000.0;
+        record.status = span.getStatus().getStatusCode().name();
+        record.attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> record.attributes.put(key.getKey(), String.valueOf(value)));
+        return record;
+    }
+
+    public String getTraceId() { return traceId; }
+
+    public String getSpanId() { return spanId; }
+
+    public String getParentSpanId() { return parentSpanId; }
+
+    public String getName() { return name; }
+
+    public String getKind() { return kind; }
+
+    public long getStartEpochNanos() { return startEpochNanos; }
+
+    public double getDurationMs() { return durationMs; }
+
+    public String getStatus() { return status; }
+
+    public Map<String, String> getAttributes() { return attributes; }
+}
@@ -0,0 +1,51 @@
+package com.quarkus.api.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.BeforeDestroyed;
+import jakarta.enterprise.context.Destroyed;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+import jakarta.transaction.TransactionScoped;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// Abre um span para cada transação JTA, do begin até o fim do commit/rollback, como filho do span corrente.
+// O span não se torna o corrente: os atributos de negócio e os spans JDBC continuam no span do método
+// de serviço, e o custo do commit aparece pela diferença entre a duração da transação e a do corpo do método.
+// Usa uma pilha por thread porque REQUIRES_NEW inicia uma transação enquanto outra está suspensa.
+@ApplicationScoped
+public class TransactionTracing {
+
+    private static final ThreadLocal<Deque<Span>> ACTIVE = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Inject
+    Tracer tracer;
+
+    @Inject
+    TransactionManager transactionManager;
+
+    void onBegin(@Observes @Initialized(TransactionScoped.class) Object event) {
+        ACTIVE.get().push(tracer.spanBuilder("transaction").startSpan());
+    }
+
+    void onBeforeEnd(@Observes @BeforeDestroyed(TransactionScoped.class) Object event) throws SystemException {
+        Span current = ACTIVE.get().peek();
+        if (current != null) {
+            current.setAttribute("transaction.rollback_only", transactionManager.getStatus() == Status.STATUS_MARKED_ROLLBACK);
+        }
+    }
+
+    void onEnd(@Observes @Destroyed(TransactionScoped.class) Object event) {
+        Span current = ACTIVE.get().poll();
+        if (current != null) {
+            current.end();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.quarkus.api.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("LeadTimeHistogram Unit Tests")
+class LeadTimeHistogramTest {
+
+    @Test
+    @DisplayName("Percentis devem ficar dentro do erro relativo de 1/32")
+    void percentile_shouldStayWithinRelativeError() {
+        LeadTimeHistogram histogram = new LeadTimeHistogram();
+        for (long millis = 1; millis <= 1_000_000; millis++) {
+            histogram.record(millis);
+        }
+
+        assertEquals(1_000_000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            long expected = (long) (percentile / 100 * 1_000_000);
+            long actual = histogram.percentile(percentile);
+            assertTrue(actual >= expected && actual <= expected + expected / 32,
+                    "p" + percentile + ": esperado ~" + expected + ", obtido " + actual);
+        }
+    }
+
+    @Test
+    @DisplayName("Valores pequenos devem ser exatos e o histograma vazio deve devolver 0")
+    void percentile_shouldBeExactForSmallValues() {
+        LeadTimeHistogram histogram = new LeadTimeHistogram();
+        assertEquals(0, histogram.percentile(50));
+
+        for (long millis : new long[]{3, 7, 7, 40, 63}) {
+            histogram.record(millis);
+        }
+        assertEquals(7, histogram.percentile(50));
+        assertEquals(63, histogram.percentile(100));
+    }
+
+    @Test
+    @DisplayName("O merge deve equivaler a gravar todos os valores em um único histograma")
+    void add_shouldMergeCounts() {
+        LeadTimeHistogram first = new LeadTimeHistogram();
+        LeadTimeHistogram second = new LeadTimeHistogram();
+        LeadTimeHistogram all = new LeadTimeHistogram();
+        for (long millis = 1; millis <= 50_000; millis += 7) {
+            (millis % 2 == 0 ? first : second).record(millis * 13);
+            all.record(millis * 13);
+        }
+
+        LeadTimeHistogram merged = new LeadTimeHistogram();
+        merged.add(first);
+        merged.add(second);
+
+        assertEquals(all.getCount(), merged.getCount());
+        assertEquals(all.getMax(), merged.getMax());
+        for (double percentile : new double[]{1, 50, 90, 99, 100}) {
+            assertEquals(all.percentile(percentile), merged.percentile(percentile), "p" + percentile);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.quarkus.api.analytics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("LeadTimeRecorder Unit Tests")
+class LeadTimeRecorderTest {
+
+    private static final long HOUR = 3_600_000;
+
+    private LeadTimeRecorder recorder;
+
+    @BeforeEach
+    void setup() {
+        recorder = new LeadTimeRecorder();
+        recorder.windowMinutes = 60;
+        recorder.retainedWindows = 3;
+        recorder.maxCustomersPerWindow = 2;
+    }
+
+    @Test
+    @DisplayName("Deve somar apenas as janelas pedidas e descartar as que saíram da retenção")
+    void snapshot_shouldMergeRequestedWindows() {
+        long now = 100 * HOUR;
+        recorder.record("Cliente A", LeadTimeStage.OPEN_TO_IN_PROGRESS, 1_000, now - 3 * HOUR);
+        recorder.record("Cliente A", LeadTimeStage.OPEN_TO_IN_PROGRESS, 2_000, now - 2 * HOUR);
+        recorder.record("Cliente A", LeadTimeStage.OPEN_TO_IN_PROGRESS, 3_000, now - HOUR);
+        recorder.record("Cliente A", LeadTimeStage.OPEN_TO_IN_PROGRESS, 4_000, now);
+
+        assertEquals(1, count(recorder.snapshot(null, 1, now)));
+        assertEquals(2, count(recorder.snapshot(null, 2, now)));
+        // A janela de 3 horas atrás já saiu da retenção
+        assertEquals(3, count(recorder.snapshot(null, 0, now)));
+        assertEquals(2_000, recorder.snapshot(null, 0, now).get(LeadTimeStage.OPEN_TO_IN_PROGRESS).percentile(1), 2_000 / 32.0);
+    }
+
+    @Test
+    @DisplayName("Deve separar por cliente e limitar os clientes por janela, mantendo o total")
+    void snapshot_shouldBreakDownByCustomer() {
+        long now = 100 * HOUR;
+        recorder.record("Cliente A", LeadTimeStage.OPEN_TO_FINISHED, 1_000, now);
+        recorder.record("Cliente A", LeadTimeStage.OPEN_TO_FINISHED, 1_500, now);
+        recorder.record("Cliente B", LeadTimeStage.OPEN_TO_FINISHED, 5_000, now);
+        recorder.record("Cliente C", LeadTimeStage.OPEN_TO_FINISHED, 9_000, now);
+
+        assertEquals(2, recorder.snapshot("Cliente A", 0, now).get(LeadTimeStage.OPEN_TO_FINISHED).getCount());
+        assertEquals(1, recorder.snapshot("Cliente B", 0, now).get(LeadTimeStage.OPEN_TO_FINISHED).getCount());
+        assertEquals(0, recorder.snapshot("Cliente C", 0, now).get(LeadTimeStage.OPEN_TO_FINISHED).getCount());
+        assertEquals(4, recorder.snapshot(null, 0, now).get(LeadTimeStage.OPEN_TO_FINISHED).getCount());
+        assertEquals(0, recorder.snapshot(null, 0, now).get(LeadTimeStage.OPEN_TO_IN_PROGRESS).getCount());
+    }
+
+    private static long count(Map<LeadTimeStage, LeadTimeHistogram> histograms) {
+        return histograms.get(LeadTimeStage.OPEN_TO_IN_PROGRESS).getCount();
+    }
+}
@@ -0,0 +1,48 @@
+package com.quarkus.api.bulkimport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("CsvReader Unit Tests")
+class CsvReaderTest {
+
+    @Test
+    @DisplayName("Deve ler campos entre aspas com vírgulas, aspas duplicadas e quebras de linha")
+    void next_shouldReadQuotedFields() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader(
+                "customer,description\r\n"
+                        + "\"Silva, João\",\"Troca de \"\"tela\"\"\"\r\n"
+                        + "\r\n"
+                        + "Maria,\"linha 1\nlinha 2\"\n"
+                        + "Ana,"));
+
+        assertEquals(List.of("customer", "description"), csv.next());
+        assertEquals(1, csv.getRecordLine());
+        assertEquals(List.of("Silva, João", "Troca de \"tela\""), csv.next());
+        assertEquals(2, csv.getRecordLine());
+        assertEquals(List.of("Maria", "linha 1\nlinha 2"), csv.next());
+        assertEquals(4, csv.getRecordLine());
+        assertEquals(List.of("Ana", ""), csv.next());
+        assertEquals(6, csv.getRecordLine());
+        assertNull(csv.next());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar aspas sem fechamento e registros maiores que o limite")
+    void next_shouldRejectMalformedRecords() throws IOException {
+        CsvReader unclosed = new CsvReader(new StringReader("customer,description\nJoão,\"sem fim\n"));
+        unclosed.next();
+        assertThrows(CsvReader.CsvFormatException.class, unclosed::next);
+
+        CsvReader huge = new CsvReader(new StringReader("x".repeat(CsvReader.MAX_RECORD_CHARS + 1)));
+        assertThrows(CsvReader.CsvFormatException.class, huge::next);
+    }
+}
@@ -0,0 +1,173 @@
+package com.quarkus.api.coalescing;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ReadCoalescer Unit Tests")
+class ReadCoalescerTest {
+
+    private static final int READERS = 8;
+
+    private ReadCoalescer coalescer;
+    private TransactionSynchronizationRegistry transactionRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        transactionRegistry = mock(TransactionSynchronizationRegistry.class);
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        coalescer = new ReadCoalescer();
+        coalescer.enabled = true;
+        coalescer.transactionRegistry = transactionRegistry;
+        executor = Executors.newFixedThreadPool(READERS);
+    }
+
+    @AfterEach
+    void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Leituras idênticas e simultâneas devem compartilhar uma única consulta")
+    void read_shouldShareInFlightLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        StringBuilder original = new StringBuilder("OS 1");
+        Supplier<StringBuilder> load = () -> {
+            loads.incrementAndGet();
+            await(release);
+            return original;
+        };
+
+        List<Future<StringBuilder>> results = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            results.add(executor.submit(() -> coalescer.read("findById", load, StringBuilder::new, 1L)));
+        }
+        awaitJoined("findById", READERS - 1);
+        release.countDown();
+
+        int originals = 0;
+        for (Future<StringBuilder> result : results) {
+            StringBuilder value = result.get(5, TimeUnit.SECONDS);
+            assertEquals("OS 1", value.toString());
+            originals += value == original ? 1 : 0;
+        }
+        assertEquals(1, loads.get());
+        // Apenas quem executou recebe a instância original; os demais recebem cópias
+        assertEquals(1, originals);
+
+        CoalescingStatistics statistics = coalescer.getStatistics().get(0);
+        assertEquals(1, statistics.getExecuted());
+        assertEquals(READERS - 1, statistics.getJoined());
+        assertEquals((double) (READERS - 1) / READERS, statistics.getCoalescingRatio(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Depois de um commit, novas leituras não devem se juntar à consulta anterior")
+    void read_shouldNotJoinLoadStartedBeforeCommit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> load = () -> {
+            int attempt = loads.incrementAndGet();
+            if (attempt == 1) {
+                await(release);
+            }
+            return "consulta " + attempt;
+        };
+
+        Future<String> beforeCommit = executor.submit(() -> coalescer.read("listSO", load, String::new, 0, 10));
+        awaitLoads(loads, 1);
+        coalescer.invalidateAfterCommit();
+        String afterCommit = coalescer.read("listSO", load, String::new, 0, 10);
+        release.countDown();
+
+        assertEquals("consulta 2", afterCommit);
+        assertEquals("consulta 1", beforeCommit.get(5, TimeUnit.SECONDS));
+        assertEquals(0, coalescer.getStatistics().get(0).getJoined());
+    }
+
+    @Test
+    @DisplayName("Argumentos diferentes e leituras em transação devem ir ao banco")
+    void read_shouldNotShareDifferentArgumentsOrTransactionalReads() {
+        AtomicInteger loads = new AtomicInteger();
+        coalescer.read("findById", () -> "OS " + loads.incrementAndGet(), String::new, 1L);
+        coalescer.read("findById", () -> "OS " + loads.incrementAndGet(), String::new, 2L);
+
+        when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        coalescer.read("findById", () -> "OS " + loads.incrementAndGet(), String::new, 1L);
+
+        assertEquals(3, loads.get());
+        CoalescingStatistics statistics = coalescer.getStatistics().get(0);
+        assertEquals(2, statistics.getExecuted());
+        assertEquals(1, statistics.getBypassed());
+    }
+
+    @Test
+    @DisplayName("A falha da consulta compartilhada deve chegar a todas as leituras que a aguardavam")
+    void read_shouldPropagateFailureToJoinedReads() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> load = () -> {
+            await(release);
+            throw new IllegalArgumentException("ID inválido");
+        };
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(executor.submit(() -> coalescer.read("findById", load, String::new, -1L)));
+        }
+        awaitJoined("findById", 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        }
+    }
+
+    private void awaitJoined(String operation, long joined) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.getStatistics().stream()
+                .filter(statistics -> statistics.getOperation().equals(operation))
+                .mapToLong(CoalescingStatistics::getJoined)
+                .sum() < joined) {
+            assertTrue(System.nanoTime() < deadline, "Leituras não se juntaram à consulta em andamento");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitLoads(AtomicInteger loads, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loads.get() < expected) {
+            assertTrue(System.nanoTime() < deadline, "A consulta não começou");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
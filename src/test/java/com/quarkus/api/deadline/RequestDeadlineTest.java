@@ -0,0 +1,103 @@
+package com.quarkus.api.deadline;
+
+import com.quarkus.api.service.ServiceOrderService;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.quarkus.api.resource.AdminRequests.asAdmin;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@DisplayName("Prazo da requisição - Integration Tests")
+class RequestDeadlineTest {
+
+    @Inject
+    ServiceOrderService service;
+
+    @AfterEach
+    void teardown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("Prazo vencido - o serviço não começa a consulta")
+    void shouldRejectExpiredDeadlineBeforeExecution() throws InterruptedException {
+        RequestDeadline.start(1);
+        Thread.sleep(5);
+
+        DeadlineExceededException exception = assertThrows(DeadlineExceededException.class, () -> service.listSO(0, 10));
+        assertEquals(DeadlineExceededException.Reason.EXPIRED, exception.getReason());
+    }
+
+    @Test
+    @DisplayName("Timeout de consulta - tempo restante arredondado para cima, em segundos")
+    void shouldTranslateRemainingTimeToQueryTimeout() {
+        assertEquals(0, RequestDeadline.queryTimeoutSeconds());
+
+        RequestDeadline.start(2_500);
+        assertEquals(3, RequestDeadline.queryTimeoutSeconds());
+        assertTrue(RequestDeadline.current().remainingMillis() <= 2_500);
+
+        RequestDeadline.clear();
+        assertNull(RequestDeadline.current());
+    }
+
+    @Test
+    @DisplayName("Consultas paralelas - o prazo segue para a outra thread e é restaurado depois")
+    void shouldCarryDeadlineToOtherThreads() throws InterruptedException {
+        RequestDeadline deadline = RequestDeadline.start(10_000);
+        RequestDeadline.clear();
+
+        RequestDeadline[] seen = new RequestDeadline[2];
+        Thread worker = new Thread(() -> {
+            seen[0] = RequestDeadline.callWith(deadline, RequestDeadline::current);
+            seen[1] = RequestDeadline.current();
+        });
+        worker.start();
+        worker.join();
+
+        assertEquals(deadline, seen[0]);
+        assertNull(seen[1]);
+    }
+
+    @Test
+    @DisplayName("Cabeçalho X-Request-Timeout-Ms - valores inválidos retornam 400, válidos atendem normalmente")
+    void shouldValidateTimeoutHeader() {
+        given().header(DeadlineFilter.TIMEOUT_HEADER, "abc")
+                .when().get("/ordens-servico")
+                .then()
+                .statusCode(400)
+                .body("message", containsString(DeadlineFilter.TIMEOUT_HEADER));
+
+        given().header(DeadlineFilter.TIMEOUT_HEADER, "0")
+                .when().get("/ordens-servico")
+                .then()
+                .statusCode(400);
+
+        given().header(DeadlineFilter.TIMEOUT_HEADER, "2000")
+                .when().get("/ordens-servico")
+                .then()
+                .statusCode(200);
+    }
+
+    @Test
+    @DisplayName("Métricas - cancelamentos contados por motivo e por endpoint")
+    void shouldExposeCancellationMetrics() {
+        asAdmin().when().delete("/admin/estatisticas").then().statusCode(204);
+
+        given().when().get("/admin/estatisticas/prazos")
+                .then()
+                .statusCode(200)
+                .body("cancelled", equalTo(0))
+                .body("cancelledByReason.QUERY_TIMEOUT", equalTo(0));
+    }
+}
@@ -0,0 +1,91 @@
+package com.quarkus.api.domain.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SnowflakeIdGenerator Unit Tests")
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    @Test
+    @DisplayName("Deve codificar timestamp e nó no ID")
+    void shouldEncodeTimestampAndNode() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(42, () -> NOW);
+
+        long id = generator.nextId();
+
+        assertEquals(NOW, SnowflakeIdGenerator.timestampMillis(id));
+        assertEquals(42, SnowflakeIdGenerator.nodeId(id));
+        assertTrue(id > 0);
+    }
+
+    @Test
+    @DisplayName("Deve gerar IDs crescentes mesmo com o relógio parado, voltando ou com a sequência estourada")
+    void shouldBeMonotonicWhenClockStallsOrGoesBack() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) { // mais que os 4096 IDs disponíveis por milissegundo
+            if (i == 5_000) {
+                clock.set(NOW - 10); // relógio voltou
+            }
+            long next = generator.nextId();
+            assertTrue(next > previous, "IDs devem ser estritamente crescentes");
+            assertEquals(1, SnowflakeIdGenerator.nodeId(next));
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gerar IDs únicos com múltiplas threads")
+    void shouldBeUniqueUnderConcurrency() throws InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(80_000, ids.size());
+    }
+
+    @Test
+    @DisplayName("Deve manter zerados os bits reservados para o chamador")
+    void shouldKeepReservedBitsClear() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, 6, () -> NOW);
+
+        long previous = 0;
+        for (int i = 0; i < 1_000; i++) { // mais que os 64 IDs por milissegundo que sobram com 6 bits reservados
+            long next = generator.nextId();
+            assertEquals(0, next & 63, "Bits reservados devem vir zerados");
+            assertEquals(3, SnowflakeIdGenerator.nodeId(next));
+            assertTrue(next > previous, "IDs devem ser estritamente crescentes");
+            previous = next;
+        }
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(0, 12));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar ID de nó fora do intervalo")
+    void shouldRejectInvalidNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+}
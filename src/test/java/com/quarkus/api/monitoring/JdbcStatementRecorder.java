@@ -0,0 +1,72 @@
+package com.quarkus.api.monitoring;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Registra cada comando que chega ao driver, a partir dos spans da instrumentação JDBC do OpenTelemetry
+// (quarkus.datasource.*.jdbc.telemetry). Enxerga todos os datasources e todos os caminhos: o SQL do
+// Hibernate e os acessos JDBC diretos (dicionário de clientes, resumo por cliente, shards, réplica).
+// Um executeBatch é um único span: conta como um round trip.
+@ApplicationScoped
+public class JdbcStatementRecorder implements SpanProcessor {
+
+    // Nome do atributo antes e depois da estabilização das convenções de banco de dados
+    private static final AttributeKey<String> DB_STATEMENT = AttributeKey.stringKey("db.statement");
+    private static final AttributeKey<String> DB_QUERY_TEXT = AttributeKey.stringKey("db.query.text");
+
+    private final Map<String, QueryStatistics> statements = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    void start() {
+        statements.clear();
+        recording = true;
+    }
+
+    // Encerra a gravação e devolve os comandos, dos mais executados para os menos executados
+    List<QueryStatistics> stop() {
+        recording = false;
+        List<QueryStatistics> recorded = new ArrayList<>(statements.values());
+        statements.clear();
+        recorded.sort(Comparator.comparingLong(QueryStatistics::getExecutionCount).reversed());
+        return recorded;
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        if (!recording || span.getKind() != SpanKind.CLIENT) {
+            return;
+        }
+        String sql = span.getAttribute(DB_QUERY_TEXT);
+        if (sql == null) {
+            sql = span.getAttribute(DB_STATEMENT);
+        }
+        if (sql != null) {
+            statements.computeIfAbsent(sql, QueryStatistics::new).record(span.getLatencyNanos());
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+}
@@ -0,0 +1,63 @@
+package com.quarkus.api.monitoring;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+// Resultado de RequestProfiler: alocação por requisição, latência, pausas de GC e pontos de alocação
+public class RequestProfile {
+
+    private static final int TOP_SITES = 10;
+
+    private final String name;
+    private final int requests;
+    private final long allocatedBytes;
+    private final long[] sortedLatencies;
+    private final long gcCount;
+    private final Duration gcPauseTotal;
+    private final Duration gcPauseMax;
+    private final Map<String, Long> bytesBySite;
+
+    RequestProfile(String name, int requests, long allocatedBytes, long[] latencies, long gcCount,
+                   Duration gcPauseTotal, Duration gcPauseMax, Map<String, Long> bytesBySite) {
+        this.name = name;
+        this.requests = requests;
+        this.allocatedBytes = allocatedBytes;
+        this.sortedLatencies = latencies.clone();
+        Arrays.sort(this.sortedLatencies);
+        this.gcCount = gcCount;
+        this.gcPauseTotal = gcPauseTotal;
+        this.gcPauseMax = gcPauseMax;
+        this.bytesBySite = bytesBySite;
+    }
+
+    public long bytesPerRequest() {
+        return allocatedBytes / requests;
+    }
+
+    public long latencyMicros(double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000;
+    }
+
+    public Duration gcPauseMax() {
+        return gcPauseMax;
+    }
+
+    // Resumo para o log do teste e para as mensagens de falha
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder(String.format(
+                "%s: %d requisições, %,d bytes/requisição, latência p50=%d µs p99=%d µs, GC %d coletas (pausas %d ms, maior %d ms)",
+                name, requests, bytesPerRequest(), latencyMicros(50), latencyMicros(99), gcCount,
+                gcPauseTotal.toMillis(), gcPauseMax.toMillis()));
+        long sampledBytes = bytesBySite.values().stream().mapToLong(Long::longValue).sum();
+        bytesBySite.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(TOP_SITES)
+                .forEach(site -> description.append(String.format("%n  %5.1f%%  %s",
+                        100.0 * site.getValue() / Math.max(1, sampledBytes), site.getKey())));
+        return description.toString();
+    }
+}
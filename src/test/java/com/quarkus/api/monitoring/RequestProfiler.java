@@ -0,0 +1,124 @@
+package com.quarkus.api.monitoring;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+// Executa uma carga fixa de requisições gravando eventos do Java Flight Recorder na própria JVM dos
+// testes. Da gravação saem os bytes alocados pelas threads que atendem as requisições (executor e
+// event loop do Vert.x; o cliente HTTP do teste fica de fora), as pausas de GC e os pontos que mais
+// alocaram. A latência de cada requisição é medida no cliente. O arquivo .jfr fica em target/jfr,
+// para abrir no JDK Mission Control ou com `jfr print`.
+public final class RequestProfiler {
+
+    private static final Path OUTPUT_DIR = Path.of("target", "jfr");
+    private static final List<String> SERVER_THREADS = List.of("executor-thread", "vert.x-eventloop-thread");
+
+    private RequestProfiler() {
+    }
+
+    public static RequestProfile profile(String name, int requests, IntConsumer request) {
+        long[] latencies = new long[requests];
+        try (Recording recording = new Recording()) {
+            // Totais exatos por thread no início e no fim da gravação
+            recording.enable("jdk.ThreadAllocationStatistics").with("period", "everyChunk");
+            // Amostras com pilha, para os pontos de alocação; o peso de cada uma estima os bytes alocados
+            recording.enable("jdk.ObjectAllocationSample").with("throttle", "1000/s").withStackTrace();
+            recording.enable("jdk.GarbageCollection");
+            recording.start();
+            for (int i = 0; i < requests; i++) {
+                long start = System.nanoTime();
+                request.accept(i);
+                latencies[i] = System.nanoTime() - start;
+            }
+            recording.stop();
+
+            Files.createDirectories(OUTPUT_DIR);
+            Path file = OUTPUT_DIR.resolve(name + ".jfr");
+            recording.dump(file);
+            return summarize(name, requests, latencies, RecordingFile.readAllEvents(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static RequestProfile summarize(String name, int requests, long[] latencies, List<RecordedEvent> events) {
+        Map<Long, long[]> allocatedByThread = new HashMap<>();
+        Map<String, Long> bytesBySite = new HashMap<>();
+        long gcCount = 0;
+        Duration gcPauseTotal = Duration.ZERO;
+        Duration gcPauseMax = Duration.ZERO;
+
+        for (RecordedEvent event : events) {
+            switch (event.getEventType().getName()) {
+                case "jdk.ThreadAllocationStatistics" -> {
+                    RecordedThread thread = event.getThread("thread");
+                    if (isServerThread(thread)) {
+                        long bytes = event.getLong("allocated");
+                        // {primeiro total, último total, amostras}
+                        long[] totals = allocatedByThread.computeIfAbsent(thread.getJavaThreadId(), ignored -> new long[]{bytes, bytes, 0});
+                        totals[1] = bytes;
+                        totals[2]++;
+                    }
+                }
+                case "jdk.ObjectAllocationSample" -> {
+                    if (isServerThread(event.getThread("eventThread"))) {
+                        bytesBySite.merge(site(event), event.getLong("weight"), Long::sum);
+                    }
+                }
+                case "jdk.GarbageCollection" -> {
+                    gcCount++;
+                    gcPauseTotal = gcPauseTotal.plus(event.getDuration("sumOfPauses"));
+                    Duration longest = event.getDuration("longestPause");
+                    gcPauseMax = longest.compareTo(gcPauseMax) > 0 ? longest : gcPauseMax;
+                }
+                default -> {
+                }
+            }
+        }
+
+        // Threads criadas durante a gravação só têm a amostra do fim: contam desde zero
+        long allocated = 0;
+        for (long[] totals : allocatedByThread.values()) {
+            allocated += totals[2] > 1 ? totals[1] - totals[0] : totals[1];
+        }
+        return new RequestProfile(name, requests, allocated, latencies, gcCount, gcPauseTotal, gcPauseMax, bytesBySite);
+    }
+
+    private static boolean isServerThread(RecordedThread thread) {
+        if (thread == null || thread.getJavaName() == null) {
+            return false;
+        }
+        return SERVER_THREADS.stream().anyMatch(thread.getJavaName()::startsWith);
+    }
+
+    // Classe alocada e o primeiro método da aplicação na pilha (ou o topo, se nenhum for da aplicação)
+    private static String site(RecordedEvent event) {
+        String allocatedClass = event.getClass("objectClass").getName();
+        if (event.getStackTrace() == null) {
+            return allocatedClass;
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        RecordedFrame frame = frames.stream()
+                .filter(candidate -> candidate.getMethod().getType().getName().startsWith("com.quarkus.api."))
+                .findFirst()
+                .orElse(frames.isEmpty() ? null : frames.get(0));
+        if (frame == null) {
+            return allocatedClass;
+        }
+        return allocatedClass + " em " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,51 @@
+package com.quarkus.api.monitoring;
+
+import java.util.List;
+import java.util.Locale;
+
+// Resultado de SqlStatementCounter: execuções JDBC agrupadas pelo tipo do comando
+public class SqlStatementCount {
+
+    private final List<QueryStatistics> statements;
+
+    SqlStatementCount(List<QueryStatistics> statements) {
+        this.statements = statements;
+    }
+
+    public long selects() {
+        return countByType("select");
+    }
+
+    public long inserts() {
+        return countByType("insert");
+    }
+
+    public long updates() {
+        return countByType("update");
+    }
+
+    public long deletes() {
+        return countByType("delete");
+    }
+
+    public long total() {
+        return statements.stream().mapToLong(QueryStatistics::getExecutionCount).sum();
+    }
+
+    private long countByType(String type) {
+        return statements.stream()
+                .filter(statement -> statement.getSql().stripLeading().toLowerCase(Locale.ROOT).startsWith(type))
+                .mapToLong(QueryStatistics::getExecutionCount)
+                .sum();
+    }
+
+    // Lista os comandos executados, para que a mensagem de falha mostre o que estourou o orçamento
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder("SQL executado (" + total() + " comandos):");
+        for (QueryStatistics statement : statements) {
+            description.append("\n  ").append(statement.getExecutionCount()).append("x ").append(statement.getSql());
+        }
+        return description.toString();
+    }
+}
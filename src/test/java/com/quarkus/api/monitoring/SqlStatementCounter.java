@@ -0,0 +1,27 @@
+package com.quarkus.api.monitoring;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.List;
+
+// Conta os comandos JDBC executados durante uma ação (tipicamente uma chamada HTTP), em todos os
+// datasources e por qualquer caminho, Hibernate ou JDBC direto (ver JdbcStatementRecorder).
+// Usado para impor orçamentos de SQL por endpoint.
+@ApplicationScoped
+public class SqlStatementCounter {
+
+    @Inject
+    JdbcStatementRecorder recorder;
+
+    public SqlStatementCount count(Runnable action) {
+        List<QueryStatistics> statements;
+        recorder.start();
+        try {
+            action.run();
+        } finally {
+            statements = recorder.stop();
+        }
+        return new SqlStatementCount(statements);
+    }
+}
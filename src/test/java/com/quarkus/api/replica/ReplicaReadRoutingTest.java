@@ -0,0 +1,171 @@
+package com.quarkus.api.replica;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.repository.CustomerDictionary;
+import com.quarkus.api.repository.ReplicaServiceOrderRepository;
+import com.quarkus.api.resource.dto.ServiceOrderCreateRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderStatusUpdateRequestDTO;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.runtime.AgroalDataSourceUtil;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static com.quarkus.api.resource.AdminRequests.asAdmin;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@QuarkusTest
+@TestProfile(ReplicaReadRoutingTest.ReplicaProfile.class)
+@DisplayName("Réplica de leitura - Integration Tests")
+class ReplicaReadRoutingTest {
+
+    private static final String CLIENT_ID = ClientIdFilter.CLIENT_ID_HEADER;
+
+    // A réplica aplica as mudanças com 500 ms de atraso, bem dentro do atraso tolerado
+    public static class ReplicaProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "service-order.replica.enabled", "true",
+                    "service-order.replica.apply-delay-ms", "500",
+                    "service-order.replica.max-lag-ms", "10000");
+        }
+    }
+
+    @BeforeEach
+    void resetRoutes() {
+        awaitReplicaCaughtUp();
+        asAdmin().when().delete("/admin/replica/rotas").then().statusCode(204);
+    }
+
+    @Test
+    @DisplayName("O cliente deve ler a própria escrita; os demais leem da réplica, que converge")
+    void shouldReadYourWritesAndConverge() {
+        long id = create("cliente-a", "Cliente Réplica");
+
+        given().header(CLIENT_ID, "cliente-a")
+                .when().get("/ordens-servico/{id}", id)
+                .then()
+                .statusCode(200)
+                .body("customer", is("Cliente Réplica"));
+        given().header(CLIENT_ID, "cliente-b")
+                .when().get("/ordens-servico/{id}", id)
+                .then()
+                .statusCode(404); // réplica ainda não aplicou a escrita
+
+        awaitReplicaCaughtUp();
+
+        given().header(CLIENT_ID, "cliente-b")
+                .when().get("/ordens-servico/{id}", id)
+                .then()
+                .statusCode(200);
+        given().header(CLIENT_ID, "cliente-a")
+                .when().get("/ordens-servico/{id}", id)
+                .then()
+                .statusCode(200);
+
+        Map<String, Integer> routes = status().getMap("routes");
+        assertEquals(1, routes.get("PRIMARY_STICKY"));
+        assertEquals(3, routes.get("REPLICA"));
+    }
+
+    @Test
+    @DisplayName("Atualização de status deve ser lida pelo próprio cliente e replicada")
+    void shouldReplicateStatusUpdates() {
+        long id = create("cliente-c", "Cliente Status Réplica");
+        awaitReplicaCaughtUp();
+
+        given().header(CLIENT_ID, "cliente-c")
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderStatusUpdateRequestDTO(Status.EM_ANDAMENTO))
+                .when().put("/ordens-servico/{id}/status", id)
+                .then()
+                .statusCode(204);
+
+        given().header(CLIENT_ID, "cliente-c")
+                .when().get("/ordens-servico/{id}", id)
+                .then()
+                .statusCode(200)
+                .body("status", is("EM_ANDAMENTO"));
+
+        awaitReplicaCaughtUp();
+        given().when().get("/ordens-servico/{id}", id)
+                .then()
+                .statusCode(200)
+                .body("status", is("EM_ANDAMENTO"));
+        // A leitura dentro da transação do updateStatus também é contada
+        assertTrue(status().getInt("routes.PRIMARY_TRANSACTION") >= 1);
+    }
+
+    @Test
+    @DisplayName("A réplica deve resolver o cliente pelo próprio dicionário, com IDs diferentes dos do primário")
+    void shouldMapCustomerWithReplicaDictionary() throws SQLException {
+        AgroalDataSource replica = AgroalDataSourceUtil.dataSourceIfActive(ReplicaServiceOrderRepository.REPLICA_DATASOURCE).orElseThrow();
+        // Um cliente só da réplica desloca a sequência dela
+        CustomerDictionary.of(replica, ReplicaServiceOrderRepository.REPLICA_DATASOURCE).idOf("Cliente Só na Réplica " + System.nanoTime());
+        String customer = "Cliente Dicionário Réplica " + System.nanoTime();
+        long id = create("cliente-d", customer);
+        awaitReplicaCaughtUp();
+
+        given().header(CLIENT_ID, "cliente-e")
+                .when().get("/ordens-servico/{id}", id)
+                .then()
+                .statusCode(200)
+                .body("customer", is(customer));
+        try (Connection connection = replica.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT c.name FROM service_order so JOIN customer c ON c.id = so.customer_id WHERE so.id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet row = statement.executeQuery()) {
+                assertTrue(row.next());
+                assertEquals(customer, row.getString(1));
+            }
+        }
+    }
+
+    private long create(String client, String customer) {
+        return given().header(CLIENT_ID, client)
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderCreateRequestDTO(customer, "Descrição da OS replicada"))
+                .when().post("/ordens-servico")
+                .then()
+                .statusCode(201)
+                .extract().jsonPath().getLong("id");
+    }
+
+    private JsonPath status() {
+        return given().when().get("/admin/replica").then().statusCode(200).extract().jsonPath();
+    }
+
+    private void awaitReplicaCaughtUp() {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            JsonPath status = status();
+            if (status.getLong("appliedPosition") == status.getLong("committedPosition")) {
+                return;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        fail("A réplica não alcançou o primário a tempo");
+    }
+}
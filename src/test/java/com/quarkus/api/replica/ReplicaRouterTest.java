@@ -0,0 +1,33 @@
+package com.quarkus.api.replica;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("ReplicaRouter Unit Tests")
+class ReplicaRouterTest {
+
+    private static final long MAX_LAG_MS = 1_000;
+
+    @Test
+    @DisplayName("Deve ler do primário quando a réplica está desligada ou há transação ativa")
+    void decide_shouldUsePrimaryWhenDisabledOrInTransaction() {
+        assertEquals(ReadRoute.PRIMARY_DISABLED, ReplicaRouter.decide(false, false, 0, 0, 0, MAX_LAG_MS));
+        assertEquals(ReadRoute.PRIMARY_TRANSACTION, ReplicaRouter.decide(true, true, 0, 0, 0, MAX_LAG_MS));
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário enquanto a réplica não alcançar a última escrita do cliente")
+    void decide_shouldStickToPrimaryUntilReplicaCatchesUp() {
+        assertEquals(ReadRoute.PRIMARY_STICKY, ReplicaRouter.decide(true, false, 10, 9, 0, MAX_LAG_MS));
+        assertEquals(ReadRoute.REPLICA, ReplicaRouter.decide(true, false, 10, 10, 0, MAX_LAG_MS));
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário quando o atraso da réplica passa do tolerado")
+    void decide_shouldUsePrimaryWhenLagExceedsTolerance() {
+        assertEquals(ReadRoute.REPLICA, ReplicaRouter.decide(true, false, 0, 5, MAX_LAG_MS, MAX_LAG_MS));
+        assertEquals(ReadRoute.PRIMARY_LAG, ReplicaRouter.decide(true, false, 0, 5, MAX_LAG_MS + 1, MAX_LAG_MS));
+    }
+}
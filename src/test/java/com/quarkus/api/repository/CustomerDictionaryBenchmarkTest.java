@@ -0,0 +1,141 @@
+package com.quarkus.api.repository;
+
+import com.quarkus.api.sharding.ShardRouter;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Tamanho de service_order (tabela + índice do cliente) e latência da consulta por cliente com o cliente
+// normalizado (customer_id + dicionário) e com o nome repetido em cada linha, como antes do changeSet 8.
+// Executar com: mvn test -Pbenchmark -Dtest=CustomerDictionaryBenchmarkTest
+@QuarkusTest
+@TestProfile(CustomerDictionaryBenchmarkTest.FileDatabaseProfile.class)
+@Tag("benchmark")
+@DisplayName("Benchmark - Cliente normalizado x nome repetido")
+class CustomerDictionaryBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger(CustomerDictionaryBenchmarkTest.class);
+
+    // DISK_SPACE_USED só mede bancos em arquivo
+    public static class FileDatabaseProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.datasource.jdbc.url", "jdbc:h2:file:./target/customer-benchmark/db");
+        }
+    }
+
+    private static final int CUSTOMERS = 200;
+    private static final int ROWS = 100_000;
+    private static final int QUERIES = 5_000;
+    private static final long FIRST_ID = 9_000_000_000L;
+    private static final String PREFIX = "Benchmark Comércio e Serviços Ltda - Filial ";
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @AfterEach
+    void teardown() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS service_order_normalized");
+            statement.execute("DROP TABLE IF EXISTS service_order_denormalized");
+            statement.execute("DELETE FROM service_order WHERE id >= " + FIRST_ID);
+            statement.execute("DELETE FROM customer WHERE name LIKE '" + PREFIX + "%'");
+        }
+    }
+
+    @Test
+    void sizeAndCustomerQueryLatency() throws SQLException {
+        CustomerDictionary customers = CustomerDictionary.of(dataSource, ShardRouter.DEFAULT_SHARD);
+        long firstCustomerId = customers.idOf(name(0));
+        for (int i = 1; i < CUSTOMERS; i++) {
+            customers.idOf(name(i));
+        }
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO service_order (id, customer_id, description, status, created_at)"
+                    + " SELECT " + FIRST_ID + " + X, c.id, 'Manutenção preventiva', 'ABERTA', CURRENT_TIMESTAMP"
+                    + " FROM SYSTEM_RANGE(0, " + (ROWS - 1) + ") JOIN customer c ON c.name = '" + PREFIX + "' || LPAD(CAST(MOD(X, " + CUSTOMERS + ") AS VARCHAR), 4, '0')");
+            assertEquals(ROWS / CUSTOMERS, count(connection, "SELECT COUNT(*) FROM service_order WHERE customer_id = ?", firstCustomerId));
+
+            // As duas variantes são cópias das mesmas linhas, criadas do mesmo jeito: só o layout muda
+            long normalized = copy(statement, "service_order_normalized", "so.customer_id", "customer_id");
+            long denormalized = copy(statement, "service_order_denormalized", "c.name AS customer", "customer");
+
+            // Rodadas alternadas; a primeira aquece as duas
+            double normalizedMicros = 0;
+            double denormalizedMicros = 0;
+            for (int round = 0; round < 3; round++) {
+                normalizedMicros = queryMicros(connection, "SELECT COUNT(*), MAX(created_at) FROM service_order_normalized WHERE customer_id = ?",
+                        i -> customers.idOf(name(i)));
+                denormalizedMicros = queryMicros(connection, "SELECT COUNT(*), MAX(created_at) FROM service_order_denormalized WHERE customer = ?",
+                        CustomerDictionaryBenchmarkTest::name);
+            }
+
+            LOG.infof("%d OS de %d clientes", ROWS, CUSTOMERS);
+            LOG.infof("nome repetido:       %,d KB (tabela + índice), consulta por cliente %.1f µs",
+                    denormalized / 1024, denormalizedMicros);
+            LOG.infof("cliente normalizado: %,d KB (tabela + índice), consulta por cliente %.1f µs",
+                    normalized / 1024, normalizedMicros);
+        }
+    }
+
+    // Cria a cópia com a coluna do cliente informada e devolve o espaço em disco (tabela + índice) em bytes
+    private static long copy(Statement statement, String table, String customerColumn, String indexedColumn) throws SQLException {
+        statement.execute("CREATE TABLE " + table + " AS SELECT so.id, " + customerColumn + ", so.description, so.status, so.created_at"
+                + " FROM service_order so JOIN customer c ON c.id = so.customer_id WHERE so.id >= " + FIRST_ID + " ORDER BY so.id");
+        statement.execute("CREATE INDEX idx_" + table + "_customer ON " + table + " (" + indexedColumn + ")");
+        statement.execute("CHECKPOINT");
+        return diskSpace(statement, table);
+    }
+
+    private static String name(int customer) {
+        return PREFIX + String.format("%04d", customer);
+    }
+
+    private static long diskSpace(Statement statement, String table) throws SQLException {
+        try (ResultSet row = statement.executeQuery("SELECT DISK_SPACE_USED('" + table.toUpperCase() + "')")) {
+            row.next();
+            return row.getLong(1);
+        }
+    }
+
+    private static double queryMicros(Connection connection, String sql, IntFunction<Object> parameter) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                statement.setObject(1, parameter.apply(i % CUSTOMERS));
+                try (ResultSet row = statement.executeQuery()) {
+                    row.next();
+                }
+            }
+            return (System.nanoTime() - start) / 1_000.0 / QUERIES;
+        }
+    }
+
+    private static long count(Connection connection, String sql, Object parameter) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, parameter);
+            try (ResultSet row = statement.executeQuery()) {
+                row.next();
+                return row.getLong(1);
+            }
+        }
+    }
+}
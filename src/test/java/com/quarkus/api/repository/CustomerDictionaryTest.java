@@ -0,0 +1,124 @@
+package com.quarkus.api.repository;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@QuarkusTest
+@DisplayName("CustomerDictionary Integration Tests")
+class CustomerDictionaryTest {
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Test
+    @DisplayName("Uma OS desfeita deve deixar o cliente gravado, com o ID que está no cache")
+    void idOf_shouldKeepCustomerWhenOrderRollsBack() throws SQLException {
+        String customer = "Cliente Desfeito " + System.nanoTime();
+        assertThrows(RuntimeException.class, () -> QuarkusTransaction.requiringNew().run(() -> {
+            new ServiceOrder(customer, "OS desfeita depois do flush", Status.ABERTA).persist();
+            ServiceOrder.flush();
+            throw new IllegalStateException("Desfaz a transação da OS");
+        }));
+
+        long customerId = CustomerDictionary.primary().idOf(customer);
+        assertEquals(customer, nameInDatabase(customerId));
+        assertEquals(0L, (long) QuarkusTransaction.requiringNew().call(() -> ServiceOrder.count("customer", customer)));
+
+        // O ID em cache continua válido para a próxima OS (a chave estrangeira aceita)
+        long id = QuarkusTransaction.requiringNew().call(() -> {
+            ServiceOrder serviceOrder = new ServiceOrder(customer, "OS gravada depois do rollback", Status.ABERTA);
+            serviceOrder.persist();
+            return serviceOrder.id;
+        });
+        ServiceOrder reloaded = QuarkusTransaction.requiringNew().call(() -> ServiceOrder.<ServiceOrder>findById(id));
+        assertEquals(customer, reloaded.getCustomer());
+    }
+
+    @Test
+    @DisplayName("Primeiras gravações simultâneas do mesmo cliente devem resolver para um único ID")
+    void idOf_shouldResolveConcurrentFirstInsertsToOneId() throws Exception {
+        String customer = "Cliente Simultâneo " + System.nanoTime();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Set<Long> ids = new HashSet<>();
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return CustomerDictionary.primary().idOf(customer);
+                }));
+            }
+            start.countDown();
+            for (Future<Long> future : futures) {
+                ids.add(future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, ids.size(), "IDs devolvidos: " + ids);
+        assertEquals(1L, rowsInDatabase(customer));
+        assertEquals(customer, CustomerDictionary.primary().nameOf(ids.iterator().next()));
+    }
+
+    @Test
+    @DisplayName("A conversão do Hibernate não deve gravar cliente: um cliente não resolvido é um erro")
+    void converter_shouldFailForUnresolvedCustomer() throws SQLException {
+        String customer = "Cliente Não Resolvido " + System.nanoTime();
+        CustomerIdConverter converter = new CustomerIdConverter();
+
+        assertThrows(IllegalStateException.class, () -> converter.convertToDatabaseColumn(customer));
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute(Long.MAX_VALUE));
+        assertEquals(0L, rowsInDatabase(customer));
+
+        long customerId = CustomerDictionary.primary().idOf(customer);
+        assertEquals(customerId, (long) converter.convertToDatabaseColumn(customer));
+        assertEquals(customer, converter.convertToEntityAttribute(customerId));
+    }
+
+    private String nameInDatabase(long id) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT name FROM customer WHERE id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet row = statement.executeQuery()) {
+                return row.next() ? row.getString(1) : null;
+            }
+        }
+    }
+
+    private long rowsInDatabase(String customer) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM customer WHERE name = ?")) {
+            statement.setString(1, customer);
+            try (ResultSet row = statement.executeQuery()) {
+                row.next();
+                return row.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.quarkus.api.resource;
+
+import io.restassured.specification.RequestSpecification;
+
+import static io.restassured.RestAssured.given;
+
+// Requisições com o usuário admin do perfil de teste (quarkus.security.users.embedded.users.admin),
+// exigido pelos endpoints administrativos que alteram estado
+public final class AdminRequests {
+
+    public static final String USER = "admin";
+    public static final String PASSWORD = "admin";
+
+    private AdminRequests() {
+    }
+
+    public static RequestSpecification asAdmin() {
+        return given().auth().preemptive().basic(USER, PASSWORD);
+    }
+}
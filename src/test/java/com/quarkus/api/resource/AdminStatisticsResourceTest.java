@@ -0,0 +1,135 @@
+package com.quarkus.api.resource;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.monitoring.SqlMonitor;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.quarkus.api.resource.AdminRequests.asAdmin;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+@QuarkusTest
+@DisplayName("AdminStatisticsResource Integration Tests")
+class AdminStatisticsResourceTest {
+
+    @Inject
+    SqlMonitor monitor;
+
+    @BeforeEach
+    void setup() {
+        // Commita os dados antes de zerar as estatísticas, para que o SQL do setup não entre na contagem
+        QuarkusTransaction.requiringNew().run(() -> {
+            ServiceOrder.deleteAll();
+            new ServiceOrder("Cliente A", "Manutenção de Servidor", Status.ABERTA).persist();
+        });
+
+        asAdmin().queryParam("enabled", true).when().put("/admin/estatisticas/coleta").then().statusCode(204);
+        asAdmin().when().delete("/admin/estatisticas").then().statusCode(204);
+    }
+
+    @AfterEach
+    @Transactional
+    void teardown() {
+        monitor.setEnabled(false);
+        monitor.reset();
+        ServiceOrder.deleteAll();
+    }
+
+    @Test
+    @DisplayName("GET /admin/estatisticas/sql - Deve retornar os comandos executados pelos endpoints")
+    void testTopQueries() {
+        given().when().get("/ordens-servico").then().statusCode(200);
+        given().when().get("/ordens-servico").then().statusCode(200);
+
+        given()
+                .queryParam("orderBy", "EXECUTION_COUNT")
+                .queryParam("top", 1)
+                .when()
+                .get("/admin/estatisticas/sql")
+                .then()
+                .statusCode(200)
+                .body("size()", is(1))
+                .body("[0].sql", containsString("service_order"))
+                .body("[0].executionCount", greaterThanOrEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("DELETE /admin/estatisticas - Deve zerar as estatísticas coletadas")
+    void testReset() {
+        given().when().get("/ordens-servico").then().statusCode(200);
+
+        asAdmin().when().delete("/admin/estatisticas").then().statusCode(204);
+
+        given()
+                .when()
+                .get("/admin/estatisticas/sql")
+                .then()
+                .statusCode(200)
+                .body("size()", is(0));
+    }
+
+    @Test
+    @DisplayName("PUT /admin/estatisticas/coleta - Deve desligar a coleta em tempo de execução")
+    void testDisableCollection() {
+        asAdmin().queryParam("enabled", false).when().put("/admin/estatisticas/coleta").then().statusCode(204);
+
+        given().when().get("/ordens-servico").then().statusCode(200);
+
+        given().when().get("/admin/estatisticas/sql").then().statusCode(200).body("size()", is(0));
+        given().when().get("/admin/estatisticas/hibernate").then().statusCode(200).body("enabled", is(false));
+    }
+
+    @Test
+    @DisplayName("GET /admin/estatisticas/hibernate - Deve expor as estatísticas do Hibernate quando a coleta está ligada")
+    void testHibernateStatistics() {
+        given().when().get("/ordens-servico").then().statusCode(200);
+
+        given()
+                .when()
+                .get("/admin/estatisticas/hibernate")
+                .then()
+                .statusCode(200)
+                .body("enabled", is(true))
+                .body("prepareStatementCount", greaterThanOrEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("GET /admin/estatisticas/sql/lentas - Deve listar execuções acima do limite configurado")
+    void testSlowQueries() {
+        monitor.record("select 1", TimeUnit.SECONDS.toNanos(1));
+
+        given()
+                .when()
+                .get("/admin/estatisticas/sql/lentas")
+                .then()
+                .statusCode(200)
+                .body("size()", is(1))
+                .body("[0].sql", is("select 1"))
+                .body("[0].durationMs", is(1000.0f));
+    }
+
+    @Test
+    @DisplayName("PUT /admin/estatisticas/coleta e DELETE /admin/estatisticas - Devem exigir o papel admin")
+    void testStateChangesRequireAdmin() {
+        given().queryParam("enabled", false).when().put("/admin/estatisticas/coleta").then().statusCode(401);
+        given().when().delete("/admin/estatisticas").then().statusCode(401);
+        given().auth().preemptive().basic(AdminRequests.USER, "senha-errada")
+                .when().delete("/admin/estatisticas")
+                .then()
+                .statusCode(401);
+
+        // As leituras continuam abertas
+        given().when().get("/admin/estatisticas/hibernate").then().statusCode(200).body("enabled", is(true));
+    }
+}
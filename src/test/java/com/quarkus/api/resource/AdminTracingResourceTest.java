@@ -0,0 +1,107 @@
+package com.quarkus.api.resource;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.resource.dto.ServiceOrderStatusUpdateRequestDTO;
+import com.quarkus.api.tracing.InMemorySpanExporter;
+import com.quarkus.api.tracing.SpanRecord;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@DisplayName("AdminTracingResource Integration Tests")
+class AdminTracingResourceTest {
+
+    private static final long EXPORT_TIMEOUT_MS = 5_000;
+
+    @Inject
+    InMemorySpanExporter exporter;
+
+    private Long osIdAberta;
+
+    @BeforeEach
+    void setup() {
+        osIdAberta = QuarkusTransaction.requiringNew().call(() -> {
+            ServiceOrder.deleteAll();
+            ServiceOrder serviceOrder = new ServiceOrder("Cliente A", "Manutenção de Servidor", Status.ABERTA);
+            serviceOrder.persist();
+            return serviceOrder.id;
+        });
+        AdminRequests.asAdmin().when().delete("/admin/rastreamentos").then().statusCode(204);
+    }
+
+    @Test
+    @DisplayName("PUT /ordens-servico/{id}/status - Deve gerar spans de HTTP, serviço, transação e JDBC no mesmo trace")
+    void testUpdateStatusTrace() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderStatusUpdateRequestDTO(Status.EM_ANDAMENTO))
+                .pathParam("id", osIdAberta)
+                .when()
+                .put("/ordens-servico/{id}/status")
+                .then()
+                .statusCode(204);
+
+        SpanRecord serverSpan = awaitSpan(span -> span.kind.equals("SERVER") && span.name.contains("/ordens-servico/{id}/status"));
+        List<SpanRecord> trace = exporter.getSpans(serverSpan.traceId);
+
+        SpanRecord serviceSpan = find(trace, span -> span.name.equals("ServiceOrderService.updateStatus"));
+        assertEquals(String.valueOf(osIdAberta), serviceSpan.attributes.get("service_order.id"));
+        assertEquals("ABERTA->EM_ANDAMENTO", serviceSpan.attributes.get("service_order.status.transition"));
+        assertEquals("UPDATED", serviceSpan.attributes.get("service_order.status.result"));
+
+        SpanRecord transactionSpan = find(trace, span -> span.name.equals("transaction"));
+        assertEquals(serviceSpan.spanId, transactionSpan.parentSpanId);
+
+        // O UPDATE é executado no flush do commit, dentro da janela de tempo da transação
+        SpanRecord updateSpan = find(trace, span -> span.kind.equals("CLIENT") && span.name.toUpperCase().startsWith("UPDATE"));
+        assertEquals(serviceSpan.spanId, updateSpan.parentSpanId);
+        assertTrue(updateSpan.startEpochNanos >= transactionSpan.startEpochNanos);
+    }
+
+    @Test
+    @DisplayName("GET /ordens-servico - Deve registrar a quantidade de linhas no span do serviço")
+    void testListTraceRowCount() {
+        given().when().get("/ordens-servico").then().statusCode(200).body("size()", is(1));
+
+        SpanRecord serviceSpan = awaitSpan(span -> span.name.equals("ServiceOrderService.listSO"));
+        assertEquals("1", serviceSpan.attributes.get("service_order.row_count"));
+    }
+
+    private SpanRecord find(List<SpanRecord> spans, Predicate<SpanRecord> predicate) {
+        Optional<SpanRecord> span = spans.stream().filter(predicate).findFirst();
+        assertTrue(span.isPresent(), () -> "Span não encontrado entre: " + spans.stream().map(s -> s.name).toList());
+        return span.get();
+    }
+
+    // Os spans são exportados em lote de forma assíncrona, então aguarda até que cheguem ao exportador
+    private SpanRecord awaitSpan(Predicate<SpanRecord> predicate) {
+        long deadline = System.currentTimeMillis() + EXPORT_TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            Optional<SpanRecord> span = exporter.getSpans(null).stream().filter(predicate).findFirst();
+            if (span.isPresent()) {
+                return span.get();
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return fail("Span não exportado em " + EXPORT_TIMEOUT_MS + " ms: " + exporter.getSpans(null).stream().map(s -> s.name).toList());
+    }
+}
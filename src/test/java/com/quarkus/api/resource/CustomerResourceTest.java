@@ -0,0 +1,172 @@
+package com.quarkus.api.resource;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.resource.dto.ServiceOrderCreateRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderStatusUpdateRequestDTO;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.quarkus.api.resource.AdminRequests.asAdmin;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+
+@QuarkusTest
+@DisplayName("CustomerResource Integration Tests")
+class CustomerResourceTest {
+
+    @BeforeEach
+    void setup() {
+        QuarkusTransaction.requiringNew().run(() -> ServiceOrder.deleteAll());
+        rebuild();
+    }
+
+    @Test
+    @DisplayName("GET /clientes/{customer}/resumo - Deve contar as OS do cliente por status")
+    void summary_shouldCountServiceOrdersByStatus() {
+        create("Cliente Resumo");
+        long inProgress = create("Cliente Resumo");
+        long finished = create("Cliente Resumo");
+        create("Outro Cliente");
+
+        updateStatus(inProgress, Status.EM_ANDAMENTO);
+        updateStatus(finished, Status.EM_ANDAMENTO);
+        updateStatus(finished, Status.FINALIZADA);
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderStatusUpdateRequestDTO(Status.ABERTA))
+                .when().put("/ordens-servico/{id}/status", finished)
+                .then()
+                .statusCode(400); // transição rejeitada não altera o resumo
+
+        given()
+                .when().get("/clientes/{customer}/resumo", "Cliente Resumo")
+                .then()
+                .statusCode(200)
+                .body("customer", is("Cliente Resumo"))
+                .body("open", is(1))
+                .body("inProgress", is(1))
+                .body("finished", is(1))
+                .body("total", is(3))
+                .body("lastOrderAt", notNullValue());
+
+        // Tudo foi contado pelo trigger: não há o que corrigir
+        asAdmin()
+                .when().post("/admin/resumos/reconstrucao")
+                .then()
+                .statusCode(200)
+                .body("customersRepaired", is(0));
+    }
+
+    @Test
+    @DisplayName("GET /clientes/{customer}/resumo - Deve retornar 404 para cliente sem OS")
+    void summary_shouldReturn404ForUnknownCustomer() {
+        given()
+                .when().get("/clientes/{customer}/resumo", "Cliente Inexistente")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("Escritas concorrentes do mesmo cliente não devem perder contagens")
+    void summary_shouldCountConcurrentCreates() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                futures.add(executor.submit(() -> create("Cliente Concorrente")));
+            }
+            for (Future<Long> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        given()
+                .when().get("/clientes/{customer}/resumo", "Cliente Concorrente")
+                .then()
+                .statusCode(200)
+                .body("open", is(40))
+                .body("total", is(40));
+    }
+
+    @Test
+    @DisplayName("POST /admin/resumos/reconstrucao - Deve corrigir OS excluídas fora do serviço")
+    void rebuild_shouldRepairDrift() {
+        long deleted = create("Cliente Divergente");
+        // Gravada direto no banco, sem passar pelo ServiceOrderService: o trigger conta mesmo assim
+        QuarkusTransaction.requiringNew().run(() ->
+                new ServiceOrder("Cliente Divergente", "OS gravada sem o serviço", Status.FINALIZADA).persist());
+        // Exclusões não descontam
+        QuarkusTransaction.requiringNew().run(() -> ServiceOrder.deleteById(deleted));
+
+        given()
+                .when().get("/clientes/{customer}/resumo", "Cliente Divergente")
+                .then()
+                .statusCode(200)
+                .body("open", is(1))
+                .body("finished", is(1))
+                .body("total", is(2));
+
+        asAdmin()
+                .when().post("/admin/resumos/reconstrucao")
+                .then()
+                .statusCode(200)
+                .body("customersRepaired", is(1));
+
+        given()
+                .when().get("/clientes/{customer}/resumo", "Cliente Divergente")
+                .then()
+                .statusCode(200)
+                .body("open", is(0))
+                .body("finished", is(1))
+                .body("total", is(1));
+    }
+
+    @Test
+    @DisplayName("POST /admin/resumos/reconstrucao - Deve exigir o papel admin")
+    void rebuild_shouldRequireAdmin() {
+        given()
+                .when().post("/admin/resumos/reconstrucao")
+                .then()
+                .statusCode(401);
+    }
+
+    private long create(String customer) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderCreateRequestDTO(customer, "Descrição da OS do resumo"))
+                .when().post("/ordens-servico")
+                .then()
+                .statusCode(201)
+                .extract().jsonPath().getLong("id");
+    }
+
+    private void updateStatus(long id, Status status) {
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderStatusUpdateRequestDTO(status))
+                .when().put("/ordens-servico/{id}/status", id)
+                .then()
+                .statusCode(204);
+    }
+
+    private void rebuild() {
+        asAdmin()
+                .when().post("/admin/resumos/reconstrucao")
+                .then()
+                .statusCode(200);
+    }
+}
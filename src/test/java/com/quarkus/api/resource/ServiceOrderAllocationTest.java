@@ -0,0 +1,107 @@
+package com.quarkus.api.resource;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.monitoring.RequestProfile;
+import com.quarkus.api.monitoring.RequestProfiler;
+import com.quarkus.api.resource.dto.ServiceOrderCreateRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderStatusUpdateRequestDTO;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Orçamentos de alocação e latência dos endpoints mais usados, medidos com o Java Flight Recorder
+// (RequestProfiler). Cada cenário aquece com a mesma carga antes de gravar. Os orçamentos padrão
+// ficam ~50% acima do medido e podem ser trocados sem recompilar:
+// -Dallocation.budget.<cenário>.bytes=... e -Dallocation.budget.<cenário>.p99-ms=...
+// (pausa de GC: -Dallocation.budget.gc-pause-ms=...). As gravações ficam em target/jfr.
+// Executar com: mvn test -Pallocation
+@QuarkusTest
+@Tag("allocation")
+@DisplayName("Orçamentos de alocação e latência - ServiceOrderResource")
+class ServiceOrderAllocationTest {
+
+    private static final int WARM_UP = 300;
+    private static final int REQUESTS = 500;
+
+    @AfterEach
+    void teardown() {
+        QuarkusTransaction.requiringNew().run(() -> ServiceOrder.delete("description like ?1", "OS da carga de alocação%"));
+    }
+
+    @Test
+    void createBudget() {
+        assertWithinBudget("criar", 140_000, 40, i -> given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderCreateRequestDTO("Cliente Alocação " + (i % 20), "OS da carga de alocação " + i))
+                .when().post("/ordens-servico")
+                .then().statusCode(201));
+    }
+
+    @Test
+    void findByIdBudget() {
+        List<Long> ids = createOrders(50);
+        assertWithinBudget("buscar-por-id", 70_000, 30, i -> given()
+                .when().get("/ordens-servico/" + ids.get(i % ids.size()))
+                .then().statusCode(200));
+    }
+
+    @Test
+    void listBudget() {
+        createOrders(50);
+        assertWithinBudget("listar", 170_000, 100, i -> given()
+                .when().get("/ordens-servico?size=20")
+                .then().statusCode(200));
+    }
+
+    @Test
+    void updateStatusBudget() {
+        List<Long> ids = createOrders(WARM_UP + REQUESTS);
+        int[] next = {0};
+        assertWithinBudget("atualizar-status", 170_000, 50, i -> given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderStatusUpdateRequestDTO(Status.EM_ANDAMENTO))
+                .when().put("/ordens-servico/" + ids.get(next[0]++) + "/status")
+                .then().statusCode(204));
+    }
+
+    private static void assertWithinBudget(String scenario, long defaultBytes, long defaultP99Millis, IntConsumer request) {
+        for (int i = 0; i < WARM_UP; i++) {
+            request.accept(i);
+        }
+        RequestProfile profile = RequestProfiler.profile(scenario, REQUESTS, request);
+
+        long bytesBudget = Long.getLong("allocation.budget." + scenario + ".bytes", defaultBytes);
+        long p99Budget = Long.getLong("allocation.budget." + scenario + ".p99-ms", defaultP99Millis);
+        long gcPauseBudget = Long.getLong("allocation.budget.gc-pause-ms", 100);
+        assertTrue(profile.bytesPerRequest() <= bytesBudget,
+                "Alocação acima do orçamento de " + bytesBudget + " bytes/requisição\n" + profile);
+        assertTrue(profile.latencyMicros(99) <= p99Budget * 1_000,
+                "p99 acima do orçamento de " + p99Budget + " ms\n" + profile);
+        assertTrue(profile.gcPauseMax().toMillis() <= gcPauseBudget,
+                "Pausa de GC acima do orçamento de " + gcPauseBudget + " ms\n" + profile);
+    }
+
+    private static List<Long> createOrders(int count) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            List<Long> ids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ServiceOrder serviceOrder = new ServiceOrder("Cliente Alocação " + (i % 20), "OS da carga de alocação " + i, Status.ABERTA);
+                serviceOrder.persist();
+                ids.add(serviceOrder.id);
+            }
+            return ids;
+        });
+    }
+}
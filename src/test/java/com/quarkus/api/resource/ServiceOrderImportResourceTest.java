@@ -0,0 +1,96 @@
+package com.quarkus.api.resource;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.quarkus.api.resource.AdminRequests.asAdmin;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@DisplayName("ServiceOrderImportResource Integration Tests")
+class ServiceOrderImportResourceTest {
+
+    @BeforeEach
+    void setup() {
+        QuarkusTransaction.requiringNew().run(() -> ServiceOrder.deleteAll());
+        asAdmin().when().post("/admin/resumos/reconstrucao").then().statusCode(200);
+    }
+
+    @Test
+    @DisplayName("POST /ordens-servico/import - Deve importar as linhas válidas e relatar as rejeitadas")
+    void importCsv_shouldImportValidRowsAndReportRejected() {
+        String csv = "customer,description,status,created_at\n"
+                + "Cliente Importado,Troca de tela do notebook,,\n"
+                + "Cliente Importado,\"Reparo na fonte, com garantia\",FINALIZADA,2024-01-31T10:15:30\n"
+                + "X,Descrição curta,,\n"
+                + "Cliente Importado,Descrição da OS com status errado,CANCELADA,\n"
+                + "Cliente Importado,Descrição da OS com data errada,,31/01/2024\n";
+
+        String id = given()
+                .contentType("text/csv")
+                .body(csv)
+                .when().post("/ordens-servico/import")
+                .then()
+                .statusCode(200)
+                .body("state", is("COMPLETED"))
+                .body("rowsRead", is(5))
+                .body("imported", is(2))
+                .body("rejected", is(3))
+                .extract().jsonPath().getString("id");
+
+        List<ServiceOrder> imported = QuarkusTransaction.requiringNew()
+                .call(() -> ServiceOrder.<ServiceOrder>list("customer", "Cliente Importado"));
+        assertEquals(2, imported.size());
+        assertEquals(1, imported.stream().filter(so -> so.getStatus() == Status.FINALIZADA).count());
+
+        given()
+                .when().get("/ordens-servico/import/{id}", id)
+                .then()
+                .statusCode(200)
+                .body("imported", is(2));
+
+        given()
+                .when().get("/ordens-servico/import/{id}/rejeitadas", id)
+                .then()
+                .statusCode(200)
+                .body(startsWith("line,error,customer,description\n4,"))
+                .body(containsString("\n5,Status inválido: CANCELADA,"))
+                .body(containsString("\n6,Data de criação inválida: 31/01/2024"));
+
+        // As linhas importadas entram no resumo por cliente
+        given()
+                .when().get("/clientes/{customer}/resumo", "Cliente Importado")
+                .then()
+                .statusCode(200)
+                .body("open", is(1))
+                .body("finished", is(1));
+    }
+
+    @Test
+    @DisplayName("POST /ordens-servico/import - Deve retornar 400 sem as colunas obrigatórias")
+    void importCsv_shouldReturn400WithoutRequiredColumns() {
+        given()
+                .contentType("text/csv")
+                .body("cliente,descricao\nJoão,Troca de tela do notebook\n")
+                .when().post("/ordens-servico/import")
+                .then()
+                .statusCode(400)
+                .body("message", containsString("customer e description"));
+
+        given()
+                .when().get("/ordens-servico/import/{id}", "inexistente")
+                .then()
+                .statusCode(404);
+    }
+}
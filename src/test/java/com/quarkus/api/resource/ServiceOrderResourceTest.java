@@ -2,8 +2,15 @@ package com.quarkus.api.resource;
 
 import com.quarkus.api.domain.enums.Status;
 import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.monitoring.SqlStatementCount;
+import com.quarkus.api.monitoring.SqlStatementCounter;
+import com.quarkus.api.resource.dto.ServiceOrderBatchLookupRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderBatchOperationDTO;
+import com.quarkus.api.resource.dto.ServiceOrderBatchRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderClaimRequestDTO;
 import com.quarkus.api.resource.dto.ServiceOrderCreateRequestDTO; // NOVO
 import com.quarkus.api.resource.dto.ServiceOrderStatusUpdateRequestDTO; // NOVO
+import com.quarkus.api.service.BatchMode;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
 import jakarta.inject.Inject;
@@ -14,11 +21,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static io.restassured.RestAssured.given;
 // import static org.hamcrest.CoreMatchers.nullValue; // Não usado, pois status padrão é ABERTA
 import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -29,6 +43,9 @@ class ServiceOrderResourceTest {
 
     @Inject
     private EntityManager entityManager;
+
+    @Inject
+    SqlStatementCounter sqlCounter;
     private Long osIdAberta;
     private Long osIdEmAndamento;
     private Long osIdFinalizada; // Adicione este
@@ -263,6 +280,29 @@ class ServiceOrderResourceTest {
                 .body("[0].customer", is("Cliente A"));
     }
 
+    @Test
+    @Transactional
+    @DisplayName("GET /ordens-servico - Deve paginar por keyset a partir do último ID recebido (afterId)")
+    void testListServiceOrders_keysetPagination() {
+        given()
+                .queryParam("afterId", osIdAberta)
+                .queryParam("size", 1)
+                .when()
+                .get("/ordens-servico")
+                .then()
+                .statusCode(200)
+                .body("size()", is(1))
+                .body("[0].id", is(osIdEmAndamento.intValue()));
+
+        given()
+                .queryParam("afterId", osIdFinalizada)
+                .when()
+                .get("/ordens-servico")
+                .then()
+                .statusCode(200)
+                .body("size()", is(0));
+    }
+
     // --- Testes para GET /ordens-servico/{id} ---
     @Test
     @Transactional
@@ -293,6 +333,64 @@ class ServiceOrderResourceTest {
                 .statusCode(404);
     }
 
+    // --- Testes para POST /ordens-servico/busca ---
+    @Test
+    @Transactional
+    @DisplayName("POST /ordens-servico/busca - Deve retornar OSs encontradas na ordem solicitada e os IDs inexistentes")
+    void testFindByIds_foundAndMissing() {
+        ServiceOrderBatchLookupRequestDTO requestDTO = new ServiceOrderBatchLookupRequestDTO(
+                List.of(osIdFinalizada, 9999L, osIdAberta));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(requestDTO)
+                .when()
+                .post("/ordens-servico/busca")
+                .then()
+                .statusCode(200)
+                .body("found.size()", is(2))
+                .body("found[0].id", is(osIdFinalizada.intValue()))
+                .body("found[0].customer", is("Cliente C"))
+                .body("found[1].id", is(osIdAberta.intValue()))
+                .body("found[1].customer", is("Cliente A"))
+                .body("missing", hasItems(9999))
+                .body("missing.size()", is(1));
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("POST /ordens-servico/busca - Deve retornar 400 se a lista de IDs exceder o limite")
+    void testFindByIds_tooManyIds() {
+        List<Long> ids = new java.util.ArrayList<>();
+        for (long i = 1; i <= ServiceOrderBatchLookupRequestDTO.MAX_IDS + 1; i++) {
+            ids.add(i);
+        }
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderBatchLookupRequestDTO(ids))
+                .when()
+                .post("/ordens-servico/busca")
+                .then()
+                .statusCode(400)
+                .body("message", is("Erros de validação na requisição."))
+                .body("details[0].field", is("ids"));
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("POST /ordens-servico/busca - Deve retornar 400 se a lista de IDs for vazia")
+    void testFindByIds_emptyIds() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderBatchLookupRequestDTO(List.of()))
+                .when()
+                .post("/ordens-servico/busca")
+                .then()
+                .statusCode(400)
+                .body("details[0].message", is("A lista de IDs não pode ser vazia"));
+    }
+
     // --- Testes para PUT /ordens-servico/{id}/status ---
     @Test
     @Transactional
@@ -441,4 +539,460 @@ class ServiceOrderResourceTest {
                 .then()
                 .statusCode(415); // Unsupported Media Type
     }
-}
\ No newline at end of file
+
+    // --- Testes para GET /ordens-servico/metricas/lead-time ---
+    @Test
+    @DisplayName("GET /ordens-servico/metricas/lead-time - Deve registrar o lead time de cada etapa concluída")
+    void testLeadTime_shouldRecordCompletedStages() {
+        Long id = given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderCreateRequestDTO("Cliente Lead Time", "OS para medir o lead time"))
+                .when().post("/ordens-servico")
+                .then()
+                .statusCode(201)
+                .extract().jsonPath().getLong("id");
+
+        for (Status status : new Status[]{Status.EM_ANDAMENTO, Status.FINALIZADA}) {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(new ServiceOrderStatusUpdateRequestDTO(status))
+                    .pathParam("id", id)
+                    .when().put("/ordens-servico/{id}/status")
+                    .then()
+                    .statusCode(204);
+        }
+
+        given()
+                .pathParam("id", id)
+                .when().get("/ordens-servico/{id}")
+                .then()
+                .statusCode(200)
+                .body("startedAt", notNullValue())
+                .body("finishedAt", notNullValue());
+
+        given()
+                .queryParam("customer", "Cliente Lead Time")
+                .when().get("/ordens-servico/metricas/lead-time")
+                .then()
+                .statusCode(200)
+                .body("customer", is("Cliente Lead Time"))
+                .body("stages.OPEN_TO_IN_PROGRESS.count", is(1))
+                .body("stages.IN_PROGRESS_TO_FINISHED.count", is(1))
+                .body("stages.OPEN_TO_FINISHED.count", is(1))
+                .body("stages.OPEN_TO_FINISHED.p99Ms", greaterThanOrEqualTo(0));
+    }
+
+    // --- Testes para POST /ordens-servico/claim ---
+    @Test
+    @DisplayName("POST /ordens-servico/claim - Deve assumir as OS abertas da mais antiga para a mais recente")
+    void testClaim_shouldClaimOldestOpenFirst() {
+        Long newer = given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderCreateRequestDTO("Cliente Fila", "OS aberta mais recente"))
+                .when().post("/ordens-servico")
+                .then()
+                .statusCode(201)
+                .extract().jsonPath().getLong("id");
+
+        for (Long expected : List.of(osIdAberta, newer)) {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(new ServiceOrderClaimRequestDTO("tecnico-1"))
+                    .when().post("/ordens-servico/claim")
+                    .then()
+                    .statusCode(200)
+                    .body("id", is(expected.intValue()))
+                    .body("status", is("EM_ANDAMENTO"))
+                    .body("assignedTo", is("tecnico-1"))
+                    .body("startedAt", notNullValue());
+        }
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderClaimRequestDTO("tecnico-1"))
+                .when().post("/ordens-servico/claim")
+                .then()
+                .statusCode(204);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderClaimRequestDTO(" "))
+                .when().post("/ordens-servico/claim")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("POST /ordens-servico/claim - Técnicos concorrentes nunca devem assumir a mesma OS")
+    void testClaim_concurrentClaimersGetDistinctOrders() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(new ServiceOrderCreateRequestDTO("Cliente Fila", "OS da fila concorrente " + i))
+                    .when().post("/ordens-servico")
+                    .then()
+                    .statusCode(201);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Long> claimed = new ArrayList<>();
+        try {
+            List<Future<List<Long>>> technicians = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                String technician = "tecnico-" + t;
+                technicians.add(executor.submit(() -> {
+                    List<Long> ids = new ArrayList<>();
+                    while (true) {
+                        var response = given()
+                                .contentType(ContentType.JSON)
+                                .body(new ServiceOrderClaimRequestDTO(technician))
+                                .when().post("/ordens-servico/claim");
+                        if (response.statusCode() == 204) {
+                            return ids;
+                        }
+                        assertEquals(200, response.statusCode());
+                        ids.add(response.jsonPath().getLong("id"));
+                    }
+                }));
+            }
+            for (Future<List<Long>> technician : technicians) {
+                claimed.addAll(technician.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Set<Long> distinct = new HashSet<>(claimed);
+        assertEquals(31, claimed.size());
+        assertEquals(31, distinct.size());
+        assertEquals(0L, ServiceOrder.count("status", Status.ABERTA));
+    }
+
+    // --- Testes para POST /ordens-servico/batch ---
+    @Test
+    @DisplayName("POST /ordens-servico/batch - Deve executar operações mistas e devolver um resultado por operação")
+    void testBatch_mixedOperations() {
+        ServiceOrderBatchRequestDTO request = new ServiceOrderBatchRequestDTO(null, List.of(
+                ServiceOrderBatchOperationDTO.create("Cliente Lote", "OS criada em lote"),
+                ServiceOrderBatchOperationDTO.get(osIdAberta),
+                ServiceOrderBatchOperationDTO.updateStatus(osIdAberta, Status.EM_ANDAMENTO),
+                ServiceOrderBatchOperationDTO.updateStatus(osIdEmAndamento, Status.FINALIZADA)));
+
+        Long createdId = given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when().post("/ordens-servico/batch")
+                .then()
+                .statusCode(200)
+                .body("mode", is("ALL_OR_NOTHING"))
+                .body("committed", is(true))
+                .body("results.outcome", is(List.of("OK", "OK", "OK", "OK")))
+                .body("results[0].serviceOrder.status", is("ABERTA"))
+                // O GET mostra a OS como estava naquele ponto do lote, antes da alteração seguinte
+                .body("results[1].serviceOrder.status", is("ABERTA"))
+                .body("results[2].serviceOrder.status", is("EM_ANDAMENTO"))
+                .extract().jsonPath().getLong("results[0].serviceOrder.id");
+
+        given().when().get("/ordens-servico/{id}", createdId).then().statusCode(200).body("customer", is("Cliente Lote"));
+        given().when().get("/ordens-servico/{id}", osIdAberta).then().statusCode(200).body("status", is("EM_ANDAMENTO"));
+        given().when().get("/ordens-servico/{id}", osIdEmAndamento).then().statusCode(200).body("status", is("FINALIZADA"));
+    }
+
+    @Test
+    @DisplayName("POST /ordens-servico/batch - ALL_OR_NOTHING desfaz o lote na primeira rejeição; BEST_EFFORT commita o restante")
+    void testBatch_allOrNothingAndBestEffort() {
+        List<ServiceOrderBatchOperationDTO> operations = List.of(
+                ServiceOrderBatchOperationDTO.create("Cliente Lote", "OS que depende do modo"),
+                ServiceOrderBatchOperationDTO.updateStatus(osIdAberta, Status.FINALIZADA),
+                ServiceOrderBatchOperationDTO.create("X", "curta"),
+                ServiceOrderBatchOperationDTO.updateStatus(osIdEmAndamento, Status.FINALIZADA));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderBatchRequestDTO(BatchMode.ALL_OR_NOTHING, operations))
+                .when().post("/ordens-servico/batch")
+                .then()
+                .statusCode(400)
+                .body("committed", is(false))
+                .body("results.outcome", is(List.of("ROLLED_BACK", "FAILED", "SKIPPED", "SKIPPED")))
+                .body("results[1].message", is("Transição de status inválida"))
+                .body("results[0].serviceOrder", nullValue());
+        assertEquals(3L, ServiceOrder.count());
+        given().when().get("/ordens-servico/{id}", osIdEmAndamento).then().body("status", is("EM_ANDAMENTO"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderBatchRequestDTO(BatchMode.BEST_EFFORT, operations))
+                .when().post("/ordens-servico/batch")
+                .then()
+                .statusCode(200)
+                .body("committed", is(true))
+                .body("results.outcome", is(List.of("OK", "FAILED", "FAILED", "OK")))
+                .body("results[2].message", containsString("O nome do cliente deve ter entre 3 e 100 caracteres"));
+        assertEquals(4L, ServiceOrder.count());
+        given().when().get("/ordens-servico/{id}", osIdEmAndamento).then().body("status", is("FINALIZADA"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderBatchRequestDTO(null, List.of()))
+                .when().post("/ordens-servico/batch")
+                .then()
+                .statusCode(400);
+    }
+
+    // --- Orçamentos de SQL por endpoint (detectam N+1 e round trips extras) ---
+    @Test
+    @Transactional
+    @DisplayName("Orçamento SQL - POST /ordens-servico deve executar 1 insert")
+    void testSqlBudget_createSO() {
+        // Cliente do setup, já no dicionário de clientes; o resumo dele é mantido pelo trigger, dentro do insert
+        ServiceOrderCreateRequestDTO requestDTO = new ServiceOrderCreateRequestDTO("Cliente A", "Nova Ordem de Serviço Teste");
+
+        SqlStatementCount count = sqlCounter.count(() -> given()
+                .contentType(ContentType.JSON)
+                .body(requestDTO)
+                .when()
+                .post("/ordens-servico")
+                .then()
+                .statusCode(201));
+
+        assertEquals(1, count.inserts(), count::toString);
+        assertEquals(0, count.updates(), count::toString);
+        // Além do insert, no máximo a reserva de um novo bloco da sequence (alocação de 50 IDs)
+        assertTrue(count.total() <= 2, count::toString);
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Orçamento SQL - POST /ordens-servico da primeira OS de um cliente deve gravar só o cliente e a OS")
+    void testSqlBudget_createSO_newCustomer() {
+        ServiceOrderCreateRequestDTO requestDTO = new ServiceOrderCreateRequestDTO("Cliente Novo " + System.nanoTime(), "Primeira OS do cliente");
+
+        SqlStatementCount count = sqlCounter.count(() -> given()
+                .contentType(ContentType.JSON)
+                .body(requestDTO)
+                .when()
+                .post("/ordens-servico")
+                .then()
+                .statusCode(201));
+
+        // Busca e insert do cliente no dicionário e insert da OS; as linhas do resumo são criadas pelo trigger
+        assertEquals(2, count.inserts(), count::toString);
+        assertEquals(0, count.updates(), count::toString);
+        assertTrue(count.total() <= 4, count::toString);
+    }
+
+    // --- Testes de ETag / requisições condicionais ---
+    @Test
+    @DisplayName("GET /ordens-servico/{id} - Deve retornar 304 para If-None-Match com a ETag atual")
+    void testFindById_notModified() {
+        String etag = given()
+                .pathParam("id", osIdAberta)
+                .when()
+                .get("/ordens-servico/{id}")
+                .then()
+                .statusCode(200)
+                .header("ETag", is("\"" + osIdAberta + "-0\""))
+                .extract().header("ETag");
+
+        given()
+                .header("If-None-Match", etag)
+                .pathParam("id", osIdAberta)
+                .when()
+                .get("/ordens-servico/{id}")
+                .then()
+                .statusCode(304)
+                .header("ETag", is(etag));
+    }
+
+    @Test
+    @DisplayName("GET /ordens-servico - Deve retornar 304 enquanto a página não mudar e 200 depois de uma alteração")
+    void testListSO_notModifiedUntilChange() {
+        String etag = given()
+                .queryParam("page", 0)
+                .queryParam("size", 10)
+                .when()
+                .get("/ordens-servico")
+                .then()
+                .statusCode(200)
+                .header("ETag", is(notNullValue()))
+                .extract().header("ETag");
+
+        given().header("If-None-Match", etag).queryParam("page", 0).queryParam("size", 10)
+                .when().get("/ordens-servico")
+                .then().statusCode(304);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderStatusUpdateRequestDTO(Status.EM_ANDAMENTO))
+                .pathParam("id", osIdAberta)
+                .when()
+                .put("/ordens-servico/{id}/status")
+                .then()
+                .statusCode(204);
+
+        given().header("If-None-Match", etag).queryParam("page", 0).queryParam("size", 10)
+                .when().get("/ordens-servico")
+                .then()
+                .statusCode(200)
+                .header("ETag", not(etag));
+    }
+
+    @Test
+    @DisplayName("PUT /ordens-servico/{id}/status - Deve aplicar If-Match com a versão atual e recusar a versão antiga com 412")
+    void testUpdateStatus_ifMatch() {
+        String etag = given().pathParam("id", osIdAberta)
+                .when().get("/ordens-servico/{id}")
+                .then().statusCode(200)
+                .extract().header("ETag");
+
+        given()
+                .contentType(ContentType.JSON)
+                .header("If-Match", etag)
+                .body(new ServiceOrderStatusUpdateRequestDTO(Status.EM_ANDAMENTO))
+                .pathParam("id", osIdAberta)
+                .when()
+                .put("/ordens-servico/{id}/status")
+                .then()
+                .statusCode(204);
+
+        // A ETag lida antes da alteração não vale mais
+        given()
+                .contentType(ContentType.JSON)
+                .header("If-Match", etag)
+                .body(new ServiceOrderStatusUpdateRequestDTO(Status.FINALIZADA))
+                .pathParam("id", osIdAberta)
+                .when()
+                .put("/ordens-servico/{id}/status")
+                .then()
+                .statusCode(412);
+
+        given().pathParam("id", osIdAberta)
+                .when().get("/ordens-servico/{id}")
+                .then()
+                .statusCode(200)
+                .header("ETag", is("\"" + osIdAberta + "-1\""))
+                .body("status", is("EM_ANDAMENTO"));
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Orçamento SQL - PUT /ordens-servico/{id}/status deve executar no máximo 2 comandos")
+    void testSqlBudget_updateStatus() {
+        ServiceOrderStatusUpdateRequestDTO requestDTO = new ServiceOrderStatusUpdateRequestDTO(Status.EM_ANDAMENTO);
+
+        SqlStatementCount count = sqlCounter.count(() -> given()
+                .contentType(ContentType.JSON)
+                .body(requestDTO)
+                .pathParam("id", osIdAberta)
+                .when()
+                .put("/ordens-servico/{id}/status")
+                .then()
+                .statusCode(204));
+
+        // Leitura e update da OS; o incremento do resumo do cliente roda no trigger, dentro do update
+        assertEquals(1, count.updates(), count::toString);
+        assertTrue(count.total() <= 2, count::toString);
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Orçamento SQL - PUT /ordens-servico/{id}/status rejeitado não deve executar update")
+    void testSqlBudget_updateStatusRejected() {
+        ServiceOrderStatusUpdateRequestDTO requestDTO = new ServiceOrderStatusUpdateRequestDTO(Status.FINALIZADA);
+
+        SqlStatementCount count = sqlCounter.count(() -> given()
+                .contentType(ContentType.JSON)
+                .body(requestDTO)
+                .pathParam("id", osIdAberta)
+                .when()
+                .put("/ordens-servico/{id}/status")
+                .then()
+                .statusCode(400));
+
+        assertEquals(0, count.updates(), count::toString);
+        assertEquals(1, count.total(), count::toString);
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Orçamento SQL - GET /ordens-servico deve executar 1 select independente do tamanho da página")
+    void testSqlBudget_listSO() {
+        createNServiceOrders(7);
+
+        for (int size : new int[]{1, 5, 10}) {
+            SqlStatementCount count = sqlCounter.count(() -> given()
+                    .queryParam("page", 0)
+                    .queryParam("size", size)
+                    .when()
+                    .get("/ordens-servico")
+                    .then()
+                    .statusCode(200)
+                    .body("size()", is(size)));
+
+            assertEquals(1, count.selects(), count::toString);
+            assertEquals(1, count.total(), count::toString);
+        }
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Orçamento SQL - GET /ordens-servico/{id} deve executar 1 select")
+    void testSqlBudget_findById() {
+        SqlStatementCount count = sqlCounter.count(() -> given()
+                .pathParam("id", osIdAberta)
+                .when()
+                .get("/ordens-servico/{id}")
+                .then()
+                .statusCode(200));
+
+        assertEquals(1, count.selects(), count::toString);
+        assertEquals(1, count.total(), count::toString);
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Orçamento SQL - POST /ordens-servico/busca deve executar 1 select para todos os IDs")
+    void testSqlBudget_findByIds() {
+        ServiceOrderBatchLookupRequestDTO requestDTO = new ServiceOrderBatchLookupRequestDTO(
+                List.of(osIdAberta, osIdEmAndamento, osIdFinalizada, 9999L));
+
+        SqlStatementCount count = sqlCounter.count(() -> given()
+                .contentType(ContentType.JSON)
+                .body(requestDTO)
+                .when()
+                .post("/ordens-servico/busca")
+                .then()
+                .statusCode(200));
+
+        assertEquals(1, count.selects(), count::toString);
+        assertEquals(1, count.total(), count::toString);
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Orçamento SQL - POST /ordens-servico/batch deve enviar os inserts em um lote")
+    void testSqlBudget_batch() {
+        List<ServiceOrderBatchOperationDTO> operations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            operations.add(ServiceOrderBatchOperationDTO.create("Cliente A", "OS do lote número " + i));
+        }
+        operations.add(ServiceOrderBatchOperationDTO.updateStatus(osIdAberta, Status.EM_ANDAMENTO));
+        operations.add(ServiceOrderBatchOperationDTO.get(osIdFinalizada));
+
+        SqlStatementCount count = sqlCounter.count(() -> given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderBatchRequestDTO(BatchMode.ALL_OR_NOTHING, operations))
+                .when()
+                .post("/ordens-servico/batch")
+                .then()
+                .statusCode(200));
+
+        // As 5 OS vão ao banco em um único lote JDBC, no flush que envia a mudança de status
+        assertEquals(1, count.inserts(), count::toString);
+        // Só a OS alterada: o resumo do Cliente A acompanha cada linha no trigger
+        assertEquals(1, count.updates(), count::toString);
+        // Leitura das duas OS e, no máximo, a reserva de um novo bloco da sequence
+        assertTrue(count.total() <= 5, count::toString);
+    }
+}
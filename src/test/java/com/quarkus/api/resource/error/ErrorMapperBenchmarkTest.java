@@ -0,0 +1,171 @@
+package com.quarkus.api.resource.error;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quarkus.api.resource.dto.ServiceOrderCreateRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderStatusUpdateRequestDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.Response;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Vazão e bytes alocados por resposta 400 dos mappers atuais contra os anteriores (mensagens interpretadas
+// como texto e um stream por lote de violações). As exceções são criadas uma vez: só o mapper é medido.
+// Executar com: mvn test -Pbenchmark -Dtest=ErrorMapperBenchmarkTest
+@Tag("benchmark")
+@DisplayName("Benchmark - Respostas de erro dos exception mappers")
+class ErrorMapperBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger(ErrorMapperBenchmarkTest.class);
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 2_000_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final ProcessingExceptionMapper processingMapper = new ProcessingExceptionMapper();
+    private final ValidationExceptionMapper validationMapper = new ValidationExceptionMapper();
+
+    private ValidatorFactory validatorFactory;
+    private ProcessingException jacksonEnum;
+    private ProcessingException jsonbEnum;
+    private ConstraintViolationException violations;
+
+    @BeforeEach
+    void setup() {
+        try {
+            new ObjectMapper().readValue("{\"status\": \"STATUS_INEXISTENTE\"}", ServiceOrderStatusUpdateRequestDTO.class);
+        } catch (Exception e) {
+            jacksonEnum = new ProcessingException(e);
+        }
+        // Mesmo encadeamento que o JSON-B (Yasson) produz para um enum inválido
+        IllegalArgumentException enumFailure = new IllegalArgumentException("No enum constant com.quarkus.api.domain.enums.Status.STATUS_INEXISTENTE");
+        jsonbEnum = new ProcessingException(new RuntimeException("Unable to deserialize property 'status' because of: " + enumFailure.getMessage(), enumFailure));
+
+        validatorFactory = Validation.byDefaultProvider().configure()
+                .messageInterpolator(new ParameterMessageInterpolator())
+                .buildValidatorFactory();
+        violations = new ConstraintViolationException(validatorFactory.getValidator()
+                .validate(new ServiceOrderCreateRequestDTO("AB", "curta")));
+    }
+
+    @AfterEach
+    void teardown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Mappers estruturados x interpretação das mensagens")
+    void errorResponses_structuredVsLegacy() {
+        // Mesmas respostas; no Jackson, a anterior devolvia a mensagem crua da exceção
+        assertEquals("Valor inválido para campo de enum: STATUS_INEXISTENTE", message(processingMapper.toResponse(jacksonEnum)));
+        assertEquals(message(LegacyMappers.processing(jsonbEnum)), message(processingMapper.toResponse(jsonbEnum)));
+        assertEquals(details(LegacyMappers.validation(violations)), details(validationMapper.toResponse(violations)));
+
+        compare("enum inválido (Jackson)",
+                () -> length(LegacyMappers.processing(jacksonEnum)), () -> length(processingMapper.toResponse(jacksonEnum)));
+        compare("enum inválido (JSON-B)",
+                () -> length(LegacyMappers.processing(jsonbEnum)), () -> length(processingMapper.toResponse(jsonbEnum)));
+        compare("validação (" + violations.getConstraintViolations().size() + " violações)",
+                () -> length(LegacyMappers.validation(violations)), () -> length(validationMapper.toResponse(violations)));
+    }
+
+    private static void compare(String label, IntSupplier legacy, IntSupplier structured) {
+        run(legacy, WARMUP_ITERATIONS);
+        run(structured, WARMUP_ITERATIONS);
+
+        double[] before = run(legacy, MEASURED_ITERATIONS);
+        double[] after = run(structured, MEASURED_ITERATIONS);
+
+        // Linha da tabela de resultados do README
+        LOG.infof("| %s | %.0f | %.0f | %.0f | %.0f | %.1fx |",
+                label, before[0], before[1], after[0], after[1], after[0] / before[0]);
+    }
+
+    // {ops/s, bytes alocados por resposta}
+    private static double[] run(IntSupplier operation, int iterations) {
+        long checksum = 0;
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            checksum += operation.getAsInt();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        assertTrue(checksum > 0);
+        return new double[]{iterations / (elapsed / 1_000_000_000.0), (double) allocated / iterations};
+    }
+
+    private static int length(Response response) {
+        return message(response).length();
+    }
+
+    private static String message(Response response) {
+        return assertInstanceOf(ErrorResponseDTO.class, response.getEntity()).message;
+    }
+
+    private static List<String> details(Response response) {
+        return assertInstanceOf(ErrorResponseDTO.class, response.getEntity()).details.stream()
+                .map(detail -> detail.get("field") + ": " + detail.get("message"))
+                .sorted()
+                .toList();
+    }
+
+    // Reproduz os mappers anteriores
+    private static final class LegacyMappers {
+
+        static Response processing(ProcessingException exception) {
+            String errorMessage = "Erro no processamento da requisição.";
+            if (exception.getCause() != null && exception.getCause().getMessage() != null) {
+                errorMessage = exception.getCause().getMessage();
+                if (errorMessage.contains("No enum constant")) {
+                    errorMessage = "Valor inválido para campo de enum: " + errorMessage.substring(errorMessage.lastIndexOf('.') + 1);
+                } else if (errorMessage.contains("Unrecognized field")) {
+                    int start = errorMessage.indexOf('"');
+                    errorMessage = "Campo não reconhecido no JSON: " + errorMessage.substring(start + 1, errorMessage.indexOf('"', start + 1));
+                }
+            }
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponseDTO(Response.Status.BAD_REQUEST.getStatusCode(), Response.Status.BAD_REQUEST.getReasonPhrase(),
+                            errorMessage, Collections.singletonList(Collections.singletonMap("detail", errorMessage))))
+                    .build();
+        }
+
+        static Response validation(ConstraintViolationException exception) {
+            List<Map<String, String>> details = exception.getConstraintViolations().stream()
+                    .map(violation -> Map.of("field", fieldName(violation), "message", violation.getMessage()))
+                    .collect(Collectors.toList());
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponseDTO(Response.Status.BAD_REQUEST.getStatusCode(), Response.Status.BAD_REQUEST.getReasonPhrase(),
+                            "Erros de validação na requisição.", details))
+                    .build();
+        }
+
+        private static String fieldName(ConstraintViolation<?> violation) {
+            String path = violation.getPropertyPath().toString();
+            int lastDotIndex = path.lastIndexOf('.');
+            return lastDotIndex != -1 && lastDotIndex < path.length() - 1 ? path.substring(lastDotIndex + 1) : path;
+        }
+    }
+}
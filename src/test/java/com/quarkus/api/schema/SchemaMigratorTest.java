@@ -0,0 +1,60 @@
+package com.quarkus.api.schema;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@QuarkusTest
+@DisplayName("SchemaMigrator Integration Tests")
+class SchemaMigratorTest {
+
+    private static final String CHANGE_LOG = "db/changelog/changelog-master.xml";
+    private static final List<String> LABELS = List.of("h2-changeset-only");
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    SchemaMigrator migrator;
+
+    @Test
+    @DisplayName("O checksum gravado no datasource padrão deve incluir o mapeamento das entidades")
+    void storedChecksum_shouldIncludeEntityMapping() throws SQLException {
+        String changelog = ChangelogChecksum.of(CHANGE_LOG, LABELS);
+        String expected = EntityMappingChecksum.of(changelog, sessionFactory);
+
+        assertEquals(expected, storedChecksum());
+        assertNotEquals(changelog, expected);
+        assertEquals(expected, EntityMappingChecksum.of(changelog, sessionFactory), "O valor deve ser estável entre chamadas");
+    }
+
+    @Test
+    @DisplayName("Fora do job de migração, os demais passos da inicialização devem rodar")
+    void isMigrationJob_shouldBeFalseByDefault() {
+        assertFalse(migrator.isMigrationJob());
+    }
+
+    private String storedChecksum() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT checksum FROM schema_fingerprint WHERE id = 1");
+             ResultSet row = statement.executeQuery()) {
+            return row.next() ? row.getString(1) : null;
+        }
+    }
+}
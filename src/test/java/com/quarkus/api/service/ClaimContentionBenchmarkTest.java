@@ -0,0 +1,135 @@
+package com.quarkus.api.service;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.panache.common.Sort;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Vazão da fila de trabalho com técnicos concorrentes: POST /ordens-servico/claim (SKIP LOCKED)
+// contra o fluxo anterior (listar as abertas e chamar updateStatus na mais antiga).
+// Executar com: mvn test -Pbenchmark
+@QuarkusTest
+@Tag("benchmark")
+@DisplayName("Benchmark - Fila de trabalho com técnicos concorrentes")
+class ClaimContentionBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger(ClaimContentionBenchmarkTest.class);
+
+    private static final int ORDERS = 2_000;
+    private static final int[] CLAIMERS = {1, 4, 16, 64};
+
+    @Inject
+    ServiceOrderService service;
+
+    @Test
+    void claimThroughputByConcurrency() throws Exception {
+        run(4, this::claimWorker); // aquecimento
+
+        for (int claimers : CLAIMERS) {
+            Result claim = run(claimers, this::claimWorker);
+            Result listAndUpdate = run(claimers, this::listAndUpdateWorker);
+
+            assertEquals(ORDERS, claim.claimed, "claim deve assumir cada OS exatamente uma vez");
+            LOG.infof("%2d técnicos: claim=%.0f OS/s | listar+updateStatus=%.0f OS/s (%d colisões, %d OS assumidas em dobro)",
+                    claimers, claim.perSecond(), listAndUpdate.perSecond(), listAndUpdate.collisions, listAndUpdate.duplicates);
+        }
+    }
+
+    private Result run(int claimers, Worker worker) throws Exception {
+        seed();
+        Set<Long> claimedIds = ConcurrentHashMap.newKeySet();
+        AtomicLong claimed = new AtomicLong();
+        AtomicLong collisions = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(claimers);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < claimers; c++) {
+                String technician = "tecnico-" + c;
+                futures.add(executor.submit(() -> worker.work(technician, claimedIds, claimed, collisions)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return new Result(claimed.get(), collisions.get(), claimed.get() - claimedIds.size(), seconds);
+    }
+
+    private void claimWorker(String technician, Set<Long> claimedIds, AtomicLong claimed, AtomicLong collisions) {
+        ServiceOrder serviceOrder;
+        while ((serviceOrder = service.claimNext(technician)) != null) {
+            claimedIds.add(serviceOrder.id);
+            claimed.incrementAndGet();
+        }
+    }
+
+    // Fluxo anterior: cada técnico lê a OS aberta mais antiga e tenta movê-la para EM_ANDAMENTO
+    private void listAndUpdateWorker(String technician, Set<Long> claimedIds, AtomicLong claimed, AtomicLong collisions) {
+        while (true) {
+            ServiceOrder oldest = QuarkusTransaction.requiringNew().call(() ->
+                    ServiceOrder.<ServiceOrder>find("status", Sort.by("createdAt").and("id"), Status.ABERTA).firstResult());
+            if (oldest == null) {
+                return;
+            }
+            if (service.updateStatus(oldest.id, Status.EM_ANDAMENTO) == StatusUpdateResult.UPDATED) {
+                claimedIds.add(oldest.id);
+                claimed.incrementAndGet();
+            } else {
+                collisions.incrementAndGet();
+            }
+        }
+    }
+
+    private void seed() {
+        QuarkusTransaction.requiringNew().run(() -> ServiceOrder.deleteAll());
+        for (int i = 0; i < ORDERS; i++) {
+            service.createSO(new ServiceOrder("Cliente " + (i % 50), "Benchmark da fila de trabalho " + i, Status.ABERTA));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+        void work(String technician, Set<Long> claimedIds, AtomicLong claimed, AtomicLong collisions);
+    }
+
+    private static final class Result {
+
+        private final long claimed;
+        private final long collisions;
+        private final long duplicates;
+        private final double seconds;
+
+        Result(long claimed, long collisions, long duplicates, double seconds) {
+            this.claimed = claimed;
+            this.collisions = collisions;
+            this.duplicates = duplicates;
+            this.seconds = seconds;
+        }
+
+        // OS distintas assumidas por segundo: as assumidas em dobro não contam
+        double perSecond() {
+            return (claimed - duplicates) / seconds;
+        }
+    }
+}
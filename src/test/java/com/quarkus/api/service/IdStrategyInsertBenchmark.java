@@ -0,0 +1,75 @@
+package com.quarkus.api.service;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Vazão de inserts com escritores concorrentes para cada estratégia de ID (service-order.id.strategy).
+// Cada subclasse sobe o Quarkus com um perfil diferente. Executar com: mvn test -Pbenchmark
+@Tag("benchmark")
+abstract class IdStrategyInsertBenchmark {
+
+    private static final Logger LOG = Logger.getLogger(IdStrategyInsertBenchmark.class);
+
+    private static final int WRITERS = 8;
+    private static final int WARMUP_INSERTS_PER_WRITER = 500;
+    private static final int INSERTS_PER_WRITER = 5_000;
+
+    @Inject
+    ServiceOrderService service;
+
+    protected abstract String strategy();
+
+    @AfterEach
+    void teardown() {
+        QuarkusTransaction.requiringNew().run(() -> ServiceOrder.deleteAll());
+    }
+
+    @Test
+    void concurrentInserts() throws Exception {
+        insertConcurrently(WARMUP_INSERTS_PER_WRITER);
+
+        long start = System.nanoTime();
+        insertConcurrently(INSERTS_PER_WRITER);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long total = (long) WRITERS * INSERTS_PER_WRITER;
+        long persisted = QuarkusTransaction.requiringNew().call(() -> ServiceOrder.count());
+        assertEquals(total + (long) WRITERS * WARMUP_INSERTS_PER_WRITER, persisted);
+        LOG.infof("Estratégia de ID '%s': %d inserts com %d escritores em %.2f s (%.0f inserts/s)",
+                strategy(), total, WRITERS, seconds, total / seconds);
+    }
+
+    private void insertConcurrently(int insertsPerWriter) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < insertsPerWriter; i++) {
+                        service.createSO(new ServiceOrder("Cliente " + writer, "Benchmark de inserção " + i, Status.ABERTA));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
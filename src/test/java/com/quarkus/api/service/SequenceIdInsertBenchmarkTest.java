@@ -0,0 +1,26 @@
+package com.quarkus.api.service;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Map;
+
+@QuarkusTest
+@TestProfile(SequenceIdInsertBenchmarkTest.SequenceIdProfile.class)
+@DisplayName("Benchmark - Inserts concorrentes com IDs sequence")
+class SequenceIdInsertBenchmarkTest extends IdStrategyInsertBenchmark {
+
+    public static class SequenceIdProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("service-order.id.strategy", "sequence");
+        }
+    }
+
+    @Override
+    protected String strategy() {
+        return "sequence";
+    }
+}
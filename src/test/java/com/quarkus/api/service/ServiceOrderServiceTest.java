@@ -5,9 +5,12 @@ import com.quarkus.api.domain.model.ServiceOrder;
 import com.quarkus.api.repository.ServiceOrderRepository;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Sort;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OptimisticLockException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,6 +20,7 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any; // Importe este
@@ -119,6 +123,21 @@ class ServiceOrderServiceTest {
         verify(panacheQueryMock, times(1)).page(any(Page.class)); // *** ALTERADO AQUI ***
     }
 
+    @Test
+    @DisplayName("listSOAfter - Deve buscar a próxima página por keyset ordenada por ID")
+    void listSOAfter_shouldQueryByKeysetOrderedById() {
+        PanacheQuery<ServiceOrder> panacheQueryMock = mock(PanacheQuery.class);
+        when(repository.find(eq("id > ?1"), any(Sort.class), any(Object[].class))).thenReturn(panacheQueryMock);
+        when(panacheQueryMock.page(any(Page.class))).thenReturn(panacheQueryMock);
+        when(panacheQueryMock.list()).thenReturn(Collections.emptyList());
+
+        service.listSOAfter(5L, 0); // Tamanho 0, deve usar o default 10
+
+        verify(repository, times(1)).find(eq("id > ?1"), any(Sort.class), any(Object[].class));
+        verify(panacheQueryMock, times(1)).page(argThat(page -> page.index == 0 && page.size == 10));
+        verify(repository, never()).findAll();
+    }
+
     // ... (o restante dos testes findById e updateStatus permanece o mesmo) ...
     @Test
     @DisplayName("findById - Deve retornar ServiceOrder quando encontrado usando o repositório")
@@ -149,6 +168,36 @@ class ServiceOrderServiceTest {
         verify(repository, times(1)).findById(999L);
     }
 
+    @Test
+    @DisplayName("findByIds - Deve resolver todos os IDs com uma única consulta ao repositório")
+    void findByIds_shouldResolveAllIdsWithSingleQuery() {
+        ServiceOrder so1 = new ServiceOrder("Cliente A", "OS 1", Status.ABERTA);
+        so1.id = 1L;
+        ServiceOrder so2 = new ServiceOrder("Cliente B", "OS 2", Status.EM_ANDAMENTO);
+        so2.id = 2L;
+        List<Long> ids = List.of(1L, 2L, 3L);
+
+        when(repository.<ServiceOrder>findByIds(ids)).thenReturn(Arrays.asList(so1, so2, null));
+
+        Map<Long, ServiceOrder> result = service.findByIds(ids);
+
+        assertEquals(2, result.size());
+        assertSame(so1, result.get(1L));
+        assertSame(so2, result.get(2L));
+        assertNull(result.get(3L));
+        verify(repository, times(1)).findByIds(ids);
+        verify(repository, never()).findById(any(Long.class));
+    }
+
+    @Test
+    @DisplayName("findByIds - Não deve consultar o repositório para lista vazia")
+    void findByIds_shouldNotQueryRepositoryForEmptyList() {
+        Map<Long, ServiceOrder> result = service.findByIds(List.of());
+
+        assertTrue(result.isEmpty());
+        verify(repository, never()).findByIds(anyList());
+    }
+
     // --- Testes para updateStatus ---
     @Test
     @DisplayName("updateStatus - Deve transicionar de ABERTA para EM_ANDAMENTO")
@@ -158,8 +207,9 @@ class ServiceOrderServiceTest {
 
         when(repository.findById(1L)).thenReturn(so);
 
-        service.updateStatus(1L, Status.EM_ANDAMENTO);
+        StatusUpdateResult result = service.updateStatus(1L, Status.EM_ANDAMENTO);
 
+        assertEquals(StatusUpdateResult.UPDATED, result);
         assertEquals(Status.EM_ANDAMENTO, so.getStatus());
         verify(repository, times(1)).findById(1L);
     }
@@ -172,85 +222,164 @@ class ServiceOrderServiceTest {
 
         when(repository.findById(1L)).thenReturn(so);
 
-        service.updateStatus(1L, Status.FINALIZADA);
+        StatusUpdateResult result = service.updateStatus(1L, Status.FINALIZADA);
 
+        assertEquals(StatusUpdateResult.UPDATED, result);
         assertEquals(Status.FINALIZADA, so.getStatus());
         verify(repository, times(1)).findById(1L);
     }
 
     @Test
-    @DisplayName("updateStatus - Deve lançar exceção se ServiceOrder não for encontrada")
-    void updateStatus_shouldThrowExceptionWhenSONotFound() {
+    @DisplayName("updateStatus - Deve retornar NOT_FOUND se ServiceOrder não for encontrada")
+    void updateStatus_shouldReturnNotFoundWhenSONotFound() {
         when(repository.findById(any(Long.class))).thenReturn(null);
 
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                service.updateStatus(1L, Status.EM_ANDAMENTO));
+        StatusUpdateResult result = service.updateStatus(1L, Status.EM_ANDAMENTO);
 
-        assertEquals("OS não encontrada", exception.getMessage());
+        assertEquals(StatusUpdateResult.NOT_FOUND, result);
+        assertEquals("OS não encontrada", result.getMessage());
         verify(repository, times(1)).findById(1L);
     }
 
     @Test
-    @DisplayName("updateStatus - Deve lançar exceção para transição inválida (ABERTA para FINALIZADA)")
-    void updateStatus_shouldThrowExceptionForInvalidTransition_AbertaToFinalizada() {
+    @DisplayName("updateStatus - Deve retornar ARCHIVED, sem alterar a cópia, para OS arquivada em partição mensal")
+    void updateStatus_shouldRejectArchivedServiceOrder() {
+        ServiceOrder archived = new ServiceOrder("Cliente A", "OS Arquivada", Status.FINALIZADA);
+        archived.id = 1L;
+
+        when(repository.findById(1L)).thenReturn(null);
+        when(repository.findArchivedById(1L)).thenReturn(archived);
+
+        StatusUpdateResult result = service.updateStatus(1L, Status.EM_ANDAMENTO);
+
+        assertEquals(StatusUpdateResult.ARCHIVED, result);
+        assertEquals(Status.FINALIZADA, archived.getStatus());
+        verify(repository, never()).flush();
+    }
+
+    @Test
+    @DisplayName("updateStatus - Deve retornar INVALID_TRANSITION para transição inválida (ABERTA para FINALIZADA)")
+    void updateStatus_shouldRejectTransitionForInvalidTransition_AbertaToFinalizada() {
         ServiceOrder so = new ServiceOrder("Cliente A", "OS Aberta", Status.ABERTA);
         so.id = 1L;
 
         when(repository.findById(1L)).thenReturn(so);
 
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                service.updateStatus(1L, Status.FINALIZADA));
+        StatusUpdateResult result = service.updateStatus(1L, Status.FINALIZADA);
 
-        assertEquals("Transição de status inválida", exception.getMessage());
+        assertEquals(StatusUpdateResult.INVALID_TRANSITION, result);
+        assertEquals("Transição de status inválida", result.getMessage());
         assertEquals(Status.ABERTA, so.getStatus());
         verify(repository, times(1)).findById(1L);
     }
 
     @Test
-    @DisplayName("updateStatus - Deve lançar exceção para transição inválida (EM_ANDAMENTO para ABERTA)")
-    void updateStatus_shouldThrowExceptionForInvalidTransition_EmAndamentoToAberta() {
+    @DisplayName("updateStatus - Deve retornar INVALID_TRANSITION para transição inválida (EM_ANDAMENTO para ABERTA)")
+    void updateStatus_shouldRejectTransitionForInvalidTransition_EmAndamentoToAberta() {
         ServiceOrder so = new ServiceOrder("Cliente B", "OS Em Andamento", Status.EM_ANDAMENTO);
         so.id = 1L;
 
         when(repository.findById(1L)).thenReturn(so);
 
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                service.updateStatus(1L, Status.ABERTA));
+        StatusUpdateResult result = service.updateStatus(1L, Status.ABERTA);
 
-        assertEquals("Transição de status inválida", exception.getMessage());
+        assertEquals(StatusUpdateResult.INVALID_TRANSITION, result);
+        assertEquals("Transição de status inválida", result.getMessage());
         assertEquals(Status.EM_ANDAMENTO, so.getStatus());
         verify(repository, times(1)).findById(1L);
     }
 
     @Test
-    @DisplayName("updateStatus - Deve lançar exceção para transição inválida (FINALIZADA para EM_ANDAMENTO)")
-    void updateStatus_shouldThrowExceptionForInvalidTransition_FinalizadaToEmAndamento() {
+    @DisplayName("updateStatus - Deve retornar INVALID_TRANSITION para transição inválida (FINALIZADA para EM_ANDAMENTO)")
+    void updateStatus_shouldRejectTransitionForInvalidTransition_FinalizadaToEmAndamento() {
         ServiceOrder so = new ServiceOrder("Cliente C", "OS Finalizada", Status.FINALIZADA);
         so.id = 1L;
 
         when(repository.findById(1L)).thenReturn(so);
 
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                service.updateStatus(1L, Status.EM_ANDAMENTO));
+        StatusUpdateResult result = service.updateStatus(1L, Status.EM_ANDAMENTO);
 
-        assertEquals("Transição de status inválida", exception.getMessage());
+        assertEquals(StatusUpdateResult.INVALID_TRANSITION, result);
+        assertEquals("Transição de status inválida", result.getMessage());
         assertEquals(Status.FINALIZADA, so.getStatus());
         verify(repository, times(1)).findById(1L);
     }
 
     @Test
-    @DisplayName("updateStatus - Deve lançar exceção se o status for o mesmo e inválido (ABERTA para ABERTA)")
-    void updateStatus_shouldThrowExceptionForSameStatus_AbertaToAberta() {
+    @DisplayName("updateStatus - Deve retornar INVALID_TRANSITION se o status for o mesmo (ABERTA para ABERTA)")
+    void updateStatus_shouldRejectTransitionForSameStatus_AbertaToAberta() {
         ServiceOrder so = new ServiceOrder("Cliente A", "OS Aberta", Status.ABERTA);
         so.id = 1L;
 
         when(repository.findById(1L)).thenReturn(so);
 
-        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
-                service.updateStatus(1L, Status.ABERTA));
+        StatusUpdateResult result = service.updateStatus(1L, Status.ABERTA);
 
-        assertEquals("Transição de status inválida", exception.getMessage());
+        assertEquals(StatusUpdateResult.INVALID_TRANSITION, result);
+        assertEquals("Transição de status inválida", result.getMessage());
         assertEquals(Status.ABERTA, so.getStatus());
         verify(repository, times(1)).findById(1L);
     }
-}
\ No newline at end of file
+
+    // --- Testes para executeBatch ---
+    @Test
+    @DisplayName("executeBatch - Conflito de versão em UPDATE_STATUS deve rejeitar a operação e desfazer o lote ALL_OR_NOTHING")
+    void executeBatch_shouldRejectVersionConflictAllOrNothing() {
+        ServiceOrder read = new ServiceOrder("Cliente A", "OS lida pelo lote", Status.ABERTA);
+        read.id = 2L;
+        ServiceOrder so = new ServiceOrder("Cliente A", "OS alterada por outra requisição", Status.ABERTA);
+        so.id = 1L;
+        when(repository.findById(2L)).thenReturn(read);
+        when(repository.findById(1L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(so);
+        doThrow(new OptimisticLockException()).when(repository).flush();
+
+        BatchResult result = service.executeBatch(
+                List.of(BatchOperation.get(2L), BatchOperation.updateStatus(1L, Status.EM_ANDAMENTO)), BatchMode.ALL_OR_NOTHING);
+
+        assertFalse(result.isCommitted());
+        assertEquals(BatchOperationResult.Outcome.ROLLED_BACK, result.getResults().get(0).getOutcome());
+        assertEquals(BatchOperationResult.Outcome.FAILED, result.getResults().get(1).getOutcome());
+        assertEquals(StatusUpdateResult.VERSION_CONFLICT.getMessage(), result.getResults().get(1).getMessage());
+        verify(repository, times(1)).flush();
+    }
+
+    @Test
+    @DisplayName("executeBatch - Conflito de versão em UPDATE_STATUS deve seguir o modo BEST_EFFORT")
+    void executeBatch_shouldRejectVersionConflictBestEffort() {
+        ServiceOrder so = new ServiceOrder("Cliente A", "OS alterada por outra requisição", Status.ABERTA);
+        so.id = 1L;
+        ServiceOrder read = new ServiceOrder("Cliente A", "OS lida pelo lote", Status.ABERTA);
+        read.id = 2L;
+        when(repository.findById(1L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(so);
+        when(repository.findById(2L)).thenReturn(read);
+        doThrow(new OptimisticLockException()).when(repository).flush();
+
+        BatchResult result = service.executeBatch(
+                List.of(BatchOperation.updateStatus(1L, Status.EM_ANDAMENTO), BatchOperation.get(2L)), BatchMode.BEST_EFFORT);
+
+        // O repositório é um mock: a transação não foi marcada para rollback e o restante do lote é commitado
+        assertTrue(result.isCommitted());
+        assertEquals(BatchOperationResult.Outcome.FAILED, result.getResults().get(0).getOutcome());
+        assertEquals(StatusUpdateResult.VERSION_CONFLICT.getMessage(), result.getResults().get(0).getMessage());
+        assertEquals(BatchOperationResult.Outcome.OK, result.getResults().get(1).getOutcome());
+    }
+
+    // --- Testes para StatusTransitionTable ---
+    @Test
+    @DisplayName("StatusTransitionTable - Deve permitir apenas as transições configuradas")
+    void statusTransitionTable_shouldAllowOnlyConfiguredTransitions() {
+        StatusTransitionTable table = new StatusTransitionTable(List.of("ABERTA:FINALIZADA", " FINALIZADA : ABERTA "));
+
+        assertTrue(table.isAllowed(Status.ABERTA, Status.FINALIZADA));
+        assertTrue(table.isAllowed(Status.FINALIZADA, Status.ABERTA));
+        assertFalse(table.isAllowed(Status.ABERTA, Status.EM_ANDAMENTO));
+        assertFalse(table.isAllowed(null, Status.ABERTA));
+    }
+
+    @Test
+    @DisplayName("StatusTransitionTable - Deve rejeitar transição mal configurada")
+    void statusTransitionTable_shouldRejectMalformedTransition() {
+        assertThrows(IllegalArgumentException.class, () -> new StatusTransitionTable(List.of("ABERTA")));
+        assertThrows(IllegalArgumentException.class, () -> new StatusTransitionTable(List.of("ABERTA:INEXISTENTE")));
+    }
+}
@@ -0,0 +1,26 @@
+package com.quarkus.api.service;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Map;
+
+@QuarkusTest
+@TestProfile(SnowflakeIdInsertBenchmarkTest.SnowflakeIdProfile.class)
+@DisplayName("Benchmark - Inserts concorrentes com IDs snowflake")
+class SnowflakeIdInsertBenchmarkTest extends IdStrategyInsertBenchmark {
+
+    public static class SnowflakeIdProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("service-order.id.strategy", "snowflake");
+        }
+    }
+
+    @Override
+    protected String strategy() {
+        return "snowflake";
+    }
+}
@@ -0,0 +1,104 @@
+package com.quarkus.api.service;
+
+import com.quarkus.api.coalescing.ReadCoalescer;
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.repository.ServiceOrderRepository;
+import com.quarkus.api.sharding.ShardRouter;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Benchmark do caminho de transição rejeitada. Executar com: mvn test -Pbenchmark
+@Tag("benchmark")
+@DisplayName("Benchmark - Transição de status rejeitada")
+class StatusTransitionBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger(StatusTransitionBenchmarkTest.class);
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 2_000_000;
+
+    private ServiceOrderService service;
+
+    @BeforeEach
+    void setup() {
+        ServiceOrder finalizada = new ServiceOrder("Cliente A", "OS Finalizada", Status.FINALIZADA);
+        finalizada.id = 1L;
+
+        service = new ServiceOrderService();
+        service.repository = new ServiceOrderRepository() {
+            @Override
+            public ServiceOrder findById(Long id) {
+                return finalizada;
+            }
+        };
+        service.transitionTable = new StatusTransitionTable(List.of("ABERTA:EM_ANDAMENTO", "EM_ANDAMENTO:FINALIZADA"));
+        service.shardRouter = new ShardRouter() {
+            @Override
+            public boolean isSharded() {
+                return false;
+            }
+        };
+        // Coalescência desligada (service-order.coalescing.enabled=false): a leitura vai direto ao repositório,
+        // sem depender do TransactionSynchronizationRegistry do contêiner
+        service.coalescer = new ReadCoalescer() {
+            @Override
+            public <T> T read(String operation, Supplier<T> load, UnaryOperator<T> copy, Object... arguments) {
+                return load.get();
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Resultado por valor vs. exceção no caminho de rejeição")
+    void rejectedTransition_resultVsException() {
+        run("exceção (comportamento anterior)", this::rejectWithException, WARMUP_ITERATIONS);
+        run("resultado por valor", this::rejectWithResult, WARMUP_ITERATIONS);
+
+        double exceptionOpsPerSec = run("exceção (comportamento anterior)", this::rejectWithException, MEASURED_ITERATIONS);
+        double resultOpsPerSec = run("resultado por valor", this::rejectWithResult, MEASURED_ITERATIONS);
+
+        LOG.infof("Rejeição de transição: exceção=%.0f ops/s, resultado=%.0f ops/s (%.1fx)",
+                exceptionOpsPerSec, resultOpsPerSec, resultOpsPerSec / exceptionOpsPerSec);
+    }
+
+    // Reproduz o contrato anterior: a rejeição era sinalizada por IllegalArgumentException
+    private int rejectWithException() {
+        try {
+            StatusUpdateResult result = service.updateStatus(1L, Status.EM_ANDAMENTO);
+            if (!result.isSuccess()) {
+                throw new IllegalArgumentException(result.getMessage());
+            }
+            return 0;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage().length();
+        }
+    }
+
+    private int rejectWithResult() {
+        StatusUpdateResult result = service.updateStatus(1L, Status.EM_ANDAMENTO);
+        return result.isSuccess() ? 0 : result.getMessage().length();
+    }
+
+    private double run(String label, IntSupplier operation, int iterations) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            checksum += operation.getAsInt();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals((long) iterations * StatusUpdateResult.INVALID_TRANSITION.getMessage().length(), checksum, label);
+        return iterations / (elapsed / 1_000_000_000.0);
+    }
+}
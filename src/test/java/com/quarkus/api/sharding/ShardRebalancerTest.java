@@ -0,0 +1,44 @@
+package com.quarkus.api.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShardRebalancer Unit Tests")
+class ShardRebalancerTest {
+
+    @Test
+    @DisplayName("Ao adicionar um shard, deve mover apenas os buckets necessários para ele")
+    void plan_shouldMoveOnlySurplusBucketsToNewShard() {
+        List<String> owners = new ArrayList<>();
+        for (int bucket = 0; bucket < ShardBuckets.BUCKET_COUNT; bucket++) {
+            owners.add(bucket % 2 == 0 ? "default" : "shard1");
+        }
+
+        Map<Integer, String> plan = ShardRebalancer.plan(owners, List.of("default", "shard1", "shard2"));
+
+        assertEquals(21, plan.size());
+        assertTrue(plan.values().stream().allMatch("shard2"::equals), "Nenhum bucket deve trocar entre shards antigos");
+        plan.forEach(owners::set);
+        assertEquals(22, Collections.frequency(owners, "default"));
+        assertEquals(21, Collections.frequency(owners, "shard1"));
+        assertEquals(21, Collections.frequency(owners, "shard2"));
+    }
+
+    @Test
+    @DisplayName("Com os shards já equilibrados, não deve mover nada")
+    void plan_shouldBeEmptyWhenBalanced() {
+        List<String> owners = new ArrayList<>();
+        for (int bucket = 0; bucket < ShardBuckets.BUCKET_COUNT; bucket++) {
+            owners.add(List.of("default", "shard1", "shard2").get(bucket % 3));
+        }
+
+        assertTrue(ShardRebalancer.plan(owners, List.of("default", "shard1", "shard2")).isEmpty());
+    }
+}
@@ -0,0 +1,488 @@
+package com.quarkus.api.sharding;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.repository.CustomerDictionary;
+import com.quarkus.api.repository.ShardedServiceOrderRepository;
+import com.quarkus.api.repository.SlaScanRepository;
+import com.quarkus.api.resource.dto.ServiceOrderBatchLookupRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderBatchOperationDTO;
+import com.quarkus.api.resource.dto.ServiceOrderBatchRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderClaimRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderCreateRequestDTO;
+import com.quarkus.api.resource.dto.ServiceOrderStatusUpdateRequestDTO;
+import com.quarkus.api.service.BatchMode;
+import com.quarkus.api.sla.SlaClock;
+import com.quarkus.api.sla.SlaWatermark;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.quarkus.api.resource.AdminRequests.asAdmin;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+@TestProfile(ShardedServiceOrderResourceTest.ShardedProfile.class)
+@DisplayName("Particionamento por cliente - Integration Tests")
+class ShardedServiceOrderResourceTest {
+
+    public static class ShardedProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "service-order.sharding.shards", "default,shard1,shard2",
+                    "quarkus.datasource.shard1.active", "true",
+                    "quarkus.datasource.shard2.active", "true");
+        }
+    }
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    ShardRebalancer rebalancer;
+
+    @Inject
+    ShardedServiceOrderRepository shardedRepository;
+
+    @Inject
+    SlaScanRepository slaScanRepository;
+
+    @Test
+    @DisplayName("Deve gravar cada OS no shard do cliente e encontrá-la pelo ID")
+    void shouldRouteByCustomerAndFindById() {
+        for (int i = 0; i < 30; i++) {
+            String customer = "Cliente Roteamento " + i;
+            long id = create(customer);
+
+            assertEquals(ShardBuckets.ofCustomer(customer), ShardBuckets.ofId(id), "O bucket do cliente deve estar no ID");
+            given()
+                    .when().get("/ordens-servico/{id}", id)
+                    .then()
+                    .statusCode(200)
+                    .body("customer", is(customer));
+        }
+
+        List<Integer> ordersPerShard = given()
+                .when().get("/admin/particionamento")
+                .then()
+                .statusCode(200)
+                .body("shard", hasItems("default", "shard1", "shard2"))
+                .extract().jsonPath().getList("serviceOrders", Integer.class);
+        assertTrue(ordersPerShard.stream().allMatch(count -> count > 0), "Todos os shards devem receber OS: " + ordersPerShard);
+    }
+
+    @Test
+    @DisplayName("Deve listar todos os shards intercalando por ID, por keyset e por offset")
+    void shouldMergeListingsAcrossShards() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            created.add(create("Cliente Listagem " + i));
+        }
+
+        List<Long> all = new ArrayList<>();
+        long afterId = 0;
+        while (true) {
+            List<Long> page = listIds("afterId", afterId, 7);
+            if (page.isEmpty()) {
+                break;
+            }
+            all.addAll(page);
+            afterId = page.get(page.size() - 1);
+        }
+
+        assertTrue(all.containsAll(created));
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i) > all.get(i - 1), "IDs devem vir em ordem crescente e sem repetição");
+        }
+        assertEquals(all.subList(5, 10), listIds("page", 1, 5));
+    }
+
+    @Test
+    @DisplayName("Deve buscar em lote IDs de shards diferentes")
+    void shouldLookupBatchAcrossShards() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            ids.add(create("Cliente Lote " + i));
+        }
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(63L); // bucket 63, sem OS
+
+        List<Long> found = given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderBatchLookupRequestDTO(requested))
+                .when().post("/ordens-servico/busca")
+                .then()
+                .statusCode(200)
+                .body("missing", hasItem(63))
+                .extract().jsonPath().getList("found.id", Long.class);
+        assertEquals(ids, found);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o status no shard da OS")
+    void shouldUpdateStatusOnOwningShard() {
+        long id = create("Cliente Status");
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderStatusUpdateRequestDTO(Status.EM_ANDAMENTO))
+                .when().put("/ordens-servico/{id}/status", id)
+                .then()
+                .statusCode(204);
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderStatusUpdateRequestDTO(Status.ABERTA))
+                .when().put("/ordens-servico/{id}/status", id)
+                .then()
+                .statusCode(400);
+
+        given()
+                .when().get("/ordens-servico/{id}", id)
+                .then()
+                .statusCode(200)
+                .body("status", is("EM_ANDAMENTO"));
+    }
+
+    @Test
+    @DisplayName("Deve executar o lote no shard das operações e recusar lotes que cruzam shards")
+    void shouldRunBatchOnSingleShard() {
+        String customer = "Cliente Lote 0";
+        String otherShardCustomer = null;
+        for (int i = 1; otherShardCustomer == null; i++) {
+            if (!router.shardForCustomer("Cliente Lote " + i).equals(router.shardForCustomer(customer))) {
+                otherShardCustomer = "Cliente Lote " + i;
+            }
+        }
+        long id = create(customer);
+
+        long createdId = given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderBatchRequestDTO(BatchMode.ALL_OR_NOTHING, List.of(
+                        ServiceOrderBatchOperationDTO.create(customer, "OS do lote particionado"),
+                        ServiceOrderBatchOperationDTO.updateStatus(id, Status.EM_ANDAMENTO),
+                        ServiceOrderBatchOperationDTO.get(id))))
+                .when().post("/ordens-servico/batch")
+                .then()
+                .statusCode(200)
+                .body("results.outcome", contains("OK", "OK", "OK"))
+                .body("results[2].serviceOrder.status", is("EM_ANDAMENTO"))
+                .extract().jsonPath().getLong("results[0].serviceOrder.id");
+        given().when().get("/ordens-servico/{id}", createdId).then().statusCode(200);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderBatchRequestDTO(BatchMode.BEST_EFFORT, List.of(
+                        ServiceOrderBatchOperationDTO.get(id),
+                        ServiceOrderBatchOperationDTO.create(otherShardCustomer, "OS de outro shard"))))
+                .when().post("/ordens-servico/batch")
+                .then()
+                .statusCode(409);
+    }
+
+    @Test
+    @DisplayName("Deve assumir as OS abertas de todos os shards, das mais antigas para as mais recentes")
+    void shouldClaimAcrossShardsOldestFirst() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            created.add(create("Cliente Fila " + i));
+        }
+
+        List<Long> claimed = new ArrayList<>();
+        while (true) {
+            var response = given()
+                    .contentType(ContentType.JSON)
+                    .body(new ServiceOrderClaimRequestDTO("tecnico-shard"))
+                    .when().post("/ordens-servico/claim");
+            if (response.statusCode() == 204) {
+                break;
+            }
+            assertEquals(200, response.statusCode());
+            claimed.add(response.jsonPath().getLong("id"));
+        }
+
+        // OS abertas de outros testes podem vir antes: as criadas aqui aparecem em ordem de criação
+        assertEquals(created, claimed.stream().filter(created::contains).toList());
+        assertEquals(claimed.size(), claimed.stream().distinct().count());
+        for (long id : created) {
+            given()
+                    .when().get("/ordens-servico/{id}", id)
+                    .then()
+                    .statusCode(200)
+                    .body("status", is("EM_ANDAMENTO"))
+                    .body("assignedTo", is("tecnico-shard"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rebalancear os buckets para um shard novo sem perder OS")
+    void shouldRebalanceToNewShard() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            ids.add(create("Cliente Rebalanceamento " + i));
+        }
+
+        // Simula o shard2 recém-adicionado: todos os seus buckets voltam para o default
+        for (int bucket = 0; bucket < ShardBuckets.BUCKET_COUNT; bucket++) {
+            if ("shard2".equals(router.ownerOf(bucket))) {
+                rebalancer.move(bucket, ShardRouter.DEFAULT_SHARD);
+            }
+        }
+        long total = totalServiceOrders();
+        given()
+                .when().get("/admin/particionamento")
+                .then()
+                .statusCode(200)
+                .body("find { it.shard == 'shard2' }.buckets", is(0))
+                .body("find { it.shard == 'shard2' }.serviceOrders", is(0));
+
+        given().when().post("/admin/particionamento/rebalanceamento").then().statusCode(401);
+        List<String> targets = asAdmin()
+                .when().post("/admin/particionamento/rebalanceamento")
+                .then()
+                .statusCode(200)
+                .extract().jsonPath().getList("to", String.class);
+
+        assertEquals(21, targets.size());
+        assertTrue(targets.stream().allMatch("shard2"::equals));
+        given()
+                .when().get("/admin/particionamento")
+                .then()
+                .statusCode(200)
+                .body("buckets", contains(22, 21, 21));
+        assertEquals(total, totalServiceOrders());
+        for (Long id : ids) {
+            given()
+                    .when().get("/ordens-servico/{id}", id)
+                    .then()
+                    .statusCode(200);
+        }
+        // Cada bucket movido leva o resumo dos clientes para o shard que passou a ser dono dele
+        for (int i = 0; i < 30; i++) {
+            given()
+                    .when().get("/clientes/{customer}/resumo", "Cliente Rebalanceamento " + i)
+                    .then()
+                    .statusCode(200)
+                    .body("open", is(1))
+                    .body("total", is(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve travar cada bucket uma única vez por transação, mesmo com um rebalanceamento esperando por ele")
+    void shouldHoldBucketOncePerTransaction() throws Exception {
+        long id = create("Cliente Trava 0");
+        int bucket = ShardBuckets.ofId(id);
+        String owner = router.ownerOf(bucket);
+        String target = router.getShards().stream().filter(shard -> !shard.equals(owner)).findFirst().orElseThrow();
+
+        CountDownLatch held = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ServiceOrder> transaction = executor.submit(() -> QuarkusTransaction.requiringNew().call(() -> {
+                shardedRepository.findByIdForUpdate(id);
+                held.countDown();
+                // Tempo para o rebalanceamento entrar na fila do write lock do bucket
+                Thread.sleep(300);
+                return shardedRepository.findByIdForUpdate(id);
+            }));
+            assertTrue(held.await(5, TimeUnit.SECONDS));
+            Future<?> move = executor.submit(() -> rebalancer.move(bucket, target));
+
+            // Sem o controle por transação, a segunda leitura esperaria atrás do rebalanceamento, que espera a transação
+            assertNotNull(transaction.get(5, TimeUnit.SECONDS));
+            move.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+            rebalancer.move(bucket, owner);
+        }
+        given().when().get("/ordens-servico/{id}", id).then().statusCode(200);
+    }
+
+    @Test
+    @DisplayName("Deve voltar a marca d'água de SLA do shard de destino para as OS movidas")
+    void shouldRewindSlaWatermarkOfTargetShard() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        long id = create("Cliente SLA Rebalanceamento");
+        int bucket = ShardBuckets.ofId(id);
+        String owner = router.ownerOf(bucket);
+        String target = router.getShards().stream().filter(shard -> !shard.equals(owner)).findFirst().orElseThrow();
+        // O destino já varreu além do momento de criação da OS
+        slaScanRepository.saveWatermark(target, SlaClock.OPEN, new SlaWatermark(LocalDateTime.now().plusDays(1), 0));
+
+        try {
+            rebalancer.move(bucket, target);
+            SlaWatermark watermark = slaScanRepository.findWatermark(target, SlaClock.OPEN);
+            assertFalse(watermark.getAt().isBefore(before), "A marca d'água deve voltar só até a OS movida: " + watermark.getAt());
+            assertFalse(watermark.getAt().isAfter(LocalDateTime.now()), "A OS movida deve ficar à frente da marca d'água: " + watermark.getAt());
+        } finally {
+            rebalancer.move(bucket, owner);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve resolver o cliente pelo dicionário do shard de destino depois de mover o bucket")
+    void shouldMapCustomerOnTargetShardAfterMove() throws SQLException {
+        String customer = "Cliente Dicionário " + System.nanoTime();
+        long id = create(customer);
+        int bucket = ShardBuckets.ofId(id);
+        String owner = router.ownerOf(bucket);
+        String target = router.getShards().stream().filter(shard -> !shard.equals(owner)).findFirst().orElseThrow();
+        // Cada shard tem os próprios IDs de cliente: um cliente só do destino desloca a sequência dele
+        CustomerDictionary.of(router.dataSource(target), target).idOf("Cliente Só no Destino " + System.nanoTime());
+
+        try {
+            rebalancer.move(bucket, target);
+            assertEquals(customer, customerOnShard(target, id));
+            given()
+                    .when().get("/ordens-servico/{id}", id)
+                    .then()
+                    .statusCode(200)
+                    .body("customer", is(customer));
+        } finally {
+            rebalancer.move(bucket, owner);
+        }
+        assertEquals(customer, customerOnShard(owner, id));
+        given()
+                .when().get("/ordens-servico/{id}", id)
+                .then()
+                .statusCode(200)
+                .body("customer", is(customer));
+    }
+
+    @Test
+    @DisplayName("Deve apagar o resumo do cliente no shard de origem ao mover o bucket")
+    void shouldMoveCustomerSummaryWithBucket() throws SQLException {
+        String customer = "Cliente Resumo Movido " + System.nanoTime();
+        long id = create(customer);
+        int bucket = ShardBuckets.ofId(id);
+        String owner = router.ownerOf(bucket);
+        String target = router.getShards().stream().filter(shard -> !shard.equals(owner)).findFirst().orElseThrow();
+
+        try {
+            rebalancer.move(bucket, target);
+            assertEquals(0L, summaryOnShard(owner, customer));
+            assertEquals(1L, summaryOnShard(target, customer));
+        } finally {
+            rebalancer.move(bucket, owner);
+        }
+        assertEquals(1L, summaryOnShard(owner, customer));
+        assertEquals(0L, summaryOnShard(target, customer));
+        given()
+                .when().get("/clientes/{customer}/resumo", customer)
+                .then()
+                .statusCode(200)
+                .body("total", is(1));
+    }
+
+    @Test
+    @DisplayName("Deve gravar o bucket da OS em coluna própria, igual ao dos bits do ID")
+    void shouldStoreBucketColumn() throws SQLException {
+        long id = create("Cliente Coluna Bucket " + System.nanoTime());
+        String shard = router.shardForId(id);
+        try (Connection connection = router.dataSource(shard).getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT bucket FROM service_order WHERE id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet row = statement.executeQuery()) {
+                assertTrue(row.next());
+                assertEquals(ShardBuckets.ofId(id), row.getInt(1));
+            }
+        }
+        assertEquals(1, shardedRepository.findByBucket(shard, ShardBuckets.ofId(id)).stream().filter(serviceOrder -> serviceOrder.id == id).count());
+    }
+
+    @Test
+    @DisplayName("Não deve alterar a OS quando a versão lida ficou para trás")
+    void updateStatus_shouldReportStaleVersion() {
+        long id = create("Cliente Versão Antiga " + System.nanoTime());
+        ServiceOrder stale = shardedRepository.findById(id);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ServiceOrderStatusUpdateRequestDTO(Status.EM_ANDAMENTO))
+                .when().put("/ordens-servico/{id}/status", id)
+                .then()
+                .statusCode(200);
+
+        stale.setStatus(Status.EM_ANDAMENTO);
+        assertFalse(QuarkusTransaction.requiringNew().call(() -> shardedRepository.updateStatus(stale)));
+        assertEquals(1L, shardedRepository.findById(id).getVersion());
+    }
+
+    // OS contadas no resumo do cliente em um shard, somando os slots
+    private long summaryOnShard(String shard, String customer) throws SQLException {
+        try (Connection connection = router.dataSource(shard).getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT COALESCE(SUM(open_count + in_progress_count + finished_count), 0) "
+                     + "FROM customer_order_summary WHERE customer = ?")) {
+            statement.setString(1, customer);
+            try (ResultSet row = statement.executeQuery()) {
+                row.next();
+                return row.getLong(1);
+            }
+        }
+    }
+
+    // Nome do cliente pelo customer_id gravado no shard, sem passar pelo cache do dicionário
+    private String customerOnShard(String shard, long id) throws SQLException {
+        try (Connection connection = router.dataSource(shard).getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT c.name FROM service_order so JOIN customer c ON c.id = so.customer_id WHERE so.id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet row = statement.executeQuery()) {
+                return row.next() ? row.getString(1) : null;
+            }
+        }
+    }
+
+    private long create(String customer) {
+        ServiceOrderCreateRequestDTO request = new ServiceOrderCreateRequestDTO(customer, "Descrição da OS particionada");
+        return given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when().post("/ordens-servico")
+                .then()
+                .statusCode(201)
+                .extract().jsonPath().getLong("id");
+    }
+
+    private List<Long> listIds(String parameter, long value, int size) {
+        return given()
+                .queryParam(parameter, value)
+                .queryParam("size", size)
+                .when().get("/ordens-servico")
+                .then()
+                .statusCode(200)
+                .extract().jsonPath().getList("id", Long.class);
+    }
+
+    private long totalServiceOrders() {
+        return given()
+                .when().get("/admin/particionamento")
+                .then()
+                .statusCode(200)
+                .extract().jsonPath().getList("serviceOrders", Long.class)
+                .stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,164 @@
+package com.quarkus.api.sla;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@DisplayName("SlaBreachScanner Integration Tests")
+class SlaBreachScannerTest {
+
+    @Inject
+    SlaBreachScanner scanner;
+
+    @Inject
+    BreachCollector collector;
+
+    @Inject
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            ServiceOrder.deleteAll();
+            entityManager.createNativeQuery("DELETE FROM sla_scan_watermark").executeUpdate();
+        });
+        collector.getBreaches().clear();
+    }
+
+    @Test
+    @DisplayName("Deve publicar cada OS atrasada uma única vez, continuando da marca d'água")
+    void scan_shouldPublishEachBreachOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        long oldest = persist(Status.ABERTA, now.minusHours(10), null);
+        long stale = persist(Status.ABERTA, now.minusHours(5), null);
+        persist(Status.ABERTA, now.minusHours(1), null);                          // dentro do prazo
+        long stuck = persist(Status.EM_ANDAMENTO, now.minusDays(3), now.minusDays(2));
+        persist(Status.EM_ANDAMENTO, now.minusDays(3), now.minusHours(2));        // dentro do prazo
+        persist(Status.FINALIZADA, now.minusDays(3), now.minusDays(3));           // status sem SLA
+
+        assertEquals(3, scanner.scan());
+        assertEquals(List.of(oldest, stale, stuck), collector.getBreaches().stream().map(breach -> breach.getServiceOrder().id).toList());
+
+        // Nada novo passou do prazo: a varredura seguinte não relê as OS já publicadas
+        assertEquals(0, scanner.scan());
+
+        long late = persist(Status.ABERTA, now.minusHours(4).minusMinutes(30), null);
+        assertEquals(1, scanner.scan());
+        assertEquals(late, collector.getBreaches().get(3).getServiceOrder().id);
+    }
+
+    @Test
+    @DisplayName("OS importadas com created_at anterior à marca d'água devem ser avaliadas na varredura seguinte")
+    void scan_shouldRescanImportedRowsBehindWatermark() {
+        LocalDateTime now = LocalDateTime.now();
+        persist(Status.ABERTA, now.minusHours(5), null);
+        assertEquals(1, scanner.scan());
+
+        String csv = "customer,description,status,created_at\n"
+                + "Cliente SLA,OS importada do sistema legado,," + now.minusHours(10).withNano(0) + "\n";
+        given()
+                .contentType("text/csv")
+                .body(csv)
+                .when().post("/ordens-servico/import")
+                .then()
+                .statusCode(200)
+                .body("imported", is(1));
+        long imported = QuarkusTransaction.requiringNew().call(() ->
+                ServiceOrder.<ServiceOrder>find("description", "OS importada do sistema legado").firstResult().id);
+
+        // A importação voltou a marca d'água: a OS importada é publicada, e a já publicada pode voltar
+        // (entrega pelo menos uma vez)
+        assertEquals(2, scanner.scan());
+        assertEquals(imported, collector.getBreaches().get(1).getServiceOrder().id);
+        assertEquals(0, scanner.scan());
+    }
+
+    @Test
+    @DisplayName("A varredura deve percorrer o índice (status, momento de entrada), sem ler a tabela inteira")
+    void scan_shouldUseStatusIndex() {
+        for (SlaClock clock : SlaClock.values()) {
+            String plan = (String) entityManager.createNativeQuery("EXPLAIN SELECT id FROM service_order WHERE status = ? AND "
+                            + clock.getColumn() + " >= ? AND " + clock.getColumn() + " < ? ORDER BY " + clock.getColumn() + ", id")
+                    .setParameter(1, clock.getStatus().name())
+                    .setParameter(2, LocalDateTime.now().minusDays(1))
+                    .setParameter(3, LocalDateTime.now())
+                    .getSingleResult();
+            assertTrue(plan.contains("IDX_SERVICE_ORDER_STATUS_" + clock.getColumn().toUpperCase()), plan);
+        }
+    }
+
+    @Test
+    @DisplayName("GET /ordens-servico/atrasadas - Deve listar as OS fora do prazo, das mais atrasadas primeiro")
+    void overdue_shouldListBreachesMostOverdueFirst() {
+        LocalDateTime now = LocalDateTime.now();
+        long open = persist(Status.ABERTA, now.minusHours(6), null);
+        long inProgress = persist(Status.EM_ANDAMENTO, now.minusDays(5), now.minusDays(3));
+        persist(Status.ABERTA, now.minusMinutes(5), null);
+
+        given()
+                .when().get("/ordens-servico/atrasadas")
+                .then()
+                .statusCode(200)
+                .body("size()", is(2))
+                .body("[0].id", is((int) inProgress))
+                .body("[0].status", is("EM_ANDAMENTO"))
+                .body("[1].id", is((int) open))
+                .body("[1].overdueMinutes", is(120));
+
+        given()
+                .queryParam("status", "ABERTA")
+                .when().get("/ordens-servico/atrasadas")
+                .then()
+                .statusCode(200)
+                .body("size()", is(1));
+
+        given()
+                .queryParam("status", "FINALIZADA")
+                .when().get("/ordens-servico/atrasadas")
+                .then()
+                .statusCode(400);
+    }
+
+    private long persist(Status status, LocalDateTime createdAt, LocalDateTime startedAt) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            ServiceOrder serviceOrder = new ServiceOrder("Cliente SLA", "OS para a varredura de SLA", status);
+            serviceOrder.setCreatedAt(createdAt);
+            serviceOrder.setStartedAt(startedAt);
+            serviceOrder.persist();
+            return serviceOrder.id;
+        });
+    }
+
+    @ApplicationScoped
+    static class BreachCollector {
+
+        private final List<SlaBreach> breaches = new CopyOnWriteArrayList<>();
+
+        void onBreach(@Observes SlaBreach breach) {
+            breaches.add(breach);
+        }
+
+        // Acessado por método: o teste recebe o proxy do bean, não a instância
+        List<SlaBreach> getBreaches() {
+            return breaches;
+        }
+    }
+}
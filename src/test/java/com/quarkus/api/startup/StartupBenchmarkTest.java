@@ -0,0 +1,149 @@
+package com.quarkus.api.startup;
+
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Tempo até a primeira resposta de GET /ordens-servico, do lançamento do processo ao 200, nas variantes:
+// JVM, JVM + AppCDS gerado pelo build do Quarkus (-Pappcds), JVM + AppCDS treinado com
+// service-order.startup.exit-after-warm-up (o mesmo do Dockerfile) e o executável nativo (-Pnative).
+// O banco H2 fica em arquivo, como em produção: a primeira inicialização cria o esquema e as seguintes
+// o encontram pronto. A variante "Liquibase sempre" roda o Liquibase a cada início (AT_START), para
+// comparar com a verificação do checksum do changelog (IF_CHANGED, o padrão).
+// Usa o pacote já gerado em target: mvn package -DskipTests [-Pappcds] [-Pnative]
+// Executar com: mvn test -Pbenchmark -Dtest=StartupBenchmarkTest
+@Tag("benchmark")
+@DisplayName("Benchmark - Tempo até a primeira requisição")
+class StartupBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger(StartupBenchmarkTest.class);
+
+    private static final int RUNS = 5;
+    private static final long TIMEOUT_MILLIS = 60_000;
+
+    private static final Path APP_DIR = Path.of("target", "quarkus-app");
+    private static final Path OUTPUT_DIR = Path.of("target", "startup-benchmark");
+    private static final String DATABASE_URL = "jdbc:h2:file:" + OUTPUT_DIR.resolve("db").toAbsolutePath();
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        assumeTrue(Files.exists(APP_DIR.resolve("quarkus-run.jar")), "Pacote JVM ausente: rode mvn package -DskipTests antes");
+        Files.createDirectories(OUTPUT_DIR);
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("JVM", List.of(java, "-jar", "quarkus-run.jar"));
+        variants.put("JVM + Liquibase sempre", List.of(java, "-Dservice-order.schema.migration=AT_START", "-jar", "quarkus-run.jar"));
+        if (Files.exists(APP_DIR.resolve("app-cds.jsa"))) {
+            variants.put("JVM + AppCDS (build)", List.of(java, "-XX:SharedArchiveFile=app-cds.jsa", "-jar", "quarkus-run.jar"));
+        }
+        variants.put("JVM + AppCDS (treino)", List.of(java, "-XX:SharedArchiveFile=" + train(java), "-jar", "quarkus-run.jar"));
+        nativeRunner().ifPresent(runner -> variants.put("nativo", List.of(runner.toAbsolutePath().toString())));
+
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            launch(variant.getValue(), variant.getKey() + "-aquecimento"); // cache de disco do SO
+            long[] millis = new long[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                millis[i] = launch(variant.getValue(), variant.getKey() + "-" + i);
+            }
+            Arrays.sort(millis);
+            LOG.infof("%-22s primeira requisição: mediana=%d ms (mín %d, máx %d)",
+                    variant.getKey(), millis[RUNS / 2], millis[0], millis[RUNS - 1]);
+        }
+    }
+
+    // Mesmo treino do Dockerfile: inicia, aquece, faz uma consulta e encerra gravando o arquivo
+    private static String train(String java) throws Exception {
+        Path archive = OUTPUT_DIR.resolve("app-cds-treino.jsa").toAbsolutePath();
+        Files.deleteIfExists(archive);
+        Process process = new ProcessBuilder(java, "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dservice-order.startup.exit-after-warm-up=true", "-Dquarkus.http.port=" + freePort(),
+                "-Dquarkus.datasource.jdbc.url=" + DATABASE_URL, "-jar", "quarkus-run.jar")
+                .directory(APP_DIR.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(OUTPUT_DIR.resolve("treino.log").toFile())
+                .start();
+        assertEquals(true, process.waitFor(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), "O treino do AppCDS não terminou");
+        assertEquals(0, process.exitValue(), "O treino do AppCDS falhou (ver target/startup-benchmark/treino.log)");
+        return archive.toString();
+    }
+
+    private static long launch(List<String> command, String name) throws Exception {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(command);
+        arguments.add(1, "-Dquarkus.http.port=" + port);
+        arguments.add(1, "-Dquarkus.datasource.jdbc.url=" + DATABASE_URL);
+        ProcessBuilder builder = new ProcessBuilder(arguments)
+                .directory(APP_DIR.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(OUTPUT_DIR.resolve(name.replace(' ', '_').replace("+", "") + ".log").toFile());
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            while (!respondsOk(port)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("A aplicação terminou antes de responder: " + name);
+                }
+                if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) > TIMEOUT_MILLIS) {
+                    throw new IllegalStateException("A aplicação não respondeu a tempo: " + name);
+                }
+                Thread.sleep(5);
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static boolean respondsOk(int port) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) URI.create("http://localhost:" + port + "/ordens-servico?size=1").toURL().openConnection();
+            connection.setConnectTimeout(100);
+            connection.setReadTimeout(5_000);
+            try {
+                return connection.getResponseCode() == 200;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static Optional<Path> nativeRunner() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of("target"))) {
+            return files.filter(file -> file.getFileName().toString().endsWith("-runner"))
+                    .filter(file -> file.toFile().canExecute())
+                    .findFirst();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
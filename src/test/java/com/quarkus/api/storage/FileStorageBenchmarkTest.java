@@ -0,0 +1,54 @@
+package com.quarkus.api.storage;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@QuarkusTest
+@TestProfile(FileStorageBenchmarkTest.FileStorageProfile.class)
+@DisplayName("Benchmark - Armazenamento em arquivo")
+class FileStorageBenchmarkTest extends StorageModeBenchmark {
+
+    private static final Path DIRECTORY = Path.of("target", "storage-benchmark");
+
+    // Mesmos ajustes do perfil "file"; o banco da execução anterior é apagado antes de o Quarkus subir
+    public static class FileStorageProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            deleteDirectory();
+            return Map.of("quarkus.datasource.jdbc.url", "jdbc:h2:file:./" + DIRECTORY + "/db;${service-order.storage.options}");
+        }
+    }
+
+    @Override
+    protected String mode() {
+        return "arquivo";
+    }
+
+    @Override
+    protected boolean inMemory() {
+        return false;
+    }
+
+    private static void deleteDirectory() {
+        if (!Files.exists(DIRECTORY)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(DIRECTORY)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.quarkus.api.storage;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static com.quarkus.api.resource.AdminRequests.asAdmin;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@TestProfile(FileStorageMaintenanceTest.FileStorageProfile.class)
+@DisplayName("Armazenamento - modo arquivo")
+class FileStorageMaintenanceTest {
+
+    // Mesma URL do perfil "file", com o banco em target
+    public static class FileStorageProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.datasource.jdbc.url", "jdbc:h2:file:./target/storage-test/service_orders_db;${service-order.storage.options}");
+        }
+    }
+
+    @AfterEach
+    void teardown() {
+        QuarkusTransaction.requiringNew().run(() -> ServiceOrder.deleteAll());
+    }
+
+    @Test
+    @DisplayName("GET /admin/armazenamento - Deve informar o arquivo e o cache configurado")
+    void testStatusInFile() {
+        given().when().get("/admin/armazenamento")
+                .then()
+                .statusCode(200)
+                .body("[0].persistent", is(true))
+                .body("[0].file", endsWith("service_orders_db.mv.db"))
+                .body("[0].fileSizeBytes", greaterThan(0))
+                .body("[0].cacheSizeMb", is(128));
+    }
+
+    @Test
+    @DisplayName("POST /admin/armazenamento/backup e /compactacao - Devem rodar com o banco em uso")
+    void testBackupAndCompactionOnline() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (int i = 0; i < 500; i++) {
+                new ServiceOrder("Cliente Compactação", "OS a ser removida " + i, Status.ABERTA).persist();
+            }
+        });
+        QuarkusTransaction.requiringNew().run(() -> ServiceOrder.delete("description like ?1", "OS a ser removida%"));
+        QuarkusTransaction.requiringNew().run(() -> new ServiceOrder("Cliente Compactação", "OS mantida", Status.ABERTA).persist());
+
+        String file = asAdmin().when().post("/admin/armazenamento/backup")
+                .then()
+                .statusCode(200)
+                .body("[0].file", endsWith(".zip"))
+                .body("[0].file", not(endsWith(".sql.zip")))
+                .extract().path("[0].file");
+        assertTrue(Files.exists(Path.of(file)));
+
+        asAdmin().when().post("/admin/armazenamento/compactacao")
+                .then()
+                .statusCode(200)
+                .body("[0].dataSource", is("default"))
+                .body("[0].sizeAfterBytes", greaterThan(0));
+
+        // O banco continua em uso depois da compactação
+        assertEquals(1L, QuarkusTransaction.requiringNew().call(() -> ServiceOrder.count("description", "OS mantida")));
+    }
+}
@@ -0,0 +1,32 @@
+package com.quarkus.api.storage;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Map;
+
+@QuarkusTest
+@TestProfile(InMemoryStorageBenchmarkTest.InMemoryStorageProfile.class)
+@DisplayName("Benchmark - Armazenamento em memória")
+class InMemoryStorageBenchmarkTest extends StorageModeBenchmark {
+
+    // Banco próprio, para não deixar milhões de linhas no banco dos demais testes
+    public static class InMemoryStorageProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.datasource.jdbc.url", "jdbc:h2:mem:storage_benchmark_db;DB_CLOSE_DELAY=-1");
+        }
+    }
+
+    @Override
+    protected String mode() {
+        return "memória";
+    }
+
+    @Override
+    protected boolean inMemory() {
+        return true;
+    }
+}
@@ -0,0 +1,169 @@
+package com.quarkus.api.storage;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.repository.ServiceOrderPartitions;
+import com.quarkus.api.resource.dto.ServiceOrderStatusUpdateRequestDTO;
+import com.quarkus.api.service.CustomerSummaryRebuilder;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static com.quarkus.api.resource.AdminRequests.asAdmin;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@TestProfile(MonthlyPartitionMaintenanceTest.PartitioningProfile.class)
+@DisplayName("Partições mensais de service_order")
+class MonthlyPartitionMaintenanceTest {
+
+    // Partições ligadas, sem a manutenção agendada: cada teste a executa pelo endpoint. A transição
+    // FINALIZADA:EM_ANDAMENTO (reabertura) permite tentar alterar uma OS já arquivada.
+    public static class PartitioningProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("service-order.partitioning.enabled", "true",
+                    "service-order.partitioning.interval-ms", "0",
+                    "service-order.status.transitions", "ABERTA:EM_ANDAMENTO,EM_ANDAMENTO:FINALIZADA,FINALIZADA:EM_ANDAMENTO");
+        }
+    }
+
+    @Inject
+    ServiceOrderPartitions partitions;
+
+    @Inject
+    CustomerSummaryRebuilder summaryRebuilder;
+
+    @BeforeEach
+    void setup() {
+        QuarkusTransaction.requiringNew().run(() -> ServiceOrder.deleteAll());
+        summaryRebuilder.rebuild();
+    }
+
+    @AfterEach
+    void teardown() {
+        partitions.months().forEach(partitions::drop);
+        QuarkusTransaction.requiringNew().run(() -> ServiceOrder.deleteAll());
+        summaryRebuilder.rebuild();
+    }
+
+    @Test
+    @DisplayName("Deve mover as finalizadas dos meses fechados, achá-las por período e por ID e excluir o mês inteiro")
+    void maintenance_shouldMoveFinishedOrdersAndDropWholeMonths() {
+        long first = persist(Status.FINALIZADA, LocalDateTime.of(2024, 1, 10, 8, 0));
+        long second = persist(Status.FINALIZADA, LocalDateTime.of(2024, 1, 25, 17, 30));
+        long inProgress = persist(Status.EM_ANDAMENTO, LocalDateTime.of(2024, 1, 20, 9, 0));   // ainda muda: fica
+        persist(Status.FINALIZADA, LocalDateTime.of(2024, 3, 5, 12, 0));
+        persist(Status.FINALIZADA, LocalDateTime.now());                                     // mês corrente: fica
+
+        asAdmin().when().post("/admin/particoes-mensais/manutencao")
+                .then()
+                .statusCode(200)
+                .body("moved", is(3));
+
+        given().when().get("/admin/particoes-mensais")
+                .then()
+                .statusCode(200)
+                .body("size()", is(2))
+                .body("[0].month", is("2024-01"))
+                .body("[0].table", is("service_order_202401"))
+                .body("[0].rows", is(2))
+                .body("[1].month", is("2024-03"));
+        assertEquals(2L, QuarkusTransaction.requiringNew().call(() -> ServiceOrder.count()));
+
+        // Mover não é excluir: o resumo por cliente continua batendo
+        assertEquals(0, summaryRebuilder.rebuild());
+
+        given().queryParam("from", "2024-01-01T00:00:00").queryParam("to", "2024-02-01T00:00:00")
+                .when().get("/ordens-servico/periodo")
+                .then()
+                .statusCode(200)
+                .body("size()", is(3))
+                .body("[0].id", is((int) first))
+                .body("[1].id", is((int) inProgress))
+                .body("[2].id", is((int) second));
+
+        given().when().get("/ordens-servico/" + second)
+                .then()
+                .statusCode(200)
+                .body("status", is("FINALIZADA"));
+
+        asAdmin().when().delete("/admin/particoes-mensais/2024-01").then().statusCode(204);
+        asAdmin().when().delete("/admin/particoes-mensais/2024-01").then().statusCode(404);
+        assertEquals(List.of(YearMonth.of(2024, 3)), partitions.months());
+
+        given().queryParam("from", "2024-01-01T00:00:00").queryParam("to", "2024-02-01T00:00:00")
+                .when().get("/ordens-servico/periodo")
+                .then()
+                .statusCode(200)
+                .body("size()", is(1))
+                .body("[0].id", is((int) inProgress));
+        given().when().get("/ordens-servico/" + first).then().statusCode(404);
+    }
+
+    @Test
+    @DisplayName("PUT /ordens-servico/{id}/status - Deve retornar 409 para OS arquivada, sem alterá-la")
+    void updateStatus_shouldRejectArchivedOrder() {
+        long archived = persist(Status.FINALIZADA, LocalDateTime.of(2024, 1, 10, 8, 0));
+        asAdmin().when().post("/admin/particoes-mensais/manutencao")
+                .then()
+                .statusCode(200)
+                .body("moved", is(1));
+
+        given().contentType(ContentType.JSON)
+                .body(new ServiceOrderStatusUpdateRequestDTO(Status.EM_ANDAMENTO))
+                .when().put("/ordens-servico/" + archived + "/status")
+                .then()
+                .statusCode(409);
+
+        given().when().get("/ordens-servico/" + archived)
+                .then()
+                .statusCode(200)
+                .body("status", is("FINALIZADA"));
+        assertEquals(1L, partitions.count(YearMonth.of(2024, 1)));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar período e mês inválidos")
+    void invalidPeriodAndMonth_shouldReturn400() {
+        given().queryParam("from", "2024-02-01T00:00:00").queryParam("to", "2024-01-01T00:00:00")
+                .when().get("/ordens-servico/periodo")
+                .then()
+                .statusCode(400);
+        given().queryParam("from", "ontem")
+                .when().get("/ordens-servico/periodo")
+                .then()
+                .statusCode(400);
+        asAdmin().when().delete("/admin/particoes-mensais/janeiro").then().statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Manutenção e exclusão devem exigir o papel admin")
+    void maintenanceAndDrop_shouldRequireAdmin() {
+        given().when().post("/admin/particoes-mensais/manutencao").then().statusCode(401);
+        given().when().delete("/admin/particoes-mensais/2024-01").then().statusCode(401);
+    }
+
+    private long persist(Status status, LocalDateTime createdAt) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            ServiceOrder serviceOrder = new ServiceOrder("Cliente Partição", "OS para as partições mensais", status);
+            serviceOrder.setCreatedAt(createdAt);
+            serviceOrder.persist();
+            return serviceOrder.id;
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package com.quarkus.api.storage;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.quarkus.api.resource.AdminRequests.asAdmin;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@DisplayName("Armazenamento - modo memória")
+class StorageMaintenanceTest {
+
+    @AfterEach
+    void teardown() {
+        QuarkusTransaction.requiringNew().run(() -> ServiceOrder.deleteAll());
+    }
+
+    @Test
+    @DisplayName("GET /admin/armazenamento - Deve informar o banco em memória")
+    void testStatusInMemory() {
+        given().when().get("/admin/armazenamento")
+                .then()
+                .statusCode(200)
+                .body("[0].dataSource", is("default"))
+                .body("[0].persistent", is(false));
+    }
+
+    @Test
+    @DisplayName("POST /admin/armazenamento/backup - Deve gerar o script SQL do banco em memória")
+    void testBackupInMemory() {
+        QuarkusTransaction.requiringNew().run(() -> new ServiceOrder("Cliente Backup", "OS do backup", Status.ABERTA).persist());
+
+        String file = asAdmin().when().post("/admin/armazenamento/backup")
+                .then()
+                .statusCode(200)
+                .body("[0].dataSource", is("default"))
+                .body("[0].file", endsWith(".sql.zip"))
+                .extract().path("[0].file");
+        assertTrue(Files.exists(Path.of(file)));
+    }
+
+    @Test
+    @DisplayName("POST /admin/armazenamento/compactacao - Deve retornar 409 sem bancos em arquivo")
+    void testCompactionRequiresFileStorage() {
+        asAdmin().when().post("/admin/armazenamento/compactacao")
+                .then()
+                .statusCode(409)
+                .body("message", containsString("modo arquivo"));
+    }
+
+    @Test
+    @DisplayName("POST /admin/armazenamento/backup e /compactacao - Devem exigir o papel admin")
+    void testMaintenanceRequiresAdmin() {
+        given().when().post("/admin/armazenamento/backup")
+                .then()
+                .statusCode(401);
+        given().when().post("/admin/armazenamento/compactacao")
+                .then()
+                .statusCode(401);
+    }
+
+    @Test
+    @DisplayName("POST /admin/particoes-mensais/manutencao e DELETE - Devem retornar 409 com as partições desligadas")
+    void testMonthlyPartitionsRequireFeature() {
+        asAdmin().when().post("/admin/particoes-mensais/manutencao")
+                .then()
+                .statusCode(409)
+                .body("message", containsString("service-order.partitioning.enabled"));
+        asAdmin().when().delete("/admin/particoes-mensais/2024-01")
+                .then()
+                .statusCode(409);
+    }
+}
@@ -0,0 +1,138 @@
+package com.quarkus.api.storage;
+
+import com.quarkus.api.domain.enums.Status;
+import com.quarkus.api.domain.model.ServiceOrder;
+import com.quarkus.api.repository.CustomerDictionary;
+import com.quarkus.api.service.ServiceOrderService;
+import com.quarkus.api.sharding.ShardRouter;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Vazão de insert, busca por ID e listagem (keyset, 20 por página) pelo ServiceOrderService com a tabela
+// em cada tamanho de storage.benchmark.rows (padrão 1M; ex.: -Dstorage.benchmark.rows=1000000,10000000).
+// As linhas de carga são inseridas direto por SQL, com IDs acima dos gerados pela sequence. Cada subclasse
+// sobe o Quarkus em um modo de armazenamento. No modo memória, tamanhos que não cabem no heap são pulados.
+// Executar com: mvn test -Pbenchmark -Dtest='*StorageBenchmarkTest'
+@Tag("benchmark")
+abstract class StorageModeBenchmark {
+
+    private static final Logger LOG = Logger.getLogger(StorageModeBenchmark.class);
+
+    private static final long FIRST_ID = 10_000_000_000L;
+    private static final int CUSTOMERS = 1_000;
+    private static final int LOAD_CHUNK = 500_000;
+    private static final int INSERTS = 5_000;
+    private static final int LOOKUPS = 20_000;
+    private static final int PAGES = 5_000;
+    private static final int PAGE_SIZE = 20;
+    // Estimativa de heap por linha no modo memória (tabela + índices do MVStore)
+    private static final long BYTES_PER_ROW_IN_MEMORY = 400;
+
+    @Inject
+    ServiceOrderService service;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    protected abstract String mode();
+
+    protected abstract boolean inMemory();
+
+    @AfterEach
+    void teardown() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE service_order");
+        }
+    }
+
+    @Test
+    void throughputBySize() throws SQLException {
+        long firstCustomerId = CustomerDictionary.of(dataSource, ShardRouter.DEFAULT_SHARD).idOf(customer(0));
+        for (int i = 1; i < CUSTOMERS; i++) {
+            CustomerDictionary.of(dataSource, ShardRouter.DEFAULT_SHARD).idOf(customer(i));
+        }
+
+        long[] sizes = Arrays.stream(System.getProperty("storage.benchmark.rows", "1000000").split(","))
+                .map(String::strip)
+                .mapToLong(Long::parseLong)
+                .sorted()
+                .toArray();
+        long loaded = 0;
+        for (long rows : sizes) {
+            if (inMemory() && rows * BYTES_PER_ROW_IN_MEMORY > Runtime.getRuntime().maxMemory()) {
+                LOG.infof("%-8s %,11d linhas: ignorado, heap de %,d MB insuficiente", mode(), rows,
+                        Runtime.getRuntime().maxMemory() / 1024 / 1024);
+                continue;
+            }
+            long start = System.nanoTime();
+            load(loaded, rows, firstCustomerId);
+            double loadSeconds = seconds(start);
+            loaded = rows;
+
+            measure(rows, firstCustomerId); // aquecimento
+            double[] opsPerSecond = measure(rows, firstCustomerId);
+            // Linha da tabela de resultados do README
+            LOG.infof("| %s | %,d | %.0f s | %,.0f | %,.0f | %,.0f |",
+                    mode(), rows, loadSeconds, opsPerSecond[0], opsPerSecond[1], opsPerSecond[2]);
+        }
+    }
+
+    private double[] measure(long rows, long firstCustomerId) {
+        SplittableRandom random = new SplittableRandom(42);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < INSERTS; i++) {
+            service.createSO(new ServiceOrder(customer(i % CUSTOMERS), "Benchmark de armazenamento " + i, Status.ABERTA));
+        }
+        double inserts = INSERTS / seconds(start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            long id = FIRST_ID + random.nextLong(rows);
+            assertNotNull(QuarkusTransaction.requiringNew().call(() -> service.findById(id)));
+        }
+        double lookups = LOOKUPS / seconds(start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < PAGES; i++) {
+            long afterId = FIRST_ID + random.nextLong(rows - PAGE_SIZE);
+            QuarkusTransaction.requiringNew().call(() -> service.listSOAfter(afterId, PAGE_SIZE));
+        }
+        double pages = PAGES / seconds(start);
+        return new double[]{inserts, lookups, pages};
+    }
+
+    // Completa a tabela de `from` até `to` linhas de carga, em transações de LOAD_CHUNK linhas
+    private void load(long from, long to, long firstCustomerId) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (long chunk = from; chunk < to; chunk += LOAD_CHUNK) {
+                long end = Math.min(chunk + LOAD_CHUNK, to) - 1;
+                statement.execute("INSERT INTO service_order (id, customer_id, description, status, created_at)"
+                        + " SELECT " + FIRST_ID + " + X, " + firstCustomerId + " + MOD(X, " + CUSTOMERS + "),"
+                        + " 'Manutenção preventiva ' || X, 'ABERTA', DATEADD(SECOND, X, TIMESTAMP '2024-01-01 00:00:00')"
+                        + " FROM SYSTEM_RANGE(" + chunk + ", " + end + ")");
+            }
+        }
+    }
+
+    private static String customer(int index) {
+        return "Cliente Armazenamento " + index;
+    }
+
+    private static double seconds(long start) {
+        return (System.nanoTime() - start) / 1_000_000_000.0;
+    }
+}